@@ -19,6 +19,7 @@ import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.Notifier;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.commands.BentoBoxCommand;
+import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.DatabaseSetup;
 import world.bentobox.bentobox.hooks.DynmapHook;
 import world.bentobox.bentobox.hooks.MultiverseCoreHook;
@@ -295,6 +296,8 @@ public class BentoBox extends JavaPlugin {
         manager.registerEvents(new BannedCommands(this), this);
         // Death counter
         manager.registerEvents(new DeathListener(this), this);
+        // World load and unload for the overworld lookup
+        manager.registerEvents(islandWorldManager, this);
         // Island Delete Manager
         islandDeletionManager = new IslandDeletionManager(this);
         manager.registerEvents(islandDeletionManager, this);
@@ -308,6 +311,8 @@ public class BentoBox extends JavaPlugin {
         if (addonsManager != null) {
             addonsManager.disableAddons();
         }
+        // Save anything that is waiting for the next tick
+        Database.flushAll();
         // Save data
         if (playersManager != null) {
             playersManager.shutdown();
@@ -315,6 +320,9 @@ public class BentoBox extends JavaPlugin {
         if (islandsManager != null) {
             islandsManager.shutdown();
         }
+        if (headGetter != null) {
+            headGetter.save();
+        }
     }
 
     /**
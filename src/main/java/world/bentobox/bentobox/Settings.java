@@ -53,11 +53,11 @@ public class Settings implements ConfigObject {
     private boolean useEconomy = true;
 
     // Database
-    @ConfigComment("JSON, MYSQL, MARIADB, MONGODB, SQLITE, POSTGRESQL and YAML(deprecated).")
+    @ConfigComment("JSON, JSONLOG, MYSQL, MARIADB, MONGODB, SQLITE, POSTGRESQL and YAML(deprecated).")
     @ConfigComment("Transition database options are:")
     @ConfigComment("  YAML2JSON, YAML2MARIADB, YAML2MYSQL, YAML2MONGODB, YAML2SQLITE")
-    @ConfigComment("  JSON2MARIADB, JSON2MYSQL, JSON2MONGODB, JSON2SQLITE, JSON2POSTGRESQL")
-    @ConfigComment("  MYSQL2JSON, MARIADB2JSON, MONGODB2JSON, SQLITE2JSON, POSTGRESQL2JSON")
+    @ConfigComment("  JSON2MARIADB, JSON2MYSQL, JSON2MONGODB, JSON2SQLITE, JSON2POSTGRESQL, JSON2JSONLOG")
+    @ConfigComment("  MYSQL2JSON, MARIADB2JSON, MONGODB2JSON, SQLITE2JSON, POSTGRESQL2JSON, JSONLOG2JSON")
     @ConfigComment("If you need others, please make a feature request.")
     @ConfigComment("Minimum required versions:")
     @ConfigComment("   MySQL versions 5.7 or later")
@@ -67,6 +67,7 @@ public class Settings implements ConfigObject {
     @ConfigComment("   PostgreSQL versions 9.4 or later")
     @ConfigComment("Transition options enable migration from one database type to another. Use /bbox migrate.")
     @ConfigComment("YAML and JSON are file-based databases.")
+    @ConfigComment("JSONLOG is also file-based, but keeps each table in one file that is only added to, which is faster to load and save.")
     @ConfigComment("MYSQL might not work with all implementations: if available, use a dedicated database type (e.g. MARIADB).")
     @ConfigComment("If you use MONGODB, you must also run the BSBMongo plugin (not addon).")
     @ConfigComment("See https://github.com/tastybento/bsbMongo/releases/.")
@@ -92,6 +93,7 @@ public class Settings implements ConfigObject {
     @ConfigComment("How often the data will be saved to file in mins. Default is 5 minutes.")
     @ConfigComment("This helps prevent issues if the server crashes.")
     @ConfigComment("Data is also saved at important points in the game.")
+    @ConfigComment("JSON databases also keep a copy of the database in the database_backup folder, taken this often.")
     @ConfigEntry(path = "general.database.backup-period")
     private int databaseBackupPeriod = 5;
 
@@ -123,6 +125,36 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "general.database.mongodb-connection-uri", since = "1.14.0")
     private String mongodbConnectionUri = "";
 
+    @ConfigComment("Maximum number of connections BentoBox can open to MariaDB, MySQL and PostgreSQL databases.")
+    @ConfigComment("More connections let islands, players and addon data be saved and loaded at the same time.")
+    @ConfigComment("Set to 1 to use a single shared connection. SQLite always uses a single connection.")
+    @ConfigEntry(path = "general.database.connection-pool-size", since = "1.18.0", needsRestart = true)
+    private int databasePoolSize = 4;
+
+    @ConfigComment("Maximum number of objects written to MariaDB, MySQL, PostgreSQL and SQLite databases in one transaction.")
+    @ConfigComment("Saves waiting to be written are sent together, and repeated saves of the same object are only written once.")
+    @ConfigEntry(path = "general.database.max-batch-size", since = "1.18.0")
+    private int databaseBatchSize = 500;
+
+    @ConfigComment("Wait for each JSON file to reach the disk before it replaces the old one.")
+    @ConfigComment("Files are always written completely before they replace the old one. This also protects them")
+    @ConfigComment("if the server loses power, but makes saving slower.")
+    @ConfigEntry(path = "general.database.json-sync-writes", since = "1.18.0")
+    private boolean databaseSyncWrites = false;
+
+    @ConfigComment("Store JSON without spaces and new lines. This makes JSON files, and the JSON stored in")
+    @ConfigComment("MariaDB, MySQL, PostgreSQL, SQLite and MongoDB databases, about half the size, but harder to read.")
+    @ConfigComment("Data stored either way can be read, so this can be changed at any time. Objects are")
+    @ConfigComment("stored the new way the next time they are saved. Use /bbox storage to see how much space this saves.")
+    @ConfigEntry(path = "general.database.compact-json", since = "1.18.0")
+    private boolean databaseCompactJson = false;
+
+    @ConfigComment("Tables that the JSONLOG database stores in a compact binary form instead of JSON text,")
+    @ConfigComment("for example Island or Players. Binary data is smaller and faster to read and write, but cannot be read by hand.")
+    @ConfigComment("Data stored either way can be read, so tables can be added or removed at any time.")
+    @ConfigEntry(path = "general.database.binary-tables", since = "1.18.0")
+    private Set<String> databaseBinaryTables = new HashSet<>();
+
     @ConfigComment("Allow FTB Autonomous Activator to work (will allow a pseudo player [CoFH] to place and break blocks and hang items)")
     @ConfigComment("Add other fake player names here if required")
     @ConfigEntry(path = "general.fakeplayers", experimental = true)
@@ -160,6 +192,12 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "panel.ticks-between-calls", since = "1.16.0", needsRestart = true)
     private long ticksBetweenCalls = 10;
 
+    @ConfigComment("Toggle whether player heads should be saved to a file when the server stops, so they do not")
+    @ConfigComment("have to be gathered again after a restart. Heads are kept for the head-cache-time, and are not")
+    @ConfigComment("saved if it is 0.")
+    @ConfigEntry(path = "panel.save-head-cache", since = "1.18.0")
+    private boolean saveHeadCache = true;
+
     /*
      * Logs
      */
@@ -298,6 +336,17 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "island.deletion.keep-previous-island-on-reset", since = "1.13.0")
     private boolean keepPreviousIslandOnReset = false;
 
+    @ConfigComment("Toggles whether the outcome of protection checks on islands is remembered for each player.")
+    @ConfigComment("This saves checking ranks and permissions again when a player repeats an action on the same island, e.g. mining.")
+    @ConfigComment("Remembered outcomes are forgotten when the island's ranks or flags change.")
+    @ConfigEntry(path = "island.protection-cache.enable", since = "1.18.0")
+    private boolean protectionCache = true;
+
+    @ConfigComment("How long, in seconds, the outcome of a protection check is remembered.")
+    @ConfigComment("Permission changes made by other plugins are picked up after this time.")
+    @ConfigEntry(path = "island.protection-cache.expiry", since = "1.18.0")
+    private int protectionCacheExpiry = 10;
+
     /* WEB */
     @ConfigComment("Toggle whether BentoBox can connect to GitHub to get data about updates and addons.")
     @ConfigComment("Disabling this will result in the deactivation of the update checker and of some other")
@@ -744,6 +793,38 @@ public class Settings implements ConfigObject {
         this.keepPreviousIslandOnReset = keepPreviousIslandOnReset;
     }
 
+    /**
+     * @return whether the outcome of island protection checks is cached per player
+     * @since 1.18.0
+     */
+    public boolean isProtectionCache() {
+        return protectionCache;
+    }
+
+    /**
+     * @param protectionCache whether the outcome of island protection checks is cached per player
+     * @since 1.18.0
+     */
+    public void setProtectionCache(boolean protectionCache) {
+        this.protectionCache = protectionCache;
+    }
+
+    /**
+     * @return how long the outcome of a protection check is cached in seconds
+     * @since 1.18.0
+     */
+    public int getProtectionCacheExpiry() {
+        return protectionCacheExpiry;
+    }
+
+    /**
+     * @param protectionCacheExpiry how long the outcome of a protection check is cached in seconds
+     * @since 1.18.0
+     */
+    public void setProtectionCacheExpiry(int protectionCacheExpiry) {
+        this.protectionCacheExpiry = protectionCacheExpiry;
+    }
+
     /**
      * Returns a MongoDB client connection URI to override default connection options.
      *
@@ -764,6 +845,86 @@ public class Settings implements ConfigObject {
         this.mongodbConnectionUri = mongodbConnectionUri;
     }
 
+    /**
+     * @return the maximum number of connections that can be open to SQL databases
+     * @since 1.18.0
+     */
+    public int getDatabasePoolSize() {
+        return databasePoolSize;
+    }
+
+    /**
+     * @param databasePoolSize the maximum number of connections that can be open to SQL databases
+     * @since 1.18.0
+     */
+    public void setDatabasePoolSize(int databasePoolSize) {
+        this.databasePoolSize = databasePoolSize;
+    }
+
+    /**
+     * @return the maximum number of objects written to SQL databases in one transaction
+     * @since 1.18.0
+     */
+    public int getDatabaseBatchSize() {
+        return databaseBatchSize;
+    }
+
+    /**
+     * @param databaseBatchSize the maximum number of objects written to SQL databases in one transaction
+     * @since 1.18.0
+     */
+    public void setDatabaseBatchSize(int databaseBatchSize) {
+        this.databaseBatchSize = databaseBatchSize;
+    }
+
+    /**
+     * @return true if JSON files are forced to the disk before they replace the old file
+     * @since 1.18.0
+     */
+    public boolean isDatabaseSyncWrites() {
+        return databaseSyncWrites;
+    }
+
+    /**
+     * @param databaseSyncWrites true to force JSON files to the disk before they replace the old file
+     * @since 1.18.0
+     */
+    public void setDatabaseSyncWrites(boolean databaseSyncWrites) {
+        this.databaseSyncWrites = databaseSyncWrites;
+    }
+
+    /**
+     * @return true if JSON is stored without spaces and new lines
+     * @since 1.18.0
+     */
+    public boolean isDatabaseCompactJson() {
+        return databaseCompactJson;
+    }
+
+    /**
+     * @param databaseCompactJson true to store JSON without spaces and new lines
+     * @since 1.18.0
+     */
+    public void setDatabaseCompactJson(boolean databaseCompactJson) {
+        this.databaseCompactJson = databaseCompactJson;
+    }
+
+    /**
+     * @return names of the tables that the JSONLOG database stores in binary form
+     * @since 1.18.0
+     */
+    public Set<String> getDatabaseBinaryTables() {
+        return databaseBinaryTables;
+    }
+
+    /**
+     * @param databaseBinaryTables names of the tables that the JSONLOG database stores in binary form
+     * @since 1.18.0
+     */
+    public void setDatabaseBinaryTables(Set<String> databaseBinaryTables) {
+        this.databaseBinaryTables = databaseBinaryTables;
+    }
+
     /**
      * Returns the Material of the item to preferably use when one needs to fill gaps in Panels.
      * @return the Material of the item to preferably use when one needs to fill gaps in Panels.
@@ -877,6 +1038,30 @@ public class Settings implements ConfigObject {
         this.ticksBetweenCalls = ticksBetweenCalls;
     }
 
+
+    /**
+     * Is save head cache boolean.
+     *
+     * @return true if player heads are saved to a file when the server stops
+     * @since 1.18.0
+     */
+    public boolean isSaveHeadCache()
+    {
+        return saveHeadCache;
+    }
+
+
+    /**
+     * Sets save head cache.
+     *
+     * @param saveHeadCache the save head cache
+     * @since 1.18.0
+     */
+    public void setSaveHeadCache(boolean saveHeadCache)
+    {
+        this.saveHeadCache = saveHeadCache;
+    }
+
     /**
      * @return the minPortalSearchRadius
      */
@@ -1,6 +1,5 @@
 package world.bentobox.bentobox.api.commands.admin;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -67,7 +66,6 @@ public class AdminInfoCommand extends CompositeCommand {
             // Don't show every player on the server. Require at least the first letter
             return Optional.empty();
         }
-        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
-        return Optional.of(Util.tabLimit(options, lastArg));
+        return Optional.of(Util.tabLimit(getPlayers().getTabCompleteNames(user, lastArg), lastArg));
     }
 }
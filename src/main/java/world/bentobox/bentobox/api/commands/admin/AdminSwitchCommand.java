@@ -56,6 +56,8 @@ public class AdminSwitchCommand extends ConfirmableCommand {
             user.sendMessage("commands.admin.switch.removing"); // Removing protection bypass
             user.sendMessage("general.success");
         }
+        // Cached protection decisions depend on the switch
+        user.getFlagDecisions().clear();
         return true;
     }
 
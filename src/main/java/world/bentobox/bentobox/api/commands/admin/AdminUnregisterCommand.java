@@ -1,6 +1,6 @@
 package world.bentobox.bentobox.api.commands.admin;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -80,7 +80,7 @@ public class AdminUnregisterCommand extends ConfirmableCommand {
             getPlayers().clearHomeLocations(getWorld(), m);
         });
         // Remove all island players that reference this island
-        oldIsland.getMembers().clear();
+        oldIsland.setMembers(new HashMap<>());
         getIslands().save(oldIsland);
         user.sendMessage("commands.admin.unregister.unregistered-island", TextVariables.XYZ, Util.xyz(oldIsland.getCenter().toVector()),
                 TextVariables.NAME, targetName);
@@ -93,7 +93,6 @@ public class AdminUnregisterCommand extends ConfirmableCommand {
             // Don't show every player on the server. Require at least the first letter
             return Optional.empty();
         }
-        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
-        return Optional.of(Util.tabLimit(options, lastArg));
+        return Optional.of(Util.tabLimit(getPlayers().getTabCompleteNames(user, lastArg), lastArg));
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.bukkit.metadata.MetadataValue;
 
 import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.commands.ConfirmableCommand;
+import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.Util;
@@ -56,6 +57,7 @@ public class AdminWhyCommand extends ConfirmableCommand {
         }
         // Set the debug meta
         target.getPlayer().setMetadata(getWorld().getName() + "_why_debug", new FixedMetadataValue(getPlugin(), newValue));
+        FlagListener.setWhyDebug(targetUUID, getWorld(), newValue);
         if (user.isPlayer()) {
             target.getPlayer().setMetadata(getWorld().getName() + "_why_debug_issuer", new FixedMetadataValue(getPlugin(), user.getUniqueId().toString()));
         }
@@ -121,7 +121,7 @@ public class AdminPurgeCommand extends CompositeCommand implements Listener {
     }
 
     Set<String> getOldIslands(int days) {
-        getPlugin().getIslands().getIslands().stream()
+        getPlugin().getIslands().getIslands(getWorld()).stream()
         .filter(i -> !i.isSpawn())
         .filter(i -> !i.getPurgeProtected())
         .filter(i -> i.getWorld().equals(this.getWorld()))
@@ -2,8 +2,10 @@ package world.bentobox.bentobox.api.flags;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -133,6 +135,14 @@ public class Flag implements Comparable<Flag> {
     private final int cooldown;
     private final Mode mode;
     private final Set<Flag> subflags;
+    /**
+     * Bypass permission nodes for this flag keyed by permission prefix
+     */
+    private final Map<String, String[]> bypassPermissions = new ConcurrentHashMap<>();
+    /**
+     * Dense index of this flag, set when the flag is registered
+     */
+    private int ordinal = -1;
 
     private Flag(Builder builder) {
         this.id = builder.id;
@@ -215,6 +225,8 @@ public class Flag implements Comparable<Flag> {
                                             .put(subflag.getID(), setting));
             }
 
+            FlagDecisionCache.invalidateAll();
+
             // Save config file
             BentoBox.getInstance().getIWM().getAddon(world).ifPresent(GameModeAddon::saveWorldSettings);
         }
@@ -277,6 +289,56 @@ public class Flag implements Comparable<Flag> {
         return addon;
     }
 
+    /**
+     * Get the ordinal of this flag. Ordinals are small, dense numbers handed out by the
+     * {@link world.bentobox.bentobox.managers.FlagsManager} when the flag is registered,
+     * so they can be used as array indexes.
+     * @return ordinal, or -1 if this flag has never been registered
+     * @since 1.18.0
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Sets the ordinal of this flag. Only the {@link world.bentobox.bentobox.managers.FlagsManager} should call this.
+     * @param ordinal the ordinal to set
+     * @since 1.18.0
+     */
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Get the permission that lets a moderator bypass this flag everywhere, e.g. bskyblock.mod.bypass.BREAK_BLOCKS.everywhere
+     * @param permissionPrefix - permission prefix of the world, including the trailing dot
+     * @return permission node
+     * @since 1.18.0
+     */
+    String getBypassEverywherePermission(@NonNull String permissionPrefix) {
+        return getBypassPermissions(permissionPrefix)[0];
+    }
+
+    /**
+     * Get the permission that lets a moderator bypass this flag on islands, e.g. bskyblock.mod.bypass.BREAK_BLOCKS.island
+     * @param permissionPrefix - permission prefix of the world, including the trailing dot
+     * @return permission node
+     * @since 1.18.0
+     */
+    String getBypassIslandPermission(@NonNull String permissionPrefix) {
+        return getBypassPermissions(permissionPrefix)[1];
+    }
+
+    private String[] getBypassPermissions(String permissionPrefix) {
+        String[] nodes = bypassPermissions.get(permissionPrefix);
+        if (nodes == null) {
+            String base = permissionPrefix + "mod.bypass." + getID();
+            nodes = new String[] {base + ".everywhere", base + ".island"};
+            bypassPermissions.put(permissionPrefix, nodes);
+        }
+        return nodes;
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#hashCode()
      */
@@ -0,0 +1,124 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.api.flags.FlagListener.Why;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * Remembers the outcome of island protection checks for one user so that repeated events,
+ * such as mining or farming on the same island, do not have to check ranks and permissions again.
+ * <p>
+ * Decisions are dropped when that island's ranks or flags change (see {@link Island#getProtectionVersion()}),
+ * when a world setting changes, when the user's permissions or op status are changed by BentoBox, and after
+ * a short expiry time to pick up permission changes made by other plugins.
+ * @author tastybento
+ * @since 1.18.0
+ */
+public final class FlagDecisionCache {
+
+    /**
+     * Maximum number of islands remembered per user before the cache is emptied
+     */
+    private static final int MAX_ISLANDS = 32;
+    /**
+     * Increased every time a change that could alter decisions on every island is made
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private final Map<Island, Map<Flag, Decision>> decisions = new ConcurrentHashMap<>();
+
+    private static class Decision {
+        private final Why why;
+        private final long generation;
+        private final long islandVersion;
+        private final long expires;
+
+        private Decision(Why why, long generation, long islandVersion, long expires) {
+            this.why = why;
+            this.generation = generation;
+            this.islandVersion = islandVersion;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Get the cached decision for a flag on an island
+     * @param island - island
+     * @param flag - flag
+     * @return the reason for the decision, or null if there is no valid decision cached
+     */
+    @Nullable
+    Why get(@NonNull Island island, @NonNull Flag flag) {
+        Map<Flag, Decision> flags = decisions.get(island);
+        Decision decision = flags == null ? null : flags.get(flag);
+        if (decision == null || decision.generation != GENERATION.get() || decision.islandVersion != island.getProtectionVersion()
+                || decision.expires < System.currentTimeMillis()) {
+            MISSES.increment();
+            return null;
+        }
+        HITS.increment();
+        return decision.why;
+    }
+
+    /**
+     * Cache a decision for a flag on an island
+     * @param island - island
+     * @param flag - flag
+     * @param why - reason for the decision
+     * @param expiry - how long the decision is valid for in milliseconds
+     */
+    void put(@NonNull Island island, @NonNull Flag flag, @NonNull Why why, long expiry) {
+        if (decisions.size() >= MAX_ISLANDS && !decisions.containsKey(island)) {
+            decisions.clear();
+        }
+        decisions.computeIfAbsent(island, k -> new ConcurrentHashMap<>())
+        .put(flag, new Decision(why, GENERATION.get(), island.getProtectionVersion(), System.currentTimeMillis() + expiry));
+    }
+
+    /**
+     * Removes all the decisions cached for this user, e.g., because their permissions changed
+     */
+    public void clear() {
+        decisions.clear();
+    }
+
+    /**
+     * Invalidates the decisions cached for every user on every island, e.g., because a world setting changed.
+     * Changes to one island's ranks or flags only invalidate the decisions for that island.
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * @return number of protection checks answered from the cache
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return number of protection checks that had to be worked out
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return percentage of protection checks answered from the cache, or 0 if there have been none
+     */
+    public static double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0D : hits * 100D / total;
+    }
+}
@@ -1,9 +1,13 @@
 package world.bentobox.bentobox.api.flags;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
@@ -51,6 +55,15 @@ public abstract class FlagListener implements Listener {
         NULL_LOCATION
     }
 
+    /**
+     * Active why debug sessions, as player UUID and world name
+     */
+    private static final Set<String> WHY_DEBUG_SESSIONS = ConcurrentHashMap.newKeySet();
+    /**
+     * Bypass protect permission nodes keyed by permission prefix
+     */
+    private static final Map<String, String> BYPASS_PROTECT_PERMISSIONS = new ConcurrentHashMap<>();
+
     @NonNull
     private BentoBox plugin = BentoBox.getInstance();
     @Nullable
@@ -138,30 +151,35 @@ public abstract class FlagListener implements Listener {
             return true;
         }
 
-        // Get the island and if present
-        Optional<Island> island = getIslands().getProtectedIslandAt(loc);
+        // Get the island if there is one
+        Island island = getIslands().getProtectedIslandAt(loc).orElse(null);
         // Handle Settings Flag
         if (flag.getType().equals(Flag.Type.SETTING)) {
             // If the island exists, return the setting, otherwise return the default setting for this flag
-            if (island.isPresent()) {
-                report(user, e, loc, flag,  island.map(x -> x.isAllowed(flag)).orElse(false) ? Why.SETTING_ALLOWED_ON_ISLAND : Why.SETTING_NOT_ALLOWED_ON_ISLAND);
-            } else {
-                report(user, e, loc, flag,  flag.isSetForWorld(loc.getWorld()) ? Why.SETTING_ALLOWED_IN_WORLD : Why.SETTING_NOT_ALLOWED_IN_WORLD);
+            if (island != null) {
+                boolean allowed = island.isAllowed(flag);
+                report(user, e, loc, flag, allowed ? Why.SETTING_ALLOWED_ON_ISLAND : Why.SETTING_NOT_ALLOWED_ON_ISLAND);
+                return allowed;
             }
-            return island.map(x -> x.isAllowed(flag)).orElseGet(() -> flag.isSetForWorld(loc.getWorld()));
+            boolean allowed = flag.isSetForWorld(loc.getWorld());
+            report(user, e, loc, flag, allowed ? Why.SETTING_ALLOWED_IN_WORLD : Why.SETTING_NOT_ALLOWED_IN_WORLD);
+            return allowed;
         }
 
-        // Protection flag
+        // Protection flag on an island
+        if (island != null && flag.getType().equals(Flag.Type.PROTECTION)) {
+            Why why = getIslandDecision(loc, island, flag);
+            report(user, e, loc, flag, why);
+            if (why == Why.NOT_ALLOWED_ON_ISLAND) {
+                noGo(e, flag, silent, island.isSpawn() ? "protection.spawn-protected" : "protection.protected");
+                return false;
+            }
+            return true;
+        }
 
         // Ops or "bypass everywhere" moderators can do anything unless they have switched it off
-        if (!user.getMetaData(AdminSwitchCommand.META_TAG).map(MetaDataValue::asBoolean).orElse(false)
-                && (user.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypassprotect")
-                        || user.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypass." + flag.getID() + ".everywhere"))) {
-            if (user.isOp()) {
-                report(user, e, loc, flag,  Why.OP);
-            } else {
-                report(user, e, loc, flag,  Why.BYPASS_EVERYWHERE);
-            }
+        if (canBypassEverywhere(getIWM().getPermissionPrefix(loc.getWorld()), flag)) {
+            report(user, e, loc, flag, user.isOp() ? Why.OP : Why.BYPASS_EVERYWHERE);
             return true;
         }
 
@@ -176,23 +194,6 @@ public abstract class FlagListener implements Listener {
             return false;
         }
 
-        // Check if the plugin is set in User (required for testing)
-        User.setPlugin(plugin);
-
-        if (island.isPresent()) {
-            // If it is not allowed on the island, "bypass island" moderators can do anything
-            if (island.get().isAllowed(user, flag)) {
-                report(user, e, loc, flag,  Why.RANK_ALLOWED);
-                return true;
-            } else if (!user.getMetaData(AdminSwitchCommand.META_TAG).map(MetaDataValue::asBoolean).orElse(false)
-                    && (user.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypass." + flag.getID() + ".island"))) {
-                report(user, e, loc, flag,  Why.BYPASS_ISLAND);
-                return true;
-            }
-            report(user, e, loc, flag,  Why.NOT_ALLOWED_ON_ISLAND);
-            noGo(e, flag, silent, island.get().isSpawn() ? "protection.spawn-protected" : "protection.protected");
-            return false;
-        }
         // The player is in the world, but not on an island, so general world settings apply
         if (flag.isSetForWorld(loc.getWorld())) {
             report(user, e, loc, flag,  Why.ALLOWED_IN_WORLD);
@@ -204,8 +205,93 @@ public abstract class FlagListener implements Listener {
         }
     }
 
+    /**
+     * Works out whether the user can do an action protected by this flag on this island.
+     * The outcome is cached for the user if the protection cache is enabled.
+     * @param loc - location
+     * @param island - island at the location
+     * @param flag - protection flag
+     * @return reason the action is or is not allowed
+     */
+    private Why getIslandDecision(@NonNull Location loc, @NonNull Island island, @NonNull Flag flag) {
+        FlagDecisionCache decisions = plugin.getSettings() != null && plugin.getSettings().isProtectionCache() ? user.getFlagDecisions() : null;
+        Why why = decisions != null ? decisions.get(island, flag) : null;
+        if (why != null) {
+            return why;
+        }
+        String permissionPrefix = getIWM().getPermissionPrefix(loc.getWorld());
+        if (canBypassEverywhere(permissionPrefix, flag)) {
+            why = user.isOp() ? Why.OP : Why.BYPASS_EVERYWHERE;
+        } else {
+            // Check if the plugin is set in User (required for testing)
+            User.setPlugin(plugin);
+            // If it is not allowed on the island, "bypass island" moderators can do anything
+            if (island.isAllowed(user, flag)) {
+                why = Why.RANK_ALLOWED;
+            } else if (user.hasPermission(flag.getBypassIslandPermission(permissionPrefix)) && !isBypassSwitchedOff(user)) {
+                why = Why.BYPASS_ISLAND;
+            } else {
+                why = Why.NOT_ALLOWED_ON_ISLAND;
+            }
+        }
+        if (decisions != null) {
+            decisions.put(island, flag, why, plugin.getSettings().getProtectionCacheExpiry() * 1000L);
+        }
+        return why;
+    }
+
+    /**
+     * @param permissionPrefix - permission prefix of the world
+     * @param flag - flag
+     * @return true if the user is an op or a "bypass everywhere" moderator who has not switched it off
+     */
+    private boolean canBypassEverywhere(String permissionPrefix, Flag flag) {
+        return (user.hasPermission(getBypassProtectPermission(permissionPrefix))
+                || user.hasPermission(flag.getBypassEverywherePermission(permissionPrefix)))
+                && !isBypassSwitchedOff(user);
+    }
+
+    private static String getBypassProtectPermission(String permissionPrefix) {
+        String permission = BYPASS_PROTECT_PERMISSIONS.get(permissionPrefix);
+        if (permission == null) {
+            permission = permissionPrefix + "mod.bypassprotect";
+            BYPASS_PROTECT_PERMISSIONS.put(permissionPrefix, permission);
+        }
+        return permission;
+    }
+
+    /**
+     * @param user - user
+     * @return true if the user has switched off their bypass with the admin switch command
+     */
+    private static boolean isBypassSwitchedOff(User user) {
+        MetaDataValue value = user.getMetaData(AdminSwitchCommand.META_TAG).orElse(null);
+        return value != null && value.asBoolean();
+    }
+
+    /**
+     * Records whether a player is being debugged with the admin why command in a world.
+     * Flag listeners only look for debug metadata on players while at least one session is active.
+     * @param uuid - UUID of the player being debugged
+     * @param world - world being debugged
+     * @param debug - true if debugging is on, false if off
+     * @since 1.18.0
+     */
+    public static void setWhyDebug(@NonNull UUID uuid, @NonNull World world, boolean debug) {
+        String session = uuid + ":" + world.getName();
+        if (debug) {
+            WHY_DEBUG_SESSIONS.add(session);
+        } else {
+            WHY_DEBUG_SESSIONS.remove(session);
+        }
+    }
+
     private void report(@Nullable User user, @NonNull Event e, @NonNull Location loc, @NonNull Flag flag, @NonNull Why why) {
         // A quick way to debug flag listener unit tests is to add this line here: System.out.println(why.name()); NOSONAR
+        if (WHY_DEBUG_SESSIONS.isEmpty()) {
+            // Nobody is being debugged
+            return;
+        }
         if (user != null && user.isPlayer() && user.getPlayer().getMetadata(loc.getWorld().getName() + "_why_debug").stream()
                 .filter(p -> p.getOwningPlugin().equals(getPlugin())).findFirst().map(MetadataValue::asBoolean).orElse(false)) {
             String whyEvent = "Why: " + e.getEventName() + " in world " + loc.getWorld().getName() + " at " + Util.xyz(loc.toVector());
@@ -0,0 +1,372 @@
+package world.bentobox.bentobox.api.localization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.ChatColor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * A locale entry that has been made ready to send. The prefixes are put in and the variables
+ * are found once, so each message is then made in a single pass that also converts the color codes.
+ * <p>
+ * Templates are cached by the text of the entry, the locale and the game mode, and the cache is
+ * emptied when the locales are loaded or reloaded.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+public final class TranslationTemplate {
+
+    /**
+     * The cache is emptied if it gets bigger than this
+     */
+    private static final int MAX_TEMPLATES = 10000;
+    /**
+     * Builders that grow bigger than this are not kept
+     */
+    private static final int MAX_BUILDER = 2048;
+    private static final String PREFIX = "[prefix_";
+    private static final String FRIENDLY_NAME = "[friendly_name]";
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    private static final Map<Key, TranslationTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Renderer> RENDERER = ThreadLocal.withInitial(Renderer::new);
+
+    /**
+     * Text between the variables. There is one more part than there are variables.
+     */
+    private final String[] parts;
+    /**
+     * Variables, e.g., {@code [name]}
+     */
+    private final String[] variables;
+    /**
+     * True for each {@code [friendly_name]} in a prefix, which is filled in with the friendly name of the user's world
+     */
+    private final boolean[] friendlyNames;
+    /**
+     * True if the text may contain placeholders
+     */
+    private final boolean placeholders;
+    /**
+     * The finished message if there is nothing to fill in
+     */
+    @Nullable
+    private final String message;
+
+    private TranslationTemplate(List<String> parts, List<String> variables, List<Boolean> friendlyNames) {
+        this.parts = parts.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.friendlyNames = new boolean[friendlyNames.size()];
+        for (int i = 0; i < this.friendlyNames.length; i++) {
+            this.friendlyNames[i] = friendlyNames.get(i);
+        }
+        this.placeholders = parts.stream().anyMatch(p -> p.indexOf('%') >= 0) || variables.stream().anyMatch(v -> v.indexOf('%') >= 0);
+        this.message = this.variables.length == 0 && !placeholders ? color(this.parts[0]) : null;
+    }
+
+    /**
+     * @param text - text of a locale entry
+     * @return true if the text has prefixes to be put in, so {@link #get(String, Locale, String, Function)} must be used
+     */
+    public static boolean hasPrefixes(@NonNull String text) {
+        return text.contains(PREFIX);
+    }
+
+    /**
+     * Gets the template for a locale entry that has no prefixes
+     * @param text - text of the entry
+     * @return template
+     */
+    @NonNull
+    public static TranslationTemplate get(@NonNull String text) {
+        return get(new Key(text, null, null), k -> compile(text, p -> null));
+    }
+
+    /**
+     * Gets the template for a locale entry
+     * @param text - text of the entry
+     * @param locale - locale the prefixes are from
+     * @param gameMode - name of the game mode the prefixes are for, or null
+     * @param prefixes - gives the text of a prefix by its name, or null if there is no such prefix. Only called if the
+     * template is not cached.
+     * @return template
+     */
+    @NonNull
+    public static TranslationTemplate get(@NonNull String text, @Nullable Locale locale, @Nullable String gameMode, @NonNull Function<String, String> prefixes) {
+        return get(new Key(text, locale, gameMode), k -> compile(text, prefixes));
+    }
+
+    private static TranslationTemplate get(Key key, Function<Key, TranslationTemplate> compiler) {
+        TranslationTemplate template = TEMPLATES.get(key);
+        if (template == null) {
+            if (TEMPLATES.size() >= MAX_TEMPLATES) {
+                TEMPLATES.clear();
+            }
+            template = TEMPLATES.computeIfAbsent(key, compiler);
+        }
+        return template;
+    }
+
+    /**
+     * Empties the cache, e.g., because the locales have been reloaded
+     */
+    public static void clearCache() {
+        TEMPLATES.clear();
+    }
+
+    /**
+     * Puts in the prefixes and finds the variables
+     */
+    private static TranslationTemplate compile(String text, Function<String, String> prefixes) {
+        List<String> parts = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        List<Boolean> friendlyNames = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int end = findVariable(text, i);
+            if (end < 0) {
+                part.append(text, i, text.length());
+                break;
+            }
+            int start = text.lastIndexOf('[', end);
+            part.append(text, i, start);
+            String variable = text.substring(start, end + 1);
+            String prefix = variable.startsWith(PREFIX) ? prefixes.apply(variable.substring(PREFIX.length(), variable.length() - 1)) : null;
+            if (prefix == null) {
+                parts.add(part.toString());
+                part.setLength(0);
+                variables.add(variable);
+                friendlyNames.add(false);
+            } else {
+                // Put in the prefix. The only variable a prefix can fill in itself is the friendly name.
+                int j = 0;
+                while (j < prefix.length()) {
+                    int prefixEnd = findVariable(prefix, j);
+                    if (prefixEnd < 0) {
+                        part.append(prefix, j, prefix.length());
+                        break;
+                    }
+                    int prefixStart = prefix.lastIndexOf('[', prefixEnd);
+                    part.append(prefix, j, prefixStart);
+                    String prefixVariable = prefix.substring(prefixStart, prefixEnd + 1);
+                    parts.add(part.toString());
+                    part.setLength(0);
+                    variables.add(prefixVariable);
+                    friendlyNames.add(prefixVariable.equals(FRIENDLY_NAME));
+                    j = prefixEnd + 1;
+                }
+            }
+            i = end + 1;
+        }
+        parts.add(part.toString());
+        return new TranslationTemplate(parts, variables, friendlyNames);
+    }
+
+    /**
+     * Finds the next variable, which is text in square brackets
+     * @param text - text
+     * @param from - index to start from
+     * @return index of the closing bracket of the next variable, or -1 if there is none
+     */
+    private static int findVariable(String text, int from) {
+        int start = text.indexOf('[', from);
+        while (start >= 0) {
+            int end = text.indexOf(']', start + 1);
+            if (end < 0) {
+                return -1;
+            }
+            int next = text.indexOf('[', start + 1);
+            if (next < 0 || next > end) {
+                return end;
+            }
+            start = next;
+        }
+        return -1;
+    }
+
+    /**
+     * @param variable - target of a variable pair
+     * @return true if this is a variable in square brackets that the template could have found
+     */
+    private static boolean isVariable(String variable) {
+        return variable != null && variable.length() > 1 && variable.charAt(0) == '[' && findVariable(variable, 0) == variable.length() - 1
+                && variable.lastIndexOf('[') == 0;
+    }
+
+    /**
+     * Makes the message
+     * @param values - variables to put in, in pairs, for example "[name]", "tastybento"
+     * @param friendlyName - gives the friendly name of the user's world, or null if the user is not in a world
+     * @param placeholders - replaces placeholders, or null if placeholders should not be replaced
+     * @return message with colors converted
+     */
+    @NonNull
+    public String render(@NonNull String[] values, @NonNull Supplier<String> friendlyName, @Nullable UnaryOperator<String> placeholders) {
+        boolean needPlaceholders = placeholders != null && this.placeholders;
+        for (int i = 0; i + 1 < values.length; i += 2) {
+            if (!isVariable(values[i])) {
+                // Not something the template knows about, so do it the long way
+                return renderByReplacing(values, friendlyName, placeholders);
+            }
+            needPlaceholders |= placeholders != null && values[i + 1] != null && values[i + 1].indexOf('%') >= 0;
+        }
+        if (message != null) {
+            return message;
+        }
+        Renderer renderer = RENDERER.get();
+        if (needPlaceholders) {
+            renderer.start(false);
+            fill(renderer, values, friendlyName);
+            String text = placeholders.apply(renderer.finish());
+            renderer.start(true);
+            renderer.append(text);
+            return renderer.finish();
+        }
+        renderer.start(true);
+        fill(renderer, values, friendlyName);
+        return renderer.finish();
+    }
+
+    private void fill(Renderer renderer, String[] values, Supplier<String> friendlyName) {
+        renderer.append(parts[0]);
+        for (int i = 0; i < variables.length; i++) {
+            String value = friendlyNames[i] ? friendlyName.get() : null;
+            if (value == null) {
+                value = variables[i];
+                for (int v = 0; v + 1 < values.length; v += 2) {
+                    if (variables[i].equals(values[v])) {
+                        value = values[v + 1];
+                        break;
+                    }
+                }
+            }
+            renderer.append(value);
+            renderer.append(parts[i + 1]);
+        }
+    }
+
+    /**
+     * Makes the message by replacing each variable in turn
+     */
+    private String renderByReplacing(String[] values, Supplier<String> friendlyName, @Nullable UnaryOperator<String> placeholders) {
+        StringBuilder sb = new StringBuilder(parts[0]);
+        for (int i = 0; i < variables.length; i++) {
+            String value = friendlyNames[i] ? friendlyName.get() : null;
+            sb.append(value == null ? variables[i] : value).append(parts[i + 1]);
+        }
+        String text = sb.toString();
+        for (int i = 0; i + 1 < values.length; i += 2) {
+            text = text.replace(values[i], values[i + 1]);
+        }
+        if (placeholders != null) {
+            text = placeholders.apply(text);
+        }
+        return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', text));
+    }
+
+    private static String color(String text) {
+        Renderer renderer = RENDERER.get();
+        renderer.start(true);
+        renderer.append(text);
+        return renderer.finish();
+    }
+
+    /**
+     * Builds a message. Color codes are converted as with {@link ChatColor#translateAlternateColorCodes(char, String)}
+     * and spaces after color codes are removed as with {@link Util#stripSpaceAfterColorCodes(String)}.
+     */
+    private static class Renderer {
+        private StringBuilder sb = new StringBuilder(256);
+        private boolean colors;
+        /**
+         * Length of the message when a space was last removed. The color code before it cannot have another space removed.
+         */
+        private int stripped;
+
+        private void start(boolean colors) {
+            if (sb.capacity() > MAX_BUILDER) {
+                sb = new StringBuilder(256);
+            }
+            sb.setLength(0);
+            this.colors = colors;
+            stripped = -1;
+        }
+
+        private void append(@Nullable String text) {
+            if (!colors) {
+                sb.append(text);
+                return;
+            }
+            String s = String.valueOf(text);
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                int length = sb.length();
+                if (length > 0 && sb.charAt(length - 1) == '&' && stripped != length && COLOR_CODES.indexOf(c) >= 0) {
+                    sb.setCharAt(length - 1, ChatColor.COLOR_CHAR);
+                    c = Character.toLowerCase(c);
+                } else if (isSpace(c) && length > 1 && sb.charAt(length - 2) == ChatColor.COLOR_CHAR
+                        && !isLineEnd(sb.charAt(length - 1)) && length - 2 >= stripped) {
+                    stripped = length;
+                    continue;
+                }
+                sb.append(c);
+            }
+        }
+
+        private String finish() {
+            return sb.toString();
+        }
+
+        private static boolean isSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
+
+        private static boolean isLineEnd(char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+    }
+
+    private static final class Key {
+        private final String text;
+        @Nullable
+        private final Locale locale;
+        @Nullable
+        private final String gameMode;
+
+        private Key(String text, @Nullable Locale locale, @Nullable String gameMode) {
+            this.text = text;
+            this.locale = locale;
+            this.gameMode = gameMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, locale, gameMode);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return text.equals(other.text) && Objects.equals(locale, other.locale) && Objects.equals(gameMode, other.gameMode);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package world.bentobox.bentobox.api.panels;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.bukkit.Bukkit;
@@ -9,6 +10,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
 import org.eclipse.jdt.annotation.NonNull;
 
 import world.bentobox.bentobox.api.panels.builders.PanelBuilder;
@@ -30,6 +32,16 @@ public class Panel implements HeadRequester, InventoryHolder {
     private User user;
     private String name;
     private World world;
+    private Type type;
+    /**
+     * Copies of the items last set in each slot of the inventory, or null if the slot is empty.
+     * Used to only set the slots that change when the panel is refreshed.
+     */
+    private ItemStack[] slotItems = new ItemStack[0];
+    /**
+     * Hashes of the items in {@link #slotItems}, so most changed items can be told apart without comparing them in full
+     */
+    private int[] slotHashes = new int[0];
 
     /**
      * Various types of Panel that can be created.
@@ -75,8 +87,18 @@ public class Panel implements HeadRequester, InventoryHolder {
      */
     protected void makePanel(String name, Map<Integer, PanelItem> items, int size, User user,
             PanelListener listener, Type type) {
+        boolean sameTitle = Objects.equals(name, this.name) && type == this.type;
         this.name = name;
         this.items = items;
+        this.listener = listener;
+
+        if (sameTitle && isOpenFor(user) && (type != Type.INVENTORY || inventory.getSize() == fixSize(size))) {
+            // The panel is being refreshed. Keep the inventory so it is not opened and sent again, and only set the slots that changed
+            updateItems();
+            if (listener != null) listener.setup();
+            return;
+        }
+        this.type = type;
 
         // Create panel
         switch (type) {
@@ -90,18 +112,19 @@ public class Panel implements HeadRequester, InventoryHolder {
             inventory = Bukkit.createInventory(null, InventoryType.DROPPER, name);
             break;
         }
+        slotItems = new ItemStack[inventory.getSize()];
+        slotHashes = new int[inventory.getSize()];
 
         // Fill the inventory and return
         for (Map.Entry<Integer, PanelItem> en: items.entrySet()) {
             if (en.getKey() < 54) {
-                inventory.setItem(en.getKey(), en.getValue().getItem());
+                setSlot(en.getKey(), en.getValue().getItem());
                 // Get player head async
                 if (en.getValue().isPlayerHead()) {
                     HeadGetter.getHead(en.getValue(), this);
                 }
             }
         }
-        this.listener = listener;
         // If the listener is defined, then run setup
         if (listener != null) listener.setup();
 
@@ -110,6 +133,60 @@ public class Panel implements HeadRequester, InventoryHolder {
         if (user != null) this.open(user);
     }
 
+    /**
+     * @param user - user
+     * @return true if this panel is the one the user has open
+     */
+    private boolean isOpenFor(User user) {
+        return inventory != null && user != null && user.equals(this.user)
+                && PanelListenerManager.getOpenPanels().get(user.getUniqueId()) == this;
+    }
+
+    /**
+     * Sets the slots whose items have changed and empties the slots that no longer have an item
+     */
+    private void updateItems() {
+        boolean[] used = new boolean[slotItems.length];
+        for (Map.Entry<Integer, PanelItem> en: items.entrySet()) {
+            int slot = en.getKey();
+            if (slot < slotItems.length) {
+                used[slot] = true;
+                // A cached head is put on the item straight away, so it is only set once
+                if (en.getValue().isPlayerHead()) {
+                    HeadGetter.getHead(en.getValue(), this);
+                }
+                setSlot(slot, en.getValue().getItem());
+            }
+        }
+        for (int slot = 0; slot < used.length; slot++) {
+            if (!used[slot] && slotItems[slot] != null) {
+                inventory.setItem(slot, null);
+                slotItems[slot] = null;
+            }
+        }
+    }
+
+    /**
+     * Sets the item in the slot, unless the item in it already looks the same
+     * @param slot - slot
+     * @param itemStack - item to show
+     */
+    private void setSlot(int slot, ItemStack itemStack) {
+        if (slot >= slotItems.length) {
+            inventory.setItem(slot, itemStack);
+            return;
+        }
+        // The hash of an item stack is made from its type, amount and meta, so it is a quick first check
+        int hash = itemStack == null ? 0 : itemStack.hashCode();
+        if (slotItems[slot] != null && slotHashes[slot] == hash && slotItems[slot].equals(itemStack)) {
+            return;
+        }
+        inventory.setItem(slot, itemStack);
+        // Panel items change their icons in place, so keep a copy of what is shown
+        slotItems[slot] = itemStack == null ? null : itemStack.clone();
+        slotHashes[slot] = hash;
+    }
+
     private int fixSize(int size) {
         // If size is undefined (0) then use the number of items
         if (size == 0) {
@@ -170,6 +247,9 @@ public class Panel implements HeadRequester, InventoryHolder {
      */
     public void setInventory(Inventory inventory) {
         this.inventory = inventory;
+        int size = inventory == null ? 0 : inventory.getSize();
+        this.slotItems = new ItemStack[size];
+        this.slotHashes = new int[size];
     }
 
     /**
@@ -205,7 +285,7 @@ public class Panel implements HeadRequester, InventoryHolder {
         mapToInt(Map.Entry::getKey).findFirst()
         .ifPresent(index ->
         // Update item inside inventory to change icon only if item is inside panel.
-        this.inventory.setItem(index, item.getItem()));
+        this.setSlot(index, item.getItem()));
     }
 
     /**
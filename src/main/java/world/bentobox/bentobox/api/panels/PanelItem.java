@@ -36,8 +36,22 @@ public class PanelItem {
         this.icon = builtItem.getIcon();
         this.icon.setAmount(builtItem.getAmount());
         this.playerHeadName = builtItem.getPlayerHeadName();
-        // Get the meta
+        this.clickHandler = builtItem.getClickHandler();
+        this.name = builtItem.getName();
+        this.description = builtItem.getDescription();
+        this.glow = builtItem.isGlow();
+        this.invisible = builtItem.isInvisible();
+
+        // Create the final item
         meta = icon.getItemMeta();
+        applyMeta();
+    }
+
+    /**
+     * Puts the name, description, glow and visibility on the meta and sets it on the icon once,
+     * instead of once for each of them
+     */
+    private void applyMeta() {
         if (meta != null) {
             // Set flags to neaten up the view
             meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
@@ -45,17 +59,19 @@ public class PanelItem {
             meta.addItemFlags(ItemFlag.HIDE_PLACED_ON);
             meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
             meta.addItemFlags(ItemFlag.HIDE_POTION_EFFECTS);
+            meta.setDisplayName(name);
+            meta.setLocalizedName(name); //Localized name cannot be overridden by the player using an anvils
+            meta.setLore(description);
+            meta.addEnchant(Enchantment.ARROW_DAMAGE, 0, glow);
+            if (invisible) {
+                meta.addEnchant(Enchantment.VANISHING_CURSE, 1, true);
+                meta.removeItemFlags(ItemFlag.HIDE_ENCHANTS);
+            } else {
+                meta.removeEnchant(Enchantment.VANISHING_CURSE);
+                meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+            }
             icon.setItemMeta(meta);
         }
-
-        this.clickHandler = builtItem.getClickHandler();
-
-        // Create the final item
-        setName(builtItem.getName());
-        setDescription(builtItem.getDescription());
-        setGlow(builtItem.isGlow());
-        setInvisible(builtItem.isInvisible());
-
     }
 
     public ItemStack getItem() {
@@ -165,19 +181,8 @@ public class PanelItem {
         itemStack.setAmount(this.icon.getAmount());
         this.icon = itemStack;
 
-        // Get the meta
-        meta = icon.getItemMeta();
-        if (meta != null) {
-            // Set flags to neaten up the view
-            meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
-            meta.addItemFlags(ItemFlag.HIDE_DESTROYS);
-            meta.addItemFlags(ItemFlag.HIDE_PLACED_ON);
-            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
-            icon.setItemMeta(meta);
-        }
         // Create the final item
-        setName(name);
-        setDescription(description);
-        setGlow(glow);
+        meta = icon.getItemMeta();
+        applyMeta();
     }
 }
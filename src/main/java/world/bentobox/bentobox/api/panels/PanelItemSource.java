@@ -0,0 +1,75 @@
+package world.bentobox.bentobox.api.panels;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The panel items of a {@link Tab}, which can be made when the page they are on is shown
+ * instead of all at once. See {@link Tab#getPanelItemSource()}.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+public interface PanelItemSource {
+
+    /**
+     * @return the number of panel items
+     */
+    int size();
+
+    /**
+     * Gets some of the panel items, making them if they have not been made yet
+     * @param start - index of the first item
+     * @param count - most items to get
+     * @return the items, in slot order
+     */
+    @NonNull
+    List<PanelItem> getItems(int start, int count);
+
+    /**
+     * Panel items that have already been made
+     * @param items - the items. Null items are left out.
+     * @return source of the items
+     */
+    static PanelItemSource of(@NonNull List<@Nullable PanelItem> items) {
+        return of(items.stream().filter(Objects::nonNull).collect(Collectors.toList()), Function.identity());
+    }
+
+    /**
+     * Panel items that are made from a list of entries when they are first asked for.
+     * Items that have been made are kept, so turning back to a page does not make them again.
+     * @param <T> type of the entries
+     * @param entries - the entries, in slot order
+     * @param maker - makes the panel item for an entry. It must not return null.
+     * @return source of the items
+     */
+    static <T> PanelItemSource of(@NonNull List<T> entries, @NonNull Function<T, PanelItem> maker) {
+        return new PanelItemSource() {
+            private final PanelItem[] made = new PanelItem[entries.size()];
+
+            @Override
+            public int size() {
+                return made.length;
+            }
+
+            @Override
+            public List<PanelItem> getItems(int start, int count) {
+                int end = (int) Math.min(made.length, (long) start + count);
+                List<PanelItem> items = new ArrayList<>();
+                for (int i = Math.max(0, start); i < end; i++) {
+                    if (made[i] == null) {
+                        made[i] = maker.apply(entries.get(i));
+                    }
+                    items.add(made[i]);
+                }
+                return items;
+            }
+        };
+    }
+}
@@ -29,6 +29,17 @@ public interface Tab {
      */
     List<@Nullable PanelItem> getPanelItems();
 
+    /**
+     * Return the panel items for this tab so that {@link TabbedPanel} only makes the ones on the page being shown.
+     * By default, all the items from {@link #getPanelItems()} are made straight away. Tabs with a lot of items
+     * should override this and return {@link PanelItemSource#of(List, java.util.function.Function)}.
+     * @return the panel items in slot order
+     * @since 1.18.0
+     */
+    default PanelItemSource getPanelItemSource() {
+        return PanelItemSource.of(getPanelItems());
+    }
+
     /**
      * @return the permission required to view this tab or empty if no permission required
      */
@@ -1,9 +1,7 @@
 package world.bentobox.bentobox.api.panels;
 
 import java.security.InvalidParameterException;
-import java.util.List;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.TreeMap;
 
 import org.bukkit.Material;
@@ -29,12 +27,20 @@ import world.bentobox.bentobox.api.user.User;
 public class TabbedPanel extends Panel implements PanelListener {
 
     private static final String PROTECTION_PANEL = "protection.panel.";
-    private static final long ITEMS_PER_PAGE = 36;
+    private static final int ITEMS_PER_PAGE = 36;
+    private static final int PREVIOUS_PAGE_SLOT = 46;
+    private static final int NEXT_PAGE_SLOT = 52;
     private final TabbedPanelBuilder tpb;
     private @NonNull BentoBox plugin = BentoBox.getInstance();
     private int activeTab;
     private int activePage;
     private boolean closed;
+    /**
+     * Items of the active tab. They are kept while the player turns pages or changes tabs, and made again after any other click.
+     */
+    private PanelItemSource source;
+    private Tab sourceTab;
+    private boolean keepItems;
 
     /**
      * Construct the tabbed panel
@@ -50,6 +56,8 @@ public class TabbedPanel extends Panel implements PanelListener {
      */
     @Override
     public void refreshPanel() {
+        if (!keepItems) source = null;
+        keepItems = false;
         if (closed) return;
         // Called when a player clicks on the panel
         openPanel(activeTab, activePage);
@@ -87,7 +95,7 @@ public class TabbedPanel extends Panel implements PanelListener {
 
         // Remove any tabs that have no items, if required
         if (tpb.isHideIfEmpty()) {
-            tpb.getTabs().values().removeIf(t -> !t.equals(tab) && t.getPanelItems().stream().noneMatch(Objects::nonNull));
+            tpb.getTabs().values().removeIf(t -> !t.equals(tab) && t.getPanelItemSource().size() == 0);
         }
 
         // Set up the tabbed header
@@ -95,26 +103,30 @@ public class TabbedPanel extends Panel implements PanelListener {
 
         // Show the active tab
         if (tpb.getTabs().containsKey(activeTab)) {
-            List<PanelItem> panelItems = tab.getPanelItems();
+            // Only the items on this page are made
+            if (source == null || sourceTab != tab) {
+                source = tab.getPanelItemSource();
+                sourceTab = tab;
+            }
             // Adds the flag items
-            panelItems.stream().filter(Objects::nonNull).skip(page * ITEMS_PER_PAGE).limit(page * ITEMS_PER_PAGE + ITEMS_PER_PAGE).forEach(i -> items.put(items.lastKey() + 1, i));
+            source.getItems(page * ITEMS_PER_PAGE, ITEMS_PER_PAGE).forEach(i -> items.put(items.lastKey() + 1, i));
 
             // set up the footer
             setupFooter(items);
             // Add forward and backward icons
             if (page > 0) {
                 // Previous page icon
-                items.put(46, new PanelItemBuilder().icon(Material.ARROW).name(tpb.getUser().getTranslation(PROTECTION_PANEL + "previous")).clickHandler((panel, user1, clickType, slot1) -> {
+                items.put(PREVIOUS_PAGE_SLOT, new PanelItemBuilder().icon(Material.ARROW).name(tpb.getUser().getTranslation(PROTECTION_PANEL + "previous")).clickHandler((panel, user1, clickType, slot1) -> {
                     this.activePage--;
-                    this.refreshPanel();
+                    this.openPanel(activeTab, activePage);
                     return true;
                 }).build());
             }
-            if ((page + 1) * ITEMS_PER_PAGE < panelItems.stream().filter(Objects::nonNull).count()) {
+            if ((page + 1) * ITEMS_PER_PAGE < source.size()) {
                 // Next page icon
-                items.put(52, new PanelItemBuilder().icon(Material.ARROW).name(tpb.getUser().getTranslation(PROTECTION_PANEL + "next")).clickHandler((panel, user1, clickType, slot1) -> {
+                items.put(NEXT_PAGE_SLOT, new PanelItemBuilder().icon(Material.ARROW).name(tpb.getUser().getTranslation(PROTECTION_PANEL + "next")).clickHandler((panel, user1, clickType, slot1) -> {
                     this.activePage++;
-                    this.refreshPanel();
+                    this.openPanel(activeTab, activePage);
                     return true;
                 }).build());
             }
@@ -168,6 +180,8 @@ public class TabbedPanel extends Panel implements PanelListener {
 
     @Override
     public void onInventoryClick(User user, InventoryClickEvent event) {
+        // Turning the page does not change the items, so they do not need to be made again
+        keepItems = event.getRawSlot() == PREVIOUS_PAGE_SLOT || event.getRawSlot() == NEXT_PAGE_SLOT;
         // Trap top row tab clicks
         if (event.isLeftClick() && tpb.getTabs().containsKey(event.getRawSlot())
                 && (tpb.getTabs().get(event.getRawSlot()).getPermission().isEmpty()
@@ -177,6 +191,8 @@ public class TabbedPanel extends Panel implements PanelListener {
             user.getPlayer().playSound(user.getLocation(), Sound.BLOCK_STONE_BUTTON_CLICK_OFF, 1F, 1F);
             // Reset the closed flag
             closed = false;
+            // The items of the new tab have just been made
+            keepItems = true;
         }
     }
 
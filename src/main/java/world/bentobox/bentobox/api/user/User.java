@@ -5,8 +5,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.math.NumberUtils;
@@ -30,9 +32,10 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.events.OfflineMessageEvent;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 import world.bentobox.bentobox.api.metadata.MetaDataAble;
 import world.bentobox.bentobox.api.metadata.MetaDataValue;
-import world.bentobox.bentobox.util.Util;
 
 /**
  * Combines {@link Player}, {@link OfflinePlayer} and {@link CommandSender} to provide convenience methods related to
@@ -49,6 +52,11 @@ public class User implements MetaDataAble {
 
     private static Map<UUID, User> users = new HashMap<>();
 
+    /**
+     * Locales by language tag, so that tags are not parsed every time
+     */
+    private static final Map<String, Locale> LOCALES = new ConcurrentHashMap<>();
+
     /**
      * Clears all users from the user list
      */
@@ -144,6 +152,23 @@ public class User implements MetaDataAble {
 
     private Addon addon;
 
+    private final FlagDecisionCache flagDecisions = new FlagDecisionCache();
+    /**
+     * Whether the user was op when the protection decisions were cached
+     */
+    private boolean flagDecisionsOp;
+
+    /**
+     * How long numerical permission values are remembered, in milliseconds, to pick up permission changes
+     * made by other plugins
+     */
+    private static final long PERMISSION_VALUES_EXPIRY = 10000L;
+    /**
+     * Numerical permission values by permission prefix. Empty means the default value should be used.
+     */
+    private final Map<String, OptionalInt> permissionValues = new ConcurrentHashMap<>();
+    private volatile long permissionValuesExpires;
+
     private User(CommandSender sender) {
         player = null;
         playerUUID = null;
@@ -259,6 +284,7 @@ public class User implements MetaDataAble {
             }
         }
         player.recalculatePermissions();
+        clearPermissionValues();
         return !player.hasPermission(name);
     }
 
@@ -269,9 +295,27 @@ public class User implements MetaDataAble {
      * @since 1.5.0
      */
     public PermissionAttachment addPerm(String name) {
+        clearPermissionValues();
         return player.addAttachment(plugin, name, true);
     }
 
+    /**
+     * Get the protection decisions cached for this user.
+     * They are dropped if the user has been opped or deopped since they were cached.
+     * @return flag decision cache
+     * @since 1.18.0
+     */
+    @NonNull
+    public FlagDecisionCache getFlagDecisions() {
+        // Decisions worked out before the user was opped or deopped no longer hold
+        boolean op = isOp();
+        if (op != flagDecisionsOp) {
+            flagDecisions.clear();
+            flagDecisionsOp = op;
+        }
+        return flagDecisions;
+    }
+
     public boolean isOnline() {
         return player != null && player.isOnline();
     }
@@ -290,9 +334,21 @@ public class User implements MetaDataAble {
         return false;
     }
 
+    /**
+     * Forgets the numerical permission values and protection decisions worked out for this user.
+     * Call this if the user's permissions are changed other than by {@link #addPerm(String)} or {@link #removePerm(String)}.
+     * @since 1.18.0
+     */
+    public void clearPermissionValues() {
+        permissionValues.clear();
+        flagDecisions.clear();
+    }
+
     /**
      * Get the maximum value of a numerical permission setting.
      * If a player is given an explicit negative number then this is treated as "unlimited" and returned immediately.
+     * The value is worked out once and remembered until the user's permissions change or for a few seconds,
+     * so it can be called often.
      * @param permissionPrefix the start of the perm, e.g., {@code plugin.mypermission}
      * @param defaultValue the default value; the result may be higher or lower than this
      * @return max value
@@ -301,13 +357,28 @@ public class User implements MetaDataAble {
         // If requester is console, then return the default value
         if (!isPlayer()) return defaultValue;
 
-        int value = 0;
-
         // If there is a dot at the end of the permissionPrefix, remove it
         if (permissionPrefix.endsWith(".")) {
             permissionPrefix = permissionPrefix.substring(0, permissionPrefix.length()-1);
         }
 
+        long now = System.currentTimeMillis();
+        if (permissionValuesExpires < now) {
+            permissionValues.clear();
+            permissionValuesExpires = now + PERMISSION_VALUES_EXPIRY;
+        }
+        OptionalInt value = permissionValues.computeIfAbsent(permissionPrefix, this::findPermissionValue);
+        return value.orElse(defaultValue);
+    }
+
+    /**
+     * Works out the value of a numerical permission from the player's effective permissions
+     * @param permissionPrefix the start of the perm without a dot at the end
+     * @return max value, or empty if the default value should be used
+     */
+    private OptionalInt findPermissionValue(String permissionPrefix) {
+        int value = 0;
+
         final String permPrefix = permissionPrefix + ".";
 
         List<String> permissions = player.getEffectivePermissions().stream()
@@ -316,12 +387,12 @@ public class User implements MetaDataAble {
                 .filter(permission -> permission.startsWith(permPrefix))
                 .collect(Collectors.toList());
 
-        if (permissions.isEmpty()) return defaultValue;
+        if (permissions.isEmpty()) return OptionalInt.empty();
 
         for (String permission : permissions) {
             if (permission.contains(permPrefix + "*")) {
                 // 'Star' permission
-                return defaultValue;
+                return OptionalInt.empty();
             } else {
                 String[] spl = permission.split(permPrefix);
                 if (spl.length > 1) {
@@ -330,7 +401,7 @@ public class User implements MetaDataAble {
                     } else {
                         int v = Integer.parseInt(spl[1]);
                         if (v < 0) {
-                            return v;
+                            return OptionalInt.of(v);
                         }
                         value = Math.max(value, v);
                     }
@@ -338,7 +409,7 @@ public class User implements MetaDataAble {
             }
         }
 
-        return value;
+        return OptionalInt.of(value);
     }
 
     /**
@@ -385,33 +456,40 @@ public class User implements MetaDataAble {
         // If this is a prefix, just gather and return the translation
         if (reference.startsWith("prefixes.")) {
             return translation;
+        }
+        TranslationTemplate template;
+        if (TranslationTemplate.hasPrefixes(translation)) {
+            // Prefixes depend on the user's locale and game mode
+            template = TranslationTemplate.get(translation, getLocale(), addon != null ? addon.getDescription().getName() : null, this::getPrefix);
         } else {
-            // Replace the prefixes
-            for (String prefix : plugin.getLocalesManager().getAvailablePrefixes(this)) {
-                String prefixTranslation = getTranslation("prefixes." + prefix);
-                // Replace the [gamemode] text variable
-                prefixTranslation = prefixTranslation.replace("[gamemode]", addon != null ? addon.getDescription().getName() : "[gamemode]");
-                // Replace the [friendly_name] text variable
-                prefixTranslation = prefixTranslation.replace("[friendly_name]", getWorld() != null ? plugin.getIWM().getFriendlyName(getWorld()) : "[friendly_name]");
-
-                // Replace the prefix in the actual message
-                translation = translation.replace("[prefix_" + prefix + "]", prefixTranslation);
-            }
+            template = TranslationTemplate.get(translation);
+        }
+        // Placeholders will only work if this is a player
+        return template.render(variables, this::getFriendlyName, player != null ? this::replacePlaceholders : null);
+    }
 
-            // Then replace variables
-            if (variables.length > 1) {
-                for (int i = 0; i < variables.length; i += 2) {
-                    translation = translation.replace(variables[i], variables[i + 1]);
-                }
-            }
+    /**
+     * Gets the text of a prefix for this user
+     * @param prefix - name of the prefix
+     * @return text of the prefix with the game mode put in, or null if there is no such prefix
+     */
+    @Nullable
+    private String getPrefix(String prefix) {
+        if (!plugin.getLocalesManager().getAvailablePrefixes(this).contains(prefix)) {
+            return null;
+        }
+        String prefixTranslation = getTranslation("prefixes." + prefix);
+        // Replace the [gamemode] text variable
+        return prefixTranslation.replace("[gamemode]", addon != null ? addon.getDescription().getName() : "[gamemode]");
+    }
 
-            // Then replace Placeholders, this will only work if this is a player
-            if (player != null) {
-                translation = plugin.getPlaceholdersManager().replacePlaceholders(player, translation);
-            }
+    @Nullable
+    private String getFriendlyName() {
+        return getWorld() != null ? plugin.getIWM().getFriendlyName(getWorld()) : null;
+    }
 
-            return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', translation));
-        }
+    private String replacePlaceholders(String text) {
+        return plugin.getPlaceholdersManager().replacePlaceholders(player, text);
     }
 
     /**
@@ -517,10 +595,13 @@ public class User implements MetaDataAble {
      * @return Locale
      */
     public Locale getLocale() {
-        if (sender instanceof Player && !plugin.getPlayers().getLocale(playerUUID).isEmpty()) {
-            return Locale.forLanguageTag(plugin.getPlayers().getLocale(playerUUID));
+        if (sender instanceof Player) {
+            String languageTag = plugin.getPlayers().getLocale(playerUUID);
+            if (!languageTag.isEmpty()) {
+                return LOCALES.computeIfAbsent(languageTag, Locale::forLanguageTag);
+            }
         }
-        return Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage());
+        return LOCALES.computeIfAbsent(plugin.getSettings().getDefaultLanguage(), Locale::forLanguageTag);
     }
 
     /**
@@ -27,6 +27,9 @@ public class BentoBoxCommand extends CompositeCommand {
         // Database names with a 2 in them are migration databases
         if (getPlugin().getSettings().getDatabaseType().name().contains("2")) {
             new BentoBoxMigrateCommand(this);
+        } else {
+            // Reading the tables would migrate them
+            new BentoBoxStorageCommand(this);
         }
     }
 
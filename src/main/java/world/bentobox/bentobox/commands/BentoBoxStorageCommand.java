@@ -0,0 +1,125 @@
+package world.bentobox.bentobox.commands;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bukkit.Bukkit;
+
+import com.google.gson.Gson;
+
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.Database;
+import world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.Names;
+import world.bentobox.bentobox.database.objects.Players;
+
+/**
+ * Shows how much space each table takes as pretty and as compact JSON
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+public class BentoBoxStorageCommand extends CompositeCommand {
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    /**
+     * Databases used to read each table, made the first time the table is read and reused after that.
+     * They are not closed, because closing a handler can close the connection or file it shares with
+     * the handler that BentoBox or the addon uses for the same table.
+     */
+    private final Map<Class<?>, Database<?>> databases = new ConcurrentHashMap<>();
+
+    /**
+     * Storage command
+     * @param parent - command parent
+     */
+    public BentoBoxStorageCommand(CompositeCommand parent) {
+        super(parent, "storage");
+    }
+
+    @Override
+    public void setup() {
+        setPermission("bentobox.admin.storage");
+        setDescription("commands.bentobox.storage.description");
+    }
+
+    @Override
+    public boolean execute(User user, String label, List<String> args) {
+        if (!running.compareAndSet(false, true)) {
+            user.sendMessage("commands.bentobox.storage.already-running");
+            return false;
+        }
+        try {
+            user.sendMessage("commands.bentobox.storage.calculating");
+            List<Class<?>> tables = new ArrayList<>();
+            tables.add(Island.class);
+            tables.add(Players.class);
+            tables.add(Names.class);
+            tables.addAll(getPlugin().getAddonsManager().getDataObjects());
+            // Reading the tables can take a while, so do it async
+            Bukkit.getScheduler().runTaskAsynchronously(getPlugin(), () -> {
+                try {
+                    report(user, tables);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the tables and sends the user their sizes on the main thread
+     * @param user - user to tell
+     * @param tables - tables to read
+     */
+    private void report(User user, List<Class<?>> tables) {
+        Gson pretty = AbstractJSONDatabaseHandler.createGson(getPlugin(), false);
+        Gson compact = AbstractJSONDatabaseHandler.createGson(getPlugin(), true);
+        List<String[]> results = new ArrayList<>();
+        long totalPretty = 0;
+        long totalCompact = 0;
+        for (Class<?> table : tables) {
+            List<?> objects = getDatabase(table).loadObjects();
+            long prettySize = 0;
+            long compactSize = 0;
+            for (Object object : objects) {
+                prettySize += pretty.toJson(object).getBytes(StandardCharsets.UTF_8).length;
+                compactSize += compact.toJson(object).getBytes(StandardCharsets.UTF_8).length;
+            }
+            totalPretty += prettySize;
+            totalCompact += compactSize;
+            results.add(new String[] {table.getSimpleName(), String.valueOf(objects.size()), format(prettySize), format(compactSize), saving(prettySize, compactSize)});
+        }
+        String[] total = {format(totalPretty), format(totalCompact), saving(totalPretty, totalCompact)};
+        Bukkit.getScheduler().runTask(getPlugin(), () -> {
+            user.sendMessage("commands.bentobox.storage.header", "[type]", getSettings().isDatabaseCompactJson()
+                    ? user.getTranslation("commands.bentobox.storage.compact") : user.getTranslation("commands.bentobox.storage.pretty"));
+            results.forEach(r -> user.sendMessage("commands.bentobox.storage.table", TextVariables.NAME, r[0], TextVariables.NUMBER, r[1],
+                    "[pretty]", r[2], "[compact]", r[3], "[saving]", r[4]));
+            user.sendMessage("commands.bentobox.storage.total", "[pretty]", total[0], "[compact]", total[1], "[saving]", total[2]);
+        });
+    }
+
+    private Database<?> getDatabase(Class<?> table) {
+        return databases.computeIfAbsent(table, t -> new Database<>(getPlugin(), t));
+    }
+
+    private static String format(long bytes) {
+        return bytes < 1024 ? bytes + " B" : String.format("%.1f kB", bytes / 1024D);
+    }
+
+    private static String saving(long pretty, long compact) {
+        return pretty == 0 ? "0" : String.valueOf(Math.round(100D * (pretty - compact) / pretty));
+    }
+}
@@ -10,6 +10,7 @@ import org.bukkit.Bukkit;
 
 import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.versions.ServerCompatibility;
@@ -45,6 +46,10 @@ public class BentoBoxVersionCommand extends CompositeCommand {
                         TextVariables.VERSION, serverVersion != null ? serverVersion.toString() : user.getTranslation("general.invalid"));
         user.sendMessage("commands.bentobox.version.plugin-version", TextVariables.VERSION, getPlugin().getDescription().getVersion());
         user.sendMessage("commands.bentobox.version.database", "[database]", getSettings().getDatabaseType().toString());
+        if (getSettings().isProtectionCache()) {
+            user.sendMessage("commands.bentobox.version.protection-cache", "[rate]", String.format("%.1f", FlagDecisionCache.getHitRate()),
+                    TextVariables.NUMBER, String.valueOf(FlagDecisionCache.getHits() + FlagDecisionCache.getMisses()));
+        }
         user.sendMessage("commands.bentobox.version.loaded-game-worlds");
 
         getIWM().getOverWorldNames().entrySet().stream().sorted(Map.Entry.comparingByKey())
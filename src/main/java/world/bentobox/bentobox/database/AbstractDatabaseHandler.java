@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
@@ -125,6 +126,18 @@ public abstract class AbstractDatabaseHandler<T> {
      */
     public abstract List<T> loadObjects() throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, IntrospectionException, NoSuchMethodException;
 
+    /**
+     * Loads all the records in this table and gives them to the consumer one by one, in order, on this thread.
+     * Databases that can read records while others are still being parsed override this so that
+     * the whole table does not have to be loaded before the first record is used.
+     * By default, all the records are loaded with {@link #loadObjects()} first.
+     * @param consumer - given each record
+     * @since 1.18.0
+     */
+    public void loadObjects(Consumer<T> consumer) throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, IntrospectionException, NoSuchMethodException {
+        loadObjects().forEach(consumer);
+    }
+
     /**
      * Creates a <T> filled with values from the corresponding
      * database file
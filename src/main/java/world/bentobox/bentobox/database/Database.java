@@ -3,18 +3,28 @@ package world.bentobox.bentobox.database;
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
+import world.bentobox.bentobox.database.objects.DataObject;
 
 /**
- * Handy class to store and load Java POJOs in the Database
+ * Handy class to store and load Java POJOs in the Database.
+ * <p>
+ * Saves of data objects are held until the next tick, so saving the same object many times in one tick only
+ * serializes and writes it once.
  * @author tastybento
  *
  * @param <T>
@@ -23,7 +33,23 @@ public class Database<T> {
 
     private AbstractDatabaseHandler<T> handler;
     private Logger logger;
+    private BentoBox plugin;
     private static DatabaseSetup databaseSetup = DatabaseSetup.getDatabase();
+    /**
+     * Databases that have saves waiting for the next tick
+     */
+    private static final Set<Database<?>> WITH_PENDING_SAVES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Saves waiting for the next tick, by unique id. Only the latest instance of each object is saved.
+     */
+    private final Map<String, PendingSave<T>> pendingSaves = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    private static class PendingSave<T> {
+        private T instance;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    }
 
     /**
      * Construct a database
@@ -31,6 +57,7 @@ public class Database<T> {
      * @param type - to store this type
      */
     public Database(BentoBox plugin, Class<T> type)  {
+        this.plugin = plugin;
         this.logger = plugin.getLogger();
         handler = databaseSetup.getHandler(type);
     }
@@ -41,6 +68,7 @@ public class Database<T> {
      * @param type - to store this type
      */
     public Database(Addon addon, Class<T> type)  {
+        this.plugin = BentoBox.getInstance();
         this.logger = addon.getLogger();
         handler = databaseSetup.getHandler(type);
     }
@@ -52,6 +80,7 @@ public class Database<T> {
     @NonNull
     public List<T> loadObjects() {
         List<T> result = new ArrayList<>();
+        Map<String, T> pending = getPendingInstances();
         try {
             result = handler.loadObjects();
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
@@ -59,7 +88,60 @@ public class Database<T> {
                 | NoSuchMethodException | SecurityException e) {
             logger.severe(() -> "Could not load objects from database! Error: " + e.getMessage());
         }
-        return result;
+        if (pending.isEmpty()) {
+            return result;
+        }
+        // Objects waiting to be saved are newer than what is in the database
+        List<T> merged = new ArrayList<>(result.size() + pending.size());
+        result.forEach(t -> merged.add(getPendingOr(pending, t)));
+        merged.addAll(pending.values());
+        return merged;
+    }
+
+    /**
+     * Load all the config objects and give them to the consumer one by one, in order, on this thread.
+     * Depending on the database, objects may be given to the consumer while others are still being loaded.
+     * @param consumer - given each object
+     * @since 1.18.0
+     */
+    public void loadObjects(@NonNull Consumer<T> consumer) {
+        Map<String, T> pending = getPendingInstances();
+        try {
+            handler.loadObjects(pending.isEmpty() ? consumer : t -> consumer.accept(getPendingOr(pending, t)));
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | ClassNotFoundException | IntrospectionException
+                | NoSuchMethodException | SecurityException e) {
+            logger.severe(() -> "Could not load objects from database! Error: " + e.getMessage());
+        }
+        pending.values().forEach(consumer);
+    }
+
+    /**
+     * @return copy of the objects waiting to be saved, by unique id
+     */
+    private Map<String, T> getPendingInstances() {
+        synchronized (pendingSaves) {
+            Map<String, T> result = new LinkedHashMap<>();
+            pendingSaves.forEach((id, p) -> result.put(id, p.instance));
+            return result;
+        }
+    }
+
+    /**
+     * Swaps a loaded object for the instance waiting to be saved with the same unique id, if there is one.
+     * The instance is taken out of the pending map so that what is left in it was not loaded.
+     * @param pending - instances waiting to be saved, by unique id
+     * @param loaded - object loaded from the database
+     * @return the object to use
+     */
+    private T getPendingOr(Map<String, T> pending, T loaded) {
+        if (loaded instanceof DataObject) {
+            T instance = pending.remove(((DataObject)loaded).getUniqueId());
+            if (instance != null) {
+                return instance;
+            }
+        }
+        return loaded;
     }
 
     /**
@@ -69,6 +151,13 @@ public class Database<T> {
      */
     @Nullable
     public T loadObject(String uniqueId) {
+        synchronized (pendingSaves) {
+            PendingSave<T> pending = pendingSaves.get(uniqueId);
+            if (pending != null) {
+                // The object waiting to be saved is newer than what is in the database
+                return pending.instance;
+            }
+        }
         T result = null;
         try {
             result = handler.loadObject(uniqueId);
@@ -84,17 +173,77 @@ public class Database<T> {
 
     /**
      * Save object async. Saving may be done sync, depending on the underlying database.
+     * Data objects are saved on the next tick, and if the same object is saved again before then, it is only saved once.
+     * When the plugin is disabled, the object is saved straight away.
      * @param instance to save
      * @return true if no immediate errors. If async, errors may occur later.
      * @since 1.13.0
      */
     public CompletableFuture<Boolean> saveObjectAsync(T instance) {
+        if (!(instance instanceof DataObject) || plugin == null || !plugin.isEnabled()) {
+            // Save now, after anything that is waiting
+            flush();
+            return save(instance);
+        }
+        String uniqueId = ((DataObject)instance).getUniqueId();
+        synchronized (pendingSaves) {
+            PendingSave<T> pending = pendingSaves.computeIfAbsent(uniqueId, k -> new PendingSave<>());
+            pending.instance = instance;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                WITH_PENDING_SAVES.add(this);
+                Bukkit.getScheduler().runTask(plugin, this::flush);
+            }
+            return pending.result;
+        }
+    }
+
+    private CompletableFuture<Boolean> save(T instance) {
         try {
             return handler.saveObject(instance);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException
                 | IntrospectionException e) {
             logger.severe(() -> "Could not save object to database! Error: " + e.getMessage());
-            return new CompletableFuture<>();
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * Saves all the objects waiting to be saved
+     */
+    private void flush() {
+        List<PendingSave<T>> saves;
+        synchronized (pendingSaves) {
+            flushScheduled = false;
+            WITH_PENDING_SAVES.remove(this);
+            if (pendingSaves.isEmpty()) {
+                return;
+            }
+            saves = new ArrayList<>(pendingSaves.values());
+            pendingSaves.clear();
+        }
+        saves.forEach(p -> save(p.instance).thenAccept(p.result::complete));
+    }
+
+    /**
+     * Saves all the objects that are waiting to be saved in every database, e.g., when the plugin is disabled
+     * @since 1.18.0
+     */
+    public static void flushAll() {
+        new ArrayList<>(WITH_PENDING_SAVES).forEach(Database::flush);
+    }
+
+    /**
+     * Drops the save waiting for this object, if any, e.g., because it is being deleted
+     * @param uniqueId - unique id of the object
+     */
+    private void cancelSave(String uniqueId) {
+        PendingSave<T> pending;
+        synchronized (pendingSaves) {
+            pending = pendingSaves.remove(uniqueId);
+        }
+        if (pending != null) {
+            pending.result.complete(false);
         }
     }
 
@@ -118,6 +267,11 @@ public class Database<T> {
      * @return true if it exists
      */
     public boolean objectExists(String name) {
+        synchronized (pendingSaves) {
+            if (pendingSaves.containsKey(name)) {
+                return true;
+            }
+        }
         return handler.objectExists(name);
     }
 
@@ -127,6 +281,7 @@ public class Database<T> {
      * @since 1.1
      */
     public void deleteID(String uniqueId) {
+        cancelSave(uniqueId);
         handler.deleteID(uniqueId);
     }
 
@@ -135,6 +290,9 @@ public class Database<T> {
      * @param object - object to delete
      */
     public void deleteObject(T object) {
+        if (object instanceof DataObject) {
+            cancelSave(((DataObject)object).getUniqueId());
+        }
         try {
             handler.deleteObject(object);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
@@ -147,6 +305,7 @@ public class Database<T> {
      * Close the database
      */
     public void close() {
+        flush();
         handler.close();
     }
 
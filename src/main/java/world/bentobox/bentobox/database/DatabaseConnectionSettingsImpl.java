@@ -14,6 +14,12 @@ public class DatabaseConnectionSettingsImpl {
      */
     private boolean useSSL;
 
+    /**
+     * Maximum number of connections that can be open to the database at once.
+     * @since 1.18.0
+     */
+    private int maxConnections = 1;
+
     /**
      * Hosts database settings
      * @param host - database host
@@ -31,6 +37,22 @@ public class DatabaseConnectionSettingsImpl {
         this.useSSL = useSSL;
     }
 
+    /**
+     * Hosts database settings
+     * @param host - database host
+     * @param port - port
+     * @param databaseName - database name
+     * @param username - username
+     * @param password - password
+     * @param useSSL - whether to use SSL
+     * @param maxConnections - maximum number of connections that can be open at once
+     * @since 1.18.0
+     */
+    public DatabaseConnectionSettingsImpl(String host, int port, String databaseName, String username, String password, boolean useSSL, int maxConnections) {
+        this(host, port, databaseName, username, password, useSSL);
+        this.maxConnections = maxConnections;
+    }
+
     /**
      * @return the host
      */
@@ -117,4 +139,20 @@ public class DatabaseConnectionSettingsImpl {
     public void setUseSSL(boolean useSSL) {
         this.useSSL = useSSL;
     }
+
+    /**
+     * @return the maximum number of connections that can be open to the database at once
+     * @since 1.18.0
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @param maxConnections the maximum number of connections that can be open to the database at once
+     * @since 1.18.0
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
 }
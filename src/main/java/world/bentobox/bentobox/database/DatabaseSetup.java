@@ -4,16 +4,19 @@ import java.util.Arrays;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.json.JSONDatabase;
+import world.bentobox.bentobox.database.jsonlog.JSONLogDatabase;
 import world.bentobox.bentobox.database.mongodb.MongoDBDatabase;
 import world.bentobox.bentobox.database.sql.mariadb.MariaDBDatabase;
 import world.bentobox.bentobox.database.sql.mysql.MySQLDatabase;
 import world.bentobox.bentobox.database.sql.postgresql.PostgreSQLDatabase;
 import world.bentobox.bentobox.database.sql.sqlite.SQLiteDatabase;
+import world.bentobox.bentobox.database.transition.Json2JsonLogDatabase;
 import world.bentobox.bentobox.database.transition.Json2MariaDBDatabase;
 import world.bentobox.bentobox.database.transition.Json2MongoDBDatabase;
 import world.bentobox.bentobox.database.transition.Json2MySQLDatabase;
 import world.bentobox.bentobox.database.transition.Json2PostgreSQLDatabase;
 import world.bentobox.bentobox.database.transition.Json2SQLiteDatabase;
+import world.bentobox.bentobox.database.transition.JsonLog2JsonDatabase;
 import world.bentobox.bentobox.database.transition.MariaDB2JsonDatabase;
 import world.bentobox.bentobox.database.transition.MongoDB2JsonDatabase;
 import world.bentobox.bentobox.database.transition.MySQL2JsonDatabase;
@@ -33,7 +36,7 @@ public interface DatabaseSetup {
 
     /**
      * Gets the type of database being used.
-     * Currently supported options are YAML, JSON, MYSQL, MARIADB and MONGODB.
+     * Currently supported options are YAML, JSON, JSONLOG, MYSQL, MARIADB, MONGODB, SQLITE and POSTGRESQL.
      * Default is JSON.
      * @return Database type
      */
@@ -110,6 +113,24 @@ public interface DatabaseSetup {
          */
         JSON2POSTGRESQL(new Json2PostgreSQLDatabase()),
 
+        /**
+         * Transition database, from JSON to JSON log
+         * @since 1.18.0
+         */
+        JSON2JSONLOG(new Json2JsonLogDatabase()),
+
+        /**
+         * JSON records in one append-only file per table
+         * @since 1.18.0
+         */
+        JSONLOG(new JSONLogDatabase()),
+
+        /**
+         * Transition database, from JSON log to JSON
+         * @since 1.18.0
+         */
+        JSONLOG2JSON(new JsonLog2JsonDatabase()),
+
         MYSQL(new MySQLDatabase()),
 
         /**
@@ -0,0 +1,115 @@
+package world.bentobox.bentobox.database;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Turns raw data, such as files or JSON strings, into objects on a pool of worker threads
+ * and hands the objects to a consumer on the thread that added them, in the order they were added.
+ * <p>
+ * Only a limited number of objects are worked on at once, so loading a big table does not need to hold it all in memory.
+ * The consumer is not given nulls. Closing the loader waits for all the objects to be handed over.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ *
+ * @param <S> raw data type
+ * @param <T> object type
+ */
+public class ParallelLoader<S, T> implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Function<S, T> parser;
+    private final Consumer<T> consumer;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Deque<Future<T>> inFlight = new ArrayDeque<>();
+    private boolean failed;
+
+    /**
+     * @param parser - turns raw data into an object, or null if it cannot. Called on worker threads.
+     * @param consumer - given each object in order. Called on the thread that adds the data.
+     */
+    public ParallelLoader(@NonNull Function<S, T> parser, @NonNull Consumer<T> consumer) {
+        this(parser, consumer, Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * @param parser - turns raw data into an object, or null if it cannot. Called on worker threads.
+     * @param consumer - given each object in order. Called on the thread that adds the data.
+     * @param threads - number of worker threads
+     */
+    public ParallelLoader(@NonNull Function<S, T> parser, @NonNull Consumer<T> consumer, int threads) {
+        this.parser = parser;
+        this.consumer = consumer;
+        ThreadFactory factory = r -> {
+            Thread thread = new Thread(r, "BentoBox Loader " + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), factory);
+        this.maxInFlight = Math.max(1, threads) * 4;
+    }
+
+    /**
+     * Adds raw data to be turned into an object. If enough objects are being worked on already,
+     * this waits for the oldest one and hands it to the consumer first.
+     * @param source - raw data
+     */
+    public void add(@Nullable S source) {
+        if (inFlight.size() >= maxInFlight) {
+            handOver(inFlight.poll());
+        }
+        inFlight.add(executor.submit(() -> parser.apply(source)));
+    }
+
+    private void handOver(Future<T> future) {
+        T object;
+        try {
+            object = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+            throw new IllegalStateException("Interrupted while loading", e);
+        } catch (ExecutionException e) {
+            failed = true;
+            throw new IllegalStateException("Could not load object: " + e.getCause().getMessage(), e.getCause());
+        }
+        if (object != null) {
+            try {
+                consumer.accept(object);
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Hands all the remaining objects to the consumer and stops the worker threads.
+     * If the consumer failed, the remaining objects are dropped.
+     */
+    @Override
+    public void close() {
+        try {
+            while (!failed && !inFlight.isEmpty()) {
+                handOver(inFlight.poll());
+            }
+        } finally {
+            inFlight.clear();
+            executor.shutdownNow();
+        }
+    }
+}
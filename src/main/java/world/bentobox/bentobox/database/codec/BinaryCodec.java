@@ -0,0 +1,389 @@
+package world.bentobox.bentobox.database.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Stores objects in a compact binary form of their JSON. The objects are turned into JSON trees by Gson,
+ * so all the type adapters used for JSON are used here too, and the tree is then written as bytes:
+ * <ul>
+ * <li>whole numbers are written as variable length integers, so small numbers take one byte</li>
+ * <li>each string, such as a field name, world name or flag ID, is written once and after that by its number</li>
+ * <li>UUIDs are written as 16 bytes instead of 36 characters</li>
+ * </ul>
+ * Data stored as JSON text can also be decoded, so a table can be switched to this codec at any time.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ *
+ * @param <T> type of object
+ */
+public class BinaryCodec<T> implements ObjectCodec<T> {
+
+    /**
+     * First byte of binary data. JSON text never starts with this.
+     */
+    private static final byte MAGIC = 0;
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte NUMBER = 5;
+    private static final byte STRING = 6;
+    private static final byte STRING_REF = 7;
+    private static final byte UUID_VALUE = 8;
+    private static final byte ARRAY = 9;
+    private static final byte OBJECT = 10;
+
+    /**
+     * Doubles up to this size that are whole numbers are written as integers
+     */
+    private static final double MAX_EXACT = 9007199254740992D;
+
+    private final Gson gson;
+    private final Class<T> type;
+    private final JSONCodec<T> jsonCodec;
+
+    /**
+     * @param gson - Gson used to turn objects into JSON trees and back
+     * @param type - type of object
+     */
+    public BinaryCodec(@NonNull Gson gson, @NonNull Class<T> type) {
+        this.gson = gson;
+        this.type = type;
+        this.jsonCodec = new JSONCodec<>(gson, type);
+    }
+
+    /**
+     * @param data - stored bytes
+     * @return true if the data was encoded by this codec, false if it is JSON text
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(@NonNull T object) {
+        return write(gson.toJsonTree(object, type));
+    }
+
+    @Override
+    @Nullable
+    public T decode(byte[] data) {
+        if (!isBinary(data)) {
+            return jsonCodec.decode(data);
+        }
+        try {
+            return gson.fromJson(read(data), type);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a JSON tree as bytes
+     * @param element - JSON tree
+     * @return bytes
+     */
+    static byte[] write(@NonNull JsonElement element) {
+        Writer writer = new Writer();
+        writer.out.write(MAGIC);
+        writer.out.write(VERSION);
+        writer.write(element);
+        return writer.out.toByteArray();
+    }
+
+    /**
+     * Reads a JSON tree from bytes
+     * @param data - bytes made by {@link #write(JsonElement)}
+     * @return JSON tree
+     * @throws IllegalArgumentException if the data is not valid
+     */
+    @NonNull
+    static JsonElement read(byte[] data) {
+        if (data.length < 2 || data[0] != MAGIC || data[1] != VERSION) {
+            throw new IllegalArgumentException("Unknown binary format");
+        }
+        try {
+            Reader reader = new Reader(ByteBuffer.wrap(data, 2, data.length - 2));
+            JsonElement element = reader.read();
+            if (reader.in.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected data after the end");
+            }
+            return element;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Unexpected end of data", e);
+        }
+    }
+
+    private static class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private void write(JsonElement element) {
+            if (element == null || element.isJsonNull()) {
+                out.write(NULL);
+            } else if (element.isJsonObject()) {
+                JsonObject object = element.getAsJsonObject();
+                out.write(OBJECT);
+                writeVarInt(object.size());
+                for (Map.Entry<String, JsonElement> en : object.entrySet()) {
+                    writeString(en.getKey());
+                    write(en.getValue());
+                }
+            } else if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                out.write(ARRAY);
+                writeVarInt(array.size());
+                for (JsonElement e : array) {
+                    write(e);
+                }
+            } else {
+                writePrimitive(element.getAsJsonPrimitive());
+            }
+        }
+
+        private void writePrimitive(JsonPrimitive primitive) {
+            if (primitive.isBoolean()) {
+                out.write(primitive.getAsBoolean() ? TRUE : FALSE);
+            } else if (primitive.isString()) {
+                writeString(primitive.getAsString());
+            } else {
+                writeNumber(primitive.getAsNumber());
+            }
+        }
+
+        private void writeNumber(Number number) {
+            if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+                out.write(INTEGER);
+                writeVarLong(number.longValue());
+                return;
+            }
+            if (number instanceof Double || number instanceof Float) {
+                writeDouble(number.doubleValue());
+                return;
+            }
+            // Numbers read from JSON text, or big numbers
+            String text = number.toString();
+            BigDecimal value = new BigDecimal(text);
+            if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                try {
+                    long l = value.longValueExact();
+                    out.write(INTEGER);
+                    writeVarLong(l);
+                    return;
+                } catch (ArithmeticException e) {
+                    // Too big for a long
+                }
+            } else {
+                // Kept as a double so that -0.0 keeps its sign
+                double d = Double.parseDouble(text);
+                if (!Double.isInfinite(d) && BigDecimal.valueOf(d).compareTo(value) == 0) {
+                    writeDouble(d);
+                    return;
+                }
+            }
+            out.write(NUMBER);
+            writeBytes(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void writeDouble(double d) {
+            if (d == Math.rint(d) && Math.abs(d) <= MAX_EXACT && (d != 0 || 1 / d > 0)) {
+                // Whole number, such as most block coordinates
+                out.write(INTEGER);
+                writeVarLong((long)d);
+                return;
+            }
+            out.write(DOUBLE);
+            long bits = Double.doubleToLongBits(d);
+            for (int i = 56; i >= 0; i -= 8) {
+                out.write((int)(bits >>> i));
+            }
+        }
+
+        private void writeString(String s) {
+            Integer ref = strings.get(s);
+            if (ref != null) {
+                out.write(STRING_REF);
+                writeVarInt(ref);
+                return;
+            }
+            strings.put(s, strings.size());
+            UUID uuid = toUUID(s);
+            if (uuid != null) {
+                out.write(UUID_VALUE);
+                long most = uuid.getMostSignificantBits();
+                long least = uuid.getLeastSignificantBits();
+                for (int i = 56; i >= 0; i -= 8) {
+                    out.write((int)(most >>> i));
+                }
+                for (int i = 56; i >= 0; i -= 8) {
+                    out.write((int)(least >>> i));
+                }
+            } else {
+                out.write(STRING);
+                writeBytes(s.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Writes a number 7 bits at a time, small numbers first.
+         * Signed numbers are zig-zag encoded so that small negative numbers are small too.
+         */
+        private void writeVarLong(long value) {
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                out.write((int)((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            out.write((int)v);
+        }
+    }
+
+    /**
+     * @return the UUID if this string is one written the standard way, otherwise null
+     */
+    @Nullable
+    private static UUID toUUID(String s) {
+        if (s.length() != 36 || s.charAt(8) != '-' || s.charAt(13) != '-' || s.charAt(18) != '-' || s.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(s);
+            // Only if it would be written back the same
+            return uuid.toString().equals(s) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class Reader {
+        private final ByteBuffer in;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(ByteBuffer in) {
+            this.in = in;
+        }
+
+        private JsonElement read() {
+            byte tag = in.get();
+            switch (tag) {
+            case NULL:
+                return JsonNull.INSTANCE;
+            case TRUE:
+                return new JsonPrimitive(true);
+            case FALSE:
+                return new JsonPrimitive(false);
+            case INTEGER:
+                return new JsonPrimitive(readVarLong());
+            case DOUBLE:
+                return new JsonPrimitive(in.getDouble());
+            case NUMBER:
+                return new JsonPrimitive(new BigDecimal(new String(readBytes(), StandardCharsets.US_ASCII)));
+            case STRING:
+            case STRING_REF:
+            case UUID_VALUE:
+                return new JsonPrimitive(readString(tag));
+            case ARRAY:
+                int size = readVarInt();
+                JsonArray array = new JsonArray();
+                for (int i = 0; i < size; i++) {
+                    array.add(read());
+                }
+                return array;
+            case OBJECT:
+                int count = readVarInt();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < count; i++) {
+                    String key = readString(in.get());
+                    object.add(key, read());
+                }
+                return object;
+            default:
+                throw new IllegalArgumentException("Unknown tag " + tag);
+            }
+        }
+
+        private String readString(byte tag) {
+            switch (tag) {
+            case STRING:
+                String s = new String(readBytes(), StandardCharsets.UTF_8);
+                strings.add(s);
+                return s;
+            case STRING_REF:
+                int ref = readVarInt();
+                if (ref >= strings.size()) {
+                    throw new IllegalArgumentException("Unknown string " + ref);
+                }
+                return strings.get(ref);
+            case UUID_VALUE:
+                String uuid = new UUID(in.getLong(), in.getLong()).toString();
+                strings.add(uuid);
+                return uuid;
+            default:
+                throw new IllegalArgumentException("Expected a string but found tag " + tag);
+            }
+        }
+
+        private byte[] readBytes() {
+            int length = readVarInt();
+            if (length > in.remaining()) {
+                throw new IllegalArgumentException("Unexpected end of data");
+            }
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return bytes;
+        }
+
+        private int readVarInt() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bad length " + value);
+            }
+            return (int)value;
+        }
+
+        private long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = in.get();
+                v |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new IllegalArgumentException("Bad number");
+        }
+    }
+}
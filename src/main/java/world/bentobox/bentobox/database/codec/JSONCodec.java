@@ -0,0 +1,47 @@
+package world.bentobox.bentobox.database.codec;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Stores objects as JSON text in UTF-8
+ *
+ * @author tastybento
+ * @since 1.18.0
+ *
+ * @param <T> type of object
+ */
+public class JSONCodec<T> implements ObjectCodec<T> {
+
+    private final Gson gson;
+    private final Class<T> type;
+
+    /**
+     * @param gson - Gson used to make and read the JSON
+     * @param type - type of object
+     */
+    public JSONCodec(@NonNull Gson gson, @NonNull Class<T> type) {
+        this.gson = gson;
+        this.type = type;
+    }
+
+    @Override
+    public byte[] encode(@NonNull T object) {
+        return gson.toJson(object).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @Nullable
+    public T decode(byte[] data) {
+        try {
+            return gson.fromJson(new String(data, StandardCharsets.UTF_8), type);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
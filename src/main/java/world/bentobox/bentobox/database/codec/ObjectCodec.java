@@ -0,0 +1,31 @@
+package world.bentobox.bentobox.database.codec;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Turns data objects into bytes to be stored, and bytes back into objects
+ *
+ * @author tastybento
+ * @since 1.18.0
+ *
+ * @param <T> type of object
+ */
+public interface ObjectCodec<T> {
+
+    /**
+     * Encodes an object
+     * @param object - object
+     * @return bytes to store
+     */
+    byte[] encode(@NonNull T object);
+
+    /**
+     * Decodes an object
+     * @param data - stored bytes
+     * @return object, or null if the data holds a null
+     * @throws IllegalArgumentException if the data cannot be decoded
+     */
+    @Nullable
+    T decode(byte[] data);
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains codecs that turn data objects into bytes and back.
+ */
+package world.bentobox.bentobox.database.codec;
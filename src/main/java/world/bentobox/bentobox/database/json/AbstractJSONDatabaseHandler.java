@@ -1,11 +1,14 @@
 package world.bentobox.bentobox.database.json;
 
+import java.util.function.Supplier;
+
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.AbstractDatabaseHandler;
 import world.bentobox.bentobox.database.DatabaseConnector;
+import world.bentobox.bentobox.database.codec.ObjectCodec;
 
 /**
  * Abstract class that handles insert/select-operations into/from a database.
@@ -29,22 +32,64 @@ public abstract class AbstractJSONDatabaseHandler<T> extends AbstractDatabaseHan
      */
     protected AbstractJSONDatabaseHandler(BentoBox plugin, Class<T> type, DatabaseConnector databaseConnector) {
         super(plugin, type, databaseConnector);
+        gson = createGson(plugin, plugin.getSettings().isDatabaseCompactJson());
+    }
 
-        // Build the Gson
-
+    /**
+     * Makes the Gson used to store objects. Objects stored with either kind of JSON can be read by both.
+     * @param plugin - BentoBox plugin
+     * @param compact - true to leave out spaces and new lines, which makes the JSON about half the size
+     * @return Gson
+     * @since 1.18.0
+     */
+    public static Gson createGson(BentoBox plugin, boolean compact) {
         // excludeFieldsWithoutExposeAnnotation - this means that every field to be stored should use @Expose
         // enableComplexMapKeySerialization - forces GSON to use TypeAdapters even for Map keys
-        GsonBuilder builder = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().enableComplexMapKeySerialization().setPrettyPrinting();
+        GsonBuilder builder = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().enableComplexMapKeySerialization();
+        if (!compact) {
+            builder.setPrettyPrinting();
+        }
         // Register adapter factory
         builder.registerTypeAdapterFactory(new BentoboxTypeAdapterFactory(plugin));
         // Allow characters like < or > without escaping them
         builder.disableHtmlEscaping();
-
-        gson = builder.create();
-
+        return builder.create();
     }
 
     protected Gson getGson() {
         return gson;
     }
+
+    /**
+     * Gets the JSON of an object without doing the slow part now. A copy of the object is taken now,
+     * so it can be changed straight away, and the copy is turned into JSON when the supplier is called,
+     * which can be on another thread. If the object cannot be copied, the JSON is made now.
+     * @param instance - object
+     * @return supplier of the JSON of the object as it is now
+     * @since 1.18.0
+     */
+    protected Supplier<String> toJsonLater(T instance) {
+        T snapshot = ObjectSnapshot.copy(instance);
+        if (snapshot == null) {
+            String json = gson.toJson(instance);
+            return () -> json;
+        }
+        return () -> gson.toJson(snapshot);
+    }
+
+    /**
+     * Encodes an object without doing the slow part now, in the same way as {@link #toJsonLater(Object)}
+     * @param instance - object
+     * @param codec - codec to encode the object with
+     * @return supplier of the encoded object as it is now
+     * @since 1.18.0
+     */
+    protected Supplier<byte[]> encodeLater(T instance, ObjectCodec<T> codec) {
+        T snapshot = ObjectSnapshot.copy(instance);
+        if (snapshot == null) {
+            byte[] data = codec.encode(instance);
+            return () -> data;
+        }
+        return () -> codec.encode(snapshot);
+    }
 }
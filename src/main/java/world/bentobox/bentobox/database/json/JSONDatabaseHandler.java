@@ -2,30 +2,59 @@ package world.bentobox.bentobox.database.json;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
+import world.bentobox.bentobox.database.ParallelLoader;
 import world.bentobox.bentobox.database.objects.DataObject;
 
 public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     private static final String JSON = ".json";
+    private static final String TMP = ".tmp";
+    private static final String BACKUP = "_backup";
+    private static final String OLD = ".old";
+    /**
+     * Held while a backup is made, so two handlers for the same table cannot build it at the same time
+     */
+    private static final Object BACKUP_LOCK = new Object();
+
+    /**
+     * When this handler last backed up its table, or 0 if it has not yet
+     */
+    private final AtomicLong lastBackup = new AtomicLong();
 
     /**
      * Constructor
@@ -43,7 +72,17 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     public List<T> loadObjects() {
         // In this case, all the objects of a specific type are being loaded.
         List<T> list = new ArrayList<>();
+        loadObjects(list::add);
+        return list;
+    }
 
+    /**
+     * Loads all the objects, parsing the files on several threads
+     * @param consumer - given each object, in file order, on this thread
+     * @since 1.18.0
+     */
+    @Override
+    public void loadObjects(Consumer<T> consumer) {
         // The path is the simple name of the class
         String path = dataObject.getSimpleName();
 
@@ -56,23 +95,32 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             tableFolder.mkdirs();
         }
         // Load each object from the file system, filtered, non-null
-        for (File file: Objects.requireNonNull(tableFolder.listFiles((dir, name) ->  name.toLowerCase(Locale.ENGLISH).endsWith(JSON)))) {
-            try (FileReader reader = new FileReader(file)){
-                T object = getGson().fromJson(reader, dataObject);
-                if (object != null) {
-                    list.add(object);
-                } else {
-                    plugin.logError("JSON file created a null object: " + file.getPath());
-                    reader.close(); // NOSONAR Required to keep OS file handlers low and not rely on GC
-                }
-            } catch (FileNotFoundException e) {
-                plugin.logError("Could not load file '" + file.getName() + "': File not found.");
+        try (ParallelLoader<File, T> loader = new ParallelLoader<>(this::loadFile, consumer)) {
+            for (File file: Objects.requireNonNull(tableFolder.listFiles((dir, name) ->  name.toLowerCase(Locale.ENGLISH).endsWith(JSON)))) {
+                loader.add(file);
+            }
+        }
+    }
 
-            } catch (Exception e) {
-                plugin.logError("Could not load objects " + file.getName() + " " + e.getMessage());
+    /**
+     * Loads an object from a file
+     * @param file - JSON file
+     * @return object or null if it could not be loaded
+     */
+    @Nullable
+    private T loadFile(File file) {
+        try (FileReader reader = new FileReader(file)){
+            T object = getGson().fromJson(reader, dataObject);
+            if (object == null) {
+                plugin.logError("JSON file created a null object: " + file.getPath());
             }
+            return object;
+        } catch (FileNotFoundException e) {
+            plugin.logError("Could not load file '" + file.getName() + "': File not found.");
+        } catch (Exception e) {
+            plugin.logError("Could not load objects " + file.getName() + " " + e.getMessage());
         }
-        return list;
+        return null;
     }
 
     @Override
@@ -112,7 +160,7 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             return completableFuture;
         }
         String path = DATABASE_FOLDER_NAME + File.separator + dataObject.getSimpleName();
-        String backupPath = DATABASE_FOLDER_NAME + "_backup" + File.separator + dataObject.getSimpleName();
+        String backupPath = DATABASE_FOLDER_NAME + BACKUP + File.separator + dataObject.getSimpleName();
 
         // Obtain the value of uniqueId within the instance (which must be a DataObject)
         PropertyDescriptor propertyDescriptor = new PropertyDescriptor("uniqueId", dataObject);
@@ -126,11 +174,9 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
         }
 
         File backupTableFolder = new File(plugin.getDataFolder(), backupPath);
-        if (!backupTableFolder.exists()) {
-            backupTableFolder.mkdirs();
-        }
 
-        String toStore = getGson().toJson(instance);
+        // Take a copy now and make the JSON when storing, which is usually async
+        Supplier<String> toStore = toJsonLater(instance);
         if (plugin.isEnabled()) {
             // Async
             processQueue.add(() -> store(completableFuture, toStore, file, tableFolder, backupTableFolder, fileName, true));
@@ -141,28 +187,157 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
         return completableFuture;
     }
 
-    private void store(CompletableFuture<Boolean> completableFuture, String toStore, File file, File tableFolder, File backupTableFolder, String fileName, boolean async) {
+    private void store(CompletableFuture<Boolean> completableFuture, Supplier<String> jsonSupplier, File file, File tableFolder, File backupTableFolder, String fileName, boolean async) {
         // Do not save anything if plug is disabled and this was an async request
         if (async && !plugin.isEnabled()) return;
-        File tmpFile = new File(backupTableFolder, fileName);
-        if (file.exists()) {
-            // Make a backup of file
-            try {
-                Files.copy(file.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            } catch (IOException e) {
-                plugin.logError("Could not backup JSON file: " + tableFolder.getName() + " " + fileName + " " + e.getMessage());
-            }
+        String toStore;
+        try {
+            toStore = jsonSupplier.get();
+        } catch (RuntimeException e) {
+            plugin.logError("Could not save JSON file: " + tableFolder.getName() + " " + fileName + " " + e.getMessage());
+            completableFuture.complete(false);
+            return;
         }
+        // Back up the table if it is time to
+        backupIfDue(tableFolder, backupTableFolder);
 
-        try (FileWriter fileWriter = new FileWriter(file)) {
-            fileWriter.write(toStore);
+        File tmpFile = new File(tableFolder, fileName + TMP);
+        try {
+            write(toStore, tmpFile, file);
             completableFuture.complete(true);
         } catch (IOException e) {
             plugin.logError("Could not save JSON file: " + tableFolder.getName() + " " + fileName + " " + e.getMessage());
+            try {
+                Files.deleteIfExists(tmpFile.toPath());
+            } catch (IOException ex) {
+                // Nothing more can be done
+            }
             completableFuture.complete(false);
         }
     }
 
+    /**
+     * Writes the JSON to a temporary file and then moves it over the file, so the file
+     * is never left half written, even if the server stops part way through
+     * @param json - JSON to write
+     * @param tmpFile - temporary file in the same folder as the file
+     * @param file - file to replace
+     * @throws IOException if the file could not be written. The old file is left as it was.
+     */
+    private void write(String json, File tmpFile, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                Writer writer = new BufferedWriter(Channels.newWriter(channel, Charset.defaultCharset()))) {
+            writer.write(json);
+            writer.flush();
+            if (plugin.getSettings().isDatabaseSyncWrites()) {
+                channel.force(true);
+            }
+        }
+        try {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Backs up the table if this handler has not backed it up for the backup period.
+     * If the plugin is enabled the backup is made async, so the save does not wait for it.
+     * @param tableFolder - table folder
+     * @param backupTableFolder - backup folder for the table
+     */
+    private void backupIfDue(File tableFolder, File backupTableFolder) {
+        long period = plugin.getSettings().getDatabaseBackupPeriod() * 60000L;
+        if (period <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastBackup.get();
+        if ((last != 0 && now - last < period) || !lastBackup.compareAndSet(last, now)) {
+            // Not due, or another save has just started it
+            return;
+        }
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> backup(tableFolder, backupTableFolder));
+        } else {
+            backup(tableFolder, backupTableFolder);
+        }
+    }
+
+    /**
+     * Makes the backup folder the same as the table folder. The new backup is built in a folder of its own
+     * and then swapped in, so the last complete backup is kept until the new one is complete.
+     * Files are hard linked where possible, so no data is copied. This works because files are replaced,
+     * not changed, when they are saved, so the backup keeps the old file.
+     * @param tableFolder - table folder
+     * @param backupTableFolder - backup folder for the table
+     */
+    private void backup(File tableFolder, File backupTableFolder) {
+        synchronized (BACKUP_LOCK) {
+            File parent = backupTableFolder.getParentFile();
+            Path tmpFolder = new File(parent, backupTableFolder.getName() + TMP).toPath();
+            Path oldFolder = new File(parent, backupTableFolder.getName() + OLD).toPath();
+            try {
+                File[] files = tableFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ENGLISH).endsWith(JSON));
+                if (files == null) {
+                    return;
+                }
+                // Left over from a backup that did not finish
+                deleteFolder(tmpFolder);
+                Files.createDirectories(tmpFolder);
+                for (File file : files) {
+                    link(file.toPath(), tmpFolder.resolve(file.getName()));
+                }
+                // Swap the new backup in
+                deleteFolder(oldFolder);
+                if (backupTableFolder.exists()) {
+                    Files.move(backupTableFolder.toPath(), oldFolder);
+                }
+                Files.move(tmpFolder, backupTableFolder.toPath());
+                deleteFolder(oldFolder);
+            } catch (IOException e) {
+                plugin.logError("Could not backup JSON files: " + tableFolder.getName() + " " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Links the backup to the file, or copies the file if the file system cannot do links
+     * @param file - file in the table
+     * @param backup - file in the backup
+     * @throws IOException if the file could not be linked or copied
+     */
+    private static void link(Path file, Path backup) throws IOException {
+        try {
+            Files.createLink(backup, file);
+        } catch (NoSuchFileException e) {
+            // The object was deleted after the table was listed
+        } catch (IOException | UnsupportedOperationException e) {
+            // The file system cannot do links
+            try {
+                Files.copy(file, backup, StandardCopyOption.REPLACE_EXISTING);
+            } catch (NoSuchFileException ex) {
+                // The object was deleted after the table was listed
+            }
+        }
+    }
+
+    /**
+     * Deletes a folder and everything in it, if it exists
+     * @param folder - folder
+     * @throws IOException if it could not be deleted
+     */
+    private static void deleteFolder(Path folder) throws IOException {
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
     /* (non-Javadoc)
      * @see world.bentobox.bentobox.database.AbstractDatabaseHandler#deleteID(java.lang.String)
      */
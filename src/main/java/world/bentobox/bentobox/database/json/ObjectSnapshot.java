@@ -0,0 +1,208 @@
+package world.bentobox.bentobox.database.json;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.annotations.Expose;
+
+import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.api.logs.LogEntry;
+import world.bentobox.bentobox.api.metadata.MetaDataValue;
+
+/**
+ * Takes quick copies of objects so that they can be turned into JSON on another thread
+ * while the original keeps being changed on the main thread.
+ * <p>
+ * Only fields annotated with {@link Expose} are copied. Maps, collections and arrays are copied all the way down,
+ * locations, vectors and item stacks are cloned, and other objects with exposed fields are copied in the same way.
+ * Values that are never changed, such as strings, boxed numbers, enums, worlds and flags, are shared.
+ * If an object holds anything else, it is not copied, and it has to be turned into JSON on the main thread.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+final class ObjectSnapshot {
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Optional<Constructor<?>>> COPY_CONSTRUCTORS = new ConcurrentHashMap<>();
+    /**
+     * Classes whose values cannot change, or that are saved as a name or id that cannot change.
+     * Log entries and metadata values have no setters.
+     */
+    private static final Set<Class<?>> SHARED = Set.of(String.class, Integer.class, Long.class, Double.class, Float.class,
+            Short.class, Byte.class, Boolean.class, Character.class, BigInteger.class, BigDecimal.class, UUID.class,
+            LogEntry.class, MetaDataValue.class);
+
+    /**
+     * Thrown when a value cannot be copied
+     */
+    private static class NotCopyableException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        NotCopyableException(Class<?> clazz) {
+            super(clazz.getName(), null, false, false);
+        }
+    }
+
+    private ObjectSnapshot() {}
+
+    /**
+     * Copies an object
+     * @param <T> type of object
+     * @param instance - object to copy
+     * @return copy of the object, or null if it cannot be copied
+     */
+    @Nullable
+    static <T> T copy(@NonNull T instance) {
+        try {
+            return copyObject(instance);
+        } catch (ReflectiveOperationException | NotCopyableException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyObject(@NonNull T instance) throws ReflectiveOperationException, NotCopyableException {
+        Constructor<?> constructor = instance.getClass().getDeclaredConstructor();
+        constructor.setAccessible(true);
+        T copy = (T) constructor.newInstance();
+        for (Field field : getFields(instance.getClass())) {
+            Object value = copyValue(field.get(instance));
+            if (value != null && !field.getType().isInstance(value)) {
+                // The copy cannot go in this field
+                throw new NotCopyableException(field.getType());
+            }
+            field.set(copy, value);
+        }
+        return copy;
+    }
+
+    /**
+     * @return the exposed fields of this class and its super classes
+     */
+    private static List<Field> getFields(Class<?> clazz) {
+        return FIELDS.computeIfAbsent(clazz, c -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> k = c; k != null && k != Object.class; k = k.getSuperclass()) {
+                for (Field field : k.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Expose.class) && !Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(fields);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Object copyValue(@Nullable Object value) throws ReflectiveOperationException, NotCopyableException {
+        if (value == null || SHARED.contains(value.getClass()) || value instanceof Enum || value instanceof World || value instanceof Flag) {
+            return value;
+        }
+        if (value instanceof Location) {
+            return ((Location)value).clone();
+        }
+        if (value instanceof Vector) {
+            return ((Vector)value).clone();
+        }
+        if (value instanceof ItemStack) {
+            return ((ItemStack)value).clone();
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) emptyCopy(value, Map.class);
+            if (map == null) {
+                map = new LinkedHashMap<>();
+            }
+            for (Map.Entry<Object, Object> en : ((Map<Object, Object>)value).entrySet()) {
+                map.put(copyValue(en.getKey()), copyValue(en.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof Collection) {
+            Collection<Object> collection = (Collection<Object>) emptyCopy(value, Collection.class);
+            if (collection == null) {
+                collection = value instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+            }
+            for (Object element : (Collection<Object>)value) {
+                collection.add(copyValue(element));
+            }
+            return collection;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object array = Array.newInstance(value.getClass().getComponentType(), length);
+            for (int i = 0; i < length; i++) {
+                Array.set(array, i, copyValue(Array.get(value, i)));
+            }
+            return array;
+        }
+        if (!getFields(value.getClass()).isEmpty()) {
+            return copyObject(value);
+        }
+        throw new NotCopyableException(value.getClass());
+    }
+
+    /**
+     * Makes an empty map or collection of the same class, using its copy constructor so that it is set up the same way
+     * @param value - map or collection
+     * @param parameterType - type taken by the copy constructor
+     * @return empty copy, or null if the class has no copy constructor or cannot be changed
+     */
+    @Nullable
+    private static Object emptyCopy(Object value, Class<?> parameterType) throws ReflectiveOperationException {
+        Optional<Constructor<?>> constructor = COPY_CONSTRUCTORS.computeIfAbsent(value.getClass(), c -> {
+            try {
+                Constructor<?> copyConstructor = c.getDeclaredConstructor(parameterType);
+                copyConstructor.setAccessible(true);
+                return Optional.of(copyConstructor);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Optional.empty();
+            }
+        });
+        if (constructor.isEmpty()) {
+            return null;
+        }
+        Object copy;
+        try {
+            copy = constructor.get().newInstance(value);
+        } catch (InvocationTargetException e) {
+            // For example, an EnumMap cannot be made from an empty map
+            return null;
+        }
+        try {
+            if (copy instanceof Map) {
+                ((Map<?, ?>)copy).clear();
+            } else {
+                ((Collection<?>)copy).clear();
+            }
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,24 @@
+package world.bentobox.bentobox.database.jsonlog;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.AbstractDatabaseHandler;
+import world.bentobox.bentobox.database.DatabaseSetup;
+
+/**
+ * Stores each table as JSON records in one append-only file
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+public class JSONLogDatabase implements DatabaseSetup {
+
+    private final JSONLogDatabaseConnector connector = new JSONLogDatabaseConnector(BentoBox.getInstance());
+
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.DatabaseSetup#getHandler(java.lang.Class)
+     */
+    @Override
+    public <T> AbstractDatabaseHandler<T> getHandler(Class<T> dataObjectClass) {
+        return new JSONLogDatabaseHandler<>(BentoBox.getInstance(), dataObjectClass, connector);
+    }
+}
@@ -0,0 +1,130 @@
+package world.bentobox.bentobox.database.jsonlog;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.DatabaseConnector;
+
+/**
+ * Opens the record log of each table. Each table has one log file in the database folder, shared by
+ * all the handlers of that table.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+public class JSONLogDatabaseConnector implements DatabaseConnector {
+
+    private static final int MAX_LOOPS = 100;
+    private static final String DATABASE_FOLDER_NAME = "database";
+    private static final String EXTENSION = ".jsonlog";
+    /**
+     * Open logs by table name. Shared so that a table is only ever opened once.
+     */
+    private static final Map<String, RecordLog> LOGS = new HashMap<>();
+
+    private final BentoBox plugin;
+    private final File dataFolder;
+
+    JSONLogDatabaseConnector(BentoBox plugin) {
+        this.plugin = plugin;
+        dataFolder = new File(plugin.getDataFolder(), DATABASE_FOLDER_NAME);
+    }
+
+    /**
+     * Gets the log of a table, opening it if it is not open
+     * @param tableName - name of the table
+     * @return log, or null if it could not be opened
+     */
+    @Nullable
+    RecordLog getLog(String tableName) {
+        synchronized (LOGS) {
+            RecordLog log = LOGS.get(tableName);
+            if (log != null && log.isOpen()) {
+                return log;
+            }
+            dataFolder.mkdirs();
+            File file = new File(dataFolder, tableName + EXTENSION);
+            try {
+                log = new RecordLog(file);
+            } catch (IOException e) {
+                plugin.logError("Could not open database file " + file.getName() + " " + e.getMessage());
+                return null;
+            }
+            if (log.getTruncatedBytes() > 0) {
+                plugin.logWarning("The end of " + file.getName() + " was not written completely and has been removed ("
+                        + log.getTruncatedBytes() + " bytes)");
+            }
+            compact(tableName, log);
+            LOGS.put(tableName, log);
+            return log;
+        }
+    }
+
+    /**
+     * Compacts a log if most of it is old values
+     * @param tableName - name of the table
+     * @param log - log
+     */
+    void compact(String tableName, RecordLog log) {
+        if (!log.needsCompaction()) {
+            return;
+        }
+        long before = log.getSize();
+        try {
+            log.compact();
+            plugin.log("Compacted database file " + tableName + EXTENSION + " from " + before + " to " + log.getSize() + " bytes");
+        } catch (IOException e) {
+            plugin.logError("Could not compact database file " + tableName + EXTENSION + " " + e.getMessage());
+        }
+    }
+
+    @Override
+    @NonNull
+    public String getUniqueId(String tableName) {
+        RecordLog log = getLog(tableName);
+        UUID uuid = UUID.randomUUID();
+        int limit = 0;
+        while (log != null && log.contains(uuid.toString()) && limit++ < MAX_LOOPS) {
+            uuid = UUID.randomUUID();
+        }
+        return uuid.toString();
+    }
+
+    @Override
+    public boolean uniqueIdExists(String tableName, String key) {
+        RecordLog log = getLog(tableName);
+        return log != null && log.contains(key);
+    }
+
+    @Override
+    public String getConnectionUrl() {
+        return null; // Not used
+    }
+
+    @Override
+    public Object createConnection(Class<?> type) {
+        return getLog(type.getSimpleName());
+    }
+
+    @Override
+    public void closeConnection(Class<?> type) {
+        synchronized (LOGS) {
+            RecordLog log = LOGS.remove(type.getSimpleName());
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    plugin.logError("Could not close database file " + type.getSimpleName() + EXTENSION + " " + e.getMessage());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,314 @@
+package world.bentobox.bentobox.database.jsonlog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.ParallelLoader;
+import world.bentobox.bentobox.database.codec.BinaryCodec;
+import world.bentobox.bentobox.database.codec.JSONCodec;
+import world.bentobox.bentobox.database.codec.ObjectCodec;
+import world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler;
+import world.bentobox.bentobox.database.objects.DataObject;
+
+/**
+ * Stores objects as JSON in one append-only file per table. See {@link RecordLog}.
+ * <p>
+ * Saves and deletes are collected and written together in the async queue, with one wait for
+ * the disk for all of them. Loading all the objects reads the file in one go.
+ * Tables listed in {@link world.bentobox.bentobox.Settings#getDatabaseBinaryTables()} are stored
+ * with the {@link BinaryCodec} instead of as JSON text. Both can always be read.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ *
+ * @param <T> Class <T> that is to be handled
+ */
+public class JSONLogDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
+
+    private static final String COULD_NOT_LOAD_OBJECT = "Could not load object ";
+
+    private final JSONLogDatabaseConnector connector;
+
+    /**
+     * Reads both JSON text and binary records
+     */
+    private final BinaryCodec<T> reader;
+    /**
+     * Writes records in the form set for this table
+     */
+    private final ObjectCodec<T> writer;
+
+    /**
+     * Saves and deletes waiting to be written, by unique id, in the order they were made
+     */
+    private final Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+    /**
+     * True if a flush is waiting in the async queue. Guarded by {@link #pendingWrites}.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * Held while writing, so writes taken from the pending writes reach the log in the order they were taken
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * A save, or a delete if there is no data, waiting to be written
+     */
+    private static class PendingWrite {
+        @Nullable
+        private final Supplier<byte[]> dataSupplier;
+        private final List<CompletableFuture<Boolean>> futures = new ArrayList<>(1);
+
+        private PendingWrite(@Nullable Supplier<byte[]> dataSupplier) {
+            this.dataSupplier = dataSupplier;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param plugin            BentoBox plugin
+     * @param type              The type of the objects that should be created and filled with
+     *                          values from the database or inserted into the database
+     * @param databaseConnector Opens the log of the table
+     */
+    JSONLogDatabaseHandler(BentoBox plugin, Class<T> type, JSONLogDatabaseConnector databaseConnector) {
+        super(plugin, type, databaseConnector);
+        this.connector = databaseConnector;
+        this.reader = new BinaryCodec<>(getGson(), type);
+        this.writer = plugin.getSettings().getDatabaseBinaryTables().contains(type.getSimpleName()) ? reader : new JSONCodec<>(getGson(), type);
+    }
+
+    @Nullable
+    private RecordLog getLog() {
+        return connector.getLog(dataObject.getSimpleName());
+    }
+
+    @Override
+    public List<T> loadObjects() {
+        List<T> list = new ArrayList<>();
+        loadObjects(list::add);
+        return list;
+    }
+
+    /**
+     * Loads all the objects, decoding them on several threads while the file is still being read
+     * @param consumer - given each object, in the order they were first saved, on this thread
+     */
+    @Override
+    public void loadObjects(Consumer<T> consumer) {
+        RecordLog log = getLog();
+        if (log == null) {
+            return;
+        }
+        try (ParallelLoader<byte[], T> loader = new ParallelLoader<>(this::decode, consumer)) {
+            log.forEach((uniqueId, data) -> loader.add(data));
+        } catch (IOException e) {
+            plugin.logError("Could not load objects " + dataObject.getSimpleName() + " " + e.getMessage());
+        }
+    }
+
+    @Nullable
+    private T decode(byte[] data) {
+        try {
+            return reader.decode(data);
+        } catch (RuntimeException e) {
+            plugin.logError(COULD_NOT_LOAD_OBJECT + dataObject.getSimpleName() + " " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public T loadObject(@NonNull String uniqueId) {
+        // A write that has not been done yet is newer than the log
+        PendingWrite pending = getPendingWrite(uniqueId);
+        if (pending != null) {
+            try {
+                return pending.dataSupplier == null ? null : decode(pending.dataSupplier.get());
+            } catch (RuntimeException e) {
+                plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
+                return null;
+            }
+        }
+        RecordLog log = getLog();
+        if (log == null) {
+            return null;
+        }
+        try {
+            byte[] data = log.get(uniqueId);
+            return data == null ? null : decode(data);
+        } catch (IOException e) {
+            plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveObject(T instance) {
+        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
+        // Null check
+        if (instance == null) {
+            plugin.logError("JSON log database request to store a null. ");
+            completableFuture.complete(false);
+            return completableFuture;
+        }
+        if (!(instance instanceof DataObject)) {
+            plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
+            completableFuture.complete(false);
+            return completableFuture;
+        }
+        // The copy has to be taken on the main thread to avoid concurrent modification errors
+        write(((DataObject)instance).getUniqueId(), encodeLater(instance, writer), completableFuture);
+        return completableFuture;
+    }
+
+    /**
+     * Adds a save or delete to the writes waiting to be done. If the object is already waiting to be written,
+     * only this latest write is done. The writes are done together in the next cycle of the async queue,
+     * or straight away if the plugin is disabled.
+     * @param uniqueId - unique id of the object
+     * @param data - supplies the encoded object, or null to delete the object
+     * @param completableFuture - completed when the write is done, or null
+     */
+    private void write(String uniqueId, @Nullable Supplier<byte[]> data, @Nullable CompletableFuture<Boolean> completableFuture) {
+        boolean schedule;
+        synchronized (pendingWrites) {
+            schedule = !flushScheduled;
+            flushScheduled = true;
+            PendingWrite previous = pendingWrites.remove(uniqueId);
+            PendingWrite write = new PendingWrite(data);
+            if (previous != null) {
+                // The earlier write is replaced by this one
+                write.futures.addAll(previous.futures);
+            }
+            if (completableFuture != null) {
+                write.futures.add(completableFuture);
+            }
+            pendingWrites.put(uniqueId, write);
+        }
+        if (!plugin.isEnabled()) {
+            // Sync
+            flush();
+        } else if (schedule) {
+            // Async
+            processQueue.add(() -> {
+                // Do not save anything if plugin is disabled, the pending writes are done by close()
+                if (plugin.isEnabled()) {
+                    flush();
+                }
+            });
+        }
+    }
+
+    /**
+     * @param uniqueId - unique id of the object
+     * @return the save or delete of the object that is waiting to be written, or null if there is none
+     */
+    @Nullable
+    private PendingWrite getPendingWrite(String uniqueId) {
+        synchronized (pendingWrites) {
+            return pendingWrites.get(uniqueId);
+        }
+    }
+
+    /**
+     * Writes all the pending saves and deletes to the log and waits once for them to reach the disk
+     */
+    private void flush() {
+        synchronized (flushLock) {
+            Map<String, PendingWrite> writes;
+            synchronized (pendingWrites) {
+                // Writes made from now on need another flush
+                flushScheduled = false;
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                // They are left in the pending writes until they are in the log, so they can still be loaded
+                writes = new LinkedHashMap<>(pendingWrites);
+            }
+            // Encode the objects here, off the main thread
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            writes.forEach((uniqueId, write) -> {
+                if (write.dataSupplier == null) {
+                    records.put(uniqueId, null);
+                    futures.addAll(write.futures);
+                    return;
+                }
+                try {
+                    records.put(uniqueId, write.dataSupplier.get());
+                    futures.addAll(write.futures);
+                } catch (RuntimeException e) {
+                    plugin.logError("Could not save object " + dataObject.getCanonicalName() + " " + uniqueId + " " + e.getMessage());
+                    write.futures.forEach(f -> f.complete(false));
+                }
+            });
+            RecordLog log = getLog();
+            boolean success = false;
+            if (log != null) {
+                try {
+                    log.write(records);
+                    success = true;
+                } catch (IOException e) {
+                    plugin.logError("Could not write " + records.size() + " objects to " + dataObject.getSimpleName() + " " + e.getMessage());
+                }
+                connector.compact(dataObject.getSimpleName(), log);
+            }
+            synchronized (pendingWrites) {
+                // Writes that were replaced while this was being written are kept for the next flush
+                writes.forEach(pendingWrites::remove);
+            }
+            boolean result = success;
+            futures.forEach(f -> f.complete(result));
+        }
+    }
+
+    @Override
+    public void deleteObject(T instance) {
+        // Null check
+        if (instance == null) {
+            plugin.logError("JSON log database request to delete a null.");
+            return;
+        }
+        if (!(instance instanceof DataObject)) {
+            plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
+            return;
+        }
+        deleteID(((DataObject)instance).getUniqueId());
+    }
+
+    @Override
+    public void deleteID(String uniqueId) {
+        write(uniqueId, null, null);
+    }
+
+    @Override
+    public boolean objectExists(String uniqueId) {
+        PendingWrite pending = getPendingWrite(uniqueId);
+        if (pending != null) {
+            return pending.dataSupplier != null;
+        }
+        return connector.uniqueIdExists(dataObject.getSimpleName(), uniqueId);
+    }
+
+    /**
+     * Writes anything that is still waiting to be written and closes the log of the table
+     */
+    @Override
+    public void close() {
+        shutdown = true;
+        flush();
+        connector.closeConnection(dataObject);
+    }
+}
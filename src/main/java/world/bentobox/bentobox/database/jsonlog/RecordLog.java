@@ -0,0 +1,360 @@
+package world.bentobox.bentobox.database.jsonlog;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A file that holds the records of one table. Records are only ever added to the end of the file.
+ * A save adds the new value of a record and a delete adds a marker, so the file also holds old values
+ * until it is compacted, which rewrites only the latest values to a new file and swaps it in.
+ * <p>
+ * Each record in the file is:
+ * <pre>
+ * int  - length of the rest of the record after the checksum
+ * int  - CRC32 checksum of the rest of the record
+ * byte - 1 for a save, 0 for a delete
+ * int  - length of the key in bytes
+ * key as UTF-8
+ * value
+ * </pre>
+ * Where each record is in the file is kept in memory, so a record can be read without searching for it.
+ * A record that was only partly written, for example because the server crashed, fails its checksum
+ * and is cut off the end of the file when it is next opened.
+ *
+ * @author tastybento
+ * @since 1.18.0
+ */
+final class RecordLog implements Closeable {
+
+    /**
+     * "BBLG" then the version of the format
+     */
+    private static final int MAGIC = 0x42424C47;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 0;
+    /**
+     * Files smaller than this are not worth compacting
+     */
+    private static final long MIN_COMPACT_SIZE = 1024L * 1024L;
+
+    /**
+     * Where a value is in the file
+     */
+    private static class Entry {
+        private final long position;
+        private final int length;
+        /**
+         * Size of the whole record
+         */
+        private final int size;
+
+        private Entry(long position, int length, int size) {
+            this.position = position;
+            this.length = length;
+            this.size = size;
+        }
+    }
+
+    private final File file;
+    private FileChannel channel;
+    /**
+     * Where the latest value of each key is, in the order the keys were first saved
+     */
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+    private long size;
+    private long liveBytes;
+    private long truncatedBytes;
+
+    /**
+     * Opens the file, creating it if it does not exist, and reads where all the records are
+     * @param file - file
+     * @throws IOException if the file cannot be opened or is not a record log
+     */
+    RecordLog(@NonNull File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        liveBytes = 0;
+        size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(header, 0);
+            channel.force(true);
+            size = FILE_HEADER;
+            return;
+        }
+        if (size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException(file.getName() + " is too big to be read");
+        }
+        MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+        if (size < FILE_HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException(file.getName() + " is not a record log");
+        }
+        int position = FILE_HEADER;
+        while (position + RECORD_HEADER <= size) {
+            int length = buffer.getInt(position);
+            int checksum = buffer.getInt(position + 4);
+            if (length < 5 || position + RECORD_HEADER + (long)length > size || checksum(buffer, position + RECORD_HEADER, length) != checksum) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER, payload);
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            byte type = record.get();
+            int keyLength = record.getInt();
+            if (keyLength < 0 || keyLength > length - 5) {
+                break;
+            }
+            String key = new String(payload, 5, keyLength, StandardCharsets.UTF_8);
+            int recordSize = RECORD_HEADER + length;
+            remove(key);
+            if (type == SAVE) {
+                long valuePosition = (long)position + RECORD_HEADER + 5 + keyLength;
+                index.put(key, new Entry(valuePosition, length - 5 - keyLength, recordSize));
+                liveBytes += recordSize;
+            }
+            position += recordSize;
+        }
+        if (position < size) {
+            // The end of the file was not written completely, so cut it off
+            truncatedBytes = size - position;
+            channel.truncate(position);
+            channel.force(true);
+            size = position;
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position, length));
+        return (int)crc.getValue();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void remove(String key) {
+        Entry old = index.remove(key);
+        if (old != null) {
+            liveBytes -= old.size;
+        }
+    }
+
+    /**
+     * @return number of bytes that were cut off the end of the file when it was opened because they were not written completely
+     */
+    long getTruncatedBytes() {
+        return truncatedBytes;
+    }
+
+    /**
+     * @return size of the file in bytes
+     */
+    synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of bytes in the file that hold the latest values
+     */
+    synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * @return number of records
+     */
+    synchronized int getCount() {
+        return index.size();
+    }
+
+    /**
+     * @param key - key
+     * @return true if there is a record with this key
+     */
+    synchronized boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Reads the value of a record
+     * @param key - key
+     * @return value or null if there is no record with this key
+     * @throws IOException if the file cannot be read
+     */
+    synchronized byte[] get(String key) throws IOException {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        long position = entry.position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + file.getName());
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Gives every record to the action in the order the records were first saved.
+     * The file is memory mapped, so this is fast even for big files. The action is not called while
+     * the log is locked, so it can write to the log. Records written during this are not given to the action.
+     * @param action - given the key and value of each record
+     * @throws IOException if the file cannot be read
+     */
+    void forEach(@NonNull BiConsumer<String, byte[]> action) throws IOException {
+        MappedByteBuffer buffer;
+        List<Map.Entry<String, Entry>> entries;
+        synchronized (this) {
+            buffer = channel.map(MapMode.READ_ONLY, 0, size);
+            entries = new ArrayList<>(index.entrySet());
+        }
+        for (Map.Entry<String, Entry> en : entries) {
+            Entry entry = en.getValue();
+            byte[] value = new byte[entry.length];
+            buffer.get((int)entry.position, value);
+            action.accept(en.getKey(), value);
+        }
+    }
+
+    /**
+     * Adds records to the end of the file and makes sure they are on the disk before returning,
+     * so many records can be written with only one wait for the disk.
+     * @param records - keys and values to write, in order. A null value deletes the record.
+     * @throws IOException if the records could not be written. Some of them may have been written.
+     */
+    synchronized void write(@NonNull Map<String, byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<byte[]> keys = new ArrayList<>(records.size());
+        List<byte[]> values = new ArrayList<>(records.size());
+        long total = 0;
+        for (Map.Entry<String, byte[]> en : records.entrySet()) {
+            byte[] key = en.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = en.getValue() == null ? new byte[0] : en.getValue();
+            keys.add(key);
+            values.add(value);
+            total += RECORD_HEADER + 5L + key.length + value.length;
+        }
+        if (size + total > Integer.MAX_VALUE) {
+            throw new IOException(file.getName() + " is too big to be written to");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int)total);
+        Map<String, Entry> written = new LinkedHashMap<>();
+        int i = 0;
+        for (Map.Entry<String, byte[]> en : records.entrySet()) {
+            byte[] key = keys.get(i);
+            byte[] value = values.get(i++);
+            int start = buffer.position();
+            int length = 5 + key.length + value.length;
+            buffer.putInt(length).putInt(0).put(en.getValue() == null ? DELETE : SAVE).putInt(key.length).put(key).put(value);
+            buffer.putInt(start + 4, checksum(buffer, start + RECORD_HEADER, length));
+            written.put(en.getKey(), en.getValue() == null ? null
+                    : new Entry(size + start + RECORD_HEADER + 5 + key.length, value.length, RECORD_HEADER + length));
+        }
+        buffer.flip();
+        writeFully(buffer, size);
+        channel.force(false);
+        size += total;
+        // Only update the index once the records are safely written
+        written.forEach((key, entry) -> {
+            remove(key);
+            if (entry != null) {
+                index.put(key, entry);
+                liveBytes += entry.size;
+            }
+        });
+    }
+
+    /**
+     * @return true if most of the file is old values and it is big enough to be worth compacting
+     */
+    synchronized boolean needsCompaction() {
+        return size > MIN_COMPACT_SIZE && size - FILE_HEADER - liveBytes > liveBytes;
+    }
+
+    /**
+     * Rewrites the file with only the latest value of each record. The new file is written next to this one
+     * and then moved over it, so if this fails part way through, the old file is still there.
+     * @throws IOException if the file could not be compacted. The log can still be used.
+     */
+    synchronized void compact() throws IOException {
+        File compacted = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileChannel out = FileChannel.open(compacted.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            out.write(header);
+            for (Entry entry : index.values()) {
+                long start = entry.position - (entry.size - entry.length);
+                long done = 0;
+                while (done < entry.size) {
+                    done += channel.transferTo(start + done, entry.size - done, out);
+                }
+            }
+            out.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted.toPath());
+            throw e;
+        }
+        // Some systems do not allow an open file to be replaced
+        channel.close();
+        try {
+            Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted.toPath());
+            throw e;
+        } finally {
+            open();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    /**
+     * @return true if the log is open
+     */
+    synchronized boolean isOpen() {
+        return channel.isOpen();
+    }
+}
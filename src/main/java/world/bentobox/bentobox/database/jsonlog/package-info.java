@@ -0,0 +1,4 @@
+/**
+ * Contains the JSON log database, which keeps each table in one append-only file.
+ */
+package world.bentobox.bentobox.database.jsonlog;
\ No newline at end of file
@@ -3,6 +3,7 @@ package world.bentobox.bentobox.database.mongodb;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -147,30 +148,50 @@ public class MongoDBDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             completableFuture.complete(false);
             return completableFuture;
         }
-        DataObject dataObj = (DataObject)instance;
+        String uniqueId = ((DataObject)instance).getUniqueId();
+        String name = instance.getClass().getName();
+        // Take a copy now and make the JSON when storing, which is usually async
+        Supplier<String> toStore = toJsonLater(instance);
+        if (plugin.isEnabled()) {
+            // Async
+            processQueue.add(() -> store(completableFuture, name, uniqueId, toStore));
+        } else {
+            // Sync
+            store(completableFuture, name, uniqueId, toStore);
+        }
+        return completableFuture;
+    }
+
+    private void store(CompletableFuture<Boolean> completableFuture, String name, String uniqueId, Supplier<String> jsonSupplier) {
         try {
-            Gson gson = getGson();
-            String toStore = gson.toJson(instance);
             // Change uniqueId to _id
-            toStore = toStore.replaceFirst(UNIQUEID, MONGO_ID);
+            String toStore = jsonSupplier.get().replaceFirst(UNIQUEID, MONGO_ID);
             // This parses JSON to a Mongo Document
             Document document = Document.parse(toStore);
             // Filter based on the id
-            Bson filter = new Document(MONGO_ID, dataObj.getUniqueId());
+            Bson filter = new Document(MONGO_ID, uniqueId);
             // Set the options to upsert (update or insert if doc is not there)
             FindOneAndReplaceOptions options = new FindOneAndReplaceOptions().upsert(true);
             // Do the deed
             collection.findOneAndReplace(filter, document, options);
             completableFuture.complete(true);
         } catch (Exception e) {
-            plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
+            plugin.logError("Could not save object " + name + " " + e.getMessage());
             completableFuture.complete(false);
         }
-        return completableFuture;
     }
 
     @Override
     public void deleteID(String uniqueId) {
+        if (plugin.isEnabled()) {
+            // Queued after any saves of this object
+            processQueue.add(() -> delete(uniqueId));
+        } else {
+            delete(uniqueId);
+        }
+    }
+
+    private void delete(String uniqueId) {
         try {
             collection.findOneAndDelete(new Document(MONGO_ID, uniqueId));
         } catch (Exception e) {
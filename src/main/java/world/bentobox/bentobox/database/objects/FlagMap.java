@@ -0,0 +1,304 @@
+package world.bentobox.bentobox.database.objects;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.managers.FlagsManager;
+
+/**
+ * Map of flags to their values on an island, stored in a primitive array indexed by {@link Flag#getOrdinal()}.
+ * The flag for each ordinal is given by the {@link FlagsManager}, so only the values are stored.
+ * Flags that have no ordinal, e.g., flags of addons that are no longer installed, and null values are kept in a small
+ * {@link HashMap} on the side. Behaves as any other map, so it is serialized the same way as a {@link HashMap}.
+ * <p>
+ * This class is not thread-safe.
+ * @author tastybento
+ * @since 1.18.0
+ */
+final class FlagMap extends AbstractMap<Flag, Integer> {
+
+    /**
+     * Marks an ordinal that has no value
+     */
+    private static final int UNSET = Integer.MIN_VALUE;
+
+    private int[] values = new int[0];
+    private int arraySize;
+    @Nullable
+    private Map<Flag, Integer> others;
+
+    FlagMap() {
+        // Used by Gson
+    }
+
+    FlagMap(Map<Flag, Integer> map) {
+        putAll(map);
+    }
+
+    /**
+     * Get the value of a flag without boxing it
+     * @param flag - flag
+     * @param defaultValue - value to return if the flag has no value
+     * @return value of the flag or defaultValue
+     */
+    int getInt(@NonNull Flag flag, int defaultValue) {
+        int i = indexOf(flag);
+        if (i >= 0) {
+            return values[i];
+        }
+        if (others != null) {
+            Integer value = others.get(flag);
+            if (value != null) {
+                return value;
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @return the index of the flag in the arrays, or -1 if it is not there
+     */
+    private int indexOf(@Nullable Object key) {
+        if (!(key instanceof Flag)) {
+            return -1;
+        }
+        // Ordinals are handed out by flag ID, so a flag with this ordinal is equal to the key
+        int ordinal = ((Flag) key).getOrdinal();
+        return ordinal >= 0 && ordinal < values.length && values[ordinal] != UNSET ? ordinal : -1;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            return values[i];
+        }
+        return others == null ? null : others.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0 || (others != null && others.containsKey(key));
+    }
+
+    @Override
+    public Integer put(Flag key, Integer value) {
+        int ordinal = key == null ? -1 : key.getOrdinal();
+        if (ordinal < 0 || value == null || value == UNSET || getFlag(ordinal) == null) {
+            Integer old = removeFromArray(key);
+            if (others == null) {
+                others = new HashMap<>();
+            }
+            Integer previous = others.put(key, value);
+            return old != null ? old : previous;
+        }
+        Integer old = others == null ? null : others.remove(key);
+        if (ordinal >= values.length) {
+            grow(ordinal + 1);
+        }
+        if (values[ordinal] == UNSET) {
+            arraySize++;
+        } else {
+            old = values[ordinal];
+        }
+        values[ordinal] = value;
+        return old;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        Integer old = removeFromArray(key);
+        if (old != null) {
+            return old;
+        }
+        return others == null ? null : others.remove(key);
+    }
+
+    @Nullable
+    private Integer removeFromArray(@Nullable Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        int old = values[i];
+        removeAt(i);
+        return old;
+    }
+
+    private void removeAt(int i) {
+        values[i] = UNSET;
+        arraySize--;
+    }
+
+    private void grow(int minLength) {
+        FlagsManager fm = getFlagsManager();
+        int length = Math.max(minLength, fm == null ? 0 : fm.getOrdinalCount());
+        int oldLength = values.length;
+        values = Arrays.copyOf(values, length);
+        Arrays.fill(values, oldLength, length, UNSET);
+    }
+
+    @Nullable
+    private static FlagsManager getFlagsManager() {
+        BentoBox plugin = BentoBox.getInstance();
+        return plugin == null ? null : plugin.getFlagsManager();
+    }
+
+    /**
+     * @param ordinal - ordinal
+     * @return the flag with this ordinal, or null if it is not known
+     */
+    @Nullable
+    private static Flag getFlag(int ordinal) {
+        FlagsManager fm = getFlagsManager();
+        return fm == null ? null : fm.getFlagByOrdinal(ordinal);
+    }
+
+    @Override
+    public int size() {
+        return arraySize + (others == null ? 0 : others.size());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, UNSET);
+        arraySize = 0;
+        others = null;
+    }
+
+    @Override
+    public Set<Entry<Flag, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Flag, Integer>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return FlagMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                FlagMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Walks the array first and then the other flags
+     */
+    private class EntryIterator implements Iterator<Entry<Flag, Integer>> {
+        private int next = -1;
+        private int current = -1;
+        @Nullable
+        private Iterator<Entry<Flag, Integer>> othersIterator;
+        private boolean currentIsOther;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            do {
+                next++;
+            } while (next < values.length && values[next] == UNSET);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            if (othersIterator == null && others != null) {
+                othersIterator = others.entrySet().iterator();
+            }
+            return othersIterator != null && othersIterator.hasNext();
+        }
+
+        @Override
+        public Entry<Flag, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next < values.length) {
+                current = next;
+                currentIsOther = false;
+                advance();
+                return new ArrayEntry(current);
+            }
+            currentIsOther = true;
+            return othersIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (currentIsOther) {
+                othersIterator.remove();
+            } else if (current >= 0 && values[current] != UNSET) {
+                removeAt(current);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * Entry that writes through to the array
+     */
+    private class ArrayEntry implements Entry<Flag, Integer> {
+        private final int index;
+        private final Flag key;
+
+        ArrayEntry(int index) {
+            this.index = index;
+            this.key = getFlag(index);
+        }
+
+        @Override
+        public Flag getKey() {
+            return key;
+        }
+
+        @Override
+        public Integer getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Integer setValue(Integer value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return key.equals(e.getKey()) && getValue().equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ values[index];
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + values[index];
+        }
+    }
+}
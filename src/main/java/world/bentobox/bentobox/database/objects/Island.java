@@ -14,6 +14,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -49,6 +50,7 @@ import world.bentobox.bentobox.database.objects.adapters.LogEntryListAdapter;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.RanksManager;
+import world.bentobox.bentobox.managers.island.IslandCache;
 import world.bentobox.bentobox.util.Pair;
 import world.bentobox.bentobox.util.Util;
 
@@ -68,6 +70,17 @@ public class Island implements DataObject, MetaDataAble {
      */
     private boolean changed;
 
+    /**
+     * Increased every time the ranks or flags of this island change
+     */
+    private volatile long protectionVersion;
+
+    /**
+     * The island cache that holds this island, if any. Told about name, member and other changes.
+     */
+    @Nullable
+    private volatile IslandCache cache;
+
     // True if this island is deleted and pending deletion from the database
     @Expose
     private boolean deleted = false;
@@ -160,7 +173,7 @@ public class Island implements DataObject, MetaDataAble {
     //// Protection flags ////
     @Adapter(FlagSerializer.class)
     @Expose
-    private Map<Flag, Integer> flags = new HashMap<>();
+    private FlagMap flags = new FlagMap();
 
     //// Island History ////
     @Adapter(LogEntryListAdapter.class)
@@ -339,6 +352,8 @@ public class Island implements DataObject, MetaDataAble {
      */
     public boolean unban(@NonNull UUID issuer, @NonNull UUID target) {
         if (members.remove(target) != null) {
+            updateCache(c -> c.updateMember(this, target));
+            protectionVersion++;
             log(new LogEntry.Builder("UNBAN").data("player", target.toString()).data("issuer", issuer.toString()).build());
             return true;
         }
@@ -369,7 +384,7 @@ public class Island implements DataObject, MetaDataAble {
      * @return flag value
      */
     public int getFlag(@NonNull Flag flag) {
-        return flags.computeIfAbsent(flag, k -> flag.getDefaultRank());
+        return flags.getInt(flag, flag.getDefaultRank());
     }
 
     /**
@@ -391,6 +406,9 @@ public class Island implements DataObject, MetaDataAble {
      * It contains all players that have any rank on this island, including {@link RanksManager#BANNED_RANK BANNED},
      * {@link RanksManager#TRUSTED_RANK TRUSTED}, {@link RanksManager#MEMBER_RANK MEMBER}, {@link RanksManager#SUB_OWNER_RANK SUB_OWNER},
      * {@link RanksManager#OWNER_RANK OWNER}, etc.
+     * <br/>
+     * Change ranks with {@link #setRank(UUID, int)}, {@link #removeMember(UUID)} or {@link #setMembers(Map)}
+     * rather than through this map, so that the island cache and cached protection decisions are kept up to date.
      *
      * @return the members - key is the UUID, value is the RanksManager enum, e.g. {@link RanksManager#MEMBER_RANK}.
      * @see #getMemberSet()
@@ -800,6 +818,8 @@ public class Island implements DataObject, MetaDataAble {
      */
     public void removeMember(UUID playerUUID) {
         members.remove(playerUUID);
+        updateCache(c -> c.updateMember(this, playerUUID));
+        protectionVersion++;
         setChanged();
     }
 
@@ -841,6 +861,7 @@ public class Island implements DataObject, MetaDataAble {
      */
     public void setFlag(Flag flag, int value, boolean doSubflags) {
         flags.put(flag, value);
+        protectionVersion++;
         // Subflag support
         if (doSubflags && flag.hasSubflags()) {
             // Ensure that a subflag isn't a subflag of itself or else we're in trouble!
@@ -853,7 +874,8 @@ public class Island implements DataObject, MetaDataAble {
      * @param flags the flags to set
      */
     public void setFlags(Map<Flag, Integer> flags) {
-        this.flags = flags;
+        this.flags = flags == null ? new FlagMap() : new FlagMap(flags);
+        protectionVersion++;
         setChanged();
     }
 
@@ -884,7 +906,10 @@ public class Island implements DataObject, MetaDataAble {
      * @param members the members to set
      */
     public void setMembers(Map<UUID, Integer> members) {
+        Map<UUID, Integer> oldMembers = this.members;
         this.members = members;
+        updateCache(c -> c.updateMembers(this, oldMembers.keySet()));
+        protectionVersion++;
         setChanged();
     }
 
@@ -895,7 +920,9 @@ public class Island implements DataObject, MetaDataAble {
      * @param name The display name to set.
      */
     public void setName(String name){
+        String oldName = this.name;
         this.name = (name != null && !name.equals("")) ? name : null;
+        updateCache(c -> c.updateName(this, oldName));
         setChanged();
     }
 
@@ -1002,6 +1029,8 @@ public class Island implements DataObject, MetaDataAble {
             return; // Defensive code
         }
         members.put(uuid, rank);
+        updateCache(c -> c.updateMember(this, uuid));
+        protectionVersion++;
         setChanged();
     }
 
@@ -1009,7 +1038,10 @@ public class Island implements DataObject, MetaDataAble {
      * @param ranks the ranks to set
      */
     public void setRanks(Map<UUID, Integer> ranks) {
+        Map<UUID, Integer> oldMembers = members;
         members = ranks;
+        updateCache(c -> c.updateMembers(this, oldMembers.keySet()));
+        protectionVersion++;
         setChanged();
     }
 
@@ -1028,7 +1060,10 @@ public class Island implements DataObject, MetaDataAble {
         spawn = isSpawn;
         if (isSpawn) {
             setOwner(null);
+            Set<UUID> oldMembers = new HashSet<>(members.keySet());
             members.clear();
+            updateCache(c -> c.updateMembers(this, oldMembers));
+            protectionVersion++;
             setFlagsDefaults();
             setFlag(Flags.LOCK, RanksManager.VISITOR_RANK);
         }
@@ -1222,10 +1257,43 @@ public class Island implements DataObject, MetaDataAble {
      * @param rank rank value
      */
     public void removeRank(Integer rank) {
+        Set<UUID> oldMembers = new HashSet<>(members.keySet());
         members.values().removeIf(rank::equals);
+        updateCache(c -> c.updateMembers(this, oldMembers));
+        protectionVersion++;
         setChanged();
     }
 
+    /**
+     * Gets the version of this island's ranks and flags. It is increased every time they change,
+     * so protection decisions worked out for an earlier version can be told apart.
+     * @return protection version
+     * @since 1.18.0
+     */
+    public long getProtectionVersion() {
+        return protectionVersion;
+    }
+
+    /**
+     * Sets the island cache that holds this island. Only the {@link IslandCache} should call this.
+     * @param cache the island cache, or null if the island is no longer held in one
+     * @since 1.18.0
+     */
+    public void setCache(@Nullable IslandCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Lets the island cache that holds this island update its indexes after the name or members of this island changed
+     * @param update - update to make to the cache
+     */
+    private void updateCache(Consumer<IslandCache> update) {
+        IslandCache c = cache;
+        if (c != null) {
+            update.accept(c);
+        }
+    }
+
     /**
      * Gets the history of the island.
      * @return the list of {@link LogEntry} for this island.
@@ -1454,6 +1522,7 @@ public class Island implements DataObject, MetaDataAble {
      */
     public void setChanged() {
         this.changed = true;
+        updateCache(cache -> cache.setChanged(this));
     }
 
     /**
@@ -1461,6 +1530,9 @@ public class Island implements DataObject, MetaDataAble {
      */
     public void setChanged(boolean changed) {
         this.changed = changed;
+        if (changed) {
+            updateCache(cache -> cache.setChanged(this));
+        }
     }
 
     /**
@@ -1614,6 +1686,7 @@ public class Island implements DataObject, MetaDataAble {
      */
     public void setMaxMembers(int rank, Integer maxMembers) {
         getMaxMembers().put(rank, maxMembers);
+        setChanged();
     }
 
     /* (non-Javadoc)
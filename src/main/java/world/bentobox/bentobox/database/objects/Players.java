@@ -12,6 +12,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.annotations.Expose;
@@ -76,14 +77,21 @@ public class Players implements DataObject, MetaDataAble {
      *
      */
     public Players(BentoBox plugin, UUID uniqueId) {
+        // Try to get player's name
+        this(uniqueId, Bukkit.getOfflinePlayer(uniqueId).getName());
+    }
+
+    /**
+     * Makes a new player without asking the server for their name, so it can be used off the main thread
+     * @param uniqueId - unique ID
+     * @param playerName - the player's name, or null if it is not known, in which case the unique ID is used
+     * @since 1.18.0
+     */
+    public Players(@NonNull UUID uniqueId, @Nullable String playerName) {
         this.uniqueId = uniqueId.toString();
         homeLocations = new HashMap<>();
         locale = "";
-        // Try to get player's name
-        this.playerName = Bukkit.getOfflinePlayer(uniqueId).getName();
-        if (this.playerName == null) {
-            this.playerName = uniqueId.toString();
-        }
+        this.playerName = playerName == null ? uniqueId.toString() : playerName;
     }
 
     /**
@@ -0,0 +1,235 @@
+package world.bentobox.bentobox.database.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A small pool of database connections so that different tables can be read and written at the same time.
+ * Each pooled connection keeps the statements prepared on it, so they are only prepared once.
+ * <p>
+ * Connections are borrowed with {@link #borrow()} and given back by closing the {@link PooledConnection}.
+ * @author tastybento
+ * @since 1.18.0
+ */
+public class SQLConnectionPool {
+
+    /**
+     * Opens a new connection to the database
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+    /**
+     * Idle connections are checked with the database before they are reused if they have been idle
+     * for this long, because the database may have closed them in the meantime
+     */
+    private static final long VALIDATE_AFTER_MILLIS = 30000L;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long validateAfter;
+    private final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param factory - opens new connections
+     * @param maxSize - maximum number of connections that can be open at once, at least 1
+     */
+    public SQLConnectionPool(@NonNull ConnectionFactory factory, int maxSize) {
+        this(factory, maxSize, VALIDATE_AFTER_MILLIS);
+    }
+
+    /**
+     * @param factory - opens new connections
+     * @param maxSize - maximum number of connections that can be open at once, at least 1
+     * @param validateAfter - milliseconds a connection can be idle before it is checked with the database when borrowed
+     */
+    SQLConnectionPool(@NonNull ConnectionFactory factory, int maxSize, long validateAfter) {
+        this.factory = factory;
+        this.maxSize = Math.max(1, maxSize);
+        this.validateAfter = validateAfter;
+    }
+
+    /**
+     * Borrows a connection from the pool, opening one if none are idle and the pool is not full,
+     * or waiting for one to be given back otherwise.
+     * The connection must be given back by closing it, e.g., with try-with-resources.
+     * @return pooled connection
+     * @throws SQLException if a connection cannot be opened or none became free in time
+     */
+    @NonNull
+    public PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        PooledConnection pc = idle.poll();
+        while (pc == null) {
+            // Open a new connection if the pool is not full
+            int count = open.get();
+            if (count < maxSize) {
+                if (open.compareAndSet(count, count + 1)) {
+                    try {
+                        return new PooledConnection(factory.open());
+                    } catch (SQLException e) {
+                        open.decrementAndGet();
+                        throw e;
+                    }
+                }
+                continue;
+            }
+            // Wait for one to be given back
+            try {
+                pc = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection");
+            }
+            if (pc == null) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+        }
+        if (!pc.isUsable()) {
+            // Replace the dead connection
+            pc.discard();
+            return borrow();
+        }
+        return pc;
+    }
+
+    /**
+     * Gives a connection back to the pool
+     * @param pc - pooled connection
+     */
+    private void release(PooledConnection pc) {
+        if (closed || pc.broken) {
+            pc.discard();
+        } else {
+            pc.released = System.currentTimeMillis();
+            idle.add(pc);
+        }
+    }
+
+    /**
+     * @return number of connections currently open
+     */
+    public int getOpenConnections() {
+        return open.get();
+    }
+
+    /**
+     * @return maximum number of connections in this pool
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Closes all idle connections. Connections that are borrowed are closed when they are given back.
+     */
+    public void close() {
+        closed = true;
+        PooledConnection pc;
+        while ((pc = idle.poll()) != null) {
+            pc.discard();
+        }
+    }
+
+    /**
+     * A connection borrowed from the pool. Closing it gives it back to the pool.
+     */
+    public class PooledConnection implements AutoCloseable {
+
+        private final Connection connection;
+        /**
+         * Statements prepared on this connection, by SQL. Only used by the thread that borrowed the connection.
+         */
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private boolean broken;
+        /**
+         * When this connection was last given back to the pool
+         */
+        private long released;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * @return the underlying connection
+         */
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Gets a prepared statement for this SQL, preparing it only the first time.
+         * The statement must not be closed by the caller.
+         * @param sql - SQL
+         * @return prepared statement
+         * @throws SQLException if the statement cannot be prepared
+         */
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            PreparedStatement ps = statements.get(sql);
+            if (ps == null || ps.isClosed()) {
+                ps = connection.prepareStatement(sql);
+                statements.put(sql, ps);
+            }
+            return ps;
+        }
+
+        /**
+         * Marks this connection as broken, e.g., after a connection error, so that it is closed instead of reused
+         */
+        public void setBroken() {
+            this.broken = true;
+        }
+
+        /**
+         * @return true if this connection is open and, if it has been idle for a while, the database still answers on it
+         */
+        private boolean isUsable() {
+            try {
+                return !connection.isClosed()
+                        && (System.currentTimeMillis() - released < validateAfter || connection.isValid(VALIDATION_TIMEOUT_SECONDS));
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void discard() {
+            open.decrementAndGet();
+            for (PreparedStatement ps : statements.values()) {
+                try {
+                    ps.close();
+                } catch (SQLException e) {
+                    // Closing the connection frees it anyway
+                }
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // Nothing more can be done
+            }
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
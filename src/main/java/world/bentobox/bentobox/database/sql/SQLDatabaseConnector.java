@@ -8,6 +8,7 @@ import java.util.Set;
 
 import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.database.DatabaseConnectionSettingsImpl;
 import world.bentobox.bentobox.database.DatabaseConnector;
@@ -18,6 +19,10 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
     private DatabaseConnectionSettingsImpl dbSettings;
     protected static Connection connection = null;
     protected static Set<Class<?>> types = new HashSet<>();
+    /**
+     * Pool of extra connections, used when more than one connection is allowed
+     */
+    private static SQLConnectionPool pool = null;
 
     protected SQLDatabaseConnector(DatabaseConnectionSettingsImpl dbSettings, String connectionUrl) {
         this.dbSettings = dbSettings;
@@ -53,6 +58,16 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
                 Bukkit.getLogger().severe("Could not close database connection");
             }
         }
+        if (types.isEmpty()) {
+            closePool();
+        }
+    }
+
+    private static synchronized void closePool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
     }
 
     @Override
@@ -61,7 +76,7 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
         // Only make one connection to the database
         if (connection == null) {
             try {
-                connection = DriverManager.getConnection(connectionUrl, dbSettings.getUsername(), dbSettings.getPassword());
+                connection = openConnection();
             } catch (SQLException e) {
                 Bukkit.getLogger().severe("Could not connect to the database! " + e.getMessage());
             }
@@ -69,4 +84,41 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
         return connection;
     }
 
+    /**
+     * Opens a new connection to the database
+     * @return connection
+     * @throws SQLException if the connection cannot be made
+     * @since 1.18.0
+     */
+    protected Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(connectionUrl, dbSettings.getUsername(), dbSettings.getPassword());
+    }
+
+    /**
+     * @return maximum number of connections that can be open to the database
+     * @since 1.18.0
+     */
+    protected int getMaxConnections() {
+        return dbSettings == null ? 1 : dbSettings.getMaxConnections();
+    }
+
+    /**
+     * Gets the pool of connections shared by all the tables, creating it the first time.
+     * @return the connection pool, or null if only one connection to the database is allowed
+     * @since 1.18.0
+     */
+    @Nullable
+    public SQLConnectionPool getPool() {
+        int max = getMaxConnections();
+        if (max <= 1) {
+            return null;
+        }
+        synchronized (SQLDatabaseConnector.class) {
+            if (pool == null) {
+                pool = new SQLConnectionPool(this::openConnection, max);
+            }
+            return pool;
+        }
+    }
+
 }
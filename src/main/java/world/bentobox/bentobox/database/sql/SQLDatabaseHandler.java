@@ -7,20 +7,26 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
+import world.bentobox.bentobox.database.ParallelLoader;
 import world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler;
 import world.bentobox.bentobox.database.objects.DataObject;
+import world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection;
 
 /**
  *
@@ -41,6 +47,57 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
      */
     private Connection connection;
 
+    /**
+     * Pool of connections, or null if only the one connection is used
+     */
+    @Nullable
+    private final SQLConnectionPool pool;
+
+    /**
+     * Statements prepared on the single connection, by SQL
+     */
+    private final Map<String, PreparedStatement> statements = new ConcurrentHashMap<>();
+
+    /**
+     * Saves and deletes waiting to be written, by unique id, in the order they were made
+     */
+    private final Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+
+    /**
+     * A save, or a delete if there is no JSON, waiting to be written
+     */
+    private static class PendingWrite {
+        private final String uniqueId;
+        @Nullable
+        private final Supplier<String> jsonSupplier;
+        @Nullable
+        private String json;
+        private final List<CompletableFuture<Boolean>> futures = new ArrayList<>(1);
+
+        private PendingWrite(String uniqueId, @Nullable Supplier<String> jsonSupplier) {
+            this.uniqueId = uniqueId;
+            this.jsonSupplier = jsonSupplier;
+        }
+    }
+
+    /**
+     * Gets prepared statements
+     */
+    @FunctionalInterface
+    private interface StatementSource {
+        PreparedStatement get(String sql) throws SQLException;
+    }
+
+    /**
+     * Something to do with a prepared statement
+     * @param <R> result type
+     * @since 1.18.0
+     */
+    @FunctionalInterface
+    protected interface StatementTask<R> {
+        R run(PreparedStatement preparedStatement) throws SQLException;
+    }
+
     /**
      * SQL configuration
      */
@@ -57,6 +114,7 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     protected SQLDatabaseHandler(BentoBox plugin, Class<T> type, DatabaseConnector dbConnecter, SQLConfiguration sqlConfiguration) {
         super(plugin, type, dbConnecter);
         this.sqlConfig = sqlConfiguration;
+        this.pool = databaseConnector instanceof SQLDatabaseConnector ? ((SQLDatabaseConnector)databaseConnector).getPool() : null;
         if (setConnection((Connection)databaseConnector.createConnection(type))) {
             // Check if the table exists in the database and if not, create it
             createSchema();
@@ -98,55 +156,109 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
         }
     }
 
+    /**
+     * Runs a task with a prepared statement for this SQL. The statement is only prepared once
+     * and is reused, so the task must set all its parameters and must not close it.
+     * If there is a connection pool, the statement is run on a connection borrowed from it,
+     * otherwise it is run on the single connection.
+     * @param <R> result type
+     * @param sql - SQL to prepare
+     * @param task - task to run
+     * @return result of the task
+     * @throws SQLException if the statement cannot be prepared or run
+     * @since 1.18.0
+     */
+    protected <R> R withStatement(String sql, StatementTask<R> task) throws SQLException {
+        if (pool != null) {
+            try (PooledConnection pc = pool.borrow()) {
+                try {
+                    return task.run(pc.prepareStatement(sql));
+                } catch (SQLException e) {
+                    if (!pc.getConnection().isValid(1)) {
+                        pc.setBroken();
+                    }
+                    throw e;
+                }
+            }
+        }
+        PreparedStatement preparedStatement = getStatement(sql);
+        // The statement's parameters must not be changed by another thread while it runs
+        synchronized (preparedStatement) {
+            try {
+                return task.run(preparedStatement);
+            } catch (SQLException e) {
+                // Prepare it again next time
+                statements.remove(sql, preparedStatement);
+                throw e;
+            }
+        }
+    }
+
     @Override
     public List<T> loadObjects() {
+        List<T> list = new ArrayList<>();
+        loadObjects(list::add);
+        return list;
+    }
+
+    /**
+     * Loads all the objects, turning the JSON into objects on several threads while rows are still being read
+     * @param consumer - given each object, in row order, on this thread
+     * @since 1.18.0
+     */
+    @Override
+    public void loadObjects(Consumer<T> consumer) {
         try (Statement preparedStatement = connection.createStatement()) {
-            return loadIt(preparedStatement);
+            loadIt(preparedStatement, consumer);
         } catch (SQLException e) {
             plugin.logError(COULD_NOT_LOAD_OBJECTS + e.getMessage());
         }
-        return Collections.emptyList();
     }
 
-    private List<T> loadIt(Statement preparedStatement) {
-        List<T> list = new ArrayList<>();
-        try (ResultSet resultSet = preparedStatement.executeQuery(sqlConfig.getLoadObjectsSQL())) {
+    private void loadIt(Statement preparedStatement, Consumer<T> consumer) {
+        Gson gson = getGson();
+        try (ResultSet resultSet = preparedStatement.executeQuery(sqlConfig.getLoadObjectsSQL());
+                ParallelLoader<String, T> loader = new ParallelLoader<>(json -> fromJson(gson, json), consumer)) {
             // Load all the results
-            Gson gson = getGson();
             while (resultSet.next()) {
                 String json = resultSet.getString("json");
                 if (json != null) {
-                    try {
-                        T gsonResult = gson.fromJson(json, dataObject);
-                        if (gsonResult != null) {
-                            list.add(gsonResult);
-                        }
-                    } catch (JsonSyntaxException ex) {
-                        plugin.logError(COULD_NOT_LOAD_OBJECT + ex.getMessage());
-                        plugin.logError(json);
-                    }
+                    loader.add(json);
                 }
             }
-        } catch (Exception e) {
+        } catch (SQLException e) {
             plugin.logError(COULD_NOT_LOAD_OBJECTS + e.getMessage());
         }
-        return list;
+    }
+
+    @Nullable
+    private T fromJson(Gson gson, String json) {
+        try {
+            return gson.fromJson(json, dataObject);
+        } catch (RuntimeException ex) {
+            plugin.logError(COULD_NOT_LOAD_OBJECT + ex.getMessage());
+            plugin.logError(json);
+            return null;
+        }
     }
 
     @Override
     public T loadObject(@NonNull String uniqueId) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getLoadObjectSQL())) {
-            // UniqueId needs to be placed in quotes?
-            preparedStatement.setString(1, this.sqlConfig.isUseQuotes() ? "\"" + uniqueId + "\"" : uniqueId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    // If there is a result, we only want/need the first one
-                    Gson gson = getGson();
-                    return gson.fromJson(resultSet.getString("json"), dataObject);
+        try {
+            return withStatement(sqlConfig.getLoadObjectSQL(), preparedStatement -> {
+                // UniqueId needs to be placed in quotes?
+                preparedStatement.setString(1, this.sqlConfig.isUseQuotes() ? "\"" + uniqueId + "\"" : uniqueId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        // If there is a result, we only want/need the first one
+                        Gson gson = getGson();
+                        return gson.fromJson(resultSet.getString("json"), dataObject);
+                    }
+                } catch (Exception e) {
+                    plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
                 }
-            } catch (Exception e) {
-                plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
-            }
+                return null;
+            });
         } catch (SQLException e) {
             plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
         }
@@ -167,48 +279,193 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             completableFuture.complete(false);
             return completableFuture;
         }
-        // This has to be on the main thread to avoid concurrent modification errors
-        String toStore = getGson().toJson(instance);
-        if (plugin.isEnabled()) {
-            // Async
-            processQueue.add(() -> store(completableFuture, instance.getClass().getName(), toStore, sqlConfig.getSaveObjectSQL(), true));
-        } else {
+        // The copy has to be taken on the main thread to avoid concurrent modification errors
+        write(((DataObject)instance).getUniqueId(), toJsonLater(instance), completableFuture);
+        return completableFuture;
+    }
+
+    /**
+     * Adds a save or delete to the writes waiting to be done. If the object is already waiting to be written,
+     * only this latest write is done. The writes are done together in the next cycle of the async queue,
+     * or straight away if the plugin is disabled.
+     * @param uniqueId - unique id of the object
+     * @param json - supplies the object as JSON, or null to delete the object
+     * @param completableFuture - completed when the write is done, or null
+     */
+    private void write(String uniqueId, @Nullable Supplier<String> json, @Nullable CompletableFuture<Boolean> completableFuture) {
+        boolean schedule;
+        synchronized (pendingWrites) {
+            schedule = pendingWrites.isEmpty();
+            PendingWrite previous = pendingWrites.remove(uniqueId);
+            PendingWrite write = new PendingWrite(uniqueId, json);
+            if (previous != null) {
+                // The earlier write is replaced by this one
+                write.futures.addAll(previous.futures);
+            }
+            if (completableFuture != null) {
+                write.futures.add(completableFuture);
+            }
+            pendingWrites.put(uniqueId, write);
+        }
+        if (!plugin.isEnabled()) {
             // Sync
-            store(completableFuture, instance.getClass().getName(), toStore, sqlConfig.getSaveObjectSQL(), false);
+            flush();
+        } else if (schedule) {
+            // Async
+            processQueue.add(() -> {
+                // Do not save anything if plugin is disabled, the pending writes will be done on shutdown
+                if (plugin.isEnabled()) {
+                    flush();
+                }
+            });
         }
-        return completableFuture;
     }
 
-    private void store(CompletableFuture<Boolean> completableFuture, String name, String toStore, String sb, boolean async) {
-        // Do not save anything if plug is disabled and this was an async request
-        if (async && !plugin.isEnabled()) return;
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sb)) {
-            preparedStatement.setString(1, toStore);
-            preparedStatement.setString(2, toStore);
-            preparedStatement.execute();
-            completableFuture.complete(true);
+    /**
+     * Writes all the pending saves and deletes to the database in batches
+     */
+    private void flush() {
+        List<PendingWrite> writes;
+        synchronized (pendingWrites) {
+            if (pendingWrites.isEmpty()) {
+                return;
+            }
+            writes = new ArrayList<>(pendingWrites.values());
+            pendingWrites.clear();
+        }
+        // Make the JSON here, off the main thread
+        writes.removeIf(this::makeJson);
+        int batchSize = Math.max(1, plugin.getSettings().getDatabaseBatchSize());
+        for (int i = 0; i < writes.size(); i += batchSize) {
+            List<PendingWrite> batch = writes.subList(i, Math.min(writes.size(), i + batchSize));
+            boolean success = writeBatch(batch);
+            batch.forEach(w -> w.futures.forEach(f -> f.complete(success)));
+        }
+    }
+
+    /**
+     * Makes the JSON of a pending save
+     * @param write - pending write
+     * @return true if the JSON could not be made and the write has to be dropped
+     */
+    private boolean makeJson(PendingWrite write) {
+        if (write.jsonSupplier == null) {
+            return false;
+        }
+        try {
+            write.json = write.jsonSupplier.get();
+            return false;
+        } catch (RuntimeException e) {
+            plugin.logError("Could not save object " + dataObject.getCanonicalName() + " " + write.uniqueId + " " + e.getMessage());
+            write.futures.forEach(f -> f.complete(false));
+            return true;
+        }
+    }
+
+    /**
+     * Writes a batch of saves and deletes in one transaction
+     * @param batch - writes
+     * @return true if the batch was written, false if it was rolled back
+     */
+    private boolean writeBatch(List<PendingWrite> batch) {
+        try {
+            if (pool != null) {
+                try (PooledConnection pc = pool.borrow()) {
+                    writeBatch(pc.getConnection(), pc::prepareStatement, batch);
+                }
+            } else {
+                // The connection is shared, so only one transaction can be open on it at a time
+                synchronized (connection) {
+                    writeBatch(connection, this::getStatement, batch);
+                }
+            }
+            return true;
         } catch (SQLException e) {
-            plugin.logError("Could not save object " + name + " " + e.getMessage());
-            completableFuture.complete(false);
+            plugin.logError("Could not write " + batch.size() + " objects to " + plugin.getSettings().getDatabasePrefix()
+            + dataObject.getCanonicalName() + " " + e.getMessage());
+            return false;
         }
     }
 
+    private void writeBatch(Connection conn, StatementSource statementSource, List<PendingWrite> batch) throws SQLException {
+        PreparedStatement save = null;
+        PreparedStatement delete = null;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (PendingWrite write : batch) {
+                if (write.jsonSupplier == null) {
+                    if (delete == null) {
+                        delete = statementSource.get(sqlConfig.getDeleteObjectSQL());
+                    }
+                    // UniqueId needs to be placed in quotes?
+                    delete.setString(1, this.sqlConfig.isUseQuotes() ? "\"" + write.uniqueId + "\"" : write.uniqueId);
+                    delete.addBatch();
+                } else {
+                    if (save == null) {
+                        save = statementSource.get(sqlConfig.getSaveObjectSQL());
+                    }
+                    setSaveParameters(save, write.uniqueId, write.json);
+                    save.addBatch();
+                }
+            }
+            if (save != null) {
+                save.executeBatch();
+            }
+            if (delete != null) {
+                delete.executeBatch();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            // Statements are reused, so they must not keep the failed batch
+            if (save != null) {
+                save.clearBatch();
+            }
+            if (delete != null) {
+                delete.clearBatch();
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Gets the statement prepared on the single connection for this SQL, preparing it the first time
+     * @param sql - SQL
+     * @return prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    private PreparedStatement getStatement(String sql) throws SQLException {
+        PreparedStatement preparedStatement = statements.get(sql);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(sql);
+            statements.put(sql, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Sets the parameters of the save object statement. By default, the JSON is set twice, for the insert and
+     * for the update. Databases whose save statement takes different parameters override this.
+     * @param preparedStatement - save object statement
+     * @param uniqueId - unique id of the object
+     * @param json - object as JSON
+     * @throws SQLException if a parameter cannot be set
+     * @since 1.18.0
+     */
+    protected void setSaveParameters(PreparedStatement preparedStatement, String uniqueId, String json) throws SQLException {
+        preparedStatement.setString(1, json);
+        preparedStatement.setString(2, json);
+    }
+
     /* (non-Javadoc)
      * @see world.bentobox.bentobox.database.AbstractDatabaseHandler#deleteID(java.lang.String)
      */
     @Override
     public void deleteID(String uniqueId) {
-        processQueue.add(() -> delete(uniqueId));
-    }
-
-    private void delete(String uniqueId) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getDeleteObjectSQL())) {
-            // UniqueId needs to be placed in quotes?
-            preparedStatement.setString(1, this.sqlConfig.isUseQuotes() ? "\"" + uniqueId + "\"" : uniqueId);
-            preparedStatement.execute();
-        } catch (Exception e) {
-            plugin.logError("Could not delete object " + plugin.getSettings().getDatabasePrefix() + dataObject.getCanonicalName() + " " + uniqueId + " " + e.getMessage());
-        }
+        write(uniqueId, null, null);
     }
 
     @Override
@@ -233,14 +490,14 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     @Override
     public boolean objectExists(String uniqueId) {
         // Query to see if this key exists
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getObjectExistsSQL())) {
-            // UniqueId needs to be placed in quotes?
-            preparedStatement.setString(1, this.sqlConfig.isUseQuotes() ? "\"" + uniqueId + "\"" : uniqueId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getBoolean(1);
+        try {
+            return withStatement(sqlConfig.getObjectExistsSQL(), preparedStatement -> {
+                // UniqueId needs to be placed in quotes?
+                preparedStatement.setString(1, this.sqlConfig.isUseQuotes() ? "\"" + uniqueId + "\"" : uniqueId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    return resultSet.next() && resultSet.getBoolean(1);
                 }
-            }
+            });
         } catch (SQLException e) {
             plugin.logError("Could not check if key exists in database! " + uniqueId + " " + e.getMessage());
         }
@@ -22,7 +22,8 @@ public class MySQLDatabase implements DatabaseSetup {
                     plugin.getSettings().getDatabaseName(),
                     plugin.getSettings().getDatabaseUsername(),
                     plugin.getSettings().getDatabasePassword(),
-                    plugin.getSettings().isUseSSL()
+                    plugin.getSettings().isUseSSL(),
+                    plugin.getSettings().getDatabasePoolSize()
                     ));
         }
         return new MySQLDatabaseHandler<>(plugin, type, connector);
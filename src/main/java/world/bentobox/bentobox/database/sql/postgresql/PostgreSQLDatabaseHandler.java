@@ -2,13 +2,9 @@ package world.bentobox.bentobox.database.sql.postgresql;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.concurrent.CompletableFuture;
-
-import com.google.gson.Gson;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
-import world.bentobox.bentobox.database.objects.DataObject;
 import world.bentobox.bentobox.database.sql.SQLConfiguration;
 import world.bentobox.bentobox.database.sql.SQLDatabaseHandler;
 
@@ -36,7 +32,7 @@ public class PostgreSQLDatabaseHandler<T> extends SQLDatabaseHandler<T> {
                 .schema("CREATE TABLE IF NOT EXISTS \"[tableName]\" (uniqueid VARCHAR PRIMARY KEY, json jsonb NOT NULL)")
                 .loadObject("SELECT * FROM \"[tableName]\" WHERE uniqueid = ? LIMIT 1")
                 .deleteObject("DELETE FROM \"[tableName]\" WHERE uniqueid = ?")
-                // uniqueId has to be added into the row explicitly so we need to override the saveObject method
+                // uniqueId has to be added into the row explicitly so we need to override the save parameters
                 // The json value is a string but has to be cast to json when done in Java
                 .saveObject("INSERT INTO \"[tableName]\" (uniqueid, json) VALUES (?, cast(? as json)) "
                         // This is the Postgresql version of UPSERT.
@@ -51,38 +47,13 @@ public class PostgreSQLDatabaseHandler<T> extends SQLDatabaseHandler<T> {
     }
 
     /* (non-Javadoc)
-     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#saveObject(java.lang.Object)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#setSaveParameters(java.sql.PreparedStatement, java.lang.String, java.lang.String)
      */
     @Override
-    public CompletableFuture<Boolean> saveObject(T instance) {
-        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
-        // Null check
-        if (instance == null) {
-            plugin.logError("PostgreSQL database request to store a null. ");
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        if (!(instance instanceof DataObject)) {
-            plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        Gson gson = getGson();
-        String toStore = gson.toJson(instance);
-        String uniqueId = ((DataObject)instance).getUniqueId();
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getSaveObjectSQL())) {
-                preparedStatement.setString(1, uniqueId); // INSERT
-                preparedStatement.setString(2, toStore); // INSERT
-                preparedStatement.setString(3, toStore); // ON CONFLICT
-                preparedStatement.execute();
-                completableFuture.complete(true);
-            } catch (SQLException e) {
-                plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
-                completableFuture.complete(false);
-            }
-        });
-        return completableFuture;
+    protected void setSaveParameters(PreparedStatement preparedStatement, String uniqueId, String json) throws SQLException {
+        preparedStatement.setString(1, uniqueId); // INSERT
+        preparedStatement.setString(2, json); // INSERT
+        preparedStatement.setString(3, json); // ON CONFLICT
     }
 
 }
@@ -1,10 +1,11 @@
 package world.bentobox.bentobox.database.sql.sqlite;
 
 import java.io.File;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
-import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
 
 import world.bentobox.bentobox.BentoBox;
@@ -17,6 +18,10 @@ import world.bentobox.bentobox.database.sql.SQLDatabaseConnector;
 public class SQLiteDatabaseConnector extends SQLDatabaseConnector {
 
     private static final String DATABASE_FOLDER_NAME = "database";
+    /**
+     * Milliseconds a connection waits for the database to be unlocked
+     */
+    private static final int BUSY_TIMEOUT = 5000;
 
     SQLiteDatabaseConnector(@NonNull BentoBox plugin) {
         super(null, ""); // Not used by SQLite
@@ -30,19 +35,23 @@ public class SQLiteDatabaseConnector extends SQLDatabaseConnector {
 
 
     /* (non-Javadoc)
-     * @see world.bentobox.bentobox.database.sql.SQLDatabaseConnector#createConnection(java.lang.Class)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseConnector#openConnection()
      */
     @Override
-    public Object createConnection(Class<?> type) {
-        types.add(type);
-        // Only make one connection at a time
-        if (connection == null) {
-            try {
-                connection = DriverManager.getConnection(connectionUrl);
-            } catch (SQLException e) {
-                Bukkit.getLogger().severe("Could not connect to the database! " + e.getMessage());
-            }
-        }
-        return connection;
+    protected Connection openConnection() throws SQLException {
+        Properties properties = new Properties();
+        // Wait for other programs using the file to finish writing instead of failing straight away
+        properties.setProperty("busy_timeout", String.valueOf(BUSY_TIMEOUT));
+        return DriverManager.getConnection(connectionUrl, properties);
+    }
+
+    /**
+     * SQLite only lets one connection write to the file at a time, so more connections would just
+     * wait for each other's locks. The single shared connection is always used.
+     * @return 1
+     */
+    @Override
+    protected int getMaxConnections() {
+        return 1;
     }
 }
@@ -3,13 +3,9 @@ package world.bentobox.bentobox.database.sql.sqlite;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.concurrent.CompletableFuture;
-
-import com.google.gson.Gson;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
-import world.bentobox.bentobox.database.objects.DataObject;
 import world.bentobox.bentobox.database.sql.SQLConfiguration;
 import world.bentobox.bentobox.database.sql.SQLDatabaseHandler;
 
@@ -76,36 +72,13 @@ public class SQLiteDatabaseHandler<T> extends SQLDatabaseHandler<T> {
         }
     }
 
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#setSaveParameters(java.sql.PreparedStatement, java.lang.String, java.lang.String)
+     */
     @Override
-    public CompletableFuture<Boolean> saveObject(T instance) {
-        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
-        // Null check
-        if (instance == null) {
-            plugin.logError("SQLite database request to store a null. ");
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        if (!(instance instanceof DataObject)) {
-            plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        Gson gson = getGson();
-        String toStore = gson.toJson(instance);
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getSaveObjectSQL())) {
-                preparedStatement.setString(1, toStore);
-                preparedStatement.setString(2, ((DataObject)instance).getUniqueId());
-                preparedStatement.setString(3, toStore);
-                preparedStatement.execute();
-                completableFuture.complete(true);
-            } catch (SQLException e) {
-                plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
-                completableFuture.complete(false);
-            }
-        });
-        return completableFuture;
+    protected void setSaveParameters(PreparedStatement preparedStatement, String uniqueId, String json) throws SQLException {
+        preparedStatement.setString(1, json);
+        preparedStatement.setString(2, uniqueId);
+        preparedStatement.setString(3, json);
     }
-
-
 }
@@ -0,0 +1,19 @@
+package world.bentobox.bentobox.database.transition;
+
+import world.bentobox.bentobox.database.AbstractDatabaseHandler;
+import world.bentobox.bentobox.database.DatabaseSetup;
+import world.bentobox.bentobox.database.json.JSONDatabase;
+import world.bentobox.bentobox.database.jsonlog.JSONLogDatabase;
+
+/**
+ * @author tastybento
+ * @since 1.18.0
+ */
+public class Json2JsonLogDatabase implements DatabaseSetup {
+
+    @Override
+    public <T> AbstractDatabaseHandler<T> getHandler(Class<T> type) {
+        return new TransitionDatabaseHandler<>(type, new JSONDatabase().getHandler(type), new JSONLogDatabase().getHandler(type));
+    }
+
+}
@@ -12,6 +12,7 @@ import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -43,6 +44,18 @@ public class JoinLeaveListener implements Listener {
         players = plugin.getPlayers();
     }
 
+    /**
+     * Loads the player's data while they log in, off the main thread, so it does not have to be loaded when they join
+     * @param event - event
+     * @since 1.18.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(final AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            players.loadOnLogin(event.getUniqueId());
+        }
+    }
+
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onPlayerJoin(final PlayerJoinEvent event) {
         // Remove them from the cache, just in case they were not removed for some reason
@@ -148,10 +161,13 @@ public class JoinLeaveListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerSwitchWorld(final PlayerChangedWorldEvent event) {
+        User user = User.getInstance(event.getPlayer());
+        // Permissions can be different in each world
+        user.clearPermissionValues();
         World world = Util.getWorld(event.getPlayer().getWorld());
         // Clear inventory if required
         if (world != null) {
-            clearPlayersInventory(world, User.getInstance(event.getPlayer()));
+            clearPlayersInventory(world, user);
         }
     }
 
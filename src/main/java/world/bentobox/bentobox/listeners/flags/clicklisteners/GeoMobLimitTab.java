@@ -19,6 +19,7 @@ import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.panels.Panel;
 import world.bentobox.bentobox.api.panels.PanelItem;
 import world.bentobox.bentobox.api.panels.PanelItem.ClickHandler;
+import world.bentobox.bentobox.api.panels.PanelItemSource;
 import world.bentobox.bentobox.api.panels.Tab;
 import world.bentobox.bentobox.api.panels.TabbedPanel;
 import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
@@ -110,8 +111,13 @@ public class GeoMobLimitTab implements Tab, ClickHandler {
 
     @Override
     public List<@Nullable PanelItem> getPanelItems() {
-        // Make panel items
-        return LIVING_ENTITY_TYPES.stream().map(c -> getPanelItem(c, user)).collect(Collectors.toList());
+        return getPanelItemSource().getItems(0, LIVING_ENTITY_TYPES.size());
+    }
+
+    @Override
+    public PanelItemSource getPanelItemSource() {
+        // Make panel items when they are shown
+        return PanelItemSource.of(LIVING_ENTITY_TYPES, c -> getPanelItem(c, user));
     }
 
     @Override
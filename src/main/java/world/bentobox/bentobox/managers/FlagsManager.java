@@ -1,10 +1,12 @@
 package world.bentobox.bentobox.managers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
 import org.bukkit.event.HandlerList;
@@ -25,6 +27,20 @@ public class FlagsManager {
 
     private @NonNull BentoBox plugin;
     private Map<@NonNull Flag, @Nullable Addon> flags = new HashMap<>();
+    /**
+     * Index of the registered flags by their ID
+     */
+    private final Map<@NonNull String, @NonNull Flag> flagsById = new ConcurrentHashMap<>();
+    /**
+     * Ordinals handed out so far, by flag ID. Entries are never removed so that
+     * a flag that is unregistered and registered again keeps its ordinal.
+     */
+    private final Map<@NonNull String, @NonNull Integer> ordinals = new ConcurrentHashMap<>();
+    /**
+     * The flag last registered for each ordinal. Flags stay in here after they are unregistered,
+     * because islands keep their settings for them.
+     */
+    private volatile Flag[] flagsByOrdinal = new Flag[0];
 
     /**
      * Stores the flag listeners that have already been registered into Bukkit's API to avoid duplicates.
@@ -60,13 +76,22 @@ public class FlagsManager {
      * @since 1.5.0
      */
     public boolean registerFlag(@Nullable Addon addon, @NonNull Flag flag) {
-        // Check in case the flag id or icon already exists
-        for (Flag fl : flags.keySet()) {
-            if (fl.getID().equals(flag.getID())) {
-                return false;
-            }
+        // Check in case the flag id already exists
+        if (flagsById.containsKey(flag.getID())) {
+            return false;
         }
         flags.put(flag, addon);
+        flagsById.put(flag.getID(), flag);
+        // Hand out the next ordinal unless this flag ID had one before
+        Integer ordinal = ordinals.get(flag.getID());
+        if (ordinal == null) {
+            ordinal = ordinals.size();
+            ordinals.put(flag.getID(), ordinal);
+        }
+        flag.setOrdinal(ordinal);
+        Flag[] byOrdinal = Arrays.copyOf(flagsByOrdinal, Math.max(flagsByOrdinal.length, ordinal + 1));
+        byOrdinal[ordinal] = flag;
+        flagsByOrdinal = byOrdinal;
         // If there is a listener which is not already registered, register it into Bukkit if the plugin is fully loaded
         flag.getListener().ifPresent(this::registerListener);
         return true;
@@ -107,7 +132,31 @@ public class FlagsManager {
      */
     @NonNull
     public Optional<Flag> getFlag(@NonNull String id) {
-        return flags.keySet().stream().filter(flag -> flag.getID().equals(id)).findFirst();
+        return Optional.ofNullable(flagsById.get(id));
+    }
+
+    /**
+     * Get the number of ordinals handed out to flags so far.
+     * Every registered flag has an ordinal lower than this, so it can be used to size arrays indexed by {@link Flag#getOrdinal()}.
+     * @return number of flag ordinals
+     * @since 1.18.0
+     */
+    public int getOrdinalCount() {
+        return ordinals.size();
+    }
+
+    /**
+     * Gets the flag that was last registered with this ordinal.
+     * Flags that have been unregistered since are still given, because islands may still have settings for them.
+     * @param ordinal - flag ordinal
+     * @return flag or null if no flag has been registered with this ordinal
+     * @since 1.18.0
+     * @see Flag#getOrdinal()
+     */
+    @Nullable
+    public Flag getFlagByOrdinal(int ordinal) {
+        Flag[] byOrdinal = flagsByOrdinal;
+        return ordinal >= 0 && ordinal < byOrdinal.length ? byOrdinal[ordinal] : null;
     }
 
     /**
@@ -120,7 +169,13 @@ public class FlagsManager {
         flags.entrySet().stream().filter(e -> addon.equals(e.getValue())).map(Map.Entry::getKey)
         .forEach(f -> f.getListener().ifPresent(HandlerList::unregisterAll));
         // Remove flags
-        flags.values().removeIf(addon::equals);
+        flags.entrySet().removeIf(e -> {
+            if (addon.equals(e.getValue())) {
+                flagsById.remove(e.getKey().getID());
+                return true;
+            }
+            return false;
+        });
     }
 
     /**
@@ -132,6 +187,9 @@ public class FlagsManager {
         // Unregister any listener
         flag.getListener().ifPresent(HandlerList::unregisterAll);
         // Remove flag
-        flags.remove(flag);
+        if (flags.containsKey(flag)) {
+            flags.remove(flag);
+            flagsById.remove(flag.getID());
+        }
     }
 }
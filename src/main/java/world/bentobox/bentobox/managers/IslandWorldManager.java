@@ -17,6 +17,11 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -26,13 +31,14 @@ import world.bentobox.bentobox.api.configuration.WorldSettings;
 import world.bentobox.bentobox.api.flags.Flag;
 import world.bentobox.bentobox.hooks.MultiverseCoreHook;
 import world.bentobox.bentobox.lists.Flags;
+import world.bentobox.bentobox.util.Util;
 
 /**
  * Handles registration and management of worlds
  *
  * @author tastybento
  */
-public class IslandWorldManager {
+public class IslandWorldManager implements Listener {
 
     private BentoBox plugin;
     /**
@@ -154,16 +160,19 @@ public class IslandWorldManager {
         String friendlyName = settings.getFriendlyName().isEmpty() ? world.getName() : settings.getFriendlyName();
         // Add worlds to map
         gameModes.put(world, gameMode);
+        Util.registerOverworld(world, world);
         // Call Multiverse
         registerToMultiverse(world, true);
         if (settings.isNetherGenerate()) {
             gameModes.put(gameMode.getNetherWorld(), gameMode);
+            Util.registerOverworld(gameMode.getNetherWorld(), world);
             if (settings.isNetherIslands()) {
                 registerToMultiverse(gameMode.getNetherWorld(), true);
             }
         }
         if (settings.isEndGenerate()) {
             gameModes.put(gameMode.getEndWorld(), gameMode);
+            Util.registerOverworld(gameMode.getEndWorld(), world);
             if (settings.isEndIslands()) {
                 registerToMultiverse(gameMode.getEndWorld(), true);
             }
@@ -195,6 +204,26 @@ public class IslandWorldManager {
 
     }
 
+    /**
+     * Maps a game mode world to its overworld again when it is reloaded
+     * @param e - event
+     * @since 1.18.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent e) {
+        Util.reregisterWorld(e.getWorld());
+    }
+
+    /**
+     * Forgets the overworld mapping of a world that is unloaded
+     * @param e - event
+     * @since 1.18.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent e) {
+        Util.unregisterWorld(e.getWorld());
+    }
+
     /**
      * Get the settings for this world or sub-worlds (nether, end)
      *
@@ -1,6 +1,7 @@
 package world.bentobox.bentobox.managers;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -19,7 +20,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.TreeSpecies;
@@ -34,6 +34,7 @@ import org.bukkit.entity.PufferFish;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.permissions.PermissionAttachmentInfo;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -103,6 +104,8 @@ public class IslandsManager {
     private List<String> deletedIslands;
 
     private boolean isSaveTaskRunning;
+    @Nullable
+    private BukkitTask saveTask;
 
     /**
      * Islands Manager
@@ -502,6 +505,7 @@ public class IslandsManager {
      * Gets the maximum number of island members allowed on this island.
      * Will update the value based on world settings or island owner permissions (if online).
      * If the island is unowned, then this value will be 0.
+     * The island is only changed, and so saved later, if the value is different from the one it has.
      * @param island - island
      * @param rank {@link RanksManager.MEMBER_RANK}, {@link RanksManager.COOP_RANK}, or {@link RanksManager.TRUSTED_RANK}
      * @return max number of members. If negative, then this means unlimited.
@@ -510,8 +514,9 @@ public class IslandsManager {
     public int getMaxMembers(@NonNull Island island, int rank) {
         if (island.getOwner() == null) {
             // No owner, no rank settings
-            island.setMaxMembers(null);
-            this.save(island);
+            if (island.getMaxMembers() != null && !island.getMaxMembers().isEmpty()) {
+                island.setMaxMembers(null);
+            }
             return 0;
         }
         // Island max is either the world default or specified amount for this island
@@ -532,8 +537,10 @@ public class IslandsManager {
             islandMax = owner.getPermissionValue(plugin.getIWM().getPermissionPrefix(island.getWorld())
                     + perm, islandMax);
         }
-        island.setMaxMembers(rank, islandMax == worldDefault ? null : islandMax);
-        this.save(island);
+        Integer maxMembers = islandMax == worldDefault ? null : islandMax;
+        if (!Objects.equals(island.getMaxMembers(rank), maxMembers)) {
+            island.setMaxMembers(rank, maxMembers);
+        }
         return islandMax;
     }
 
@@ -551,7 +558,8 @@ public class IslandsManager {
 
     /**
      * Get the maximum number of homes allowed on this island. Will be updated with the owner's permission settings if
-     * they exist and the owner is online
+     * they exist and the owner is online. The island is only changed, and so saved later, if the value is different
+     * from the one it has.
      * @param island - island
      * @return maximum number of homes
      * @since 1.16.0
@@ -564,8 +572,10 @@ public class IslandsManager {
             islandMax = owner.getPermissionValue(plugin.getIWM().getPermissionPrefix(island.getWorld())
                     + "island.maxhomes", islandMax);
         }
-        island.setMaxHomes(islandMax == plugin.getIWM().getMaxHomes(island.getWorld()) ? null : islandMax);
-        this.save(island);
+        Integer maxHomes = islandMax == plugin.getIWM().getMaxHomes(island.getWorld()) ? null : islandMax;
+        if (!Objects.equals(island.getMaxHomes(), maxHomes)) {
+            island.setMaxHomes(maxHomes);
+        }
         return islandMax;
     }
 
@@ -588,7 +598,9 @@ public class IslandsManager {
      * @return Optional Island object
      */
     public Optional<Island> getProtectedIslandAt(@NonNull Location location) {
-        return getIslandAt(location).filter(i -> i.onIsland(location));
+        // Called for every protection check, so avoid the intermediate Optional and lambda
+        Island island = plugin.getIWM().inWorld(location) ? islandCache.getIslandAt(location) : null;
+        return island != null && island.onIsland(location) ? Optional.of(island) : Optional.empty();
     }
 
     /**
@@ -1275,59 +1287,30 @@ public class IslandsManager {
         islandCache.clear();
         quarantineCache.clear();
         List<Island> toQuarantine = new ArrayList<>();
-        int owned = 0;
-        int unowned = 0;
-        // Attempt to load islands
-        for (Island island : handler.loadObjects()) {
-            if (island == null) {
-                plugin.logWarning("Null island when loading...");
-                continue;
-            }
-
-            if (island.isDeleted()) {
-                // These will be deleted later
-                deletedIslands.add(island.getUniqueId());
-            } else if (island.isDoNotLoad() && island.getWorld() != null && island.getCenter() != null) {
-                // Add to quarantine cache
-                quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
-            } // Check island distance and if incorrect stop BentoBox
-            else if (island.getWorld() != null
-                    && plugin.getIWM().inWorld(island.getWorld())
-                    && island.getRange() != plugin.getIWM().getIslandDistance(island.getWorld())) {
-                throw new IOException("Island distance mismatch!\n"
-                        + "World '" + island.getWorld().getName() + "' distance " + plugin.getIWM().getIslandDistance(island.getWorld()) + " != island range " + island.getRange() + "!\n"
-                        + "Island ID in database is " + island.getUniqueId() + ".\n"
-                        + "Island distance in config.yml cannot be changed mid-game! Fix config.yml or clean database.");
-            } else {
-                // Fix island center if it is off
-                fixIslandCenter(island);
-                if (!islandCache.addIsland(island)) {
-                    // Quarantine the offending island
-                    toQuarantine.add(island);
-                    // Add to quarantine cache
-                    island.setDoNotLoad(true);
-                    quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
-                    if (island.isUnowned()) {
-                        unowned++;
-                    } else {
-                        owned++;
-                    }
-                } else if (island.isSpawn()) {
-                    // Success, set spawn if this is the spawn island.
-                    this.setSpawn(island);
-                } else {
-                    // Successful load
-                    // Clean any null flags out of the island - these can occur for various reasons
-                    island.getFlags().keySet().removeIf(f -> f.getID().startsWith("NULL_FLAG"));
+        long start = System.currentTimeMillis();
+        long[] cacheTime = new long[1];
+        int[] count = new int[1];
+        // Attempt to load islands. They are added to the cache in order on this thread while others are still being read.
+        try {
+            handler.loadObjects(island -> {
+                long cacheStart = System.nanoTime();
+                try {
+                    loadIsland(island, toQuarantine);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            }
-
-            // Update some of their fields
-            if (island.getGameMode() == null) {
-                island.setGameMode(plugin.getIWM().getAddon(island.getWorld()).map(gm -> gm.getDescription().getName()).orElse(""));
-            }
+                cacheTime[0] += System.nanoTime() - cacheStart;
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        long total = System.currentTimeMillis() - start;
+        long caching = cacheTime[0] / 1_000_000L;
+        plugin.log("Loaded " + count[0] + " islands in " + total + " ms (" + (total - caching) + " ms reading, " + caching + " ms adding to the cache)");
         if (!toQuarantine.isEmpty()) {
+            long owned = toQuarantine.stream().filter(i -> !i.isUnowned()).count();
+            long unowned = toQuarantine.size() - owned;
             plugin.logError(toQuarantine.size() + " islands could not be loaded successfully; moving to trash bin.");
             plugin.logError(unowned + " are unowned, " + owned + " are owned.");
 
@@ -1357,6 +1340,57 @@ public class IslandsManager {
         }
     }
 
+    /**
+     * Adds an island loaded from the database to the cache, or to the quarantine if it cannot be added
+     * @param island - island loaded from the database
+     * @param toQuarantine - islands that could not be added to the cache
+     * @throws IOException - if the island distance does not match the expected distance in config.yml
+     */
+    private void loadIsland(Island island, List<Island> toQuarantine) throws IOException {
+        if (island == null) {
+            plugin.logWarning("Null island when loading...");
+            return;
+        }
+
+        if (island.isDeleted()) {
+            // These will be deleted later
+            deletedIslands.add(island.getUniqueId());
+        } else if (island.isDoNotLoad() && island.getWorld() != null && island.getCenter() != null) {
+            // Add to quarantine cache
+            quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
+        } // Check island distance and if incorrect stop BentoBox
+        else if (island.getWorld() != null
+                && plugin.getIWM().inWorld(island.getWorld())
+                && island.getRange() != plugin.getIWM().getIslandDistance(island.getWorld())) {
+            throw new IOException("Island distance mismatch!\n"
+                    + "World '" + island.getWorld().getName() + "' distance " + plugin.getIWM().getIslandDistance(island.getWorld()) + " != island range " + island.getRange() + "!\n"
+                    + "Island ID in database is " + island.getUniqueId() + ".\n"
+                    + "Island distance in config.yml cannot be changed mid-game! Fix config.yml or clean database.");
+        } else {
+            // Fix island center if it is off
+            fixIslandCenter(island);
+            if (!islandCache.addIsland(island)) {
+                // Quarantine the offending island
+                toQuarantine.add(island);
+                // Add to quarantine cache
+                island.setDoNotLoad(true);
+                quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
+            } else if (island.isSpawn()) {
+                // Success, set spawn if this is the spawn island.
+                this.setSpawn(island);
+            } else {
+                // Successful load
+                // Clean any null flags out of the island - these can occur for various reasons
+                island.getFlags().keySet().removeIf(f -> f.getID().startsWith("NULL_FLAG"));
+            }
+        }
+
+        // Update some of their fields
+        if (island.getGameMode() == null) {
+            island.setGameMode(plugin.getIWM().getAddon(island.getWorld()).map(gm -> gm.getDescription().getName()).orElse(""));
+        }
+    }
+
     /**
      * Island coordinates should always be a multiple of the island distance x 2. If they are not, this method
      * realigns the grid coordinates.
@@ -1477,44 +1511,50 @@ public class IslandsManager {
      * @param schedule true if we should let the task run over multiple ticks to reduce lag spikes
      */
     public void saveAll(boolean schedule){
+        // Only islands that changed since the last save need to be saved
         if (!schedule) {
-            for(Island island : islandCache.getIslands()) {
-                if (island.isChanged()) {
-                    try {
-                        handler.saveObjectAsync(island);
-                    } catch (Exception e) {
-                        plugin.logError("Could not save island to database when running sync! " + e.getMessage());
-                    }
-                }
-            }
+            islandCache.getChangedIslands().forEach(this::saveChanged);
             return;
         }
 
-
         isSaveTaskRunning = true;
-        Queue<Island> queue = new LinkedList<>(islandCache.getIslands());
-        new BukkitRunnable() {
+        // Islands stay changed until their save is issued, so any left in the queue are saved by the next save
+        Queue<Island> queue = new LinkedList<>(islandCache.getChangedIslands());
+        saveTask = new BukkitRunnable() {
             @Override
             public void run() {
                 for (int i = 0; i < plugin.getSettings().getMaxSavedIslandsPerTick(); i++) {
                     Island island = queue.poll();
                     if (island == null) {
                         isSaveTaskRunning = false;
+                        saveTask = null;
                         cancel();
                         return;
                     }
-                    if (island.isChanged()) {
-                        try {
-                            handler.saveObjectAsync(island);
-                        } catch (Exception e) {
-                            plugin.logError("Could not save island to database when running sync! " + e.getMessage());
-                        }
-                    }
+                    saveChanged(island);
                 }
             }
         }.runTaskTimer(plugin, 0, 1);
     }
 
+    /**
+     * Saves an island if it has changed since it was last saved
+     * @param island - island
+     */
+    private void saveChanged(Island island) {
+        if (!islandCache.setSaved(island)) {
+            // Already saved or no longer in the cache
+            return;
+        }
+        try {
+            handler.saveObjectAsync(island);
+        } catch (Exception e) {
+            // Try again next time
+            islandCache.setChanged(island);
+            plugin.logError("Could not save island to database when running sync! " + e.getMessage());
+        }
+    }
+
     /**
      * Puts a player in a team. Removes them from their old island if required.
      * @param teamIsland - team island
@@ -1545,8 +1585,16 @@ public class IslandsManager {
     public void shutdown(){
         plugin.log("Removing coops from islands...");
         // Remove all coop associations
-        islandCache.getIslands().forEach(i -> i.getMembers().values().removeIf(p -> p == RanksManager.COOP_RANK));
+        islandCache.getIslands().stream()
+        .filter(i -> i.getMembers().containsValue(RanksManager.COOP_RANK))
+        .forEach(i -> i.removeRank(RanksManager.COOP_RANK));
         plugin.log("Saving islands - this has to be done sync so it may take a while with a lot of islands...");
+        // Islands still waiting in the scheduled save are saved now
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        isSaveTaskRunning = false;
         saveAll();
         plugin.log("Islands saved.");
         islandCache.clear();
@@ -1649,7 +1697,7 @@ public class IslandsManager {
      * @param uniqueId - UUID of player
      */
     public void clearRank(int rank, UUID uniqueId) {
-        islandCache.getIslands().forEach(i -> i.getMembers().entrySet().removeIf(e -> e.getKey().equals(uniqueId) && e.getValue() == rank));
+        islandCache.getIslands(uniqueId, rank).forEach(i -> i.removeMember(uniqueId));
     }
 
     /**
@@ -1796,8 +1844,7 @@ public class IslandsManager {
      * @since 1.7.0
      */
     public boolean nameExists(@NonNull World world, @NonNull String name) {
-        return getIslands(world).stream().filter(island -> island.getName() != null).map(Island::getName)
-                .anyMatch(n -> ChatColor.stripColor(n).equals(ChatColor.stripColor(name)));
+        return islandCache.nameExists(world, name);
     }
 
     /**
@@ -26,6 +26,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.localization.BentoBoxLocale;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.FileLister;
 import world.bentobox.bentobox.util.Util;
@@ -94,9 +95,9 @@ public class LocalesManager {
     @Nullable
     public String get(String reference) {
         // Get the translation from the server's locale
-        if (languages.containsKey(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage()))
-                && languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).contains(reference)) {
-            return languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).get(reference);
+        BentoBoxLocale serverLocale = languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage()));
+        if (serverLocale != null && serverLocale.contains(reference)) {
+            return serverLocale.get(reference);
         }
         // Get the translation from the en-US locale
         if (languages.get(Locale.forLanguageTag(EN_US_TAG)).contains(reference)) {
@@ -243,6 +244,8 @@ public class LocalesManager {
             // If there is no locale folder, then return
             return;
         }
+        // Templates made from the old entries are no longer valid
+        TranslationTemplate.clearCache();
         // Run through the files and store the locales
         for (File language : Objects.requireNonNull(localeDir.listFiles(ymlFilter))) {
             Locale localeObject = Locale.forLanguageTag(language.getName().substring(0, language.getName().length() - 4));
@@ -319,6 +322,7 @@ public class LocalesManager {
      */
     public void reloadLanguages() {
         languages.clear();
+        TranslationTemplate.clearCache();
         copyLocalesFromPluginJar();
         loadLocalesFromFile(BENTOBOX);
         plugin.getAddonsManager().getAddons().forEach(addon -> {
@@ -1,15 +1,26 @@
 package world.bentobox.bentobox.managers;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -28,6 +39,19 @@ import world.bentobox.bentobox.util.Util;
 
 public class PlayersManager {
 
+    /**
+     * Offline players that have not been used for this long, in milliseconds, are removed from the cache
+     */
+    private static final long OFFLINE_PLAYER_EXPIRY = 10 * 60 * 1000L;
+    /**
+     * Most offline players kept in the cache. When there are more, the least recently used are removed.
+     */
+    private static final int MAX_OFFLINE_PLAYERS = 1000;
+    /**
+     * Most offline player names given by {@link #getTabCompleteNames(User, String)}
+     */
+    public static final int MAX_TAB_COMPLETE_OFFLINE_NAMES = 20;
+
     private BentoBox plugin;
     private Database<Players> handler;
     private Database<Names> names;
@@ -35,6 +59,46 @@ public class PlayersManager {
     private Map<UUID, Players> playerCache;
     private Set<UUID> inTeleport;
 
+    /**
+     * When each offline player in the cache was last used. Online players are not in here.
+     */
+    private final Map<UUID, Long> offlineLastUsed = new ConcurrentHashMap<>();
+    /**
+     * Offline players in the cache that may have been changed, so they are saved before they are removed
+     */
+    private final Set<UUID> offlineChanged = ConcurrentHashMap.newKeySet();
+    /**
+     * Offline players removed from the cache, for as long as something else still holds their data.
+     * They are put back in the cache rather than loaded again, and are saved with the cache,
+     * so that changes made through the data held elsewhere are not lost.
+     */
+    private final Map<UUID, WeakReference<Players>> evicted = new ConcurrentHashMap<>();
+    /**
+     * Players being loaded in the background
+     */
+    private final Map<UUID, CompletableFuture<Players>> loading = new ConcurrentHashMap<>();
+    /**
+     * Players whose data was loaded as they logged in, so it is kept when they join
+     */
+    private final Set<UUID> loggingIn = ConcurrentHashMap.newKeySet();
+    /**
+     * Players who were not in the database when they logged in
+     */
+    private final Set<UUID> newPlayers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Player names by UUID, so names can be looked up without the database
+     */
+    private final Map<UUID, String> uuidToName = new ConcurrentHashMap<>();
+    /**
+     * Names and UUIDs by lower case name, sorted so names can be found by how they start
+     */
+    private final ConcurrentNavigableMap<String, Names> nameIndex = new ConcurrentSkipListMap<>();
+    /**
+     * True once all the names in the names database are known
+     */
+    private volatile boolean namesLoaded;
+
     private boolean isSaveTaskRunning;
 
     /**
@@ -50,8 +114,10 @@ public class PlayersManager {
         handler = new Database<>(plugin, Players.class);
         // Set up the names database
         names = new Database<>(plugin, Names.class);
-        playerCache = new HashMap<>();
+        playerCache = new ConcurrentHashMap<>();
         inTeleport = new HashSet<>();
+        // Load the names in the background so that they never have to be looked up in the database on the main thread
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::loadNames);
     }
 
     /**
@@ -67,8 +133,37 @@ public class PlayersManager {
      */
     public void load(){
         playerCache.clear();
+        offlineLastUsed.clear();
+        offlineChanged.clear();
+        evicted.clear();
         inTeleport.clear();
-        handler.loadObjects().forEach(p -> playerCache.put(p.getPlayerUUID(), p));
+        handler.loadObjects().forEach(p -> {
+            playerCache.put(p.getPlayerUUID(), p);
+            putName(p.getPlayerUUID(), p.getPlayerName());
+        });
+    }
+
+    /**
+     * Loads the names database into the name maps. Names already in the maps are newer so they are kept.
+     * Players who have had more than one name are left out of the UUID to name map, because
+     * which name is the latest is only known from their player data.
+     */
+    void loadNames() {
+        Map<UUID, String> latest = new HashMap<>();
+        Set<UUID> renamed = new HashSet<>();
+        names.loadObjects(n -> {
+            if (n.getUuid() == null || n.getUniqueId() == null) {
+                return;
+            }
+            nameIndex.putIfAbsent(n.getUniqueId().toLowerCase(Locale.ENGLISH), n);
+            if (latest.containsKey(n.getUuid()) && !latest.get(n.getUuid()).equals(n.getUniqueId())) {
+                renamed.add(n.getUuid());
+            }
+            latest.put(n.getUuid(), n.getUniqueId());
+        });
+        renamed.forEach(latest::remove);
+        latest.forEach(uuidToName::putIfAbsent);
+        namesLoaded = true;
     }
 
     public boolean isSaveTaskRunning() {
@@ -83,12 +178,21 @@ public class PlayersManager {
     }
 
     /**
-     * Save all players
+     * Save all players. Offline players that have not been used for a while are removed from the cache.
      * @param schedule true if we should let the task run over multiple ticks to reduce lag spikes
      */
     public void saveAll(boolean schedule){
+        evictOfflinePlayers(System.currentTimeMillis());
+        // Everything left is saved now
+        offlineChanged.clear();
+        // Only a shortcut for players logging in now, who will be looked up in the database instead
+        newPlayers.clear();
+        // Players removed from the cache may still be changed by whoever holds them
+        List<Players> toSave = new ArrayList<>(playerCache.values());
+        evicted.values().removeIf(ref -> ref.get() == null);
+        evicted.values().stream().map(WeakReference::get).filter(Objects::nonNull).forEach(toSave::add);
         if (!schedule) {
-            for (Players player : playerCache.values()) {
+            for (Players player : toSave) {
                 try {
                     handler.saveObjectAsync(player);
                 } catch (Exception e) {
@@ -99,7 +203,7 @@ public class PlayersManager {
         }
 
         isSaveTaskRunning = true;
-        Queue<Players> queue = new LinkedList<>(playerCache.values());
+        Queue<Players> queue = new LinkedList<>(toSave);
         new BukkitRunnable() {
             @Override
             public void run() {
@@ -123,6 +227,8 @@ public class PlayersManager {
     public void shutdown(){
         saveAll();
         playerCache.clear();
+        offlineLastUsed.clear();
+        evicted.clear();
         handler.close();
     }
 
@@ -133,10 +239,8 @@ public class PlayersManager {
      */
     @Nullable
     public Players getPlayer(UUID uuid){
-        if (!playerCache.containsKey(uuid)) {
-            addPlayer(uuid);
-        }
-        return playerCache.get(uuid);
+        // The player data may be changed by the caller
+        return getData(uuid, true);
     }
 
     /**
@@ -149,6 +253,78 @@ public class PlayersManager {
         return Collections.unmodifiableCollection(playerCache.values());
     }
 
+    /**
+     * Gets the player's data without waiting for the database. If the player is not in the cache,
+     * they are loaded in the background and the future is completed, off the main thread, when they are.
+     * If the player is not in the database, a new player is made.
+     * @param playerUUID - the player's UUID
+     * @return future player data, which is null if the UUID is null
+     * @since 1.18.0
+     */
+    @NonNull
+    public CompletableFuture<Players> loadPlayer(@Nullable UUID playerUUID) {
+        if (playerUUID == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Players player = playerCache.get(playerUUID);
+        if (player != null) {
+            offlineLastUsed.computeIfPresent(playerUUID, (k, v) -> System.currentTimeMillis());
+            return CompletableFuture.completedFuture(player);
+        }
+        Players held = takeEvicted(playerUUID);
+        if (held != null) {
+            return CompletableFuture.completedFuture(cache(playerUUID, held));
+        }
+        return loading.computeIfAbsent(playerUUID, k -> {
+            CompletableFuture<Players> future = new CompletableFuture<>();
+            // The server is only asked for the name on this thread, in case the player is new
+            String name = getKnownName(k);
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    future.complete(cache(k, loadFromDatabase(k, name)));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    loading.remove(k);
+                }
+            });
+            return future;
+        });
+    }
+
+    /**
+     * Loads the player's data on this thread, ready for when they join. Called as the player logs in, off the main thread.
+     * Data kept in the cache while the player was offline is loaded again unless it has unsaved changes,
+     * because it may have been changed by another server using the same database.
+     * @param playerUUID - the player's UUID
+     * @since 1.18.0
+     */
+    public void loadOnLogin(@NonNull UUID playerUUID) {
+        Players cached = playerCache.get(playerUUID);
+        if (cached != null && offlineLastUsed.containsKey(playerUUID) && !offlineChanged.contains(playerUUID)
+                && playerCache.remove(playerUUID, cached)) {
+            offlineLastUsed.remove(playerUUID);
+        }
+        Players held = takeEvicted(playerUUID);
+        if (held != null) {
+            cache(playerUUID, held);
+        }
+        if (!playerCache.containsKey(playerUUID)) {
+            if (!handler.objectExists(playerUUID.toString())) {
+                // The player is made when they join
+                newPlayers.add(playerUUID);
+                return;
+            }
+            Players player = handler.loadObject(playerUUID.toString());
+            if (player == null) {
+                // Corrupted. This is dealt with when the player joins.
+                return;
+            }
+            cache(playerUUID, player);
+        }
+        loggingIn.add(playerUUID);
+    }
+
     /*
      * Cache control methods
      */
@@ -158,24 +334,130 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void addPlayer(UUID playerUUID) {
+        getData(playerUUID, false);
+    }
+
+    /**
+     * Gets the player's data from the cache, or the database if it is not in the cache
+     * @param playerUUID - the player's UUID
+     * @param change - true if the data may be changed by the caller, so it must be saved before it is removed from the cache
+     * @return player data or null if the UUID is null
+     */
+    @Nullable
+    private Players getData(@Nullable UUID playerUUID, boolean change) {
         if (playerUUID == null) {
-            return;
+            return null;
         }
-        if (!playerCache.containsKey(playerUUID)) {
-            Players player;
-            // If the player is in the database, load it, otherwise create a new player
-            if (handler.objectExists(playerUUID.toString())) {
-                player = handler.loadObject(playerUUID.toString());
-                if (player == null) {
-                    player = new Players(plugin, playerUUID);
-                    // Corrupted database entry
-                    plugin.logError("Corrupted player database entry for " + playerUUID + " - unrecoverable. Recreated.");
-                    player.setUniqueId(playerUUID.toString());
+        Players player = playerCache.get(playerUUID);
+        if (player == null) {
+            Players held = takeEvicted(playerUUID);
+            player = cache(playerUUID, held != null ? held : loadFromDatabase(playerUUID, getKnownName(playerUUID)));
+        }
+        if (offlineLastUsed.computeIfPresent(playerUUID, (k, v) -> System.currentTimeMillis()) != null && change) {
+            offlineChanged.add(playerUUID);
+        }
+        return player;
+    }
+
+    /**
+     * Gets the player's name without the database. The server is only asked on the main thread.
+     * @param playerUUID - the player's UUID
+     * @return name or null if it is not known
+     */
+    @Nullable
+    private String getKnownName(@NonNull UUID playerUUID) {
+        String name = uuidToName.get(playerUUID);
+        if (name == null && Bukkit.isPrimaryThread()) {
+            name = Bukkit.getOfflinePlayer(playerUUID).getName();
+        }
+        return name;
+    }
+
+    /**
+     * Gets the data of a player that was removed from the cache if something else still holds it
+     * @param playerUUID - the player's UUID
+     * @return player data or null if nothing holds it any more
+     */
+    @Nullable
+    private Players takeEvicted(@NonNull UUID playerUUID) {
+        WeakReference<Players> ref = evicted.remove(playerUUID);
+        return ref == null ? null : ref.get();
+    }
+
+    /**
+     * Loads the player from the database, or makes a new player if the UUID does not exist
+     * @param playerUUID - the player's UUID
+     * @param name - the name for a new player, or null if it is not known
+     */
+    @NonNull
+    private Players loadFromDatabase(@NonNull UUID playerUUID, @Nullable String name) {
+        // If the player is in the database, load it, otherwise create a new player
+        if (!newPlayers.remove(playerUUID) && handler.objectExists(playerUUID.toString())) {
+            Players player = handler.loadObject(playerUUID.toString());
+            if (player == null) {
+                player = new Players(playerUUID, name);
+                // Corrupted database entry
+                plugin.logError("Corrupted player database entry for " + playerUUID + " - unrecoverable. Recreated.");
+                player.setUniqueId(playerUUID.toString());
+            }
+            return player;
+        }
+        return new Players(playerUUID, name);
+    }
+
+    /**
+     * Puts the player in the cache unless they are already there.
+     * Offline players are tracked so that they can be removed when they are not used.
+     * @return the player in the cache
+     */
+    @NonNull
+    private Players cache(@NonNull UUID playerUUID, @NonNull Players player) {
+        Players cached = playerCache.putIfAbsent(playerUUID, player);
+        if (cached != null) {
+            return cached;
+        }
+        putName(playerUUID, player.getPlayerName());
+        if (Bukkit.getPlayer(playerUUID) == null) {
+            offlineLastUsed.put(playerUUID, System.currentTimeMillis());
+            if (offlineLastUsed.size() > MAX_OFFLINE_PLAYERS && Bukkit.isPrimaryThread()) {
+                evictOfflinePlayers(System.currentTimeMillis());
+            }
+        }
+        return player;
+    }
+
+    /**
+     * Removes offline players from the cache if they have not been used for {@link #OFFLINE_PLAYER_EXPIRY}
+     * and, if there are more than {@link #MAX_OFFLINE_PLAYERS}, the least recently used. Players with changes are saved.
+     * @param now - time now in milliseconds
+     */
+    void evictOfflinePlayers(long now) {
+        List<Map.Entry<UUID, Long>> lastUsed = new ArrayList<>(offlineLastUsed.entrySet());
+        // Remove down to three quarters of the maximum so this is not done for every new player
+        int excess = lastUsed.size() > MAX_OFFLINE_PLAYERS ? lastUsed.size() - MAX_OFFLINE_PLAYERS * 3 / 4 : 0;
+        if (excess > 0) {
+            lastUsed.sort(Map.Entry.comparingByValue());
+        }
+        for (Map.Entry<UUID, Long> en : lastUsed) {
+            UUID uuid = en.getKey();
+            if (Bukkit.getPlayer(uuid) != null) {
+                // Online now
+                offlineLastUsed.remove(uuid);
+                offlineChanged.remove(uuid);
+                excess--;
+            } else if (excess-- > 0 || now - en.getValue() > OFFLINE_PLAYER_EXPIRY) {
+                offlineLastUsed.remove(uuid);
+                loggingIn.remove(uuid);
+                Players player = playerCache.remove(uuid);
+                boolean changed = offlineChanged.remove(uuid);
+                if (player != null) {
+                    // Whoever still holds the data gets the same object back
+                    evicted.put(uuid, new WeakReference<>(player));
+                    if (changed) {
+                        handler.saveObjectAsync(player);
+                    }
                 }
-            } else {
-                player = new Players(plugin, playerUUID);
             }
-            playerCache.put(playerUUID, player);
         }
     }
 
@@ -187,7 +469,8 @@ public class PlayersManager {
      * @return true if player is known, otherwise false
      */
     public boolean isKnown(UUID uniqueID) {
-        return uniqueID != null && (playerCache.containsKey(uniqueID) || handler.objectExists(uniqueID.toString()));
+        return uniqueID != null && (playerCache.containsKey(uniqueID)
+                || (!newPlayers.contains(uniqueID) && handler.objectExists(uniqueID.toString())));
     }
 
     /**
@@ -207,8 +490,7 @@ public class PlayersManager {
      * @param number - a number - 1 is default. Can be any number.
      */
     public void setHomeLocation(UUID playerUUID, Location location, int number) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setHomeLocation(location,number);
+        getData(playerUUID, true).setHomeLocation(location,number);
     }
 
     /**
@@ -226,8 +508,7 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void clearHomeLocations(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).clearHomeLocations(world);
+        getData(playerUUID, true).clearHomeLocations(world);
     }
 
     /**
@@ -239,8 +520,7 @@ public class PlayersManager {
      * @return Home location or null if none
      */
     public Location getHomeLocation(World world, User user, int number) {
-        addPlayer(user.getUniqueId());
-        return playerCache.get(user.getUniqueId()).getHomeLocation(world, number);
+        return getData(user.getUniqueId(), false).getHomeLocation(world, number);
     }
 
     /**
@@ -252,8 +532,7 @@ public class PlayersManager {
      * @return Home location or null if none
      */
     public Location getHomeLocation(World world, UUID playerUUID, int number) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getHomeLocation(world, number);
+        return getData(playerUUID, false).getHomeLocation(world, number);
     }
 
     /**
@@ -262,8 +541,7 @@ public class PlayersManager {
      * @return Home location or null if none
      */
     public Location getHomeLocation(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getHomeLocation(world, 1);
+        return getData(playerUUID, false).getHomeLocation(world, 1);
     }
 
     /**
@@ -272,12 +550,12 @@ public class PlayersManager {
      * @return List of home locations
      */
     public Map<Location, Integer> getHomeLocations(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getHomeLocations(world);
+        return getData(playerUUID, false).getHomeLocations(world);
     }
 
     /**
-     * Attempts to return a UUID for a given player's name.
+     * Attempts to return a UUID for a given player's name. The name is not case sensitive.
+     * On the main thread, the names database is only used until all the names have been loaded.
      * @param name - name of player
      * @return UUID of player or null if unknown
      */
@@ -292,11 +570,53 @@ public class PlayersManager {
                 // Not used
             }
         }
-        // Look in the name cache, then the data base and then give up
-        return playerCache.values().stream()
-                .filter(p -> p.getPlayerName().equalsIgnoreCase(name)).findFirst()
-                .map(p -> UUID.fromString(p.getUniqueId()))
-                .orElseGet(() -> names.objectExists(name) ? names.loadObject(name).getUuid() : null);
+        // Look in the name index, then the data base and then give up
+        Names known = nameIndex.get(name.toLowerCase(Locale.ENGLISH));
+        if (known != null) {
+            return known.getUuid();
+        }
+        if (namesLoaded && Bukkit.isPrimaryThread()) {
+            return null;
+        }
+        Names n = names.objectExists(name) ? names.loadObject(name) : null;
+        if (n == null || n.getUuid() == null) {
+            return null;
+        }
+        nameIndex.putIfAbsent(name.toLowerCase(Locale.ENGLISH), n);
+        return n.getUuid();
+    }
+
+    /**
+     * Gets the names of known players that start with the given letters, ignoring case. Intended for tab completion.
+     * The database is not used, so players whose names have not been loaded yet are not included.
+     * @param start - first letters of the name
+     * @param limit - most names to give
+     * @return names in alphabetical order
+     * @since 1.18.0
+     */
+    @NonNull
+    public List<String> getNames(@NonNull String start, int limit) {
+        String prefix = start.toLowerCase(Locale.ENGLISH);
+        return nameIndex.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().stream()
+                .limit(limit).map(Names::getUniqueId).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the player names to offer when a player name is tab completed: the online players the user can see,
+     * and known offline players whose names start with the given letters.
+     * Offline players are only given once at least one letter has been typed.
+     * @param user - user tab completing
+     * @param start - letters typed so far
+     * @return online player names, then offline player names
+     * @since 1.18.0
+     */
+    @NonNull
+    public List<String> getTabCompleteNames(@Nullable User user, @NonNull String start) {
+        List<String> options = new ArrayList<>(Util.getOnlinePlayerList(user));
+        if (!start.isEmpty()) {
+            getNames(start, MAX_TAB_COMPLETE_OFFLINE_NAMES).stream().filter(n -> !options.contains(n)).forEach(options::add);
+        }
+        return options;
     }
 
     /**
@@ -304,16 +624,26 @@ public class PlayersManager {
      * @param user - the User
      */
     public void setPlayerName(@NonNull User user) {
-        addPlayer(user.getUniqueId());
-        playerCache.get(user.getUniqueId()).setPlayerName(user.getName());
+        getData(user.getUniqueId(), true).setPlayerName(user.getName());
+        putName(user.getUniqueId(), user.getName());
         Names newName = new Names(user.getName(), user.getUniqueId());
         // Add to names database
         names.saveObjectAsync(newName);
     }
 
+    private void putName(@Nullable UUID playerUUID, @Nullable String name) {
+        // New players whose name is not known are named by their UUID
+        if (playerUUID != null && name != null && !name.equals(playerUUID.toString())) {
+            uuidToName.put(playerUUID, name);
+            nameIndex.put(name.toLowerCase(Locale.ENGLISH), new Names(name, playerUUID));
+        }
+    }
+
     /**
      * Obtains the name of the player from their UUID
-     * Player must have logged into the game before
+     * Player must have logged into the game before.
+     * On the main thread, the database is not used. If the name is not known yet, the server's
+     * name for the player is given and the player is loaded in the background.
      *
      * @param playerUUID - the player's UUID
      * @return String - playerName, empty string if UUID is null
@@ -323,8 +653,20 @@ public class PlayersManager {
         if (playerUUID == null) {
             return "";
         }
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getPlayerName();
+        Players player = playerCache.get(playerUUID);
+        if (player != null) {
+            return player.getPlayerName();
+        }
+        String name = uuidToName.get(playerUUID);
+        if (name != null) {
+            return name;
+        }
+        if (Bukkit.isPrimaryThread()) {
+            loadPlayer(playerUUID);
+            name = Bukkit.getOfflinePlayer(playerUUID).getName();
+            return name == null ? playerUUID.toString() : name;
+        }
+        return getData(playerUUID, false).getPlayerName();
     }
 
     /**
@@ -334,8 +676,7 @@ public class PlayersManager {
      * @return number of resets
      */
     public int getResets(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getResets(world);
+        return getData(playerUUID, false).getResets(world);
     }
 
     /**
@@ -347,7 +688,6 @@ public class PlayersManager {
      * @see #getResets(World, UUID)
      */
     public int getResetsLeft(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
         if (plugin.getIWM().getResetLimit(world) == -1) {
             return -1;
         } else {
@@ -363,8 +703,7 @@ public class PlayersManager {
      * @param resets number of resets to set
      */
     public void setResets(World world, UUID playerUUID, int resets) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setResets(world, resets);
+        getData(playerUUID, true).setResets(world, resets);
     }
 
     /**
@@ -373,11 +712,10 @@ public class PlayersManager {
      * @return name of the locale this player uses
      */
     public String getLocale(UUID playerUUID) {
-        addPlayer(playerUUID);
         if (playerUUID == null) {
             return "";
         }
-        return playerCache.get(playerUUID).getLocale();
+        return getData(playerUUID, false).getLocale();
     }
 
     /**
@@ -386,8 +724,7 @@ public class PlayersManager {
      * @param localeName - locale name, e.g., en-US
      */
     public void setLocale(UUID playerUUID, String localeName) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setLocale(localeName);
+        getData(playerUUID, true).setLocale(localeName);
     }
 
     /**
@@ -396,8 +733,7 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void addDeath(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).addDeath(world);
+        getData(playerUUID, true).addDeath(world);
     }
 
     /**
@@ -407,8 +743,7 @@ public class PlayersManager {
      * @param deaths - number of deaths
      */
     public void setDeaths(World world, UUID playerUUID, int deaths) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setDeaths(world, deaths);
+        getData(playerUUID, true).setDeaths(world, deaths);
     }
 
     /**
@@ -418,8 +753,8 @@ public class PlayersManager {
      * @return number of deaths
      */
     public int getDeaths(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID) == null ? 0 : playerCache.get(playerUUID).getDeaths(world);
+        Players player = getData(playerUUID, false);
+        return player == null ? 0 : player.getDeaths(world);
     }
 
     /**
@@ -451,8 +786,10 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void save(UUID playerUUID) {
-        if (playerCache.containsKey(playerUUID)) {
-            handler.saveObjectAsync(playerCache.get(playerUUID));
+        Players player = playerUUID == null ? null : playerCache.get(playerUUID);
+        if (player != null) {
+            handler.saveObjectAsync(player);
+            offlineChanged.remove(playerUUID);
         }
     }
 
@@ -480,8 +817,7 @@ public class PlayersManager {
      * @param playerUUID player's UUID
      */
     public void addReset(World world, UUID playerUUID) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).addReset(world);
+        getData(playerUUID, true).addReset(world);
     }
 
     /**
@@ -491,8 +827,7 @@ public class PlayersManager {
      * @since 1.6.0
      */
     public void setFlagsDisplayMode(UUID playerUUID, Flag.Mode displayMode) {
-        addPlayer(playerUUID);
-        playerCache.get(playerUUID).setFlagsDisplayMode(displayMode);
+        getData(playerUUID, true).setFlagsDisplayMode(displayMode);
     }
 
     /**
@@ -502,19 +837,31 @@ public class PlayersManager {
      * @since 1.6.0
      */
     public Flag.Mode getFlagsDisplayMode(UUID playerUUID) {
-        addPlayer(playerUUID);
-        return playerCache.get(playerUUID).getFlagsDisplayMode();
+        return getData(playerUUID, false).getFlagsDisplayMode();
     }
 
     /**
-     * Remove player from cache. Clears players with the same name or UUID
+     * Remove player from cache. Clears players with the same name or UUID.
+     * Data loaded as the player logged in is kept.
      * @param player player to remove
      */
     public void removePlayer(Player player) {
-        // Clear any players with the same name
-        playerCache.values().removeIf(p -> player.getName().equalsIgnoreCase(p.getPlayerName()));
-        // Remove if the player's UUID is the same
-        playerCache.values().removeIf(p -> player.getUniqueId().toString().equals(p.getUniqueId()));
+        UUID uuid = player.getUniqueId();
+        boolean keep = loggingIn.remove(uuid);
+        // Clear any players with the same name or UUID
+        List<UUID> remove = new ArrayList<>();
+        playerCache.forEach((k, p) -> {
+            if ((k.equals(uuid) && !keep) || (!k.equals(uuid) && player.getName().equalsIgnoreCase(p.getPlayerName()))) {
+                remove.add(k);
+            }
+        });
+        remove.forEach(k -> {
+            Players p = playerCache.remove(k);
+            offlineLastUsed.remove(k);
+            if (offlineChanged.remove(k) && p != null) {
+                handler.saveObjectAsync(p);
+            }
+        });
     }
 
     /**
@@ -9,8 +9,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.eclipse.jdt.annotation.NonNull;
@@ -22,6 +24,10 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.util.Util;
 
 /**
+ * Holds all the loaded islands and indexes them by location, id and player.
+ * <p>
+ * The cache is safe to read from any thread. Reads never lock and never block the main thread,
+ * while writes are serialized on this object and are expected to happen on the main thread.
  * @author tastybento
  */
 public class IslandCache {
@@ -37,14 +43,46 @@ public class IslandCache {
      */
     @NonNull
     private final Map<@NonNull World, @NonNull Map<@NonNull UUID, @NonNull Island>> islandsByUUID;
+    /**
+     * The players held in {@link #islandsByUUID} for each island, keyed by island uniqueId.
+     * Used to remove an island without scanning every player.
+     */
+    @NonNull
+    private final Map<@NonNull String, @NonNull Set<@NonNull UUID>> playersByIsland;
     @NonNull
     private final Map<@NonNull World, @NonNull IslandGrid> grids;
+    /**
+     * Islands in each world
+     */
+    @NonNull
+    private final Map<@NonNull World, @NonNull Set<@NonNull Island>> islandsByWorld;
+    /**
+     * Named islands in each world, keyed by their color-stripped name
+     */
+    @NonNull
+    private final Map<@NonNull World, @NonNull Map<@NonNull String, @NonNull Set<@NonNull Island>>> islandsByName;
+    /**
+     * Islands on which a player holds any rank, in all worlds.
+     * This may hold islands the player was removed from by changing the members map directly, so callers must check the rank.
+     */
+    @NonNull
+    private final Map<@NonNull UUID, @NonNull Set<@NonNull Island>> islandsByMember;
+    /**
+     * Islands that have changed since they were last saved
+     */
+    @NonNull
+    private final Set<@NonNull Island> changedIslands;
 
     public IslandCache() {
-        islandsByLocation = new HashMap<>();
-        islandsById = new HashMap<>();
-        islandsByUUID = new HashMap<>();
-        grids = new HashMap<>();
+        islandsByLocation = new ConcurrentHashMap<>();
+        islandsById = new ConcurrentHashMap<>();
+        islandsByUUID = new ConcurrentHashMap<>();
+        playersByIsland = new ConcurrentHashMap<>();
+        grids = new ConcurrentHashMap<>();
+        islandsByWorld = new ConcurrentHashMap<>();
+        islandsByName = new ConcurrentHashMap<>();
+        islandsByMember = new ConcurrentHashMap<>();
+        changedIslands = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -52,7 +90,7 @@ public class IslandCache {
      * @param island island to add, not null
      * @return true if successfully added, false if not
      */
-    public boolean addIsland(@NonNull Island island) {
+    public synchronized boolean addIsland(@NonNull Island island) {
         if (island.getCenter() == null || island.getWorld() == null) {
             /* Special handling - return true.
                The island will not be quarantined, but just not loaded
@@ -65,24 +103,192 @@ public class IslandCache {
             islandsByLocation.put(island.getCenter(), island);
             islandsById.put(island.getUniqueId(), island);
             // Make world
-            islandsByUUID.putIfAbsent(island.getWorld(), new HashMap<>());
+            islandsByUUID.computeIfAbsent(island.getWorld(), k -> new ConcurrentHashMap<>());
             // Only add islands to this map if they are owned
             if (island.isOwned()) {
-                islandsByUUID.get(island.getWorld()).put(island.getOwner(), island);
-                island.getMemberSet().forEach(member -> islandsByUUID.get(island.getWorld()).put(member, island));
+                putPlayer(island.getWorld(), island.getOwner(), island);
+                island.getMemberSet().forEach(member -> putPlayer(island.getWorld(), member, island));
+            }
+            addToIndexes(island);
+            if (island.isChanged()) {
+                changedIslands.add(island);
             }
+            // The island tells this cache when its name or members change
+            island.setCache(this);
             return true;
         }
         return false;
     }
 
+    /**
+     * Adds an island to the world, name and member indexes
+     * @param island island
+     */
+    private void addToIndexes(@NonNull Island island) {
+        islandsByWorld.computeIfAbsent(island.getWorld(), k -> ConcurrentHashMap.newKeySet()).add(island);
+        addName(island, island.getName());
+        island.getMembers().keySet().forEach(uuid -> islandsByMember.computeIfAbsent(uuid, k -> ConcurrentHashMap.newKeySet()).add(island));
+    }
+
+    /**
+     * Removes an island from the world, name and member indexes
+     * @param island island
+     */
+    private void removeFromIndexes(@NonNull Island island) {
+        Set<Island> inWorld = islandsByWorld.get(island.getWorld());
+        if (inWorld != null) {
+            inWorld.remove(island);
+        }
+        removeName(island, island.getName());
+        island.getMembers().keySet().forEach(uuid -> removeMemberIndex(island, uuid));
+    }
+
+    private void addName(@NonNull Island island, @Nullable String name) {
+        if (name != null) {
+            islandsByName.computeIfAbsent(island.getWorld(), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(normalizeName(name), k -> ConcurrentHashMap.newKeySet()).add(island);
+        }
+    }
+
+    private void removeName(@NonNull Island island, @Nullable String name) {
+        Map<String, Set<Island>> names = islandsByName.get(island.getWorld());
+        if (name != null && names != null) {
+            names.computeIfPresent(normalizeName(name), (k, set) -> set.remove(island) && set.isEmpty() ? null : set);
+        }
+    }
+
+    private void removeMemberIndex(@NonNull Island island, @NonNull UUID uuid) {
+        islandsByMember.computeIfPresent(uuid, (k, set) -> set.remove(island) && set.isEmpty() ? null : set);
+    }
+
+    private static String normalizeName(@NonNull String name) {
+        return ChatColor.stripColor(name);
+    }
+
+    /**
+     * @param island island
+     * @return true if this exact island object is the one held in the cache
+     */
+    private boolean isCached(@NonNull Island island) {
+        return island.getUniqueId() != null && islandsById.get(island.getUniqueId()) == island;
+    }
+
+    /**
+     * Remembers that an island has changed so that it is saved by the next save.
+     * Called by {@link Island#setChanged()}. Islands that are not in the cache are ignored.
+     * @param island island that changed
+     * @since 1.18.0
+     */
+    public void setChanged(@NonNull Island island) {
+        if (isCached(island)) {
+            changedIslands.add(island);
+        }
+    }
+
+    /**
+     * Gets the islands that have changed since they were last saved.
+     * The islands are kept until {@link #setSaved(Island)} is called for them.
+     * @return islands that need to be saved
+     * @since 1.18.0
+     */
+    @NonNull
+    public List<Island> getChangedIslands() {
+        return new ArrayList<>(changedIslands);
+    }
+
+    /**
+     * Forgets that an island has changed. Call this just before the island's save is issued,
+     * so that any change made after it is saved again.
+     * @param island island that is being saved
+     * @return true if the island had changed and so needs to be saved, false if it has been saved already or is not in the cache
+     * @since 1.18.0
+     */
+    public boolean setSaved(@NonNull Island island) {
+        return changedIslands.remove(island);
+    }
+
+    /**
+     * Updates the name index after an island has been renamed.
+     * Called by {@link Island#setName(String)}. Islands that are not in the cache are ignored.
+     * @param island island that was renamed
+     * @param oldName previous name of the island, or null if it had none
+     * @since 1.18.0
+     */
+    public synchronized void updateName(@NonNull Island island, @Nullable String oldName) {
+        if (isCached(island)) {
+            removeName(island, oldName);
+            addName(island, island.getName());
+        }
+    }
+
+    /**
+     * Updates the member index after a player's rank on an island has been set or removed.
+     * Islands that are not in the cache are ignored.
+     * @param island island
+     * @param uuid player whose rank changed
+     * @since 1.18.0
+     */
+    public synchronized void updateMember(@NonNull Island island, @NonNull UUID uuid) {
+        if (isCached(island)) {
+            if (island.getMembers().containsKey(uuid)) {
+                islandsByMember.computeIfAbsent(uuid, k -> ConcurrentHashMap.newKeySet()).add(island);
+            } else {
+                removeMemberIndex(island, uuid);
+            }
+        }
+    }
+
+    /**
+     * Updates the member index after the whole members map of an island has been replaced or cleared.
+     * Islands that are not in the cache are ignored.
+     * @param island island
+     * @param oldMembers players that had a rank on the island before the change
+     * @since 1.18.0
+     */
+    public synchronized void updateMembers(@NonNull Island island, @NonNull Collection<UUID> oldMembers) {
+        if (isCached(island)) {
+            oldMembers.forEach(uuid -> removeMemberIndex(island, uuid));
+            island.getMembers().keySet().forEach(uuid -> islandsByMember.computeIfAbsent(uuid, k -> ConcurrentHashMap.newKeySet()).add(island));
+        }
+    }
+
     /**
      * Adds a player's UUID to the look up for islands. Does no checking
      * @param uuid player's uuid
      * @param island island to associate with this uuid. Only one island can be associated per world.
      */
-    public void addPlayer(@NonNull UUID uuid, @NonNull Island island) {
-        islandsByUUID.computeIfAbsent(island.getWorld(), k -> new HashMap<>()).put(uuid, island);
+    public synchronized void addPlayer(@NonNull UUID uuid, @NonNull Island island) {
+        putPlayer(island.getWorld(), uuid, island);
+    }
+
+    /**
+     * Associates a player with an island and tracks the association so it can be removed with the island
+     * @param world world, not null
+     * @param uuid player's uuid
+     * @param island island
+     */
+    private void putPlayer(@NonNull World world, @NonNull UUID uuid, @NonNull Island island) {
+        Island previous = islandsByUUID.computeIfAbsent(world, k -> new ConcurrentHashMap<>()).put(uuid, island);
+        if (previous != null && previous != island) {
+            untrackPlayer(previous, uuid);
+        }
+        playersByIsland.computeIfAbsent(island.getUniqueId(), k -> ConcurrentHashMap.newKeySet()).add(uuid);
+    }
+
+    private void untrackPlayer(@NonNull Island island, @NonNull UUID uuid) {
+        playersByIsland.computeIfPresent(island.getUniqueId(), (k, set) -> set.remove(uuid) && set.isEmpty() ? null : set);
+    }
+
+    /**
+     * Removes every player association to this island
+     * @param island island
+     */
+    private void removePlayers(@NonNull Island island) {
+        Set<UUID> uuids = playersByIsland.remove(island.getUniqueId());
+        Map<UUID, Island> players = islandsByUUID.get(island.getWorld());
+        if (uuids != null && players != null) {
+            uuids.forEach(uuid -> players.remove(uuid, island));
+        }
     }
 
     /**
@@ -94,10 +300,17 @@ public class IslandCache {
         return grids.computeIfAbsent(newIsland.getWorld(), k -> new IslandGrid()).addToGrid(newIsland);
     }
 
-    public void clear() {
+    public synchronized void clear() {
+        islandsById.values().forEach(island -> island.setCache(null));
         islandsByLocation.clear();
         islandsById.clear();
         islandsByUUID.clear();
+        playersByIsland.clear();
+        grids.clear();
+        islandsByWorld.clear();
+        islandsByName.clear();
+        islandsByMember.clear();
+        changedIslands.clear();
     }
 
     /**
@@ -105,25 +318,29 @@ public class IslandCache {
      * @param island island to delete
      * @return true if successful, false if not
      */
-    public boolean deleteIslandFromCache(@NonNull Island island) {
-        if (!islandsByLocation.remove(island.getCenter(), island) || !islandsByUUID.containsKey(island.getWorld())) {
+    public synchronized boolean deleteIslandFromCache(@NonNull Island island) {
+        if (island.getCenter() == null || !islandsByLocation.remove(island.getCenter(), island) || !islandsByUUID.containsKey(island.getWorld())) {
             return false;
         }
-        islandsById.remove(island.getUniqueId());
-        islandsByUUID.get(island.getWorld()).entrySet().removeIf(en -> en.getValue().equals(island));
+        if (islandsById.remove(island.getUniqueId(), island)) {
+            island.setCache(null);
+        }
+        removeFromIndexes(island);
+        removePlayers(island);
+        changedIslands.remove(island);
         // Remove from grid
-        grids.putIfAbsent(island.getWorld(), new IslandGrid());
-        return grids.get(island.getWorld()).removeFromGrid(island);
+        return grids.computeIfAbsent(island.getWorld(), k -> new IslandGrid()).removeFromGrid(island);
     }
     
     /**
      * Delete island from the cache by ID. Does not remove blocks.
      * @param uniqueId - island unique ID
      */
-    public void deleteIslandFromCache(@NonNull String uniqueId) {
-        islandsById.remove(uniqueId);
-        islandsByLocation.values().removeIf(i -> i.getUniqueId().equals(uniqueId));
-        islandsByUUID.values().forEach(m -> m.values().removeIf(i -> i.getUniqueId().equals(uniqueId)));
+    public synchronized void deleteIslandFromCache(@NonNull String uniqueId) {
+        Island island = islandsById.get(uniqueId);
+        if (island != null) {
+            removeIsland(island);
+        }
     }
 
     /**
@@ -133,7 +350,7 @@ public class IslandCache {
      */
     @Nullable
     public Island get(@NonNull Location location) {
-        return islandsByLocation.get(location);
+        return location == null ? null : islandsByLocation.get(location);
     }
 
     /**
@@ -144,7 +361,18 @@ public class IslandCache {
      */
     @Nullable
     public Island get(@NonNull World world, @NonNull UUID uuid) {
-        return islandsByUUID.containsKey(Util.getWorld(world)) ? islandsByUUID.get(Util.getWorld(world)).get(uuid) : null;
+        Map<UUID, Island> players = getPlayers(world);
+        return players == null || uuid == null ? null : players.get(uuid);
+    }
+
+    /**
+     * @param world world, including nether and end worlds
+     * @return map of players to islands for this world or null if there is none
+     */
+    @Nullable
+    private Map<UUID, Island> getPlayers(@Nullable World world) {
+        World w = Util.getWorld(world);
+        return w == null ? null : islandsByUUID.get(w);
     }
 
     /**
@@ -156,10 +384,18 @@ public class IslandCache {
      */
     @Nullable
     public Island getIslandAt(@NonNull Location location) {
-        if (!grids.containsKey(Util.getWorld(location.getWorld()))) {
-            return null;
-        }
-        return grids.get(Util.getWorld(location.getWorld())).getIslandAt(location.getBlockX(), location.getBlockZ());
+        IslandGrid grid = getGrid(location.getWorld());
+        return grid == null ? null : grid.getIslandAt(location.getBlockX(), location.getBlockZ());
+    }
+
+    /**
+     * @param world world, including nether and end worlds
+     * @return island grid for this world or null if there is none
+     */
+    @Nullable
+    private IslandGrid getGrid(@Nullable World world) {
+        World w = Util.getWorld(world);
+        return w == null ? null : grids.get(w);
     }
 
     /**
@@ -180,12 +416,46 @@ public class IslandCache {
     @NonNull
     public Collection<Island> getIslands(@NonNull World world) {
         World overworld = Util.getWorld(world);
-        List<Island> islandsInWorld = islandsByLocation.entrySet().stream()
-                .filter(entry -> overworld.equals(Util.getWorld(entry.getKey().getWorld()))) // shouldn't make NPEs
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toCollection(ArrayList::new));
+        Set<Island> islandsInWorld = overworld == null ? null : islandsByWorld.get(overworld);
+        if (islandsInWorld == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(new ArrayList<>(islandsInWorld));
+    }
 
-        return Collections.unmodifiableCollection(islandsInWorld);
+    /**
+     * Returns the islands on which a player holds the given rank, in all worlds
+     * @param uuid player's UUID
+     * @param rank rank to look for
+     * @return list of islands, may be empty
+     * @since 1.18.0
+     */
+    @NonNull
+    public List<Island> getIslands(@NonNull UUID uuid, int rank) {
+        Set<Island> islands = islandsByMember.get(uuid);
+        if (islands == null) {
+            return Collections.emptyList();
+        }
+        return islands.stream().filter(i -> i.getMembers().getOrDefault(uuid, Integer.MIN_VALUE) == rank).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks if an island in this world has this name. Color codes are ignored.
+     * @param world world
+     * @param name name of island
+     * @return true if an island in this world has this name
+     * @since 1.18.0
+     */
+    public boolean nameExists(@NonNull World world, @NonNull String name) {
+        World overworld = Util.getWorld(world);
+        Map<String, Set<Island>> names = overworld == null ? null : islandsByName.get(overworld);
+        if (names == null) {
+            return false;
+        }
+        // Check the name is still current in case the index is stale
+        String normalized = normalizeName(name);
+        Set<Island> islands = names.get(normalized);
+        return islands != null && islands.stream().anyMatch(i -> i.getName() != null && normalizeName(i.getName()).equals(normalized));
     }
 
     /**
@@ -196,7 +466,7 @@ public class IslandCache {
      */
     @NonNull
     public Set<UUID> getMembers(@NonNull World world, @NonNull UUID uuid, int minimumRank) {
-        Island island = islandsByUUID.computeIfAbsent(Util.getWorld(world), k -> new HashMap<>()).get(uuid);
+        Island island = get(world, uuid);
         return island != null ? island.getMemberSet(minimumRank) : new HashSet<>();
     }
 
@@ -207,7 +477,7 @@ public class IslandCache {
      */
     @Nullable
     public UUID getOwner(@NonNull World world, @NonNull UUID uuid) {
-        Island island = islandsByUUID.computeIfAbsent(Util.getWorld(world), k -> new HashMap<>()).get(uuid);
+        Island island = get(world, uuid);
         return island != null ? island.getOwner() : null;
 
     }
@@ -218,7 +488,7 @@ public class IslandCache {
      * @return true if player has island and owns it
      */
     public boolean hasIsland(@NonNull World world, @NonNull UUID uuid) {
-        Island island = islandsByUUID.computeIfAbsent(Util.getWorld(world), k -> new HashMap<>()).get(uuid);
+        Island island = get(world, uuid);
         return island != null && uuid.equals(island.getOwner());
     }
 
@@ -230,19 +500,27 @@ public class IslandCache {
      * @return island player had or null if none
      */
     @Nullable
-    public Island removePlayer(@NonNull World world, @NonNull UUID uuid) {
-        Island island = islandsByUUID.computeIfAbsent(Util.getWorld(world), k -> new HashMap<>()).get(uuid);
+    public synchronized Island removePlayer(@NonNull World world, @NonNull UUID uuid) {
+        Island island = get(world, uuid);
         if (island != null) {
             if (uuid.equals(island.getOwner())) {
                 // Clear ownership and members
-                island.getMembers().clear();
+                Set<UUID> oldMembers = new HashSet<>(island.getMembers().keySet());
+                island.setMembers(new HashMap<>());
+                updateMembers(island, oldMembers);
                 island.setOwner(null);
             } else {
                 // Remove player from the island membership
                 island.removeMember(uuid);
             }
         }
-        islandsByUUID.get(world).remove(uuid);
+        Map<UUID, Island> players = getPlayers(world);
+        if (players != null && uuid != null) {
+            Island removed = players.remove(uuid);
+            if (removed != null) {
+                untrackPlayer(removed, uuid);
+            }
+        }
         return island;
     }
 
@@ -260,7 +538,8 @@ public class IslandCache {
      * @return the number of islands
      */
     public int size(World world) {
-        return islandsByUUID.getOrDefault(world, new HashMap<>(0)).size();
+        Map<UUID, Island> players = world == null ? null : islandsByUUID.get(world);
+        return players == null ? 0 : players.size();
     }
 
     /**
@@ -269,13 +548,14 @@ public class IslandCache {
      * @param island island
      * @param newOwnerUUID new owner
      */
-    public void setOwner(@NonNull Island island, @Nullable UUID newOwnerUUID) {
+    public synchronized void setOwner(@NonNull Island island, @Nullable UUID newOwnerUUID) {
         island.setOwner(newOwnerUUID);
         if (newOwnerUUID != null) {
-            islandsByUUID.computeIfAbsent(Util.getWorld(island.getWorld()), k -> new HashMap<>()).put(newOwnerUUID, island);
+            putPlayer(Util.getWorld(island.getWorld()), newOwnerUUID, island);
         }
         islandsByLocation.put(island.getCenter(), island);
         islandsById.put(island.getUniqueId(), island);
+        island.setCache(this);
     }
 
     /**
@@ -286,7 +566,7 @@ public class IslandCache {
      */
     @Nullable
     public Island getIslandById(@NonNull String uniqueId) {
-        return islandsById.get(uniqueId);
+        return uniqueId == null ? null : islandsById.get(uniqueId);
     }
 
     /**
@@ -294,14 +574,19 @@ public class IslandCache {
      * @param island - island to remove
      * @since 1.3.0
      */
-    public void removeIsland(@NonNull Island island) {
-        islandsByLocation.values().removeIf(island::equals);
-        islandsById.values().removeIf(island::equals);
-        if (islandsByUUID.containsKey(Util.getWorld(island.getWorld()))) {
-            islandsByUUID.get(Util.getWorld(island.getWorld())).values().removeIf(island::equals);
+    public synchronized void removeIsland(@NonNull Island island) {
+        if (island.getCenter() != null) {
+            islandsByLocation.remove(island.getCenter(), island);
+        }
+        if (islandsById.remove(island.getUniqueId(), island)) {
+            island.setCache(null);
         }
-        if (grids.containsKey(Util.getWorld(island.getWorld()))) {
-            grids.get(Util.getWorld(island.getWorld())).removeFromGrid(island);
+        removeFromIndexes(island);
+        removePlayers(island);
+        changedIslands.remove(island);
+        IslandGrid grid = getGrid(island.getWorld());
+        if (grid != null) {
+            grid.removeFromGrid(island);
         }
     }
 
@@ -311,8 +596,7 @@ public class IslandCache {
      * @since 1.3.0
      */
     public void resetAllFlags(World world) {
-        World w = Util.getWorld(world);
-        islandsById.values().stream().filter(i -> i.getWorld().equals(w)).forEach(Island::setFlagsDefaults);
+        getIslands(world).forEach(Island::setFlagsDefaults);
     }
 
     /**
@@ -324,7 +608,7 @@ public class IslandCache {
     public void resetFlag(World world, Flag flag) {
         World w = Util.getWorld(world);
         int setting = BentoBox.getInstance().getIWM().getDefaultIslandFlags(w).getOrDefault(flag, flag.getDefaultRank());
-        islandsById.values().stream().filter(i -> i.getWorld().equals(w)).forEach(i -> i.setFlag(flag, setting));
+        getIslands(w).forEach(i -> i.setFlag(flag, setting));
     }
 
     /**
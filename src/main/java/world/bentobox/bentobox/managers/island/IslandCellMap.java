@@ -0,0 +1,170 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * Open-addressing hash map from a packed grid cell key to the island occupying that cell.
+ * Keys are primitive longs so that lookups do not box or allocate.
+ * Uses linear probing with backward-shift deletion, so there are no tombstones.
+ * <p>
+ * This class is not thread-safe. A reader that runs concurrently with a writer will not fail,
+ * but may see a stale result, so concurrent reads must be validated by the caller (see {@link IslandGrid}).
+ * @author tastybento
+ * @since 1.18.0
+ */
+final class IslandCellMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Island[] values;
+    private int mask;
+    private int size;
+
+    IslandCellMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new Island[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+
+    /**
+     * Packs a pair of cell coordinates into a single long key
+     * @param cellX - cell x coordinate
+     * @param cellZ - cell z coordinate
+     * @return packed key
+     */
+    static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @param key - packed cell key
+     * @return island in this cell or null if there is none
+     */
+    @Nullable
+    Island get(long key) {
+        // Read the table once so that a concurrent resize cannot mix two tables
+        long[] k = keys;
+        Island[] v = values;
+        if (k.length != v.length) {
+            return null;
+        }
+        int m = v.length - 1;
+        int i = hash(key) & m;
+        Island value;
+        while ((value = v[i]) != null) {
+            if (k[i] == key) {
+                return value;
+            }
+            i = (i + 1) & m;
+        }
+        return null;
+    }
+
+    /**
+     * Puts an island into a cell
+     * @param key - packed cell key
+     * @param island - island
+     * @return the island previously in this cell, or null if the cell was empty
+     */
+    @Nullable
+    Island put(long key, Island island) {
+        int i = hash(key) & mask;
+        Island value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                values[i] = island;
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = island;
+        if (++size > (mask + 1) * 3 / 4) {
+            resize((mask + 1) * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the island in a cell
+     * @param key - packed cell key
+     * @return the island that was removed, or null if the cell was empty
+     */
+    @Nullable
+    Island remove(long key) {
+        int i = hash(key) & mask;
+        Island value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Closes the gap left at slot {@code gap} by moving back any entries in the same probe run
+     */
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            int home = hash(keys[i]) & mask;
+            // Move the entry back only if its home slot is not between the gap and its current slot
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] newKeys = new long[capacity];
+        Island[] newValues = new Island[capacity];
+        int newMask = capacity - 1;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                int j = hash(keys[i]) & newMask;
+                while (newValues[j] != null) {
+                    j = (j + 1) & newMask;
+                }
+                newKeys[j] = keys[i];
+                newValues[j] = values[i];
+            }
+        }
+        // Publish the new table only once it is filled
+        keys = newKeys;
+        values = newValues;
+        mask = newMask;
+    }
+
+    /**
+     * @return number of occupied cells
+     */
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
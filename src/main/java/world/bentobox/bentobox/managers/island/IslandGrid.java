@@ -1,19 +1,45 @@
 package world.bentobox.bentobox.managers.island;
 
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.objects.Island;
 
 /**
- * Handles the island location grid for each world
+ * Handles the island location grid for each world.
+ * <p>
+ * Island centers are snapped to a regular grid (see {@link world.bentobox.bentobox.managers.IslandsManager#fixIslandCenter(Island)})
+ * so every island normally occupies exactly one grid cell whose size is twice the island range.
+ * These islands are kept in a flat {@link IslandCellMap} keyed by cell so that a lookup is a single hash probe.
+ * Any island that does not fit the grid of the world (e.g., created with a different island distance) is kept
+ * in a sorted map and looked up by range, as a fallback.
+ * <p>
+ * The grid can be read from any thread. Lookups of islands on the grid use optimistic reads
+ * and so do not lock unless a write happens at the same time.
  * @author tastybento
  *
  */
 class IslandGrid {
-    private TreeMap<Integer, TreeMap<Integer, Island>> grid = new TreeMap<>();
+    /**
+     * Islands that sit on the regular grid, keyed by cell
+     */
+    private final IslandCellMap cells = new IslandCellMap();
+    /**
+     * Islands that do not sit on the regular grid
+     */
+    private final TreeMap<Integer, TreeMap<Integer, Island>> grid = new TreeMap<>();
+    private int irregular;
+    /**
+     * Size of a grid cell, i.e., twice the island range. Zero until the first island with a range is added.
+     */
+    private int cellSize;
+    private int originX;
+    private int originZ;
     private BentoBox plugin = BentoBox.getInstance();
+    private final StampedLock lock = new StampedLock();
 
     /**
      * Adds island to grid
@@ -21,74 +47,131 @@ class IslandGrid {
      * @return true if successfully added, false if island already exists, or there is an overlap
      */
     public boolean addToGrid(Island island) {
-        if (grid.containsKey(island.getMinX())) {
-            TreeMap<Integer, Island> zEntry = grid.get(island.getMinX());
-            if (zEntry.containsKey(island.getMinZ())) {
-                // There is an overlap or duplicate
-                plugin.logError("Cannot load island. Overlapping: " + island.getUniqueId());
-                plugin.logError("Location: " + island.getCenter());
-                // Get the previously loaded island
-                Island firstLoaded = zEntry.get(island.getMinZ());
-                if (firstLoaded.getOwner() == null && island.getOwner() != null) {
-                    // This looks fishy. We prefer to load islands that have an owner. Swap the two
-                    plugin.logError("Duplicate island has an owner, so using that one. " + island.getOwner());
-                    firstLoaded = new Island(island);
-                    zEntry.put(island.getMinZ(), firstLoaded);
-                } else if (firstLoaded.getOwner() != null && island.getOwner() != null) {
-                    // Check if the owners are the same - this is a true duplicate
-                    if (firstLoaded.getOwner().equals(island.getOwner())) {
-                        // Find out which one is the original
-                        if (firstLoaded.getCreatedDate() > island.getCreatedDate()) {
-                            plugin.logError("Same owner duplicate. Swaping based on creation date.");
-                            // FirstLoaded is the newer
-                            firstLoaded = new Island(island);
-                            zEntry.put(island.getMinZ(), firstLoaded);
-                        } else {
-                            plugin.logError("Same owner duplicate.");
-                        }
-                    } else {
-                        plugin.logError("Duplicate but different owner. Keeping first loaded.");
-                        plugin.logError("This is serious!");
-                        plugin.logError("1st loaded ID: " + firstLoaded.getUniqueId());
-                        plugin.logError("1st loaded owner: " + firstLoaded.getOwner());
-                        plugin.logError("2nd loaded ID: " + island.getUniqueId());
-                        plugin.logError("2nd loaded owner: " + island.getOwner());
-                    }
+        long stamp = lock.writeLock();
+        try {
+            return add(island);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean add(Island island) {
+        int minX = island.getMinX();
+        int minZ = island.getMinZ();
+        if (cellSize == 0 && island.getRange() > 0) {
+            // The first island sets the grid for this world
+            cellSize = island.getRange() * 2;
+            originX = Math.floorMod(minX, cellSize);
+            originZ = Math.floorMod(minZ, cellSize);
+        }
+        // An island already at this location may be in either the cells or the irregular islands
+        boolean aligned = isAligned(minX, minZ);
+        if (aligned) {
+            long key = cellKey(minX, minZ);
+            Island firstLoaded = cells.get(key);
+            if (firstLoaded != null && firstLoaded.getMinX() == minX && firstLoaded.getMinZ() == minZ) {
+                Island kept = resolveDuplicate(firstLoaded, island);
+                if (kept != firstLoaded) {
+                    cells.put(key, kept);
+                }
+                return false;
+            }
+        }
+        TreeMap<Integer, Island> zEntry = grid.get(minX);
+        if (zEntry != null) {
+            Island firstLoaded = zEntry.get(minZ);
+            if (firstLoaded != null) {
+                Island kept = resolveDuplicate(firstLoaded, island);
+                if (kept != firstLoaded) {
+                    zEntry.put(minZ, kept);
                 }
                 return false;
-            } else {
-                // Add island
-                zEntry.put(island.getMinZ(), island);
-                grid.put(island.getMinX(), zEntry);
             }
+        }
+        // Add island
+        if (aligned && island.getRange() * 2 == cellSize) {
+            cells.put(cellKey(minX, minZ), island);
         } else {
-            // Add island
-            TreeMap<Integer, Island> zEntry = new TreeMap<>();
-            zEntry.put(island.getMinZ(), island);
-            grid.put(island.getMinX(), zEntry);
+            grid.computeIfAbsent(minX, k -> new TreeMap<>()).put(minZ, island);
+            irregular++;
         }
         return true;
     }
 
+    /**
+     * Decides which of two islands at the same location should stay in the grid
+     * @param firstLoaded - island already in the grid
+     * @param island - island being added
+     * @return island to keep in the grid
+     */
+    private Island resolveDuplicate(Island firstLoaded, Island island) {
+        // There is an overlap or duplicate
+        plugin.logError("Cannot load island. Overlapping: " + island.getUniqueId());
+        plugin.logError("Location: " + island.getCenter());
+        if (firstLoaded.getOwner() == null && island.getOwner() != null) {
+            // This looks fishy. We prefer to load islands that have an owner. Swap the two
+            plugin.logError("Duplicate island has an owner, so using that one. " + island.getOwner());
+            return new Island(island);
+        } else if (firstLoaded.getOwner() != null && island.getOwner() != null) {
+            // Check if the owners are the same - this is a true duplicate
+            if (firstLoaded.getOwner().equals(island.getOwner())) {
+                // Find out which one is the original
+                if (firstLoaded.getCreatedDate() > island.getCreatedDate()) {
+                    plugin.logError("Same owner duplicate. Swaping based on creation date.");
+                    // FirstLoaded is the newer
+                    return new Island(island);
+                } else {
+                    plugin.logError("Same owner duplicate.");
+                }
+            } else {
+                plugin.logError("Duplicate but different owner. Keeping first loaded.");
+                plugin.logError("This is serious!");
+                plugin.logError("1st loaded ID: " + firstLoaded.getUniqueId());
+                plugin.logError("1st loaded owner: " + firstLoaded.getOwner());
+                plugin.logError("2nd loaded ID: " + island.getUniqueId());
+                plugin.logError("2nd loaded owner: " + island.getOwner());
+            }
+        }
+        return firstLoaded;
+    }
+
     /**
      * Remove island from grid
      * @param island - the island to remove
      * @return true if island existed and was deleted, false if there was nothing to delete
      */
     public boolean removeFromGrid(Island island) {
+        long stamp = lock.writeLock();
+        try {
+            return remove(island);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean remove(Island island) {
         // Remove from grid
         if (island != null) {
             int x = island.getMinX();
             int z = island.getMinZ();
-            if (grid.containsKey(x)) {
-                TreeMap<Integer, Island> zEntry = grid.get(x);
-                if (zEntry.containsKey(z)) {
-                    // Island exists - delete it
-                    zEntry.remove(z);
-                    grid.put(x, zEntry);
+            if (isAligned(x, z)) {
+                long key = cellKey(x, z);
+                Island i = cells.get(key);
+                if (i != null && i.getMinX() == x && i.getMinZ() == z && isSameIsland(i, island)) {
+                    cells.remove(key);
                     return true;
                 }
             }
+            TreeMap<Integer, Island> zEntry = grid.get(x);
+            if (zEntry != null && zEntry.containsKey(z) && isSameIsland(zEntry.get(z), island)) {
+                // Island exists - delete it
+                zEntry.remove(z);
+                if (zEntry.isEmpty()) {
+                    grid.remove(x);
+                }
+                irregular--;
+                return true;
+            }
         }
         return false;
     }
@@ -102,6 +185,39 @@ class IslandGrid {
      * @return Island or null
      */
     public Island getIslandAt(int x, int z) {
+        long stamp = lock.tryOptimisticRead();
+        Island island = getCellIslandAt(x, z);
+        boolean checkIrregular = irregular > 0;
+        if (!lock.validate(stamp)) {
+            // The grid was written to during the read, so read again under lock
+            stamp = lock.readLock();
+            try {
+                island = getCellIslandAt(x, z);
+                checkIrregular = irregular > 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (island != null && island.inIslandSpace(x, z)) {
+            return island;
+        }
+        if (checkIrregular) {
+            stamp = lock.readLock();
+            try {
+                return getIrregularIslandAt(x, z);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return null;
+    }
+
+    private Island getCellIslandAt(int x, int z) {
+        int size = cellSize;
+        return size > 0 ? cells.get(IslandCellMap.key(Math.floorDiv(x - originX, size), Math.floorDiv(z - originZ, size))) : null;
+    }
+
+    private Island getIrregularIslandAt(int x, int z) {
         Entry<Integer, TreeMap<Integer, Island>> en = grid.floorEntry(x);
         if (en != null) {
             Entry<Integer, Island> ent = en.getValue().floorEntry(z);
@@ -115,4 +231,26 @@ class IslandGrid {
         }
         return null;
     }
+
+    /**
+     * The grid may hold a copy of an island after a duplicate was resolved, so islands are compared by id
+     * @return true if both are the same island
+     */
+    private boolean isSameIsland(Island gridIsland, Island island) {
+        return gridIsland == island || Objects.equals(gridIsland.getUniqueId(), island.getUniqueId());
+    }
+
+    /**
+     * @return true if this corner sits on a cell corner of the grid
+     */
+    private boolean isAligned(int minX, int minZ) {
+        return cellSize > 0 && Math.floorMod(minX, cellSize) == originX && Math.floorMod(minZ, cellSize) == originZ;
+    }
+
+    /**
+     * @return packed key of the grid cell containing x,z
+     */
+    private long cellKey(int x, int z) {
+        return IslandCellMap.key(Math.floorDiv(x - originX, cellSize), Math.floorDiv(z - originZ, cellSize));
+    }
 }
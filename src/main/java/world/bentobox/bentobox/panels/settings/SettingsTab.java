@@ -21,6 +21,7 @@ import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.panels.Panel;
 import world.bentobox.bentobox.api.panels.PanelItem;
 import world.bentobox.bentobox.api.panels.PanelItem.ClickHandler;
+import world.bentobox.bentobox.api.panels.PanelItemSource;
 import world.bentobox.bentobox.api.panels.Tab;
 import world.bentobox.bentobox.api.panels.TabbedPanel;
 import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
@@ -117,6 +118,16 @@ public class SettingsTab implements Tab, ClickHandler {
     @Override
     @NonNull
     public List<@Nullable PanelItem> getPanelItems() {
+        return getPanelItemSource().getItems(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the flags as panel items, which are only made when they are shown
+     * @return the panel items for this flag type
+     * @since 1.18.0
+     */
+    @Override
+    public PanelItemSource getPanelItemSource() {
         List<Flag> flags = getFlags();
         int i = 0;
         // Jump past empty tabs
@@ -124,7 +135,16 @@ public class SettingsTab implements Tab, ClickHandler {
             plugin.getPlayers().setFlagsDisplayMode(user.getUniqueId(), plugin.getPlayers().getFlagsDisplayMode(user.getUniqueId()).getNext());
             flags = getFlags();
         }
-        return flags.stream().map((f -> f.toPanelItem(plugin, user, island, plugin.getIWM().getHiddenFlags(world).contains(f.getID())))).collect(Collectors.toList());
+        return PanelItemSource.of(flags, this::getPanelItem);
+    }
+
+    /**
+     * @param flag - flag
+     * @return the panel item for this flag
+     * @since 1.18.0
+     */
+    protected PanelItem getPanelItem(Flag flag) {
+        return flag.toPanelItem(plugin, user, island, plugin.getIWM().getHiddenFlags(world).contains(flag.getID()));
     }
 
     @Override
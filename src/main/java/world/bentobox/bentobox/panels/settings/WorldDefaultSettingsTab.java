@@ -1,16 +1,16 @@
 package world.bentobox.bentobox.panels.settings;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import org.bukkit.Material;
 import org.bukkit.World;
 
+import world.bentobox.bentobox.api.flags.Flag;
 import world.bentobox.bentobox.api.flags.Flag.Type;
 import world.bentobox.bentobox.api.flags.clicklisteners.WorldToggleClick;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.panels.PanelItem;
+import world.bentobox.bentobox.api.panels.PanelItemSource;
 import world.bentobox.bentobox.api.panels.Tab;
 import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
 import world.bentobox.bentobox.api.user.User;
@@ -64,24 +64,27 @@ public class WorldDefaultSettingsTab extends SettingsTab implements Tab {
     }
 
     /**
-     * Get all the flags as panel items
-     * @return list of all the panel items for this flag type
+     * Get the flags as panel items, which are only made when they are shown
+     * @return the panel items for the flags
      */
     @Override
-    public List<PanelItem> getPanelItems() {
+    public PanelItemSource getPanelItemSource() {
+        return PanelItemSource.of(getFlags(), this::getPanelItem);
+    }
+
+    @Override
+    protected PanelItem getPanelItem(Flag f) {
         // Different description and click handlers
-        return getFlags().stream().map(f -> {
-            PanelItem i = f.toPanelItem(plugin, user, null, false);
-            // Replace the click handler with WorldToggleClick
-            i.setClickHandler(new WorldToggleClick(f.getID()));
-            // Replace the description
-            String worldSetting = f.isSetForWorld(user.getWorld()) ? user.getTranslation("protection.panel.flag-item.setting-active")
-                    : user.getTranslation("protection.panel.flag-item.setting-disabled");
-            i.setDescription(Arrays.asList(user.getTranslation("protection.panel.flag-item.setting-layout",
-                    TextVariables.DESCRIPTION, user.getTranslation(f.getDescriptionReference()),
-                    "[setting]", worldSetting).split("\n")));
-            return i;
-        }).collect(Collectors.toList());
+        PanelItem i = f.toPanelItem(plugin, user, null, false);
+        // Replace the click handler with WorldToggleClick
+        i.setClickHandler(new WorldToggleClick(f.getID()));
+        // Replace the description
+        String worldSetting = f.isSetForWorld(user.getWorld()) ? user.getTranslation("protection.panel.flag-item.setting-active")
+                : user.getTranslation("protection.panel.flag-item.setting-disabled");
+        i.setDescription(Arrays.asList(user.getTranslation("protection.panel.flag-item.setting-layout",
+                TextVariables.DESCRIPTION, user.getTranslation(f.getDescriptionReference()),
+                "[setting]", worldSetting).split("\n")));
+        return i;
     }
 
 }
@@ -6,9 +6,13 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
@@ -60,6 +64,15 @@ public class Util {
     private static final String THE_END = "_the_end";
     private static String serverVersion = null;
     private static BentoBox plugin = BentoBox.getInstance();
+    /**
+     * Known island worlds mapped to their overworld, keyed by identity.
+     * It is replaced, never changed, on write because it is read on every event and rarely written.
+     */
+    private static volatile Map<World, World> overworlds = new IdentityHashMap<>();
+    /**
+     * Names of the overworlds in {@link #overworlds}, used to map worlds again when they are reloaded
+     */
+    private static final Set<String> overworldNames = ConcurrentHashMap.newKeySet();
 
     private Util() {}
 
@@ -217,6 +230,15 @@ public class Util {
      * @return true if the same
      */
     public static boolean sameWorld(World world, World world2) {
+        if (world == world2) {
+            return true;
+        }
+        Map<World, World> map = overworlds;
+        World overworld = map.get(world);
+        World overworld2 = map.get(world2);
+        if (overworld != null && overworld2 != null) {
+            return overworld == overworld2;
+        }
         return stripName(world).equals(stripName(world2));
     }
 
@@ -240,9 +262,68 @@ public class Util {
         if (world == null) {
             return null;
         }
+        World overworld = overworlds.get(world);
+        if (overworld != null) {
+            return overworld;
+        }
         return world.getEnvironment().equals(Environment.NORMAL) ? world : Bukkit.getWorld(world.getName().replace(NETHER, "").replace(THE_END, ""));
     }
 
+    /**
+     * Registers a world and its overworld so that {@link #getWorld(World)} and {@link #sameWorld(World, World)}
+     * can resolve it without string operations. Used by {@link world.bentobox.bentobox.managers.IslandWorldManager}.
+     * @param world - world, may be the overworld itself
+     * @param overworld - overworld of this world
+     * @since 1.18.0
+     */
+    public static synchronized void registerOverworld(@Nullable World world, @Nullable World overworld) {
+        if (world == null || overworld == null) {
+            return;
+        }
+        Map<World, World> map = new IdentityHashMap<>(overworlds);
+        map.put(world, overworld);
+        overworlds = map;
+        if (overworld.getName() != null) {
+            overworldNames.add(overworld.getName());
+        }
+    }
+
+    /**
+     * Registers a world again after it has been loaded if it belongs to a registered overworld.
+     * Nether and end worlds are matched by name.
+     * @param world - world that was loaded
+     * @since 1.18.0
+     */
+    public static void reregisterWorld(@NonNull World world) {
+        if (world.getName() == null) {
+            return;
+        }
+        String name = stripName(world);
+        if (!overworldNames.contains(name)) {
+            return;
+        }
+        if (world.getEnvironment().equals(Environment.NORMAL) && world.getName().equals(name)) {
+            // The overworld itself was loaded, so map its nether and end again too
+            registerOverworld(world, world);
+            registerOverworld(Bukkit.getWorld(name + NETHER), world);
+            registerOverworld(Bukkit.getWorld(name + THE_END), world);
+        } else {
+            registerOverworld(world, Bukkit.getWorld(name));
+        }
+    }
+
+    /**
+     * Removes a world that is being unloaded, and any mapping to it as an overworld
+     * @param world - world that is unloaded
+     * @since 1.18.0
+     */
+    public static synchronized void unregisterWorld(@NonNull World world) {
+        Map<World, World> map = new IdentityHashMap<>(overworlds);
+        map.remove(world);
+        map.values().removeIf(w -> w == world);
+        overworlds = map;
+    }
+
     /**
      * Lists files found in the jar in the folderPath with the suffix given
      * @param jar - the jar file
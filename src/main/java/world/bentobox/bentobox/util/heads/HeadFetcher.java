@@ -0,0 +1,25 @@
+package world.bentobox.bentobox.util.heads;
+
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Gets the texture of a player head, for example from a web API.
+ * Set with {@link HeadGetter#setFetcher(HeadFetcher)}.
+ * @author tastybento
+ * @since 1.18.0
+ */
+@FunctionalInterface
+public interface HeadFetcher {
+
+    /**
+     * Gets a player head. This is called off the main thread and may take a while.
+     * @param userName - name of the player
+     * @param userId - UUID of the player, or null if it is not known
+     * @return head, which has a null texture if it could not be found
+     */
+    @NonNull
+    HeadCache fetch(@NonNull String userName, @Nullable UUID userId);
+}
@@ -1,16 +1,22 @@
 package world.bentobox.bentobox.util.heads;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -18,8 +24,8 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.panels.PanelItem;
@@ -28,23 +34,40 @@ import world.bentobox.bentobox.util.Pair;
 
 /**
  * This class manages getting player heads for requester.
+ * Heads are fetched once for each name, however many requesters are waiting for it,
+ * and are kept for {@link world.bentobox.bentobox.Settings#getPlayerHeadCacheTime()}.
  * @author tastybento, BONNe1704
  */
 public class HeadGetter {
+    /**
+     * Most player heads kept in the cache. When there are more, the oldest are removed.
+     */
+    private static final int MAX_CACHED_HEADS = 2000;
+
+    /**
+     * File the cache is saved to when the server stops.
+     */
+    private static final String CACHE_FILE = "heads.json";
+
     /**
      * Local cache for storing player heads.
      */
-    private static final Map<String, HeadCache> cachedHeads = new HashMap<>();
+    private static final Map<String, HeadCache> cachedHeads = new ConcurrentHashMap<>();
+
+    /**
+     * Names of the heads that must be fetched. Each name is only in here once.
+     */
+    private static final Queue<String> names = new ConcurrentLinkedQueue<>();
 
     /**
-     * Local cache for storing requested names and items which must be updated.
+     * Items waiting for each head to be fetched, and who requested them.
      */
-    private static final Queue<Pair<String, PanelItem>> names = new LinkedBlockingQueue<>();
+    private static final Map<String, List<Pair<PanelItem, HeadRequester>>> headRequesters = new ConcurrentHashMap<>();
 
     /**
-     * Requesters of player heads.
+     * Gets the heads.
      */
-    private static final Map<String, Set<HeadRequester>> headRequesters = new HashMap<>();
+    private static volatile HeadFetcher fetcher;
 
     /**
      * Instance of plugin.
@@ -57,6 +80,12 @@ public class HeadGetter {
      */
     public HeadGetter(BentoBox plugin) {
         this.plugin = plugin;
+        if (fetcher == null) {
+            fetcher = new WebHeadFetcher(plugin);
+        }
+        if (plugin.getSettings().isSaveHeadCache()) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, this::load);
+        }
         this.runPlayerHeadGetter();
     }
 
@@ -66,33 +95,26 @@ public class HeadGetter {
      * @since 1.14.1
      */
     public static void getHead(PanelItem panelItem, HeadRequester requester) {
-        // Freshen cache
-        // If memory is an issue we sacrifice performance?
-        // cachedHeads.values().removeIf(cache -> System.currentTimeMillis() - cache.getTimestamp() > TOO_LONG);
+        HeadCache cache = HeadGetter.getCached(panelItem.getPlayerHeadName());
 
-        HeadCache cache = cachedHeads.get(panelItem.getPlayerHeadName());
-
-        // Get value from config. Multiply value to 60 000 as internally it uses miliseconds.
-        // Config value stores minutes.
-        long cacheTimeout = BentoBox.getInstance().getSettings().getPlayerHeadCacheTime() * 60 * 1000;
-
-        // to avoid every time clearing stored heads (as they may become very large)
-        // just check if requested cache exists and compare it with value from plugin settings.
-        // If timestamp is set to 0, then it must be kept forever.
-        // If settings time is set to 0, then always use cache.
-        if (cache != null &&
-            (cache.getTimestamp() == 0 || cacheTimeout == 0 || 
-                 System.currentTimeMillis() - cache.getTimestamp() <= cacheTimeout))
+        if (cache != null)
         {
-            panelItem.setHead(cachedHeads.get(panelItem.getPlayerHeadName()).getPlayerHead());
+            panelItem.setHead(cache.getPlayerHead());
             requester.setHead(panelItem);
         }
         else
         {
-            // Get the name
-            headRequesters.computeIfAbsent(panelItem.getPlayerHeadName(), k -> new HashSet<>()).
-                add(requester);
-            names.add(new Pair<>(panelItem.getPlayerHeadName(), panelItem));
+            // Only the first request for a name is queued. Later requests wait for the same head.
+            headRequesters.compute(panelItem.getPlayerHeadName(), (name, requests) -> {
+                if (requests == null)
+                {
+                    requests = new ArrayList<>();
+                    names.add(name);
+                }
+
+                requests.add(new Pair<>(panelItem, requester));
+                return requests;
+            });
         }
     }
 
@@ -105,296 +127,262 @@ public class HeadGetter {
      */
     public static void addToCache(HeadCache cache)
     {
-        cachedHeads.put(cache.getUserName(), cache);
+        HeadGetter.put(cache);
     }
 
 
-// ---------------------------------------------------------------------
-// Section: Private methods
-// ---------------------------------------------------------------------
+    /**
+     * Sets how the heads are fetched, instead of from the Mojang API or mc-heads.net.
+     * @param headFetcher fetcher to use
+     * @since 1.18.0
+     */
+    public static void setFetcher(@NonNull HeadFetcher headFetcher)
+    {
+        fetcher = headFetcher;
+    }
 
 
     /**
-     * This is main task that runs once every Settings#ticksBetweenCalls ticks and tries to get
-     * Settings#headsPerCall player heads at once.
-     *
-     * @since 1.14.1
+     * Saves the heads in the cache to a file, so they do not have to be fetched again when the server starts.
+     * Only done if {@link world.bentobox.bentobox.Settings#isSaveHeadCache()} is set.
+     * @since 1.18.0
      */
-    private void runPlayerHeadGetter() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            synchronized (HeadGetter.names)
+    public void save()
+    {
+        long cacheTimeout = HeadGetter.getCacheTimeout();
+
+        if (!this.plugin.getSettings().isSaveHeadCache() || cacheTimeout == 0)
+        {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        // Heads kept for ever are added by addons each time, and failed heads are fetched again.
+        List<HeadCache> heads = cachedHeads.values().stream().
+            filter(cache -> cache.getTimestamp() != 0 && cache.encodedTextureLink != null && HeadGetter.isFresh(cache, cacheTimeout, now)).
+            collect(Collectors.toList());
+
+        File file = new File(this.plugin.getDataFolder(), CACHE_FILE);
+        File tmpFile = new File(this.plugin.getDataFolder(), CACHE_FILE + ".tmp");
+
+        try
+        {
+            try (Writer writer = Files.newBufferedWriter(tmpFile.toPath(), StandardCharsets.UTF_8))
             {
-                int counter = 0;
+                new Gson().toJson(heads, writer);
+            }
 
-                while (!HeadGetter.names.isEmpty() && counter < plugin.getSettings().getHeadsPerCall())
-                {
-                    Pair<String, PanelItem> elementEntry = HeadGetter.names.poll();
-                    final String userName = elementEntry.getKey();
-
-                    // Hmm, task in task in task. That is a weird structure.
-                    Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                        // Check if we can get user Id.
-                        UUID userId;
-
-                        if (HeadGetter.cachedHeads.containsKey(userName))
-                        {
-                            // If cache contains userName, it means that it was already stored.
-                            // We can reuse stored data, as they should not be changed.
-                            userId = HeadGetter.cachedHeads.get(userName).getUserId();
-                        }
-                        else if (Bukkit.getServer().getOnlineMode())
-                        {
-                            // If server is in online mode we can relay that UUID is correct.
-                            // So we use thing that is stored in BentoBox players data.
-                            userId = plugin.getPlayers().getUUID(userName);
-                        }
-                        else
-                        {
-                            // Assign null for later check, as I do not want to write ifs inside
-                            // previous 2 checks.
-                            userId = null;
-                        }
-
-                        HeadCache cache;
-
-                        if (plugin.getSettings().isUseCacheServer())
-                        {
-                            // Cache server has an implementation to get a skin just from player name.
-                            Pair<UUID, String> playerSkin = HeadGetter.getTextureFromName(userName, userId);
-
-                            // Create new cache object.
-                            cache = new HeadCache(userName,
-                                playerSkin.getKey(),
-                                playerSkin.getValue());
-                        }
-                        else
-                        {
-                            if (userId == null)
-                            {
-                                // Use MojangAPI to get userId from userName.
-                                userId = HeadGetter.getUserIdFromName(userName);
-                            }
-
-                            // Create new cache object.
-                            cache = new HeadCache(userName,
-                                userId,
-                                HeadGetter.getTextureFromUUID(userId));
-                        }
-
-                        // Save in cache
-                        HeadGetter.cachedHeads.put(userName, cache);
-
-                        // Tell requesters the head came in, but only if the texture is usable.
-                        if (cache.encodedTextureLink != null && HeadGetter.headRequesters.containsKey(userName))
-                        {
-                            for (HeadRequester req : HeadGetter.headRequesters.get(userName))
-                            {
-                                elementEntry.getValue().setHead(cache.getPlayerHead());
-
-                                if (!plugin.isShutdown())
-                                {
-                                    // Do not run task if plugin is shutting down.
-                                    Bukkit.getScheduler().runTaskAsynchronously(this.plugin,
-                                        () -> req.setHead(elementEntry.getValue()));
-                                }
-                            }
-                        }
-                    });
-
-                    counter++;
-                }
+            try
+            {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             }
-        }, 0, plugin.getSettings().getTicksBetweenCalls());
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException e)
+        {
+            this.plugin.logError("Could not save player heads: " + e.getMessage());
+        }
     }
 
 
+// ---------------------------------------------------------------------
+// Section: Private methods
+// ---------------------------------------------------------------------
+
+
     /**
-     * This method gets and returns userId from mojang web API based on user name.
-     * @param name user which Id must be returned.
-     * @return String value for user Id.
-     * @since 1.14.1
+     * Loads the heads saved when the server last stopped. Heads that are too old are left out.
      */
-    private static UUID getUserIdFromName(String name) {
-        UUID userId;
+    void load()
+    {
+        File file = new File(this.plugin.getDataFolder(), CACHE_FILE);
+        long cacheTimeout = HeadGetter.getCacheTimeout();
 
-        try
+        if (!file.exists() || cacheTimeout == 0)
+        {
+            return;
+        }
+
+        Type type = new TypeToken<List<HeadCache>>() {}.getType();
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
         {
-            Gson gsonReader = new Gson();
-
-            // Get mojang user-id from given nickname
-            JsonObject jsonObject = gsonReader.fromJson(
-                HeadGetter.getURLContent("https://api.mojang.com/users/profiles/minecraft/" + name),
-                JsonObject.class);
-            /*
-             * Returned Json Object:
-              {
-                  name: USER_NAME,
-                  id: USER_ID
-              }
-              */
-
-            // Mojang returns ID without `-`. So it is necessary to insert them back.
-            // Well technically it is not necessary and can use just a string instead of UUID.
-            // UUID just looks more fancy :)
-            String userIdString = jsonObject.get("id").toString().
-                replace("\"", "").
-                replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
-
-            userId = UUID.fromString(userIdString);
+            List<HeadCache> heads = new Gson().fromJson(reader, type);
+
+            if (heads == null)
+            {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            // Heads fetched since the server started are newer
+            heads.stream().
+                filter(cache -> cache != null && cache.getUserName() != null && HeadGetter.isFresh(cache, cacheTimeout, now)).
+                forEach(cache -> cachedHeads.putIfAbsent(cache.getUserName(), cache));
         }
-        catch (Exception ignored)
+        catch (IOException | JsonParseException e)
         {
-            // Return random if failed?
-            userId = UUID.randomUUID();
+            this.plugin.logError("Could not load saved player heads: " + e.getMessage());
         }
+    }
 
-        return userId;
+
+    /**
+     * Empties the cache and forgets the heads waiting to be fetched. Used for testing.
+     */
+    static void clear()
+    {
+        cachedHeads.clear();
+        names.clear();
+        headRequesters.clear();
     }
 
 
     /**
-     * This method gets and returns base64 encoded link to player skin texture, based on
-     * given player UUID.
-     *
-     * @param userId UUID value for the user.
-     * @return Encoded player skin texture or null.
-     * @since 1.14.1
+     * @param userName name of the head
+     * @return the cached head, or null if there is none or it is too old
      */
-    private static @Nullable String getTextureFromUUID(UUID userId) {
-        try
+    @Nullable
+    private static HeadCache getCached(String userName)
+    {
+        HeadCache cache = cachedHeads.get(userName);
+        return cache != null && HeadGetter.isFresh(cache, HeadGetter.getCacheTimeout(), System.currentTimeMillis()) ? cache : null;
+    }
+
+
+    /**
+     * @return how long heads are kept, in milliseconds, or 0 to keep them until the server restarts
+     */
+    private static long getCacheTimeout()
+    {
+        // Get value from config. Multiply value to 60 000 as internally it uses miliseconds.
+        // Config value stores minutes.
+        return BentoBox.getInstance().getSettings().getPlayerHeadCacheTime() * 60 * 1000;
+    }
+
+
+    /**
+     * If timestamp is set to 0, then it must be kept forever.
+     * If settings time is set to 0, then always use cache.
+     */
+    private static boolean isFresh(HeadCache cache, long cacheTimeout, long now)
+    {
+        return cache.getTimestamp() == 0 || cacheTimeout == 0 || now - cache.getTimestamp() <= cacheTimeout;
+    }
+
+
+    /**
+     * Puts the head in the cache. If there are too many heads, the old heads are removed and then,
+     * if there are still too many, the oldest, down to three quarters of the maximum.
+     * Heads that are kept forever are not removed.
+     */
+    private static void put(HeadCache cache)
+    {
+        cachedHeads.put(cache.getUserName(), cache);
+
+        if (cachedHeads.size() > MAX_CACHED_HEADS)
         {
-            Gson gsonReader = new Gson();
-
-            // Get user encoded texture value.
-            JsonObject jsonObject = gsonReader.fromJson(
-                HeadGetter.getURLContent("https://sessionserver.mojang.com/session/minecraft/profile/" + userId.toString()),
-                JsonObject.class);
-
-            /*
-             * Returned Json Object:
-              {
-                id: USER_ID,
-                name: USER_NAME,
-                properties: [
-                    {
-                        name: "textures",
-                        value: ENCODED_BASE64_TEXTURE
-                    }
-                 ]
-               }
-              */
-
-            String decodedTexture = "";
-
-            for (JsonElement element : jsonObject.getAsJsonArray("properties"))
+            synchronized (cachedHeads)
             {
-                JsonObject object = element.getAsJsonObject();
+                long cacheTimeout = HeadGetter.getCacheTimeout();
+                long now = System.currentTimeMillis();
+                cachedHeads.values().removeIf(c -> !HeadGetter.isFresh(c, cacheTimeout, now));
+
+                int excess = cachedHeads.size() - MAX_CACHED_HEADS * 3 / 4;
 
-                if (object.has("name") &&
-                    object.get("name").getAsString().equals("textures"))
+                if (excess > 0)
                 {
-                    decodedTexture = object.get("value").getAsString();
-                    break;
+                    cachedHeads.values().stream().
+                        filter(c -> c.getTimestamp() != 0).
+                        sorted(Comparator.comparingLong(HeadCache::getTimestamp)).
+                        limit(excess).
+                        collect(Collectors.toList()).
+                        forEach(c -> cachedHeads.remove(c.getUserName(), c));
                 }
             }
-
-            return decodedTexture;
         }
-        catch (Exception ignored)
-        {
-        }
-
-        return null;
     }
 
 
     /**
-     * This method gets and returns base64 encoded link to player skin texture from mc-heads.net.
-     * It tries to use UUID if it is a valid, otherwise it uses given username.
+     * This is main task that runs once every Settings#ticksBetweenCalls ticks and tries to get
+     * Settings#headsPerCall player heads at once.
      *
-     * @param userName userName
-     * @param userId UUID for the user.
-     * @return Encoded player skin texture or null.
-     * @since 1.16.0
+     * @since 1.14.1
      */
-    private static @NonNull Pair<UUID, String> getTextureFromName(String userName, @Nullable UUID userId) {
-        try
-        {
-            Gson gsonReader = new Gson();
-
-            // Get user encoded texture value.
-            // mc-heads returns correct skin with providing just a name, unlike mojang api, which
-            // requires UUID.
-            JsonObject jsonObject = gsonReader.fromJson(
-                HeadGetter.getURLContent("https://mc-heads.net/minecraft/profile/" + (userId == null ? userName : userId.toString())),
-                JsonObject.class);
-
-            /*
-             * Returned Json Object:
-              {
-                id: USER_ID,
-                name: USER_NAME,
-                properties: [
-                    {
-                        name: "textures",
-                        value: ENCODED_BASE64_TEXTURE
-                    }
-                 ]
-               }
-              */
-
-            String decodedTexture = "";
-
-            String userIdString = jsonObject.get("id").toString().
-                replace("\"", "").
-                replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
-
-            for (JsonElement element : jsonObject.getAsJsonArray("properties"))
+    private void runPlayerHeadGetter() {
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            for (int counter = 0; counter < plugin.getSettings().getHeadsPerCall(); counter++)
             {
-                JsonObject object = element.getAsJsonObject();
+                final String userName = HeadGetter.names.poll();
 
-                if (object.has("name") &&
-                    object.get("name").getAsString().equals("textures"))
+                if (userName == null)
                 {
-                    decodedTexture = object.get("value").getAsString();
                     break;
                 }
-            }
-
-            return new Pair<>(UUID.fromString(userIdString), decodedTexture);
-        }
-        catch (Exception ignored)
-        {
-        }
 
-        // return random uuid and null, to assign some values for cache.
-        return new Pair<>(userId, null);
+                // Each head is fetched in its own task so a slow web server does not hold up the others.
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> this.fetchHead(userName));
+            }
+        }, 0, plugin.getSettings().getTicksBetweenCalls());
     }
 
 
     /**
-     * This method gets page content of requested url
-     *
-     * @param requestedUrl Url which content must be returned.
-     * @return Content of a page or empty string.
-     * @since 1.14.1
+     * Fetches the head, puts it in the cache and gives it to everyone waiting for it.
+     * @param userName name of the head
      */
-    private static String getURLContent(String requestedUrl) {
-        String returnValue;
+    void fetchHead(String userName)
+    {
+        // It may have been fetched since it was requested
+        HeadCache cache = HeadGetter.getCached(userName);
 
-        try
+        if (cache == null)
         {
-            URL url = new URL(requestedUrl);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            returnValue = br.lines().collect(Collectors.joining());
-            br.close();
+            // Check if we can get user Id.
+            UUID userId;
+            HeadCache oldCache = HeadGetter.cachedHeads.get(userName);
+
+            if (oldCache != null)
+            {
+                // If cache contains userName, it means that it was already stored.
+                // We can reuse stored data, as they should not be changed.
+                userId = oldCache.getUserId();
+            }
+            else if (Bukkit.getServer().getOnlineMode())
+            {
+                // If server is in online mode we can relay that UUID is correct.
+                // So we use thing that is stored in BentoBox players data.
+                userId = plugin.getPlayers().getUUID(userName);
+            }
+            else
+            {
+                // Assign null for later check, as I do not want to write ifs inside
+                // previous 2 checks.
+                userId = null;
+            }
+
+            cache = HeadGetter.fetcher.fetch(userName, userId);
+
+            // Save in cache
+            HeadGetter.put(cache);
         }
-        catch (Exception e)
+
+        List<Pair<PanelItem, HeadRequester>> requests = HeadGetter.headRequesters.remove(userName);
+
+        // Tell requesters the head came in, but only if the texture is usable.
+        // Do not run task if plugin is shutting down.
+        if (requests != null && cache.encodedTextureLink != null && !plugin.isShutdown())
         {
-            returnValue = "";
+            HeadCache head = cache;
+            // Panel items and inventories must only be changed on the main thread
+            Bukkit.getScheduler().runTask(this.plugin, () -> requests.forEach(request -> {
+                request.getKey().setHead(head.getPlayerHead());
+                request.getValue().setHead(request.getKey());
+            }));
         }
-
-        return returnValue;
     }
 }
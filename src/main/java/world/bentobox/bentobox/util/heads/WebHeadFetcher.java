@@ -0,0 +1,282 @@
+package world.bentobox.bentobox.util.heads;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.util.Pair;
+
+
+/**
+ * Gets player heads from the Mojang API, or from the mc-heads.net cache server if
+ * {@link world.bentobox.bentobox.Settings#isUseCacheServer()} is set.
+ * @author tastybento, BONNe1704
+ * @since 1.18.0
+ */
+public class WebHeadFetcher implements HeadFetcher
+{
+    private static final String MOJANG_PROFILES = "https://api.mojang.com/users/profiles/minecraft/";
+    private static final String MOJANG_SESSIONS = "https://sessionserver.mojang.com/session/minecraft/profile/";
+    private static final String CACHE_SERVER = "https://mc-heads.net/minecraft/profile/";
+
+    /**
+     * Time to wait for the web server, in milliseconds
+     */
+    private static final int TIMEOUT = 10000;
+
+    private final BooleanSupplier useCacheServer;
+    private final String profilesUrl;
+    private final String sessionsUrl;
+    private final String cacheServerUrl;
+
+
+    /**
+     * Gets heads from the Mojang API or mc-heads.net, as set in the settings
+     * @param plugin - plugin
+     */
+    public WebHeadFetcher(BentoBox plugin)
+    {
+        this(() -> plugin.getSettings().isUseCacheServer(), MOJANG_PROFILES, MOJANG_SESSIONS, CACHE_SERVER);
+    }
+
+
+    /**
+     * Gets heads from other web servers that work like the Mojang API and mc-heads.net
+     * @param useCacheServer - true if the cache server should be used
+     * @param profilesUrl - URL that the player name is added to, to get the player's UUID
+     * @param sessionsUrl - URL that the player's UUID is added to, to get their texture
+     * @param cacheServerUrl - URL that the player's UUID or name is added to, to get their UUID and texture
+     */
+    public WebHeadFetcher(BooleanSupplier useCacheServer, String profilesUrl, String sessionsUrl, String cacheServerUrl)
+    {
+        this.useCacheServer = useCacheServer;
+        this.profilesUrl = profilesUrl;
+        this.sessionsUrl = sessionsUrl;
+        this.cacheServerUrl = cacheServerUrl;
+    }
+
+
+    @Override
+    public @NonNull HeadCache fetch(@NonNull String userName, @Nullable UUID userId)
+    {
+        if (this.useCacheServer.getAsBoolean())
+        {
+            // Cache server has an implementation to get a skin just from player name.
+            Pair<UUID, String> playerSkin = this.getTextureFromName(userName, userId);
+
+            // Create new cache object.
+            return new HeadCache(userName,
+                playerSkin.getKey(),
+                playerSkin.getValue());
+        }
+
+        if (userId == null)
+        {
+            // Use MojangAPI to get userId from userName.
+            userId = this.getUserIdFromName(userName);
+        }
+
+        // Create new cache object.
+        return new HeadCache(userName,
+            userId,
+            this.getTextureFromUUID(userId));
+    }
+
+
+    /**
+     * This method gets and returns userId from mojang web API based on user name.
+     * @param name user which Id must be returned.
+     * @return String value for user Id.
+     */
+    private UUID getUserIdFromName(String name) {
+        UUID userId;
+
+        try
+        {
+            Gson gsonReader = new Gson();
+
+            // Get mojang user-id from given nickname
+            JsonObject jsonObject = gsonReader.fromJson(
+                WebHeadFetcher.getURLContent(this.profilesUrl + name),
+                JsonObject.class);
+            /*
+             * Returned Json Object:
+              {
+                  name: USER_NAME,
+                  id: USER_ID
+              }
+              */
+
+            // Mojang returns ID without `-`. So it is necessary to insert them back.
+            // Well technically it is not necessary and can use just a string instead of UUID.
+            // UUID just looks more fancy :)
+            String userIdString = jsonObject.get("id").toString().
+                replace("\"", "").
+                replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
+
+            userId = UUID.fromString(userIdString);
+        }
+        catch (Exception ignored)
+        {
+            // Return random if failed?
+            userId = UUID.randomUUID();
+        }
+
+        return userId;
+    }
+
+
+    /**
+     * This method gets and returns base64 encoded link to player skin texture, based on
+     * given player UUID.
+     *
+     * @param userId UUID value for the user.
+     * @return Encoded player skin texture or null.
+     */
+    private @Nullable String getTextureFromUUID(UUID userId) {
+        try
+        {
+            Gson gsonReader = new Gson();
+
+            // Get user encoded texture value.
+            JsonObject jsonObject = gsonReader.fromJson(
+                WebHeadFetcher.getURLContent(this.sessionsUrl + userId.toString()),
+                JsonObject.class);
+
+            /*
+             * Returned Json Object:
+              {
+                id: USER_ID,
+                name: USER_NAME,
+                properties: [
+                    {
+                        name: "textures",
+                        value: ENCODED_BASE64_TEXTURE
+                    }
+                 ]
+               }
+              */
+
+            return WebHeadFetcher.getTexture(jsonObject);
+        }
+        catch (Exception ignored)
+        {
+        }
+
+        return null;
+    }
+
+
+    /**
+     * This method gets and returns base64 encoded link to player skin texture from mc-heads.net.
+     * It tries to use UUID if it is a valid, otherwise it uses given username.
+     *
+     * @param userName userName
+     * @param userId UUID for the user.
+     * @return Encoded player skin texture or null.
+     */
+    private @NonNull Pair<UUID, String> getTextureFromName(String userName, @Nullable UUID userId) {
+        try
+        {
+            Gson gsonReader = new Gson();
+
+            // Get user encoded texture value.
+            // mc-heads returns correct skin with providing just a name, unlike mojang api, which
+            // requires UUID.
+            JsonObject jsonObject = gsonReader.fromJson(
+                WebHeadFetcher.getURLContent(this.cacheServerUrl + (userId == null ? userName : userId.toString())),
+                JsonObject.class);
+
+            /*
+             * Returned Json Object:
+              {
+                id: USER_ID,
+                name: USER_NAME,
+                properties: [
+                    {
+                        name: "textures",
+                        value: ENCODED_BASE64_TEXTURE
+                    }
+                 ]
+               }
+              */
+
+            String userIdString = jsonObject.get("id").toString().
+                replace("\"", "").
+                replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
+
+            return new Pair<>(UUID.fromString(userIdString), WebHeadFetcher.getTexture(jsonObject));
+        }
+        catch (Exception ignored)
+        {
+        }
+
+        // return random uuid and null, to assign some values for cache.
+        return new Pair<>(userId, null);
+    }
+
+
+    /**
+     * @param jsonObject profile returned by the web server
+     * @return the value of the textures property, or an empty string if there is none
+     */
+    private static String getTexture(JsonObject jsonObject)
+    {
+        for (JsonElement element : jsonObject.getAsJsonArray("properties"))
+        {
+            JsonObject object = element.getAsJsonObject();
+
+            if (object.has("name") &&
+                object.get("name").getAsString().equals("textures"))
+            {
+                return object.get("value").getAsString();
+            }
+        }
+
+        return "";
+    }
+
+
+    /**
+     * This method gets page content of requested url
+     *
+     * @param requestedUrl Url which content must be returned.
+     * @return Content of a page or empty string.
+     */
+    private static String getURLContent(String requestedUrl) {
+        String returnValue;
+
+        try
+        {
+            URL url = new URL(requestedUrl);
+            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            // Do not wait for ever if the server does not answer
+            conn.setConnectTimeout(TIMEOUT);
+            conn.setReadTimeout(TIMEOUT);
+
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8)))
+            {
+                returnValue = br.lines().collect(Collectors.joining());
+            }
+        }
+        catch (Exception e)
+        {
+            returnValue = "";
+        }
+
+        return returnValue;
+    }
+}
@@ -1,5 +1,6 @@
 package world.bentobox.bentobox.api.commands.admin;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -7,6 +8,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
@@ -219,4 +221,26 @@ public class AdminInfoCommandTest {
         // Confirm other verifications
         Mockito.verify(is).showInfo(Mockito.eq(user));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.admin.AdminInfoCommand#tabComplete(User, String, List)}.
+     */
+    @Test
+    public void testTabCompleteOfflinePlayers() {
+        when(pm.getTabCompleteNames(Mockito.any(), Mockito.anyString())).thenCallRealMethod();
+        when(pm.getNames("tas", PlayersManager.MAX_TAB_COMPLETE_OFFLINE_NAMES)).thenReturn(Arrays.asList("tastybento", "Tastyfriend"));
+        AdminInfoCommand itl = new AdminInfoCommand(ac);
+        Optional<List<String>> result = itl.tabComplete(user, "", Collections.singletonList("tas"));
+        assertEquals(Arrays.asList("tastybento", "Tastyfriend"), result.get());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.admin.AdminInfoCommand#tabComplete(User, String, List)}.
+     */
+    @Test
+    public void testTabCompleteNoLetters() {
+        AdminInfoCommand itl = new AdminInfoCommand(ac);
+        assertTrue(itl.tabComplete(user, "", Collections.singletonList("")).get().isEmpty());
+        Mockito.verify(pm, Mockito.never()).getNames(Mockito.anyString(), Mockito.anyInt());
+    }
+}
@@ -23,6 +23,7 @@ import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.metadata.MetaDataValue;
 import world.bentobox.bentobox.api.user.User;
@@ -71,6 +72,7 @@ public class AdminSwitchCommandTest {
         when(user.getPlayer()).thenReturn(p);
         when(user.getName()).thenReturn("tastybento");
         when(user.isPlayer()).thenReturn(true);
+        when(user.getFlagDecisions()).thenReturn(new FlagDecisionCache());
         User.setPlugin(plugin);
 
         // Parent command has no aliases
@@ -217,7 +217,6 @@ public class AdminUnregisterCommandTest {
         when(oldIsland.getMemberSet()).thenReturn(imSet);
         // Trusted member
         UUID uuid4 = UUID.randomUUID();
-        // Map must be mutable because it is cleared
         Map<UUID, Integer> map = new HashMap<>();
         map.put(uuid4, RanksManager.TRUSTED_RANK);
         when(oldIsland.getMembers()).thenReturn(map);
@@ -227,7 +226,7 @@ public class AdminUnregisterCommandTest {
         UUID targetUUID = UUID.randomUUID();
         itl.unregisterPlayer(user, "name", targetUUID);
         verify(user).sendMessage("commands.admin.unregister.unregistered-island", TextVariables.XYZ, "1,2,3", TextVariables.NAME, "name");
-        assertTrue(map.isEmpty());
+        verify(oldIsland).setMembers(new HashMap<>());
         verify(im).removePlayer(any(), eq(uuid1));
         verify(im).removePlayer(any(), eq(uuid2));
         verify(im).removePlayer(any(), eq(uuid3));
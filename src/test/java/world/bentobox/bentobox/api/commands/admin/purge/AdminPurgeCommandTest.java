@@ -89,7 +89,7 @@ public class AdminPurgeCommandTest {
         // Island manager
         when(plugin.getIslands()).thenReturn(im);
         // No islands by default
-        when(im.getIslands()).thenReturn(Collections.emptyList());
+        when(im.getIslands(any(World.class))).thenReturn(Collections.emptyList());
 
         // IWM
         IslandWorldManager iwm = mock(IslandWorldManager.class);
@@ -185,7 +185,7 @@ public class AdminPurgeCommandTest {
     @Test
     public void testExecuteUserStringListOfStringNoIslandsPurgeProtected() {
         when(island.getPurgeProtected()).thenReturn(true);
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("0"));
     }
@@ -197,7 +197,7 @@ public class AdminPurgeCommandTest {
     public void testExecuteUserStringListOfStringNoIslandsWrongWorld() {
         when(island.getPurgeProtected()).thenReturn(false);
         when(island.getWorld()).thenReturn(mock(World.class));
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("0"));
     }
@@ -212,7 +212,7 @@ public class AdminPurgeCommandTest {
         when(island.getOwner()).thenReturn(null);
         when(island.isUnowned()).thenReturn(true);
         when(island.isOwned()).thenReturn(false);
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("0"));
     }
@@ -225,7 +225,7 @@ public class AdminPurgeCommandTest {
         when(island.getPurgeProtected()).thenReturn(false);
         when(island.getWorld()).thenReturn(world);
         when(island.isSpawn()).thenReturn(true);
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("0"));
     }
@@ -242,7 +242,7 @@ public class AdminPurgeCommandTest {
         team.put(UUID.randomUUID(), RanksManager.OWNER_RANK);
         team.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
         when(island.getMembers()).thenReturn(team);
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("0"));
     }
@@ -258,7 +258,7 @@ public class AdminPurgeCommandTest {
         Map<UUID, Integer> team = new HashMap<>();
         team.put(UUID.randomUUID(), RanksManager.OWNER_RANK);
         when(island.getMembers()).thenReturn(team);
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         PowerMockito.mockStatic(Bukkit.class);
         OfflinePlayer op = mock(OfflinePlayer.class);
         when(op.getLastPlayed()).thenReturn(System.currentTimeMillis());
@@ -279,7 +279,7 @@ public class AdminPurgeCommandTest {
         Map<UUID, Integer> team = new HashMap<>();
         team.put(UUID.randomUUID(), RanksManager.OWNER_RANK);
         when(island.getMembers()).thenReturn(team);
-        when(im.getIslands()).thenReturn(Collections.singleton(island));
+        when(im.getIslands(any(World.class))).thenReturn(Collections.singleton(island));
         PowerMockito.mockStatic(Bukkit.class);
         OfflinePlayer op = mock(OfflinePlayer.class);
         when(op.getLastPlayed()).thenReturn(0L);
@@ -0,0 +1,145 @@
+package world.bentobox.bentobox.api.flags;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.api.flags.FlagListener.Why;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class FlagDecisionCacheTest {
+
+    private static final long EXPIRY = 10000L;
+
+    private FlagDecisionCache cache;
+    @Mock
+    private Island island;
+    @Mock
+    private Island island2;
+    @Mock
+    private Flag flag;
+    @Mock
+    private Flag flag2;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        cache = new FlagDecisionCache();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#get(world.bentobox.bentobox.database.objects.Island, world.bentobox.bentobox.api.flags.Flag)}.
+     */
+    @Test
+    public void testGetEmpty() {
+        assertNull(cache.get(island, flag));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#put(world.bentobox.bentobox.database.objects.Island, world.bentobox.bentobox.api.flags.Flag, Why, long)}.
+     */
+    @Test
+    public void testPutGet() {
+        cache.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        cache.put(island, flag2, Why.NOT_ALLOWED_ON_ISLAND, EXPIRY);
+        assertEquals(Why.RANK_ALLOWED, cache.get(island, flag));
+        assertEquals(Why.NOT_ALLOWED_ON_ISLAND, cache.get(island, flag2));
+        assertNull(cache.get(island2, flag));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#get(world.bentobox.bentobox.database.objects.Island, world.bentobox.bentobox.api.flags.Flag)}.
+     */
+    @Test
+    public void testGetExpired() {
+        cache.put(island, flag, Why.RANK_ALLOWED, -1L);
+        assertNull(cache.get(island, flag));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#invalidateAll()}.
+     */
+    @Test
+    public void testInvalidateAll() {
+        FlagDecisionCache other = new FlagDecisionCache();
+        cache.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        other.put(island2, flag, Why.BYPASS_ISLAND, EXPIRY);
+        FlagDecisionCache.invalidateAll();
+        assertNull(cache.get(island, flag));
+        assertNull(other.get(island2, flag));
+        // New decisions are cached again
+        cache.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        assertEquals(Why.RANK_ALLOWED, cache.get(island, flag));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#get(world.bentobox.bentobox.database.objects.Island, world.bentobox.bentobox.api.flags.Flag)}.
+     */
+    @Test
+    public void testGetIslandChanged() {
+        FlagDecisionCache other = new FlagDecisionCache();
+        cache.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        cache.put(island2, flag, Why.RANK_ALLOWED, EXPIRY);
+        other.put(island, flag2, Why.BYPASS_ISLAND, EXPIRY);
+        // Ranks or flags on one island change
+        when(island.getProtectionVersion()).thenReturn(1L);
+        assertNull(cache.get(island, flag));
+        assertNull(other.get(island, flag2));
+        // Decisions on other islands are kept
+        assertEquals(Why.RANK_ALLOWED, cache.get(island2, flag));
+        // New decisions are cached again
+        cache.put(island, flag, Why.NOT_ALLOWED_ON_ISLAND, EXPIRY);
+        assertEquals(Why.NOT_ALLOWED_ON_ISLAND, cache.get(island, flag));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#clear()}.
+     */
+    @Test
+    public void testClear() {
+        FlagDecisionCache other = new FlagDecisionCache();
+        cache.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        other.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        cache.clear();
+        assertNull(cache.get(island, flag));
+        assertEquals(Why.RANK_ALLOWED, other.get(island, flag));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.FlagDecisionCache#getHits()}.
+     */
+    @Test
+    public void testHitsAndMisses() {
+        long hits = FlagDecisionCache.getHits();
+        long misses = FlagDecisionCache.getMisses();
+        assertNull(cache.get(island, flag));
+        cache.put(island, flag, Why.RANK_ALLOWED, EXPIRY);
+        cache.get(island, flag);
+        cache.get(island, flag);
+        assertEquals(hits + 2, FlagDecisionCache.getHits());
+        assertEquals(misses + 1, FlagDecisionCache.getMisses());
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -137,6 +138,18 @@ public class FlagTest {
         assertEquals("flagID", f.getID());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.flags.Flag#getBypassEverywherePermission(String)}.
+     */
+    @Test
+    public void testGetBypassPermissions() {
+        assertEquals("bskyblock.mod.bypass.flagID.everywhere", f.getBypassEverywherePermission("bskyblock."));
+        assertEquals("bskyblock.mod.bypass.flagID.island", f.getBypassIslandPermission("bskyblock."));
+        assertEquals("acidisland.mod.bypass.flagID.island", f.getBypassIslandPermission("acidisland."));
+        // Nodes are built once per prefix
+        assertSame(f.getBypassEverywherePermission("bskyblock."), f.getBypassEverywherePermission("bskyblock."));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.flags.Flag#getIcon()}.
      */
@@ -0,0 +1,131 @@
+package world.bentobox.bentobox.api.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.ChatColor;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class TranslationTemplateTest {
+
+    private static final Supplier<String> NO_WORLD = () -> null;
+    private static final Function<String, String> NO_PREFIXES = p -> null;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        TranslationTemplate.clearCache();
+    }
+
+    /**
+     * How messages were made before templates
+     */
+    private String replace(String text, String... variables) {
+        for (int i = 0; i + 1 < variables.length; i += 2) {
+            text = text.replace(variables[i], variables[i + 1]);
+        }
+        return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', text));
+    }
+
+    private void assertSameAsReplace(String text, String... variables) {
+        assertEquals(replace(text, variables), TranslationTemplate.get(text).render(variables, NO_WORLD, null));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#render(String[], Supplier, UnaryOperator)}.
+     */
+    @Test
+    public void testRenderColors() {
+        assertSameAsReplace("&cRed &lbold&r and plain");
+        assertSameAsReplace("&a Spaces  after &b  codes & not &z or &&c or trailing &");
+        assertSameAsReplace(ChatColor.COLOR_CHAR + "6 Hello there");
+        assertSameAsReplace("&a\n line &b\tTab");
+        assertSameAsReplace("");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#render(String[], Supplier, UnaryOperator)}.
+     */
+    @Test
+    public void testRenderVariables() {
+        assertSameAsReplace("&a[name] has [number] islands, [name]!", TextVariables.NAME, "tastybento", TextVariables.NUMBER, "3");
+        assertSameAsReplace("&a[name] &b[missing] [[name]] [name", TextVariables.NAME, "tasty");
+        // Colors across the edges of the variables
+        assertSameAsReplace("Name: &[name]&a[number]", TextVariables.NAME, "c Red", TextVariables.NUMBER, " 5");
+        assertSameAsReplace("[name]c", TextVariables.NAME, "&");
+        // The first pair is used
+        assertSameAsReplace("[name]", TextVariables.NAME, "first", TextVariables.NAME, "second");
+        // Not a variable in square brackets
+        assertSameAsReplace("Hello %s and [name]", "%s", "you", TextVariables.NAME, "me");
+        assertSameAsReplace("Hello [name] and [name]]", "[name]]", "you");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#get(String)}.
+     */
+    @Test
+    public void testGetCached() {
+        TranslationTemplate template = TranslationTemplate.get("&aHello [name]");
+        assertSame(template, TranslationTemplate.get("&aHello [name]"));
+        TranslationTemplate.clearCache();
+        assertFalse(template == TranslationTemplate.get("&aHello [name]"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#get(String, Locale, String, Function)}.
+     */
+    @Test
+    public void testGetPrefixes() {
+        String text = "[prefix_bentobox][prefix_island]&a[name] [prefix_unknown]";
+        assertTrue(TranslationTemplate.hasPrefixes(text));
+        Function<String, String> prefixes = p -> p.equals("bentobox") ? "&6BentoBox &7| " : p.equals("island") ? "&b[friendly_name] [gamemode] &7| " : null;
+        TranslationTemplate template = TranslationTemplate.get(text, Locale.US, "BSkyBlock", prefixes);
+        assertEquals(ChatColor.COLOR_CHAR + "6BentoBox " + ChatColor.COLOR_CHAR + "7| " + ChatColor.COLOR_CHAR + "bSkyblock [gamemode] "
+                + ChatColor.COLOR_CHAR + "7| " + ChatColor.COLOR_CHAR + "atasty [prefix_unknown]",
+                template.render(new String[] {TextVariables.NAME, "tasty"}, () -> "Skyblock", null));
+        // Not in a world
+        assertEquals(ChatColor.COLOR_CHAR + "6BentoBox " + ChatColor.COLOR_CHAR + "7| " + ChatColor.COLOR_CHAR + "bworld [gamemode] "
+                + ChatColor.COLOR_CHAR + "7| " + ChatColor.COLOR_CHAR + "atasty [prefix_unknown]",
+                template.render(new String[] {TextVariables.NAME, "tasty", "[friendly_name]", "world"}, NO_WORLD, null));
+        // Prefixes are looked up once
+        assertSame(template, TranslationTemplate.get(text, Locale.US, "BSkyBlock", p -> { throw new IllegalStateException(); }));
+        // Other locales and game modes have their own templates
+        assertFalse(template == TranslationTemplate.get(text, Locale.GERMANY, "BSkyBlock", prefixes));
+        assertFalse(template == TranslationTemplate.get(text, Locale.US, "AcidIsland", prefixes));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.localization.TranslationTemplate#render(String[], Supplier, UnaryOperator)}.
+     */
+    @Test
+    public void testRenderPlaceholders() {
+        UnaryOperator<String> placeholders = s -> s.replace("%player_name%", "&ctasty");
+        String[] values = {TextVariables.NAME, "%player_name%"};
+        // Placeholders are replaced before the colors
+        assertEquals(ChatColor.COLOR_CHAR + "aHi " + ChatColor.COLOR_CHAR + "ctasty", TranslationTemplate.get("&aHi %player_name%").render(new String[0], NO_WORLD, placeholders));
+        assertEquals(ChatColor.COLOR_CHAR + "aHi " + ChatColor.COLOR_CHAR + "ctasty", TranslationTemplate.get("&aHi [name]").render(values, NO_WORLD, placeholders));
+        // Not a player
+        assertEquals(ChatColor.COLOR_CHAR + "aHi %player_name%", TranslationTemplate.get("&aHi %player_name%").render(new String[0], NO_WORLD, null));
+        // No placeholders
+        assertEquals(ChatColor.COLOR_CHAR + "aHi", TranslationTemplate.get("&aHi").render(new String[0], NO_WORLD, s -> { throw new IllegalStateException(); }));
+    }
+}
@@ -0,0 +1,104 @@
+package world.bentobox.bentobox.api.panels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class PanelItemSourceTest {
+
+    private List<Integer> entries;
+    /**
+     * Entries that panel items were made for
+     */
+    private List<Integer> made;
+    private Map<Integer, PanelItem> items;
+    private PanelItemSource source;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        entries = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        made = new ArrayList<>();
+        items = new HashMap<>();
+        source = PanelItemSource.of(entries, e -> {
+            made.add(e);
+            return items.computeIfAbsent(e, k -> mock(PanelItem.class));
+        });
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.PanelItemSource#size()}.
+     */
+    @Test
+    public void testSize() {
+        assertEquals(100, source.size());
+        // Nothing is made to know the size
+        assertTrue(made.isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.PanelItemSource#getItems(int, int)}.
+     */
+    @Test
+    public void testGetItemsOnlyMakesPage() {
+        List<PanelItem> page = source.getItems(36, 36);
+        assertEquals(36, page.size());
+        assertSame(items.get(36), page.get(0));
+        assertSame(items.get(71), page.get(35));
+        assertEquals(IntStream.range(36, 72).boxed().collect(Collectors.toList()), made);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.PanelItemSource#getItems(int, int)}.
+     */
+    @Test
+    public void testGetItemsMadeOnce() {
+        source.getItems(0, 36);
+        source.getItems(36, 36);
+        List<PanelItem> page = source.getItems(0, 36);
+        assertEquals(72, made.size());
+        assertSame(items.get(0), page.get(0));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.PanelItemSource#getItems(int, int)}.
+     */
+    @Test
+    public void testGetItemsLastPage() {
+        assertEquals(28, source.getItems(72, 36).size());
+        assertTrue(source.getItems(108, 36).isEmpty());
+        assertEquals(100, source.getItems(0, Integer.MAX_VALUE).size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.PanelItemSource#of(List)}.
+     */
+    @Test
+    public void testOfItems() {
+        PanelItem item1 = mock(PanelItem.class);
+        PanelItem item2 = mock(PanelItem.class);
+        PanelItemSource s = PanelItemSource.of(Arrays.asList(item1, null, item2));
+        // Null items are left out
+        assertEquals(2, s.size());
+        assertEquals(Arrays.asList(item1, item2), s.getItems(0, 36));
+        assertEquals(Arrays.asList(item2), s.getItems(1, 36));
+    }
+}
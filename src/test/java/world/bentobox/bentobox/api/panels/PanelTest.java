@@ -18,13 +18,13 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.Server;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.junit.After;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -35,6 +35,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.listeners.PanelListenerManager;
 import world.bentobox.bentobox.util.heads.HeadGetter;
 
 /**
@@ -82,6 +83,7 @@ public class PanelTest {
      */
     @After
     public void tearDown() {
+        PanelListenerManager.getOpenPanels().clear();
         Mockito.framework().clearInlineMocks();
     }
 
@@ -294,9 +296,137 @@ public class PanelTest {
      * Test method for {@link world.bentobox.bentobox.api.panels.Panel#setHead(world.bentobox.bentobox.api.panels.PanelItem)}.
      */
     @Test
-    @Ignore("New test required for new code")
     public void testSetHead() {
+        when(inv.getSize()).thenReturn(18);
+        ItemStack head = stack();
+        PanelItem item = mock(PanelItem.class);
+        when(item.getItem()).thenReturn(head);
+        items = new HashMap<>();
+        items.put(3, item);
+        Panel p = new Panel(name, items, 10, user, listener);
+        verify(inv).setItem(3, head);
+        // The head is put on the item
+        ItemStack texturedHead = stack();
+        when(item.getItem()).thenReturn(texturedHead);
+        p.setHead(item);
+        verify(inv).setItem(3, texturedHead);
+        // Nothing changed
+        p.setHead(item);
+        verify(inv).setItem(3, texturedHead);
+        // Items not in the panel are not set
+        p.setHead(mock(PanelItem.class));
+        verify(inv, times(2)).setItem(anyInt(), any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.Panel#makePanel(String, Map, int, User, PanelListener)}.
+     */
+    @Test
+    public void testMakePanelRefreshOnlyChangedSlots() {
+        when(inv.getSize()).thenReturn(18);
+        ItemStack stone = stack();
+        ItemStack dirt = stack();
+        ItemStack grass = stack();
+        items = new HashMap<>();
+        items.put(0, item(stone));
+        items.put(1, item(dirt));
+        items.put(2, item(grass));
+        Panel p = new Panel(name, items, 10, user, listener);
+        verify(inv, times(3)).setItem(anyInt(), any());
+
+        // Refresh with slot 1 changed and slot 2 gone
+        Map<Integer, PanelItem> newItems = new HashMap<>();
+        newItems.put(0, item(stone));
+        newItems.put(1, item(grass));
+        p.makePanel(name, newItems, 10, user, listener);
+
+        // The inventory is not made again or opened again
+        PowerMockito.verifyStatic(Bukkit.class, VerificationModeFactory.times(1));
+        Bukkit.createInventory(eq(null), eq(18), eq(name));
+        verify(player).openInventory(inv);
+        verify(listener, times(2)).setup();
+        // Only the changed slots are set
+        verify(inv).setItem(0, stone);
+        verify(inv).setItem(1, grass);
+        verify(inv).setItem(2, null);
+        verify(inv, times(5)).setItem(anyInt(), any());
+        assertEquals(newItems, p.getItems());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.Panel#makePanel(String, Map, int, User, PanelListener)}.
+     */
+    @Test
+    public void testMakePanelRefreshNewName() {
+        when(inv.getSize()).thenReturn(18);
+        Panel p = new Panel(name, items, 10, user, listener);
+        p.makePanel("other", items, 10, user, listener);
+        PowerMockito.verifyStatic(Bukkit.class, VerificationModeFactory.times(1));
+        Bukkit.createInventory(eq(null), eq(18), eq("other"));
+        verify(player, times(2)).openInventory(inv);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.Panel#makePanel(String, Map, int, User, PanelListener)}.
+     */
+    @Test
+    public void testMakePanelRefreshClosed() {
+        when(inv.getSize()).thenReturn(18);
+        Panel p = new Panel(name, items, 10, user, listener);
+        // Player closed the panel
+        PanelListenerManager.getOpenPanels().clear();
+        p.makePanel(name, items, 10, user, listener);
+        PowerMockito.verifyStatic(Bukkit.class, VerificationModeFactory.times(2));
+        Bukkit.createInventory(eq(null), eq(18), eq(name));
+        verify(player, times(2)).openInventory(inv);
+    }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.Panel#makePanel(String, Map, int, User, PanelListener)}.
+     */
+    @Test
+    public void testMakePanelRefreshSameHash() {
+        when(inv.getSize()).thenReturn(18);
+        ItemStack stone = new SameHashItemStack(Material.STONE);
+        ItemStack dirt = new SameHashItemStack(Material.DIRT);
+        items = new HashMap<>();
+        items.put(0, item(stone));
+        Panel p = new Panel(name, items, 10, user, listener);
+        verify(inv).setItem(0, stone);
+        // A different item with the same hash is still set
+        Map<Integer, PanelItem> newItems = new HashMap<>();
+        newItems.put(0, item(dirt));
+        p.makePanel(name, newItems, 10, user, listener);
+        verify(inv).setItem(0, dirt);
+    }
+
+    /**
+     * Item stack whose hash is the same as every other one's
+     */
+    private static class SameHashItemStack extends ItemStack {
+        SameHashItemStack(Material type) {
+            super(type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    /**
+     * @return mock item stack that is equal to its copies
+     */
+    private ItemStack stack() {
+        ItemStack itemStack = mock(ItemStack.class);
+        when(itemStack.clone()).thenReturn(itemStack);
+        return itemStack;
+    }
+
+    private PanelItem item(ItemStack itemStack) {
+        PanelItem item = mock(PanelItem.class);
+        when(item.getItem()).thenReturn(itemStack);
+        return item;
     }
 
     /**
@@ -0,0 +1,279 @@
+package world.bentobox.bentobox.api.panels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.panels.builders.TabbedPanelBuilder;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.listeners.PanelListenerManager;
+import world.bentobox.bentobox.util.heads.HeadGetter;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ Bukkit.class, BentoBox.class, HeadGetter.class })
+public class TabbedPanelTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private User user;
+    @Mock
+    private Player player;
+    @Mock
+    private Inventory inv;
+    @Mock
+    private Tab tab;
+    @Mock
+    private Tab otherTab;
+
+    /**
+     * Entries that panel items were made for
+     */
+    private List<Integer> made;
+    private Map<Integer, PanelItem> items;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Plugin
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        Settings settings = mock(Settings.class);
+        when(settings.getPanelFillerMaterial()).thenReturn(Material.LIGHT_BLUE_STAINED_GLASS_PANE);
+        when(plugin.getSettings()).thenReturn(settings);
+
+        // Server & Bukkit
+        Server server = mock(Server.class);
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getServer()).thenReturn(server);
+        when(Bukkit.createInventory(any(), anyInt(), anyString())).thenReturn(inv);
+        when(inv.getSize()).thenReturn(54);
+        ItemFactory itemFactory = mock(ItemFactory.class);
+        when(itemFactory.getItemMeta(any())).thenReturn(mock(ItemMeta.class));
+        when(Bukkit.getItemFactory()).thenReturn(itemFactory);
+
+        // Head getter
+        PowerMockito.mockStatic(HeadGetter.class);
+
+        // User
+        when(user.getPlayer()).thenReturn(player);
+        when(user.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(user.hasPermission(anyString())).thenReturn(true);
+        when(user.getTranslation(anyString())).thenAnswer((Answer<String>) invocation -> invocation.getArgument(0, String.class));
+
+        // Tabs
+        made = new ArrayList<>();
+        items = new HashMap<>();
+        setUpTab(tab, "tab", 100);
+        setUpTab(otherTab, "other", 10);
+    }
+
+    /**
+     * @param t - tab
+     * @param name - name of the tab
+     * @param size - number of entries in the tab
+     */
+    private void setUpTab(Tab t, String name, int size) {
+        PanelItem icon = mock(PanelItem.class);
+        when(icon.getItem()).thenReturn(mock(ItemStack.class));
+        when(t.getIcon()).thenReturn(icon);
+        when(t.getName()).thenReturn(name);
+        when(t.getPermission()).thenReturn("");
+        List<Integer> entries = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        // A new source is made every time one is asked for
+        when(t.getPanelItemSource()).thenAnswer(invocation -> PanelItemSource.of(entries, e -> {
+            made.add(e);
+            PanelItem item = mock(PanelItem.class);
+            when(item.getItem()).thenReturn(mock(ItemStack.class));
+            items.put(e, item);
+            return item;
+        }));
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() {
+        PanelListenerManager.getOpenPanels().clear();
+        Mockito.framework().clearInlineMocks();
+    }
+
+    private TabbedPanel open() {
+        TabbedPanel tp = new TabbedPanelBuilder().user(user).size(54).tab(0, tab).tab(1, otherTab).build();
+        tp.openPanel();
+        return tp;
+    }
+
+    /**
+     * Clicks on the slot in the same order as the {@link PanelListenerManager}
+     * @param tp - tabbed panel
+     * @param slot - slot clicked
+     */
+    private void click(TabbedPanel tp, int slot) {
+        InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getRawSlot()).thenReturn(slot);
+        when(event.getSlot()).thenReturn(slot);
+        when(event.isLeftClick()).thenReturn(true);
+        PanelItem pi = tp.getItems().get(slot);
+        if (pi != null) {
+            pi.getClickHandler().ifPresent(handler -> handler.onClick(tp, user, ClickType.LEFT, slot));
+        }
+        tp.onInventoryClick(user, event);
+        tp.refreshPanel();
+    }
+
+    /**
+     * @param tp - tabbed panel
+     * @param slot - slot
+     * @return true if the item in the slot turns the page
+     */
+    private boolean isArrow(TabbedPanel tp, int slot) {
+        return tp.getItems().get(slot).getClickHandler().isPresent();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.TabbedPanel#openPanel(int, int)}.
+     */
+    @Test
+    public void testOpenPanelFirstPage() {
+        TabbedPanel tp = open();
+        // Only the first page of items is made
+        assertEquals(IntStream.range(0, 36).boxed().collect(Collectors.toList()), made);
+        assertSame(items.get(0), tp.getItems().get(9));
+        assertSame(items.get(35), tp.getItems().get(44));
+        assertFalse(isArrow(tp, 46));
+        assertTrue(isArrow(tp, 52));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.TabbedPanel#openPanel(int, int)}.
+     */
+    @Test
+    public void testOpenPanelLastPage() {
+        TabbedPanel tp = open();
+        made.clear();
+        tp.openPanel(0, 2);
+        // Items 72 to 99
+        assertEquals(IntStream.range(72, 100).boxed().collect(Collectors.toList()), made);
+        assertSame(items.get(72), tp.getItems().get(9));
+        assertSame(items.get(99), tp.getItems().get(36));
+        assertFalse(tp.getItems().containsKey(37));
+        assertTrue(isArrow(tp, 46));
+        assertFalse(isArrow(tp, 52));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.TabbedPanel#openPanel(int, int)}.
+     */
+    @Test
+    public void testOpenPanelExactPages() {
+        setUpTab(tab, "tab", 72);
+        TabbedPanel tp = open();
+        tp.openPanel(0, 1);
+        assertSame(items.get(71), tp.getItems().get(44));
+        // There is no page after a full last page
+        assertTrue(isArrow(tp, 46));
+        assertFalse(isArrow(tp, 52));
+        // A page past the end is empty
+        made.clear();
+        tp.openPanel(0, 2);
+        assertTrue(made.isEmpty());
+        assertFalse(tp.getItems().containsKey(9));
+        assertTrue(isArrow(tp, 46));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.TabbedPanel#onInventoryClick(User, InventoryClickEvent)}.
+     */
+    @Test
+    public void testOnInventoryClickTurnPages() {
+        TabbedPanel tp = open();
+        click(tp, 52);
+        assertEquals(1, tp.getActivePage());
+        assertSame(items.get(36), tp.getItems().get(9));
+        click(tp, 52);
+        assertEquals(2, tp.getActivePage());
+        click(tp, 46);
+        assertEquals(1, tp.getActivePage());
+        // The same source is used for every page, so each item is only made once
+        verify(tab, times(1)).getPanelItemSource();
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), made);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.TabbedPanel#onInventoryClick(User, InventoryClickEvent)}.
+     */
+    @Test
+    public void testOnInventoryClickItem() {
+        TabbedPanel tp = open();
+        click(tp, 52);
+        // Clicking an item may change it, so the items are made again
+        click(tp, 20);
+        assertEquals(1, tp.getActivePage());
+        verify(tab, times(2)).getPanelItemSource();
+        assertEquals(108, made.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.panels.TabbedPanel#onInventoryClick(User, InventoryClickEvent)}.
+     */
+    @Test
+    public void testOnInventoryClickTabs() {
+        TabbedPanel tp = open();
+        click(tp, 1);
+        assertSame(otherTab, tp.getActiveTab());
+        assertEquals(0, tp.getActivePage());
+        verify(otherTab, times(1)).getPanelItemSource();
+        assertSame(items.get(9), tp.getItems().get(18));
+        // Going back to the first tab gets its items again
+        click(tp, 0);
+        assertSame(tab, tp.getActiveTab());
+        verify(tab, times(2)).getPanelItemSource();
+    }
+}
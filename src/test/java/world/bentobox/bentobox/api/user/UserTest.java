@@ -600,6 +600,47 @@ public class UserTest {
         assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
     }
 
+    /**
+     * Test for {@link User#getPermissionValue(String, int)}
+     */
+    @Test
+    public void testGetPermissionValueCached() {
+        User.clearUsers();
+        PermissionAttachmentInfo pai = mock(PermissionAttachmentInfo.class);
+        when(pai.getPermission()).thenReturn("bskyblock.max.3");
+        when(pai.getValue()).thenReturn(true);
+        when(player.getEffectivePermissions()).thenReturn(Collections.singleton(pai));
+        User u = User.getInstance(player);
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        assertEquals(3, u.getPermissionValue("bskyblock.max.", 22));
+        // The default is applied each time
+        assertEquals(5, u.getPermissionValue("bskyblock.other", 5));
+        assertEquals(6, u.getPermissionValue("bskyblock.other", 6));
+        verify(player, times(2)).getEffectivePermissions();
+    }
+
+    /**
+     * Test for {@link User#clearPermissionValues()}
+     */
+    @Test
+    public void testClearPermissionValues() {
+        User.clearUsers();
+        PermissionAttachmentInfo pai = mock(PermissionAttachmentInfo.class);
+        when(pai.getPermission()).thenReturn("bskyblock.max.3");
+        when(pai.getValue()).thenReturn(true);
+        when(player.getEffectivePermissions()).thenReturn(Collections.singleton(pai));
+        User u = User.getInstance(player);
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        when(pai.getPermission()).thenReturn("bskyblock.max.9");
+        assertEquals(3, u.getPermissionValue("bskyblock.max", 22));
+        // Permissions changed
+        u.clearPermissionValues();
+        assertEquals(9, u.getPermissionValue("bskyblock.max", 22));
+        when(pai.getPermission()).thenReturn("bskyblock.max.12");
+        u.addPerm("bskyblock.max.12");
+        assertEquals(12, u.getPermissionValue("bskyblock.max", 22));
+    }
+
     @Test
     public void testMetaData() {
         User u = User.getInstance(player);
@@ -0,0 +1,208 @@
+package world.bentobox.bentobox.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.commands.CompositeCommand;
+import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.AbstractDatabaseHandler;
+import world.bentobox.bentobox.database.Database;
+import world.bentobox.bentobox.database.DatabaseSetup;
+import world.bentobox.bentobox.database.objects.Names;
+import world.bentobox.bentobox.managers.AddonsManager;
+import world.bentobox.bentobox.managers.CommandsManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class, BentoBox.class, DatabaseSetup.class})
+public class BentoBoxStorageCommandTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private CompositeCommand ac;
+    @Mock
+    private User user;
+    @Mock
+    private AddonsManager am;
+    @Mock
+    private BukkitScheduler sch;
+    @Mock
+    private DatabaseSetup dbSetup;
+    @Mock
+    private AbstractDatabaseHandler<Object> handler;
+    @Mock
+    private AbstractDatabaseHandler<Names> namesHandler;
+    private BentoBoxStorageCommand storage;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Set up plugin
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        when(plugin.getLogger()).thenReturn(mock(Logger.class));
+
+        // Command manager
+        CommandsManager cm = mock(CommandsManager.class);
+        when(plugin.getCommandsManager()).thenReturn(cm);
+        // Parent command has no aliases
+        when(ac.getSubCommandAliases()).thenReturn(new HashMap<>());
+        // No addon tables
+        when(plugin.getAddonsManager()).thenReturn(am);
+        when(am.getDataObjects()).thenReturn(Collections.emptyList());
+
+        // Settings
+        Settings settings = mock(Settings.class);
+        when(plugin.getSettings()).thenReturn(settings);
+
+        // Scheduler
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+
+        // Database
+        PowerMockito.mockStatic(DatabaseSetup.class);
+        when(dbSetup.getHandler(any())).thenReturn(handler);
+        when(dbSetup.getHandler(Names.class)).thenReturn(namesHandler);
+        Whitebox.setInternalState(Database.class, "databaseSetup", dbSetup);
+        when(handler.loadObjects()).thenReturn(new ArrayList<>());
+        when(namesHandler.loadObjects()).thenReturn(Arrays.asList(new Names("tasty", UUID.randomUUID()), new Names("bento", UUID.randomUUID())));
+
+        // User
+        when(user.getTranslation(anyString())).thenAnswer((Answer<String>) invocation -> invocation.getArgument(0, String.class));
+
+        // Command
+        storage = new BentoBoxStorageCommand(ac);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * @param times - number of tasks run async so far
+     * @return the last task run async
+     */
+    private Runnable getAsyncTask(int times) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch, times(times)).runTaskAsynchronously(eq(plugin), task.capture());
+        return task.getValue();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.commands.BentoBoxStorageCommand#setup()}.
+     */
+    @Test
+    public void testSetup() {
+        assertEquals("bentobox.admin.storage", storage.getPermission());
+        assertEquals("commands.bentobox.storage.description", storage.getDescription());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.commands.BentoBoxStorageCommand#execute(User, String, List)}.
+     */
+    @Test
+    public void testExecute() {
+        assertTrue(storage.execute(user, "", Collections.emptyList()));
+        verify(user).sendMessage("commands.bentobox.storage.calculating");
+        getAsyncTask(1).run();
+        // Results are sent on the main thread
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch).runTask(eq(plugin), task.capture());
+        task.getValue().run();
+        verify(user).sendMessage("commands.bentobox.storage.header", "[type]", "commands.bentobox.storage.pretty");
+        verify(user).sendMessage(eq("commands.bentobox.storage.table"), eq(TextVariables.NAME), eq("Names"), eq(TextVariables.NUMBER), eq("2"),
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(user).sendMessage(eq("commands.bentobox.storage.table"), eq(TextVariables.NAME), eq("Island"), eq(TextVariables.NUMBER), eq("0"),
+                eq("[pretty]"), eq("0 B"), eq("[compact]"), eq("0 B"), eq("[saving]"), eq("0"));
+        verify(user).sendMessage(eq("commands.bentobox.storage.total"), anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.commands.BentoBoxStorageCommand#execute(User, String, List)}.
+     */
+    @Test
+    public void testExecuteAlreadyRunning() {
+        assertTrue(storage.execute(user, "", Collections.emptyList()));
+        assertFalse(storage.execute(user, "", Collections.emptyList()));
+        verify(user).sendMessage("commands.bentobox.storage.already-running");
+        // Can run again once the tables have been read
+        getAsyncTask(1).run();
+        assertTrue(storage.execute(user, "", Collections.emptyList()));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.commands.BentoBoxStorageCommand#execute(User, String, List)}.
+     */
+    @Test
+    public void testExecuteReusesDatabases() throws Exception {
+        storage.execute(user, "", Collections.emptyList());
+        getAsyncTask(1).run();
+        storage.execute(user, "", Collections.emptyList());
+        getAsyncTask(2).run();
+        // Each table's handler is only made once
+        verify(dbSetup).getHandler(Names.class);
+        verify(namesHandler, times(2)).loadObjects();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.commands.BentoBoxStorageCommand#execute(User, String, List)}.
+     */
+    @Test
+    public void testExecuteError() throws Exception {
+        when(namesHandler.loadObjects()).thenThrow(new IllegalStateException("broken"));
+        assertTrue(storage.execute(user, "", Collections.emptyList()));
+        try {
+            getAsyncTask(1).run();
+            fail("Reading the table failed");
+        } catch (IllegalStateException e) {
+            assertEquals("broken", e.getMessage());
+        }
+        // The command can still be run
+        assertTrue(storage.execute(user, "", Collections.emptyList()));
+        verify(user, Mockito.never()).sendMessage("commands.bentobox.storage.already-running");
+    }
+}
@@ -2,13 +2,17 @@ package world.bentobox.bentobox.database;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.framework;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,9 +22,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,7 +49,7 @@ import world.bentobox.bentobox.database.objects.Island;
  *
  */
 @RunWith(PowerMockRunner.class)
-@PrepareForTest( {BentoBox.class, DatabaseSetup.class} )
+@PrepareForTest( {BentoBox.class, DatabaseSetup.class, Bukkit.class} )
 public class DatabaseTest {
 
     @Mock
@@ -195,6 +202,104 @@ public class DatabaseTest {
 
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#saveObjectAsync(java.lang.Object)}.
+     * @throws Exception
+     */
+    @Test
+    public void testSaveObjectAsyncCoalesced() throws Exception {
+        when(plugin.isEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        when(island.getUniqueId()).thenReturn("island1");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        CompletableFuture<Boolean> first = db.saveObjectAsync(island);
+        CompletableFuture<Boolean> second = db.saveObjectAsync(island);
+        assertTrue(db.objectExists("island1"));
+        verify(handler, never()).saveObject(any());
+        // Saved once on the next tick
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch).runTask(eq(plugin), task.capture());
+        task.getValue().run();
+        verify(handler, times(1)).saveObject(eq(island));
+        assertTrue(first.get());
+        assertTrue(second.get());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#deleteID(java.lang.String)}.
+     * @throws Exception
+     */
+    @Test
+    public void testDeleteIDCancelsSave() throws Exception {
+        when(plugin.isEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        when(island.getUniqueId()).thenReturn("island1");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        CompletableFuture<Boolean> result = db.saveObjectAsync(island);
+        db.deleteID("island1");
+        assertFalse(result.get());
+        Database.flushAll();
+        verify(handler, never()).saveObject(any());
+        verify(handler).deleteID("island1");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#loadObject(java.lang.String)}.
+     * @throws Exception
+     */
+    @Test
+    public void testLoadObjectPendingSave() throws Exception {
+        when(plugin.isEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+        Island saved = mock(Island.class);
+        when(saved.getUniqueId()).thenReturn("island1");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        db.saveObjectAsync(saved);
+        // The object waiting to be saved is loaded, not what is in the database
+        assertSame(saved, db.loadObject("island1"));
+        verify(handler, never()).loadObject(anyString());
+        assertEquals(island, db.loadObject("island2"));
+        Database.flushAll();
+        assertEquals(island, db.loadObject("island1"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#loadObjects()}.
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadObjectsPendingSave() throws Exception {
+        when(plugin.isEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+        when(((Island)objectList.get(0)).getUniqueId()).thenReturn("island1");
+        Island saved = mock(Island.class);
+        when(saved.getUniqueId()).thenReturn("island1");
+        Island added = mock(Island.class);
+        when(added.getUniqueId()).thenReturn("island2");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        db.saveObjectAsync(saved);
+        db.saveObjectAsync(added);
+        List<Island> result = db.loadObjects();
+        // The saved object replaces the one in the database and the new one is added
+        assertEquals(5, result.size());
+        assertSame(saved, result.get(0));
+        assertEquals(objectList.subList(1, 4), result.subList(1, 4));
+        assertSame(added, result.get(4));
+        // Same when given one by one
+        doCallRealMethod().when(handler).loadObjects(any(Consumer.class));
+        List<Island> given = new ArrayList<>();
+        db.loadObjects(given::add);
+        assertEquals(result, given);
+        Database.flushAll();
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.database.Database#saveObject(java.lang.Object)}.
      * @throws IntrospectionException
@@ -0,0 +1,68 @@
+package world.bentobox.bentobox.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class ParallelLoaderTest {
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.ParallelLoader#add(Object)}.
+     */
+    @Test
+    public void testInOrder() {
+        List<Integer> result = new ArrayList<>();
+        try (ParallelLoader<Integer, Integer> loader = new ParallelLoader<>(i -> i * 2, result::add, 4)) {
+            IntStream.range(0, 1000).forEach(loader::add);
+        }
+        assertEquals(IntStream.range(0, 1000).map(i -> i * 2).boxed().collect(Collectors.toList()), result);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.ParallelLoader#add(Object)}.
+     */
+    @Test
+    public void testNullsSkipped() {
+        List<String> result = new ArrayList<>();
+        try (ParallelLoader<String, String> loader = new ParallelLoader<>(s -> s.isEmpty() ? null : s, result::add, 2)) {
+            loader.add("a");
+            loader.add("");
+            loader.add("b");
+        }
+        assertEquals(List.of("a", "b"), result);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.ParallelLoader#close()}.
+     */
+    @Test
+    public void testConsumerFails() {
+        List<Integer> result = new ArrayList<>();
+        try (ParallelLoader<Integer, Integer> loader = new ParallelLoader<>(i -> i, i -> {
+            if (i == 2) {
+                throw new IllegalArgumentException("bad");
+            }
+            result.add(i);
+        }, 1)) {
+            IntStream.range(0, 10).forEach(loader::add);
+            fail("Consumer should have failed");
+        } catch (IllegalArgumentException e) {
+            assertEquals("bad", e.getMessage());
+        }
+        // Nothing is handed over after the failure
+        assertEquals(List.of(0, 1), result);
+    }
+}
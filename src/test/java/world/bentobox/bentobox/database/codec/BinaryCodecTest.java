@@ -0,0 +1,236 @@
+package world.bentobox.bentobox.database.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.World.Environment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.api.logs.LogEntry;
+import world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.Players;
+import world.bentobox.bentobox.managers.FlagsManager;
+import world.bentobox.bentobox.managers.RanksManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class BinaryCodecTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private FlagsManager fm;
+    @Mock
+    private World world;
+
+    private Gson gson;
+    private BinaryCodec<Island> codec;
+    private Island island;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        // Worlds are looked up by name when locations are read
+        when(world.getName()).thenReturn("bskyblock_world");
+        PowerMockito.mockStatic(Bukkit.class);
+        Server server = mock(Server.class);
+        when(Bukkit.getServer()).thenReturn(server);
+        when(server.getWorld("bskyblock_world")).thenReturn(world);
+        // Flags are looked up by ID when they are read
+        when(plugin.getFlagsManager()).thenReturn(fm);
+        when(fm.getFlag(anyString())).thenReturn(Optional.empty());
+        when(fm.getOrdinalCount()).thenReturn(80);
+        gson = AbstractJSONDatabaseHandler.createGson(plugin, true);
+        codec = new BinaryCodec<>(gson, Island.class);
+
+        // A real island
+        island = new Island();
+        island.setUniqueId("BSkyBlock" + UUID.randomUUID());
+        island.setCenter(new Location(world, 1024.5, 120, -2048, 90.0F, -0.0F));
+        island.setRange(400);
+        island.setProtectionRange(100);
+        island.setMaxEverProtectionRange(100);
+        island.setGameMode("BSkyBlock");
+        island.setCreatedDate(System.currentTimeMillis());
+        island.setUpdatedDate(System.currentTimeMillis());
+        island.setName("Island \u00e9\u4e2d");
+        UUID owner = UUID.randomUUID();
+        island.setOwner(owner);
+        for (int i = 0; i < 7; i++) {
+            island.setRank(UUID.randomUUID(), i == 0 ? RanksManager.COOP_RANK : RanksManager.MEMBER_RANK);
+        }
+        for (int i = 0; i < 80; i++) {
+            Flag flag = mock(Flag.class);
+            when(flag.getID()).thenReturn("FLAG_NUMBER_" + i);
+            // One flag has no ordinal, as if its addon was removed
+            when(flag.getOrdinal()).thenReturn(i == 79 ? -1 : i);
+            when(fm.getFlag("FLAG_NUMBER_" + i)).thenReturn(Optional.of(flag));
+            when(fm.getFlagByOrdinal(i)).thenReturn(flag);
+            island.setFlag(flag, i % 4 == 0 ? RanksManager.OWNER_RANK : RanksManager.MEMBER_RANK, false);
+            if (i % 20 == 0) {
+                island.setCooldown(flag);
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            island.addHome("home" + i, new Location(world, 1024.5 + i, 120.25, -2048, 0.1F * i, -12.5F));
+        }
+        island.setSpawnPoint(Environment.NORMAL, new Location(world, 1024.5, 121, -2047.5, 180.0F, 0));
+        island.log(new LogEntry.Builder("JOINED").data("player", owner.toString()).build());
+        island.setRankCommand("/island go", RanksManager.MEMBER_RANK);
+        island.setMaxMembers(RanksManager.MEMBER_RANK, 4);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#decode(byte[])}.
+     */
+    @Test
+    public void testEncodeDecode() {
+        byte[] data = codec.encode(island);
+        assertTrue(BinaryCodec.isBinary(data));
+        Island decoded = codec.decode(data);
+        assertEquals(gson.toJsonTree(island), gson.toJsonTree(decoded));
+        assertEquals(island.getCenter(), decoded.getCenter());
+        assertEquals(island.getMembers(), decoded.getMembers());
+        assertEquals(island.getFlags(), decoded.getFlags());
+        assertEquals(island.getHomes(), decoded.getHomes());
+        // The sign of the pitch is kept
+        assertEquals(Float.floatToIntBits(-0.0F), Float.floatToIntBits(decoded.getCenter().getPitch()));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#decode(byte[])}.
+     */
+    @Test
+    public void testEncodeDecodePlayers() {
+        BinaryCodec<Players> playersCodec = new BinaryCodec<>(gson, Players.class);
+        Players players = new Players();
+        players.setUniqueId(UUID.randomUUID().toString());
+        players.setPlayerName("tastybento");
+        players.setLocale("en-US");
+        // A single home, because map keys that are locations are written as an array
+        Map<Location, Integer> homes = new HashMap<>();
+        homes.put(new Location(world, -0.5, 64, 1e7, -0.0F, 45.0F), 1);
+        players.setHomeLocations(homes);
+        Map<String, Integer> resets = new HashMap<>();
+        resets.put("bskyblock_world", 2);
+        players.setResets(resets);
+        Map<String, Integer> deaths = new HashMap<>();
+        deaths.put("bskyblock_world", 3);
+        players.setDeaths(deaths);
+        players.setPendingKicks(new HashSet<>(Arrays.asList("bskyblock_world")));
+        players.setFlagsDisplayMode(Flag.Mode.ADVANCED);
+
+        byte[] data = playersCodec.encode(players);
+        assertTrue(BinaryCodec.isBinary(data));
+        Players decoded = playersCodec.decode(data);
+        assertEquals(gson.toJsonTree(players), gson.toJsonTree(decoded));
+        assertEquals(players.getHomeLocations(), decoded.getHomeLocations());
+        Location home = decoded.getHomeLocations().keySet().iterator().next();
+        assertEquals(Float.floatToIntBits(-0.0F), Float.floatToIntBits(home.getYaw()));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#encode(java.lang.Object)}.
+     */
+    @Test
+    public void testSmallerThanJson() {
+        int binary = codec.encode(island).length;
+        int json = new JSONCodec<>(gson, Island.class).encode(island).length;
+        assertTrue(binary + " >= " + json, binary < json);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#decode(byte[])}.
+     */
+    @Test
+    public void testDecodeJson() {
+        byte[] json = new JSONCodec<>(gson, Island.class).encode(island);
+        assertFalse(BinaryCodec.isBinary(json));
+        assertEquals(gson.toJsonTree(island), gson.toJsonTree(codec.decode(json)));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#write(com.google.gson.JsonElement)}.
+     */
+    @Test
+    public void testWriteReadTree() {
+        JsonElement tree = new JsonParser().parse("{\"a\":0.1,\"b\":12345678901234567890123,\"c\":-5,\"d\":null,\"e\":[true,false,\"e\",\"e\"],"
+                + "\"f\":-0.0,\"g\":\"" + UUID.randomUUID() + "\",\"h\":\"6F9619FF-8B86-D011-B42D-00C04FC964FF\",\"i\":{}}");
+        assertEquals(tree, BinaryCodec.read(BinaryCodec.write(tree)));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#write(com.google.gson.JsonElement)}.
+     */
+    @Test
+    public void testWriteReadTreeNegativeZero() {
+        // Numbers read from JSON text keep their sign
+        JsonElement tree = new JsonParser().parse("{\"f\":-0.0,\"g\":-0e0,\"h\":1.5,\"i\":2.0}");
+        JsonElement read = BinaryCodec.read(BinaryCodec.write(tree));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(read.getAsJsonObject().get("f").getAsDouble()));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(read.getAsJsonObject().get("g").getAsDouble()));
+        assertEquals(1.5, read.getAsJsonObject().get("h").getAsDouble(), 0);
+        assertEquals(2, read.getAsJsonObject().get("i").getAsLong());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.codec.BinaryCodec#decode(byte[])}.
+     */
+    @Test
+    public void testDecodeCutShort() {
+        byte[] data = codec.encode(island);
+        try {
+            codec.decode(Arrays.copyOf(data, data.length - 3));
+            fail("Data is not complete");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Unexpected end of data", e.getMessage());
+        }
+    }
+}
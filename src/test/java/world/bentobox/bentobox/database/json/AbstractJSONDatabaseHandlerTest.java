@@ -0,0 +1,84 @@
+package world.bentobox.bentobox.database.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.google.gson.Gson;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.objects.Names;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class AbstractJSONDatabaseHandlerTest {
+
+    @Mock
+    private BentoBox plugin;
+
+    private Names names;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        names = new Names("tasty", UUID.randomUUID());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler#createGson(BentoBox, boolean)}.
+     */
+    @Test
+    public void testCreateGsonPretty() {
+        String json = AbstractJSONDatabaseHandler.createGson(plugin, false).toJson(names);
+        assertTrue(json.contains("\n"));
+        assertTrue(json.contains("\"uniqueId\": \"tasty\""));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler#createGson(BentoBox, boolean)}.
+     */
+    @Test
+    public void testCreateGsonCompact() {
+        String json = AbstractJSONDatabaseHandler.createGson(plugin, true).toJson(names);
+        assertFalse(json.contains("\n"));
+        assertEquals("{\"uniqueId\":\"tasty\",\"uuid\":\"" + names.getUuid() + "\"}", json);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler#createGson(BentoBox, boolean)}.
+     */
+    @Test
+    public void testCreateGsonReadsBoth() {
+        Gson pretty = AbstractJSONDatabaseHandler.createGson(plugin, false);
+        Gson compact = AbstractJSONDatabaseHandler.createGson(plugin, true);
+        // Data stored either way can be read after the setting is changed
+        Names fromPretty = compact.fromJson(pretty.toJson(names), Names.class);
+        Names fromCompact = pretty.fromJson(compact.toJson(names), Names.class);
+        assertEquals(names.getUniqueId(), fromPretty.getUniqueId());
+        assertEquals(names.getUuid(), fromPretty.getUuid());
+        assertEquals(names.getUniqueId(), fromCompact.getUniqueId());
+        assertEquals(names.getUuid(), fromCompact.getUuid());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler#createGson(BentoBox, boolean)}.
+     */
+    @Test
+    public void testCreateGsonNoHtmlEscaping() {
+        Names html = new Names("<tasty>", UUID.randomUUID());
+        assertTrue(AbstractJSONDatabaseHandler.createGson(plugin, true).toJson(html).contains("<tasty>"));
+    }
+}
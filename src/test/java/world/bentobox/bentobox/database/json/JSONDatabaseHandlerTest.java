@@ -0,0 +1,191 @@
+package world.bentobox.bentobox.database.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.database.objects.Names;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class JSONDatabaseHandlerTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private JSONDatabaseConnector connector;
+
+    private Settings settings;
+    private File dataFolder;
+    private File table;
+    private File backup;
+    private JSONDatabaseHandler<Names> handler;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        dataFolder = Files.createTempDirectory("bentobox").toFile();
+        table = new File(dataFolder, "database" + File.separator + "Names");
+        backup = new File(dataFolder, "database_backup" + File.separator + "Names");
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        // Saves are done straight away
+        when(plugin.isEnabled()).thenReturn(false);
+        settings = new Settings();
+        when(plugin.getSettings()).thenReturn(settings);
+        handler = new JSONDatabaseHandler<>(plugin, Names.class, connector);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.walk(dataFolder.toPath())
+        .sorted(Comparator.reverseOrder())
+        .map(Path::toFile)
+        .forEach(File::delete);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObject() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        assertTrue(handler.saveObject(new Names("tasty", uuid)).get());
+        File file = new File(table, "tasty.json");
+        assertTrue(file.exists());
+        // Nothing is left behind
+        assertEquals(1, table.list().length);
+        assertEquals(uuid, handler.loadObject("tasty").getUuid());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObjectReplaces() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        handler.saveObject(new Names("tasty", UUID.randomUUID()));
+        handler.saveObject(new Names("tasty", uuid));
+        assertEquals(uuid, handler.loadObject("tasty").getUuid());
+        assertEquals(1, table.list().length);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObjectBackupOncePerPeriod() throws Exception {
+        UUID first = UUID.randomUUID();
+        handler.saveObject(new Names("tasty", first));
+        // The first save backs up the table as it was before the save, which was empty
+        assertTrue(backup.exists());
+        assertEquals(0, backup.list().length);
+        handler.saveObject(new Names("tasty", UUID.randomUUID()));
+        // Still within the backup period
+        assertEquals(0, backup.list().length);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObjectBackupKeepsOldFile() throws Exception {
+        UUID first = UUID.randomUUID();
+        // Save without backups, then turn them on
+        settings.setDatabaseBackupPeriod(0);
+        handler.saveObject(new Names("tasty", first));
+        handler.saveObject(new Names("old", first));
+        handler.deleteID("old");
+        settings.setDatabaseBackupPeriod(5);
+        new File(backup, "old.json").getParentFile().mkdirs();
+        Files.write(new File(backup, "old.json").toPath(), "{}".getBytes());
+        handler.saveObject(new Names("tasty", UUID.randomUUID()));
+        // The backup has the file as it was before the save
+        File backupFile = new File(backup, "tasty.json");
+        assertTrue(backupFile.exists());
+        assertTrue(new String(Files.readAllBytes(backupFile.toPath())).contains(first.toString()));
+        // Backups of deleted objects are removed
+        assertFalse(new File(backup, "old.json").exists());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObjectBackupSwappedIn() throws Exception {
+        handler.saveObject(new Names("tasty", UUID.randomUUID()));
+        // Only the finished backup is left
+        assertEquals(1, backup.getParentFile().list().length);
+        assertTrue(backup.isDirectory());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObjectBackupAsync() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        when(plugin.isEnabled()).thenReturn(true);
+        JSONDatabaseHandler<Names> asyncHandler = new JSONDatabaseHandler<>(plugin, Names.class, connector);
+        ArgumentCaptor<Runnable> queue = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTaskTimerAsynchronously(eq(plugin), queue.capture(), anyLong(), anyLong());
+        CompletableFuture<Boolean> result = asyncHandler.saveObject(new Names("tasty", UUID.randomUUID()));
+        queue.getValue().run();
+        // The save is done without waiting for the backup
+        assertTrue(result.get());
+        assertFalse(backup.exists());
+        ArgumentCaptor<Runnable> backupTask = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTaskAsynchronously(eq(plugin), backupTask.capture());
+        backupTask.getValue().run();
+        assertTrue(new File(backup, "tasty.json").exists());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.JSONDatabaseHandler#saveObject(java.lang.Object)}.
+     */
+    @Test
+    public void testSaveObjectBackupPerHandler() throws Exception {
+        handler.saveObject(new Names("tasty", UUID.randomUUID()));
+        assertEquals(0, backup.list().length);
+        // Another handler keeps its own backup time
+        JSONDatabaseHandler<Names> other = new JSONDatabaseHandler<>(plugin, Names.class, connector);
+        other.saveObject(new Names("bento", UUID.randomUUID()));
+        assertEquals(1, backup.list().length);
+    }
+}
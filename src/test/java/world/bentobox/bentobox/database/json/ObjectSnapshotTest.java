@@ -0,0 +1,227 @@
+package world.bentobox.bentobox.database.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.bukkit.Location;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.Expose;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class ObjectSnapshotTest {
+
+    private TestObject object;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        object = new TestObject();
+        object.name = "name";
+        object.map.put("a", 1);
+        object.list.add("b");
+        object.set.add("c");
+        object.location = new Location(null, 1, 2, 3);
+        object.homes.put("home", new Location(null, 4, 5, 6));
+        object.notExposed = "secret";
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopy() {
+        TestObject copy = ObjectSnapshot.copy(object);
+        assertNotNull(copy);
+        assertSame(object.name, copy.name);
+        assertEquals(object.map, copy.map);
+        assertNotSame(object.map, copy.map);
+        assertEquals(object.list, copy.list);
+        assertNotSame(object.list, copy.list);
+        assertEquals(LinkedList.class, copy.list.getClass());
+        assertEquals(object.set, copy.set);
+        assertNotSame(object.set, copy.set);
+        assertEquals(object.location, copy.location);
+        assertNotSame(object.location, copy.location);
+        assertEquals(object.homes, copy.homes);
+        assertNotSame(object.homes.get("home"), copy.homes.get("home"));
+        // Not exposed fields are not copied
+        assertNull(copy.notExposed);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopyUnchangedByOriginal() {
+        TestObject copy = ObjectSnapshot.copy(object);
+        object.map.put("z", 26);
+        object.list.clear();
+        object.location.setX(100);
+        assertEquals(1, copy.map.size());
+        assertEquals(1, copy.list.size());
+        assertEquals(1D, copy.location.getX(), 0D);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopyUnmodifiable() {
+        object.map = Collections.unmodifiableMap(new HashMap<>(object.map));
+        TestObject copy = ObjectSnapshot.copy(object);
+        assertNotNull(copy);
+        assertEquals(object.map, copy.map);
+        assertNotSame(object.map, copy.map);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopyNoConstructor() {
+        assertNull(ObjectSnapshot.copy(new NoConstructor("a")));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopyNested() {
+        NestedObject nested = new NestedObject();
+        nested.worlds.put("world", new HashMap<>(Map.of("a", 1)));
+        nested.locations.put(new Location(null, 1, 2, 3), new ArrayList<>(List.of(new Location(null, 4, 5, 6))));
+        nested.child = new NestedObject();
+        nested.child.worlds.put("nether", new HashMap<>());
+        NestedObject copy = ObjectSnapshot.copy(nested);
+        assertNotNull(copy);
+        assertEquals(nested.worlds, copy.worlds);
+        assertNotSame(nested.worlds.get("world"), copy.worlds.get("world"));
+        Location key = copy.locations.keySet().iterator().next();
+        assertNotSame(nested.locations.keySet().iterator().next(), key);
+        assertNotSame(nested.locations.values().iterator().next().get(0), copy.locations.get(key).get(0));
+        assertNotSame(nested.child, copy.child);
+        assertNotSame(nested.child.worlds, copy.child.worlds);
+        // Changes deep in the original do not reach the copy
+        nested.worlds.get("world").put("b", 2);
+        nested.child.worlds.get("nether").put("c", 3);
+        nested.locations.values().iterator().next().get(0).setX(100);
+        assertEquals(1, copy.worlds.get("world").size());
+        assertTrue(copy.child.worlds.get("nether").isEmpty());
+        assertEquals(4D, copy.locations.get(key).get(0).getX(), 0D);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopySerializedWhileOriginalChanges() throws Exception {
+        NestedObject nested = new NestedObject();
+        for (int i = 0; i < 100; i++) {
+            nested.worlds.computeIfAbsent("world" + (i % 10), k -> new HashMap<>()).put("key" + i, i);
+        }
+        NestedObject copy = ObjectSnapshot.copy(nested);
+        assertNotNull(copy);
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        String expected = gson.toJson(copy);
+        // Serialize the copy on another thread while the nested maps of the original are changed
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> same = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    if (!expected.equals(gson.toJson(copy))) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            int i = 0;
+            while (!same.isDone()) {
+                Map<String, Integer> map = nested.worlds.get("world" + (i % 10));
+                map.put("new" + i, i);
+                map.remove("new" + (i - 5));
+                i++;
+            }
+            assertTrue(same.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.json.ObjectSnapshot#copy(java.lang.Object)}.
+     */
+    @Test
+    public void testCopyUnknownType() {
+        // A value that could be changed in place and that is not known cannot be copied
+        UnknownType unknown = new UnknownType();
+        unknown.builder.append("a");
+        assertNull(ObjectSnapshot.copy(unknown));
+    }
+
+    static class NestedObject {
+        @Expose
+        private Map<String, Map<String, Integer>> worlds = new HashMap<>();
+        @Expose
+        private Map<Location, List<Location>> locations = new HashMap<>();
+        @Expose
+        private NestedObject child;
+    }
+
+    static class UnknownType {
+        @Expose
+        private StringBuilder builder = new StringBuilder();
+    }
+
+    static class TestObject {
+        @Expose
+        private String name;
+        @Expose
+        private Map<String, Integer> map = new HashMap<>();
+        @Expose
+        private List<String> list = new LinkedList<>();
+        @Expose
+        private Set<String> set = new HashSet<>();
+        @Expose
+        private Location location;
+        @Expose
+        private Map<String, Location> homes = new HashMap<>();
+        private String notExposed;
+    }
+
+    static class NoConstructor {
+        @Expose
+        private final List<String> list = new ArrayList<>();
+
+        NoConstructor(String s) {
+            list.add(s);
+        }
+    }
+}
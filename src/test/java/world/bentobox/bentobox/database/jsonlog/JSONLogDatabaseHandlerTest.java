@@ -0,0 +1,120 @@
+package world.bentobox.bentobox.database.jsonlog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.database.objects.Names;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class})
+public class JSONLogDatabaseHandlerTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private BukkitScheduler scheduler;
+
+    private File dataFolder;
+    private JSONLogDatabaseConnector connector;
+    private JSONLogDatabaseHandler<Names> handler;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        dataFolder = Files.createTempDirectory("bentobox").toFile();
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getSettings()).thenReturn(new Settings());
+        // The async queue is never run, so saves wait until they are flushed
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        BukkitTask task = mock(BukkitTask.class);
+        when(scheduler.runTaskTimerAsynchronously(eq(plugin), any(Runnable.class), anyLong(), anyLong())).thenReturn(task);
+        when(plugin.isEnabled()).thenReturn(true);
+        connector = new JSONLogDatabaseConnector(plugin);
+        handler = new JSONLogDatabaseHandler<>(plugin, Names.class, connector);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        connector.closeConnection(Names.class);
+        Files.walk(dataFolder.toPath())
+        .sorted(Comparator.reverseOrder())
+        .map(Path::toFile)
+        .forEach(File::delete);
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.JSONLogDatabaseHandler#loadObject(String)}.
+     */
+    @Test
+    public void testLoadObjectPending() {
+        UUID uuid = UUID.randomUUID();
+        CompletableFuture<Boolean> result = handler.saveObject(new Names("tasty", uuid));
+        assertFalse(result.isDone());
+        // The save has not been written yet, but is loaded
+        assertTrue(handler.objectExists("tasty"));
+        assertEquals(uuid, handler.loadObject("tasty").getUuid());
+        // Deletes too
+        handler.deleteID("tasty");
+        assertFalse(handler.objectExists("tasty"));
+        assertNull(handler.loadObject("tasty"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.JSONLogDatabaseHandler#close()}.
+     */
+    @Test
+    public void testCloseWritesPending() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        CompletableFuture<Boolean> result = handler.saveObject(new Names("tasty", uuid));
+        handler.saveObject(new Names("bento", UUID.randomUUID()));
+        handler.deleteID("bento");
+        handler.close();
+        assertTrue(result.get());
+        // Read it back from the file
+        when(plugin.isEnabled()).thenReturn(false);
+        JSONLogDatabaseHandler<Names> reopened = new JSONLogDatabaseHandler<>(plugin, Names.class, new JSONLogDatabaseConnector(plugin));
+        assertEquals(uuid, reopened.loadObject("tasty").getUuid());
+        assertFalse(reopened.objectExists("bento"));
+        assertEquals(1, reopened.loadObjects().size());
+    }
+}
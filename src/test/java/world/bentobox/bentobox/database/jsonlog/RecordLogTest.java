@@ -0,0 +1,195 @@
+package world.bentobox.bentobox.database.jsonlog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class RecordLogTest {
+
+    private File folder;
+    private File file;
+    private RecordLog log;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("recordlog").toFile();
+        file = new File(folder, "Island.jsonlog");
+        log = new RecordLog(file);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        log.close();
+        Files.walk(folder.toPath())
+        .sorted(Comparator.reverseOrder())
+        .map(Path::toFile)
+        .forEach(File::delete);
+    }
+
+    private void write(String key, String value) throws IOException {
+        Map<String, byte[]> records = new HashMap<>();
+        records.put(key, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        log.write(records);
+    }
+
+    private String get(String key) throws IOException {
+        byte[] value = log.get(key);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#get(java.lang.String)}.
+     */
+    @Test
+    public void testWriteGet() throws IOException {
+        write("a", "{\"name\":\"\u00e9\"}");
+        write("b", "{}");
+        assertEquals("{\"name\":\"\u00e9\"}", get("a"));
+        assertEquals("{}", get("b"));
+        assertNull(get("c"));
+        assertEquals(2, log.getCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#write(java.util.Map)}.
+     */
+    @Test
+    public void testOverwriteAndDelete() throws IOException {
+        write("a", "1");
+        write("a", "2");
+        write("b", "3");
+        write("b", null);
+        assertEquals("2", get("a"));
+        assertFalse(log.contains("b"));
+        assertEquals(1, log.getCount());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#RecordLog(java.io.File)}.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        write("a", "1");
+        write("b", "2");
+        write("a", "3");
+        write("b", null);
+        log.close();
+        log = new RecordLog(file);
+        assertEquals("3", get("a"));
+        assertFalse(log.contains("b"));
+        assertEquals(0, log.getTruncatedBytes());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#RecordLog(java.io.File)}.
+     */
+    @Test
+    public void testReopenCutsOffPartialRecord() throws IOException {
+        write("a", "1");
+        write("b", "2");
+        long good = log.getSize();
+        log.close();
+        // Lose the last byte of the last record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(good - 1);
+        }
+        log = new RecordLog(file);
+        assertEquals("1", get("a"));
+        assertFalse(log.contains("b"));
+        assertTrue(log.getTruncatedBytes() > 0);
+        // New records can be added after the cut
+        write("c", "3");
+        log.close();
+        log = new RecordLog(file);
+        assertEquals("3", get("c"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#RecordLog(java.io.File)}.
+     */
+    @Test
+    public void testNotARecordLog() throws IOException {
+        log.close();
+        Files.write(file.toPath(), "not a log file".getBytes());
+        try {
+            log = new RecordLog(file);
+            fail("Not a record log");
+        } catch (IOException e) {
+            assertEquals("Island.jsonlog is not a record log", e.getMessage());
+        }
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#forEach(java.util.function.BiConsumer)}.
+     */
+    @Test
+    public void testForEach() throws IOException {
+        write("a", "1");
+        write("b", "2");
+        write("a", "3");
+        write("c", "4");
+        Map<String, String> result = new LinkedHashMap<>();
+        log.forEach((k, v) -> result.put(k, new String(v, StandardCharsets.UTF_8)));
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("a", "3");
+        expected.put("b", "2");
+        expected.put("c", "4");
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.jsonlog.RecordLog#compact()}.
+     */
+    @Test
+    public void testCompact() throws IOException {
+        String value = "x".repeat(10000);
+        for (int i = 0; i < 200; i++) {
+            write("a", value + i);
+        }
+        write("b", "b");
+        assertTrue(log.needsCompaction());
+        long before = log.getSize();
+        log.compact();
+        assertTrue(log.getSize() < before);
+        assertEquals(log.getSize() - 8, log.getLiveBytes());
+        assertFalse(log.needsCompaction());
+        assertEquals(value + 199, get("a"));
+        assertEquals("b", get("b"));
+        assertFalse(new File(folder, "Island.jsonlog.tmp").exists());
+        // Still works after being opened again
+        log.close();
+        log = new RecordLog(file);
+        assertEquals(value + 199, get("a"));
+        assertEquals(2, log.getCount());
+    }
+}
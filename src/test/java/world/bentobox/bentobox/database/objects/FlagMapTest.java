@@ -0,0 +1,215 @@
+package world.bentobox.bentobox.database.objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.Material;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.managers.FlagsManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class FlagMapTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private FlagsManager fm;
+
+    private FlagMap map;
+    private Flag flag0;
+    private Flag flag5;
+    private Flag unregistered;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Flags are given by their ordinal by the flags manager
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        when(plugin.getFlagsManager()).thenReturn(fm);
+        when(fm.getOrdinalCount()).thenReturn(6);
+        map = new FlagMap();
+        flag0 = new Flag.Builder("FLAG0", Material.STONE).build();
+        flag0.setOrdinal(0);
+        when(fm.getFlagByOrdinal(0)).thenReturn(flag0);
+        flag5 = new Flag.Builder("FLAG5", Material.STONE).build();
+        flag5.setOrdinal(5);
+        when(fm.getFlagByOrdinal(5)).thenReturn(flag5);
+        unregistered = new Flag.Builder("NULL_FLAG_1", Material.STONE).build();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#put(Flag, Integer)}.
+     */
+    @Test
+    public void testPutGet() {
+        assertNull(map.put(flag5, 500));
+        assertNull(map.put(flag0, -1));
+        assertNull(map.put(unregistered, 0));
+        assertEquals(3, map.size());
+        assertEquals(500, map.get(flag5).intValue());
+        assertEquals(-1, map.get(flag0).intValue());
+        assertEquals(0, map.get(unregistered).intValue());
+        // Replace
+        assertEquals(500, map.put(flag5, 1000).intValue());
+        assertEquals(1000, map.get(flag5).intValue());
+        assertEquals(3, map.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#getInt(Flag, int)}.
+     */
+    @Test
+    public void testGetInt() {
+        assertEquals(42, map.getInt(flag0, 42));
+        map.put(flag0, 7);
+        map.put(unregistered, 8);
+        assertEquals(7, map.getInt(flag0, 42));
+        assertEquals(8, map.getInt(unregistered, 42));
+        assertEquals(42, map.getInt(flag5, 42));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#remove(Object)}.
+     */
+    @Test
+    public void testRemove() {
+        map.put(flag0, 1);
+        map.put(flag5, 2);
+        map.put(unregistered, 3);
+        assertEquals(1, map.remove(flag0).intValue());
+        assertNull(map.remove(flag0));
+        assertEquals(3, map.remove(unregistered).intValue());
+        assertFalse(map.containsKey(flag0));
+        assertTrue(map.containsKey(flag5));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#entrySet()}.
+     */
+    @Test
+    public void testEqualsHashMap() {
+        Map<Flag, Integer> hashMap = new HashMap<>();
+        hashMap.put(flag0, 1);
+        hashMap.put(flag5, 2);
+        hashMap.put(unregistered, 3);
+        map = new FlagMap(hashMap);
+        assertEquals(hashMap, map);
+        assertEquals(map, hashMap);
+        assertEquals(hashMap.hashCode(), map.hashCode());
+        assertEquals(hashMap, new HashMap<>(map));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#entrySet()}.
+     */
+    @Test
+    public void testKeySetRemoveIf() {
+        map.put(flag0, 1);
+        map.put(flag5, 2);
+        map.put(unregistered, 3);
+        map.keySet().removeIf(f -> f.getID().startsWith("NULL_FLAG") || f.getID().equals("FLAG0"));
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(flag5).intValue());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#entrySet()}.
+     */
+    @Test
+    public void testEntrySetValue() {
+        map.put(flag5, 2);
+        map.entrySet().forEach(e -> e.setValue(e.getValue() * 10));
+        assertEquals(20, map.get(flag5).intValue());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#put(Flag, Integer)}.
+     */
+    @Test
+    public void testFlagRegisteredLater() {
+        Flag later = new Flag.Builder("LATER", Material.STONE).build();
+        map.put(later, 4);
+        later.setOrdinal(3);
+        when(fm.getFlagByOrdinal(3)).thenReturn(later);
+        assertEquals(4, map.getInt(later, 0));
+        assertEquals(4, map.put(later, 5).intValue());
+        assertEquals(1, map.size());
+        assertEquals(5, map.getInt(later, 0));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#entrySet()}.
+     */
+    @Test
+    public void testEntrySetKeysFromFlagsManager() {
+        map.put(flag5, 2);
+        // A flag registered again with the same ID is given for the ordinal
+        Flag again = new Flag.Builder("FLAG5", Material.STONE).build();
+        again.setOrdinal(5);
+        when(fm.getFlagByOrdinal(5)).thenReturn(again);
+        assertSame(again, map.keySet().iterator().next());
+        assertEquals(2, map.get(again).intValue());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#put(Flag, Integer)}.
+     */
+    @Test
+    public void testPutOrdinalNotKnown() {
+        // The flags manager does not know this ordinal, so the flag is kept on the side
+        Flag unknown = new Flag.Builder("UNKNOWN", Material.STONE).build();
+        unknown.setOrdinal(4);
+        map.put(unknown, 6);
+        map.put(flag0, 1);
+        assertEquals(6, map.get(unknown).intValue());
+        assertEquals(2, map.size());
+        Map<Flag, Integer> hashMap = new HashMap<>();
+        hashMap.put(unknown, 6);
+        hashMap.put(flag0, 1);
+        assertEquals(hashMap, map);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.objects.FlagMap#clear()}.
+     */
+    @Test
+    public void testClear() {
+        map.put(flag0, 1);
+        map.put(unregistered, 3);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(flag0));
+    }
+}
@@ -101,6 +101,14 @@ public class PlayersTest {
         assertNotNull(new Players(plugin, UUID.randomUUID()));
     }
 
+    @Test
+    public void testPlayersUUIDName() {
+        UUID uuid = UUID.randomUUID();
+        assertEquals("tastybento", new Players(uuid, "tastybento").getPlayerName());
+        // Unknown names are the UUID
+        assertEquals(uuid.toString(), new Players(uuid, null).getPlayerName());
+    }
+
     @Test
     public void testSetHomeLocationLocation() {
         Location l = mock(Location.class);
@@ -0,0 +1,172 @@
+package world.bentobox.bentobox.database.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection;
+
+/**
+ * Runs the connection pool against a real SQLite database file.
+ * The SQLite driver comes with the Spigot server jar.
+ * @author tastybento
+ *
+ */
+public class SQLConnectionPoolSQLiteTest {
+
+    private static final String INSERT = "INSERT INTO test (name) VALUES (?)";
+    private static final String COUNT = "SELECT COUNT(*) FROM test";
+
+    private File database;
+    private List<Connection> opened;
+    private SQLConnectionPool pool;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        database = File.createTempFile("bentobox", ".db");
+        opened = new ArrayList<>();
+        // Idle connections are always checked with the database before they are reused
+        pool = new SQLConnectionPool(() -> {
+            Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath());
+            opened.add(connection);
+            return connection;
+        }, 2, 0L);
+        try (PooledConnection pc = pool.borrow(); Statement statement = pc.getConnection().createStatement()) {
+            statement.executeUpdate("CREATE TABLE test (id INTEGER PRIMARY KEY, name TEXT)");
+        }
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        pool.close();
+        Files.deleteIfExists(database.toPath());
+    }
+
+    private static void insert(PooledConnection pc, String name) throws SQLException {
+        PreparedStatement ps = pc.prepareStatement(INSERT);
+        ps.setString(1, name);
+        ps.executeUpdate();
+    }
+
+    private static int count(PooledConnection pc) throws SQLException {
+        try (ResultSet resultSet = pc.prepareStatement(COUNT).executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testReuse() throws SQLException {
+        PreparedStatement ps;
+        try (PooledConnection pc = pool.borrow()) {
+            insert(pc, "tasty");
+            ps = pc.prepareStatement(INSERT);
+        }
+        // The valid connection and its statements are reused
+        try (PooledConnection pc = pool.borrow()) {
+            assertSame(ps, pc.prepareStatement(INSERT));
+            insert(pc, "bento");
+            assertEquals(2, count(pc));
+        }
+        assertEquals(1, opened.size());
+        assertEquals(1, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testTwoConnections() throws SQLException {
+        try (PooledConnection pc1 = pool.borrow(); PooledConnection pc2 = pool.borrow()) {
+            assertNotSame(pc1.getConnection(), pc2.getConnection());
+            insert(pc1, "tasty");
+            // The other connection sees the write
+            assertEquals(1, count(pc2));
+        }
+        assertEquals(2, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testRecoverClosedConnection() throws SQLException {
+        Connection first;
+        try (PooledConnection pc = pool.borrow()) {
+            insert(pc, "tasty");
+            first = pc.getConnection();
+            // The database drops the connection while it is idle
+            first.close();
+        }
+        try (PooledConnection pc = pool.borrow()) {
+            assertNotSame(first, pc.getConnection());
+            insert(pc, "bento");
+            assertEquals(2, count(pc));
+        }
+        assertEquals(2, opened.size());
+        assertEquals(1, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection#setBroken()}.
+     */
+    @Test
+    public void testBrokenConnectionClosesStatements() throws SQLException {
+        Connection first;
+        PreparedStatement ps;
+        try (PooledConnection pc = pool.borrow()) {
+            first = pc.getConnection();
+            ps = pc.prepareStatement(COUNT);
+            pc.setBroken();
+        }
+        assertTrue(ps.isClosed());
+        assertTrue(first.isClosed());
+        assertEquals(0, pool.getOpenConnections());
+        // A new connection is opened
+        try (PooledConnection pc = pool.borrow()) {
+            assertFalse(pc.getConnection().isClosed());
+            assertEquals(0, count(pc));
+        }
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#close()}.
+     */
+    @Test
+    public void testCloseClosesStatements() throws SQLException {
+        PreparedStatement ps;
+        try (PooledConnection pc = pool.borrow()) {
+            ps = pc.prepareStatement(COUNT);
+        }
+        pool.close();
+        assertTrue(ps.isClosed());
+        assertTrue(opened.get(0).isClosed());
+        assertEquals(0, pool.getOpenConnections());
+    }
+}
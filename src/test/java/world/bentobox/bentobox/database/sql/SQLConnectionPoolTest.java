@@ -0,0 +1,191 @@
+package world.bentobox.bentobox.database.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class SQLConnectionPoolTest {
+
+    private SQLConnectionPool pool;
+    private int opened;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        opened = 0;
+        pool = new SQLConnectionPool(() -> {
+            opened++;
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenAnswer(i -> mock(PreparedStatement.class));
+            return connection;
+        }, 2);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testBorrowReuse() throws SQLException {
+        Connection first;
+        try (PooledConnection pc = pool.borrow()) {
+            first = pc.getConnection();
+        }
+        try (PooledConnection pc = pool.borrow()) {
+            assertSame(first, pc.getConnection());
+        }
+        assertEquals(1, opened);
+        assertEquals(1, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testBorrowOpensUpToMax() throws SQLException {
+        try (PooledConnection pc1 = pool.borrow(); PooledConnection pc2 = pool.borrow()) {
+            assertNotSame(pc1.getConnection(), pc2.getConnection());
+            assertEquals(2, pool.getOpenConnections());
+        }
+        assertEquals(2, opened);
+        assertEquals(2, pool.getMaxSize());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testBorrowReplacesClosedConnection() throws SQLException {
+        Connection first;
+        try (PooledConnection pc = pool.borrow()) {
+            first = pc.getConnection();
+            when(first.isClosed()).thenReturn(true);
+        }
+        try (PooledConnection pc = pool.borrow()) {
+            assertNotSame(first, pc.getConnection());
+        }
+        assertEquals(2, opened);
+        assertEquals(1, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection#setBroken()}.
+     */
+    @Test
+    public void testBrokenConnectionIsClosed() throws SQLException {
+        Connection first;
+        try (PooledConnection pc = pool.borrow()) {
+            first = pc.getConnection();
+            pc.setBroken();
+        }
+        verify(first).close();
+        assertEquals(0, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection#prepareStatement(java.lang.String)}.
+     */
+    @Test
+    public void testPrepareStatementCached() throws SQLException {
+        try (PooledConnection pc = pool.borrow()) {
+            PreparedStatement ps = pc.prepareStatement("SELECT 1");
+            assertSame(ps, pc.prepareStatement("SELECT 1"));
+            assertNotSame(ps, pc.prepareStatement("SELECT 2"));
+            verify(pc.getConnection(), times(1)).prepareStatement("SELECT 1");
+        }
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool.PooledConnection#setBroken()}.
+     */
+    @Test
+    public void testBrokenConnectionClosesStatements() throws SQLException {
+        PreparedStatement ps;
+        try (PooledConnection pc = pool.borrow()) {
+            ps = pc.prepareStatement("SELECT 1");
+            pc.setBroken();
+        }
+        verify(ps).close();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#borrow()}.
+     */
+    @Test
+    public void testBorrowValidatesIdleConnection() throws SQLException {
+        pool = new SQLConnectionPool(() -> {
+            opened++;
+            return mock(Connection.class);
+        }, 2, 0L);
+        Connection first;
+        try (PooledConnection pc = pool.borrow()) {
+            first = pc.getConnection();
+            when(first.isValid(anyInt())).thenReturn(true);
+        }
+        try (PooledConnection pc = pool.borrow()) {
+            assertSame(first, pc.getConnection());
+        }
+        // The database no longer answers on the connection
+        when(first.isValid(anyInt())).thenReturn(false);
+        try (PooledConnection pc = pool.borrow()) {
+            assertNotSame(first, pc.getConnection());
+        }
+        verify(first).close();
+        assertEquals(2, opened);
+        assertEquals(1, pool.getOpenConnections());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.SQLConnectionPool#close()}.
+     */
+    @Test
+    public void testClose() throws SQLException {
+        Connection first;
+        try (PooledConnection pc = pool.borrow()) {
+            first = pc.getConnection();
+        }
+        pool.close();
+        verify(first).close();
+        assertEquals(0, pool.getOpenConnections());
+        try {
+            pool.borrow();
+            fail("Pool is closed");
+        } catch (SQLException e) {
+            assertEquals("Connection pool is closed", e.getMessage());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -17,6 +18,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.PluginManager;
@@ -471,6 +474,72 @@ public class MySQLDatabaseHandlerTest {
         verify(plugin).logError(eq("Could not delete object Islands abc123 fail!"));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#saveObject(java.lang.Object)}.
+     * @throws SQLException
+     */
+    @Test
+    public void testSaveObjectBatch() throws Exception {
+        // Disable plugin so the save is done straight away
+        when(plugin.isEnabled()).thenReturn(false);
+        CompletableFuture<Boolean> result = handler.saveObject(instance);
+        assertTrue(result.get());
+        verify(connection).setAutoCommit(false);
+        verify(ps).addBatch();
+        verify(ps).executeBatch();
+        verify(connection).commit();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#saveObject(java.lang.Object)}.
+     * @throws SQLException
+     */
+    @Test
+    public void testSaveObjectBatchFail() throws Exception {
+        // Disable plugin so the save is done straight away
+        when(plugin.isEnabled()).thenReturn(false);
+        when(ps.executeBatch()).thenThrow(new SQLException("fail!"));
+        CompletableFuture<Boolean> result = handler.saveObject(instance);
+        assertFalse(result.get());
+        verify(connection).rollback();
+        verify(ps).clearBatch();
+        verify(plugin).logError("Could not write 1 objects to world.bentobox.bentobox.database.objects.Island fail!");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#saveObject(java.lang.Object)}.
+     * @throws SQLException
+     */
+    @Test
+    public void testSaveObjectAsyncCollapsed() throws Exception {
+        CompletableFuture<Boolean> first = handler.saveObject(instance);
+        CompletableFuture<Boolean> second = handler.saveObject(instance);
+        Queue<Runnable> queue = Whitebox.getInternalState(handler, "processQueue");
+        // Only one write is queued
+        assertEquals(1, queue.size());
+        queue.poll().run();
+        verify(ps, times(1)).addBatch();
+        verify(ps).executeBatch();
+        verify(connection).commit();
+        assertTrue(first.get());
+        assertTrue(second.get());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#deleteID(java.lang.String)}.
+     * @throws SQLException
+     */
+    @Test
+    public void testDeleteIDBatch() throws SQLException {
+        // Disable plugin so the delete is done straight away
+        when(plugin.isEnabled()).thenReturn(false);
+        handler.deleteID("abc123");
+        verify(ps).setString(1, "\"abc123\"");
+        verify(ps).addBatch();
+        verify(ps).executeBatch();
+        verify(connection).commit();
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#MySQLDatabaseHandler(world.bentobox.bentobox.BentoBox, java.lang.Class, world.bentobox.bentobox.database.DatabaseConnector)}.
      */
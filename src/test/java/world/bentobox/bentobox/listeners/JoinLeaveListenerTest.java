@@ -10,6 +10,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.net.InetAddress;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,6 +22,7 @@ import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -336,6 +338,28 @@ public class JoinLeaveListenerTest {
         verify(pm).save(any());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerPreLogin(org.bukkit.event.player.AsyncPlayerPreLoginEvent)}.
+     */
+    @Test
+    public void testOnPlayerPreLogin() {
+        UUID uuid = UUID.randomUUID();
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("tastybento", InetAddress.getLoopbackAddress(), uuid);
+        jll.onPlayerPreLogin(event);
+        verify(pm).loadOnLogin(uuid);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerPreLogin(org.bukkit.event.player.AsyncPlayerPreLoginEvent)}.
+     */
+    @Test
+    public void testOnPlayerPreLoginDisallowed() {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("tastybento", InetAddress.getLoopbackAddress(), UUID.randomUUID());
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, "Banned");
+        jll.onPlayerPreLogin(event);
+        verify(pm, never()).loadOnLogin(any());
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerQuit(org.bukkit.event.player.PlayerQuitEvent)}.
      */
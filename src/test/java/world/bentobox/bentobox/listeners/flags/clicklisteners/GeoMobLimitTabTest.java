@@ -35,6 +35,7 @@ import org.powermock.reflect.Whitebox;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.panels.PanelItem;
+import world.bentobox.bentobox.api.panels.PanelItemSource;
 import world.bentobox.bentobox.api.panels.TabbedPanel;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.listeners.flags.clicklisteners.GeoMobLimitTab.EntityLimitTabType;
@@ -191,6 +192,20 @@ public class GeoMobLimitTabTest {
         });
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.listeners.flags.clicklisteners.GeoMobLimitTab#getPanelItemSource()}.
+     */
+    @Test
+    public void testGetPanelItemSource() {
+        GeoMobLimitTab tab = new GeoMobLimitTab(user, EntityLimitTabType.MOB_LIMIT, world);
+        PanelItemSource source = tab.getPanelItemSource();
+        List<@Nullable PanelItem> items = tab.getPanelItems();
+        assertEquals(items.size(), source.size());
+        List<PanelItem> page = source.getItems(36, 36);
+        assertEquals(Math.min(36, items.size() - 36), page.size());
+        assertEquals(items.get(36).getName(), page.get(0).getName());
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.flags.clicklisteners.GeoMobLimitTab#getPermission()}.
      */
@@ -3,6 +3,8 @@ package world.bentobox.bentobox.managers;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -12,6 +14,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
@@ -173,4 +177,39 @@ public class FlagsManagerTest {
         HandlerList.unregisterAll(ol);
     }
 
+    /**
+     * Test for {@link FlagsManager#getOrdinalCount()}
+     */
+    @Test
+    public void testOrdinals() {
+        PowerMockito.mockStatic(HandlerList.class);
+        FlagsManager fm = new FlagsManager(plugin);
+        int count = fm.getOrdinalCount();
+        assertEquals(Flags.values().size(), count);
+        // Every flag has a different ordinal below the count
+        Set<Integer> ordinals = new HashSet<>();
+        Flags.values().forEach(flag -> {
+            assertTrue(flag.getOrdinal() >= 0 && flag.getOrdinal() < count);
+            assertTrue(ordinals.add(flag.getOrdinal()));
+        });
+        // New flag gets the next ordinal
+        Flag originalFlag = new Flag.Builder("ORIGINAL", Material.EMERALD_BLOCK).build();
+        assertEquals(-1, originalFlag.getOrdinal());
+        assertTrue(fm.registerFlag(originalFlag));
+        assertEquals(count, originalFlag.getOrdinal());
+        assertEquals(count + 1, fm.getOrdinalCount());
+        assertSame(originalFlag, fm.getFlagByOrdinal(count));
+        assertNull(fm.getFlagByOrdinal(count + 1));
+        assertNull(fm.getFlagByOrdinal(-1));
+        // Unregistered flags are still given by their ordinal
+        fm.unregister(originalFlag);
+        assertSame(originalFlag, fm.getFlagByOrdinal(count));
+        // Registering the flag again keeps its ordinal
+        Flag sameFlag = new Flag.Builder("ORIGINAL", Material.EMERALD_BLOCK).build();
+        assertTrue(fm.registerFlag(sameFlag));
+        assertEquals(count, sameFlag.getOrdinal());
+        assertEquals(count + 1, fm.getOrdinalCount());
+        assertSame(sameFlag, fm.getFlagByOrdinal(count));
+    }
+
 }
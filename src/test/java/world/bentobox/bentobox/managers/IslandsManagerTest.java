@@ -51,6 +51,7 @@ import org.bukkit.entity.Zombie;
 import org.bukkit.permissions.PermissionAttachmentInfo;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -1023,10 +1024,81 @@ public class IslandsManagerTest {
 
         im.shutdown();
 
-        assertEquals(10, members.size());
+        verify(is).removeRank(RanksManager.COOP_RANK);
         verify(islandCache).clear();
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#saveAll(boolean)}.
+     */
+    @Test
+    public void testSaveAllScheduledThenShutdown() {
+        Island is1 = mock(Island.class);
+        Island is2 = mock(Island.class);
+        Island is3 = mock(Island.class);
+        when(islandCache.getChangedIslands()).thenReturn(Arrays.asList(is1, is2, is3));
+        when(islandCache.setSaved(any())).thenReturn(true);
+        im.setIslandCache(islandCache);
+        im.setHandler(db);
+        when(plugin.getSettings().getMaxSavedIslandsPerTick()).thenReturn(1);
+        BukkitTask task = mock(BukkitTask.class);
+        BukkitScheduler sch = Bukkit.getScheduler();
+        when(sch.runTaskTimer(eq(plugin), any(Runnable.class), eq(0L), eq(1L))).thenReturn(task);
+
+        im.saveAll(true);
+        assertTrue(im.isSaveTaskRunning());
+        // Nothing is saved until the task runs
+        verify(islandCache, never()).setSaved(any());
+        ArgumentCaptor<Runnable> saveTask = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch).runTaskTimer(eq(plugin), saveTask.capture(), eq(0L), eq(1L));
+        saveTask.getValue().run();
+        verify(islandCache).setSaved(is1);
+        verify(db).saveObjectAsync(is1);
+
+        // The islands still in the queue are still changed and are saved on shutdown
+        when(islandCache.getChangedIslands()).thenReturn(Arrays.asList(is2, is3));
+        im.shutdown();
+        verify(task).cancel();
+        assertFalse(im.isSaveTaskRunning());
+        verify(db).saveObjectAsync(is1);
+        verify(db).saveObjectAsync(is2);
+        verify(db).saveObjectAsync(is3);
+        verify(db).close();
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#saveAll()}.
+     */
+    @Test
+    public void testSaveAllOnlyChanged() {
+        Island is1 = mock(Island.class);
+        Island is2 = mock(Island.class);
+        when(islandCache.getChangedIslands()).thenReturn(Arrays.asList(is1, is2));
+        // The second island was saved or removed since the list was made
+        when(islandCache.setSaved(is1)).thenReturn(true);
+        im.setIslandCache(islandCache);
+        im.setHandler(db);
+        im.saveAll();
+        verify(db).saveObjectAsync(is1);
+        verify(db, never()).saveObjectAsync(is2);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#saveAll()}.
+     */
+    @Test
+    public void testSaveAllError() {
+        when(islandCache.getChangedIslands()).thenReturn(Collections.singletonList(island));
+        when(islandCache.setSaved(island)).thenReturn(true);
+        when(db.saveObjectAsync(island)).thenThrow(new IllegalStateException("broken"));
+        im.setIslandCache(islandCache);
+        im.setHandler(db);
+        im.saveAll();
+        // The island will be saved again next time
+        verify(islandCache).setChanged(island);
+        verify(plugin).logError("Could not save island to database when running sync! broken");
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#clearRank(int, UUID)}.
      */
@@ -1034,39 +1106,17 @@ public class IslandsManagerTest {
     public void testClearRank() {
         // Mock island cache
         Island is = mock(Island.class);
-
-        Collection<Island> collection = new ArrayList<>();
-        collection.add(is);
-        when(islandCache.getIslands()).thenReturn(collection);
+        UUID coopUUID = UUID.randomUUID();
+        when(islandCache.getIslands(eq(coopUUID), eq(RanksManager.COOP_RANK))).thenReturn(Collections.singletonList(is));
 
         im.setIslandCache(islandCache);
-        Map<UUID, Integer> members = new HashMap<>();
-        when(is.getMembers()).thenReturn(members);
-        // -- The user is the owner of the island --
-        members.put(user.getUniqueId(), RanksManager.OWNER_RANK);
-        // Add some members
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        members.put(UUID.randomUUID(), RanksManager.MEMBER_RANK);
-        // Add some coops
-        members.put(UUID.randomUUID(), RanksManager.COOP_RANK);
-        members.put(UUID.randomUUID(), RanksManager.COOP_RANK);
-        members.put(UUID.randomUUID(), RanksManager.COOP_RANK);
-        // Add some trusted
-        members.put(UUID.randomUUID(), RanksManager.TRUSTED_RANK);
-        members.put(UUID.randomUUID(), RanksManager.TRUSTED_RANK);
-        // Add specific coop
-        UUID coopUUID = UUID.randomUUID();
-        members.put(coopUUID, RanksManager.COOP_RANK);
         // Clear a random user
-        im.clearRank(RanksManager.COOP_RANK, UUID.randomUUID());
-        assertEquals(14, members.size());
+        UUID random = UUID.randomUUID();
+        im.clearRank(RanksManager.COOP_RANK, random);
+        verify(is, never()).removeMember(random);
+        // Clear specific coop
         im.clearRank(RanksManager.COOP_RANK, coopUUID);
-        assertEquals(13, members.size());
+        verify(is).removeMember(coopUUID);
     }
 
     /**
@@ -1321,11 +1371,28 @@ public class IslandsManagerTest {
     public void testGetMaxMembersNoOwner() {
         Island island = mock(Island.class);
         when(island.getOwner()).thenReturn(null);
+        Map<Integer, Integer> maxMembers = new HashMap<>();
+        maxMembers.put(RanksManager.MEMBER_RANK, 5);
+        when(island.getMaxMembers()).thenReturn(maxMembers);
         // Test
         assertEquals(0, im.getMaxMembers(island, RanksManager.MEMBER_RANK));
         verify(island).setMaxMembers(eq(null));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#getMaxMembers(Island, Integer)}.
+     */
+    @Test
+    public void testGetMaxMembersNoOwnerNoChange() {
+        Island island = mock(Island.class);
+        when(island.getOwner()).thenReturn(null);
+        when(island.getMaxMembers()).thenReturn(new HashMap<>());
+        // Test
+        assertEquals(0, im.getMaxMembers(island, RanksManager.MEMBER_RANK));
+        verify(island, never()).setMaxMembers(any());
+        verify(island, never()).setChanged();
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.IslandsManager#getMaxMembers(Island, Integer)}.
      */
@@ -1341,7 +1408,7 @@ public class IslandsManagerTest {
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
         // Test
         assertEquals(4, im.getMaxMembers(island, RanksManager.MEMBER_RANK));
-        verify(island).setMaxMembers(eq(RanksManager.MEMBER_RANK), eq(null));
+        verify(island, never()).setMaxMembers(eq(RanksManager.MEMBER_RANK), any());
     }
 
     /**
@@ -1359,7 +1426,7 @@ public class IslandsManagerTest {
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
         // Test
         assertEquals(4, im.getMaxMembers(island, RanksManager.MEMBER_RANK));
-        verify(island).setMaxMembers(eq(RanksManager.MEMBER_RANK), eq(null));
+        verify(island, never()).setMaxMembers(eq(RanksManager.MEMBER_RANK), any());
     }
 
     /**
@@ -1379,9 +1446,9 @@ public class IslandsManagerTest {
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
         // Test
         assertEquals(2, im.getMaxMembers(island, RanksManager.COOP_RANK));
-        verify(island).setMaxMembers(eq(RanksManager.COOP_RANK), eq(null));
+        verify(island, never()).setMaxMembers(eq(RanksManager.COOP_RANK), any());
         assertEquals(3, im.getMaxMembers(island, RanksManager.TRUSTED_RANK));
-        verify(island).setMaxMembers(eq(RanksManager.TRUSTED_RANK), eq(null));
+        verify(island, never()).setMaxMembers(eq(RanksManager.TRUSTED_RANK), any());
     }
 
     /**
@@ -1398,7 +1465,7 @@ public class IslandsManagerTest {
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
         // Test
         assertEquals(10, im.getMaxMembers(island, RanksManager.MEMBER_RANK));
-        verify(island).setMaxMembers(eq(RanksManager.MEMBER_RANK), eq(10));
+        verify(island, never()).setMaxMembers(eq(RanksManager.MEMBER_RANK), any());
     }
 
     /**
@@ -1415,7 +1482,7 @@ public class IslandsManagerTest {
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
         // Test
         assertEquals(10, im.getMaxMembers(island, RanksManager.MEMBER_RANK));
-        verify(island).setMaxMembers(eq(RanksManager.MEMBER_RANK), eq(10));
+        verify(island, never()).setMaxMembers(eq(RanksManager.MEMBER_RANK), any());
     }
 
     /**
@@ -1501,7 +1568,7 @@ public class IslandsManagerTest {
         // Test
         IslandsManager im = new IslandsManager(plugin);
         assertEquals(4, im.getMaxHomes(island));
-        verify(island).setMaxHomes(eq(null));
+        verify(island, never()).setMaxHomes(any());
     }
 
     /**
@@ -1526,7 +1593,7 @@ public class IslandsManagerTest {
         // Test
         IslandsManager im = new IslandsManager(plugin);
         assertEquals(20, im.getMaxHomes(island));
-        verify(island).setMaxHomes(eq(20));
+        verify(island, never()).setMaxHomes(any());
     }
 
     /**
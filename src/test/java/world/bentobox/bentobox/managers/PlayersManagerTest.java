@@ -5,9 +5,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -20,12 +23,14 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
@@ -45,8 +50,10 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.internal.verification.VerificationModeFactory;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -59,6 +66,7 @@ import world.bentobox.bentobox.database.AbstractDatabaseHandler;
 import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.DatabaseSetup;
 import world.bentobox.bentobox.database.DatabaseSetup.DatabaseType;
+import world.bentobox.bentobox.database.objects.Names;
 import world.bentobox.bentobox.database.objects.Players;
 import world.bentobox.bentobox.hooks.VaultHook;
 import world.bentobox.bentobox.util.Util;
@@ -283,6 +291,8 @@ public class PlayersManagerTest {
      */
     @Test
     public void testGetPlayer() {
+        // The server is only asked for the name of a new player on the main thread
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
         Players player = pm.getPlayer(uuid);
         assertEquals("tastybento", player.getPlayerName());
         assertEquals(uuid.toString(), player.getUniqueId());
@@ -366,6 +376,7 @@ public class PlayersManagerTest {
      */
     @Test
     public void testGetUUIDOfflinePlayer() {
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
         pm.setHandler(db);
         // Add a player to the cache
         pm.addPlayer(uuid);
@@ -378,6 +389,7 @@ public class PlayersManagerTest {
      */
     @Test
     public void testSetandGetPlayerName() {
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
         pm.setHandler(db);
         // Add a player
         pm.addPlayer(uuid);
@@ -491,4 +503,244 @@ public class PlayersManagerTest {
         // XP
         verify(p).setTotalExperience(eq(0));
     }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#loadPlayer(java.util.UUID)}.
+     */
+    @Test
+    public void testLoadPlayerCached() {
+        assertNull(pm.loadPlayer(null).join());
+        pm.addPlayer(uuid);
+        CompletableFuture<Players> future = pm.loadPlayer(uuid);
+        assertTrue(future.isDone());
+        assertSame(pm.getPlayer(uuid), future.join());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#loadPlayer(java.util.UUID)}.
+     */
+    @Test
+    public void testLoadPlayerAsync() {
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        pm.setHandler(db);
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
+        CompletableFuture<Players> future = pm.loadPlayer(uuid);
+        // Loads are shared
+        assertSame(future, pm.loadPlayer(uuid));
+        assertFalse(future.isDone());
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch).runTaskAsynchronously(eq(plugin), task.capture());
+        // The task runs off the main thread
+        when(Bukkit.isPrimaryThread()).thenReturn(false);
+        task.getValue().run();
+        assertTrue(future.isDone());
+        assertEquals("tastybento", future.join().getPlayerName());
+        assertSame(future.join(), pm.getPlayer(uuid));
+        // The server was only asked for the name on the main thread
+        PowerMockito.verifyStatic(Bukkit.class, VerificationModeFactory.times(1));
+        Bukkit.getOfflinePlayer(uuid);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#loadPlayer(java.util.UUID)}.
+     */
+    @Test
+    public void testLoadPlayerAsyncNameUnknown() {
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        pm.setHandler(db);
+        // Not called on the main thread, so the server is not asked for the name
+        when(Bukkit.isPrimaryThread()).thenReturn(false);
+        CompletableFuture<Players> future = pm.loadPlayer(uuid);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch).runTaskAsynchronously(eq(plugin), task.capture());
+        task.getValue().run();
+        assertEquals(uuid.toString(), future.join().getPlayerName());
+        PowerMockito.verifyStatic(Bukkit.class, VerificationModeFactory.times(0));
+        Bukkit.getOfflinePlayer(uuid);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#loadOnLogin(java.util.UUID)}.
+     */
+    @Test
+    public void testLoadOnLogin() {
+        pm.setHandler(db);
+        Players player = new Players(plugin, uuid);
+        when(db.objectExists(uuid.toString())).thenReturn(true);
+        when(db.loadObject(uuid.toString())).thenReturn(player);
+        pm.loadOnLogin(uuid);
+        assertTrue(pm.isKnown(uuid));
+        // Joining does not throw the data away
+        when(p.getUniqueId()).thenReturn(uuid);
+        when(p.getName()).thenReturn("tastybento");
+        pm.removePlayer(p);
+        assertSame(player, pm.getPlayer(uuid));
+        // Quitting does
+        pm.removePlayer(p);
+        assertTrue(pm.getPlayers().isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#loadOnLogin(java.util.UUID)}.
+     */
+    @Test
+    public void testLoadOnLoginNewPlayer() {
+        pm.setHandler(db);
+        pm.loadOnLogin(uuid);
+        assertFalse(pm.isKnown(uuid));
+        pm.addPlayer(uuid);
+        assertTrue(pm.isKnown(uuid));
+        // The database is only checked once
+        verify(db).objectExists(uuid.toString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#evictOfflinePlayers(long)}.
+     */
+    @Test
+    public void testEvictOfflinePlayersExpired() {
+        pm.setHandler(db);
+        pm.addPlayer(uuid);
+        pm.setResets(world, uuid, 3);
+        pm.addPlayer(notUUID);
+        pm.evictOfflinePlayers(System.currentTimeMillis());
+        assertEquals(2, pm.getPlayers().size());
+        pm.evictOfflinePlayers(System.currentTimeMillis() + 11 * 60 * 1000L);
+        assertTrue(pm.getPlayers().isEmpty());
+        // Only the changed player is saved
+        verify(db).saveObjectAsync(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#evictOfflinePlayers(long)}.
+     */
+    @Test
+    public void testEvictOfflinePlayersStillHeld() {
+        pm.setHandler(db);
+        Players held = pm.getPlayer(uuid);
+        pm.evictOfflinePlayers(System.currentTimeMillis() + 11 * 60 * 1000L);
+        assertTrue(pm.getPlayers().isEmpty());
+        verify(db).saveObjectAsync(held);
+        // Changes made to the held data after it was removed are saved
+        held.setLocale("fr-FR");
+        pm.saveAll();
+        verify(db, Mockito.times(2)).saveObjectAsync(held);
+        // The same data is given out again rather than being loaded
+        assertSame(held, pm.getPlayer(uuid));
+        assertSame(held, pm.loadPlayer(uuid).join());
+        assertEquals("fr-FR", pm.getLocale(uuid));
+        verify(db).objectExists(uuid.toString());
+        verify(db, never()).loadObject(anyString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#evictOfflinePlayers(long)}.
+     */
+    @Test
+    public void testEvictOfflinePlayersOnline() {
+        when(Bukkit.getPlayer(uuid)).thenReturn(p);
+        pm.setHandler(db);
+        pm.addPlayer(uuid);
+        pm.evictOfflinePlayers(System.currentTimeMillis() + 11 * 60 * 1000L);
+        assertEquals(1, pm.getPlayers().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#evictOfflinePlayers(long)}.
+     */
+    @Test
+    public void testEvictOfflinePlayersTooMany() {
+        pm.setHandler(db);
+        for (int i = 0; i < 1001; i++) {
+            pm.addPlayer(UUID.randomUUID());
+        }
+        pm.evictOfflinePlayers(System.currentTimeMillis());
+        assertEquals(750, pm.getPlayers().size());
+        verify(db, never()).saveObjectAsync(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#getName(java.util.UUID)}.
+     */
+    @Test
+    public void testGetNameMainThread() {
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
+        pm.setHandler(db);
+        assertEquals("tastybento", pm.getName(uuid));
+        // Not looked up in the database on the main thread
+        verify(db, never()).objectExists(anyString());
+        verify(db, never()).loadObject(anyString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#loadNames()}.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadNames() {
+        Database<Names> names = mock(Database.class);
+        UUID renamed = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<Names> consumer = invocation.getArgument(0);
+            consumer.accept(new Names("BONNe", notUUID));
+            consumer.accept(new Names("Poslovitch", renamed));
+            consumer.accept(new Names("Poslovich", renamed));
+            return null;
+        }).when(names).loadObjects(any(Consumer.class));
+        Whitebox.setInternalState(pm, "names", names);
+        pm.setHandler(db);
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
+        // Not loaded yet
+        assertNull(pm.getUUID("bonne"));
+        verify(names).objectExists("bonne");
+        pm.loadNames();
+        assertEquals(notUUID, pm.getUUID("bonne"));
+        assertEquals(renamed, pm.getUUID("POSLOVITCH"));
+        assertNull(pm.getUUID("tastybento123"));
+        verify(names, never()).objectExists("tastybento123");
+        assertEquals("BONNe", pm.getName(notUUID));
+        // Which name is the latest is not known
+        assertEquals("tastybento", pm.getName(renamed));
+        verify(db, never()).loadObject(anyString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#getNames(java.lang.String, int)}.
+     */
+    @Test
+    public void testGetNames() {
+        when(user.getName()).thenReturn("tastybento");
+        pm.setPlayerName(user);
+        User friend = mock(User.class);
+        when(friend.getUniqueId()).thenReturn(notUUID);
+        when(friend.getName()).thenReturn("TastyFriend");
+        pm.setPlayerName(friend);
+        assertEquals(Arrays.asList("tastybento", "TastyFriend"), pm.getNames("TAS", 10));
+        assertEquals(Collections.singletonList("tastybento"), pm.getNames("tas", 1));
+        assertEquals(Collections.singletonList("TastyFriend"), pm.getNames("tastyf", 10));
+        assertTrue(pm.getNames("x", 10).isEmpty());
+        // Case does not matter for UUIDs either
+        assertEquals(notUUID, pm.getUUID("tastyfriend"));
+        assertEquals(uuid, pm.getUUID("TastyBento"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#getTabCompleteNames(User, String)}.
+     */
+    @Test
+    public void testGetTabCompleteNames() {
+        when(user.getName()).thenReturn("tastybento");
+        pm.setPlayerName(user);
+        User friend = mock(User.class);
+        when(friend.getUniqueId()).thenReturn(notUUID);
+        when(friend.getName()).thenReturn("TastyFriend");
+        pm.setPlayerName(friend);
+        when(Util.getOnlinePlayerList(any())).thenReturn(Collections.singletonList("tastybento"));
+        // Online players are not given twice
+        assertEquals(Arrays.asList("tastybento", "TastyFriend"), pm.getTabCompleteNames(null, "tas"));
+        // Only online players until a letter is typed
+        assertEquals(Collections.singletonList("tastybento"), pm.getTabCompleteNames(null, ""));
+    }
 }
@@ -8,12 +8,16 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
+import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.junit.After;
@@ -80,6 +84,7 @@ public class IslandCacheTest {
         when(plugin.getIslands()).thenReturn(im);
 
         // Island
+        when(island.getUniqueId()).thenReturn(UUID.randomUUID().toString());
         when(island.getWorld()).thenReturn(world);
         // Location
         when(location.getWorld()).thenReturn(world);
@@ -116,6 +121,8 @@ public class IslandCacheTest {
         // Check if they are added
         assertEquals(island, ic.get(world, owner));
         assertEquals(island, ic.get(location));
+        // The island tells the cache about changes
+        verify(island).setCache(ic);
     }
 
     /**
@@ -143,6 +150,7 @@ public class IslandCacheTest {
         ic.clear();
         assertNull(ic.get(world, owner));
         assertNull(ic.get(location));
+        verify(island).setCache(null);
     }
 
     /**
@@ -158,6 +166,7 @@ public class IslandCacheTest {
         assertTrue(result);
         assertNull(ic.get(world, owner));
         assertNull(ic.get(location));
+        verify(island).setCache(null);
 
         // Test removing an island that is not in the cache
         World world = mock(World.class);
@@ -181,6 +190,44 @@ public class IslandCacheTest {
 
     }
 
+    /**
+     * Test for {@link IslandCache#removeIsland(Island)} and {@link IslandCache#deleteIslandFromCache(String)}
+     */
+    @Test
+    public void testRemoveIslandLeavesOtherIslands() {
+        ic.addIsland(island);
+        UUID owner2 = UUID.randomUUID();
+        UUID member2 = UUID.randomUUID();
+        Island island2 = mock(Island.class);
+        Location location2 = mock(Location.class);
+        when(location2.getWorld()).thenReturn(world);
+        when(island2.getUniqueId()).thenReturn("island2");
+        when(island2.getCenter()).thenReturn(location2);
+        when(island2.getWorld()).thenReturn(world);
+        when(island2.getOwner()).thenReturn(owner2);
+        when(island2.isOwned()).thenReturn(true);
+        when(island2.getMemberSet()).thenReturn(ImmutableSet.of(owner2, member2));
+        when(island2.getMinX()).thenReturn(200);
+        when(island2.getMinZ()).thenReturn(-200);
+        assertTrue(ic.addIsland(island2));
+        assertEquals(2, ic.size());
+
+        ic.removeIsland(island);
+        verify(island).setCache(null);
+        verify(island2, never()).setCache(null);
+        assertNull(ic.get(world, owner));
+        assertNull(ic.getIslandById(island.getUniqueId()));
+        assertEquals(island2, ic.get(world, owner2));
+        assertEquals(island2, ic.get(world, member2));
+        assertEquals(1, ic.size());
+
+        ic.deleteIslandFromCache("island2");
+        assertNull(ic.get(world, owner2));
+        assertNull(ic.get(world, member2));
+        assertNull(ic.get(location2));
+        assertEquals(0, ic.size());
+    }
+
     /**
      * Test for {@link IslandCache#get(Location)}
      */
@@ -228,6 +275,127 @@ public class IslandCacheTest {
         assertNull(ic.getIslandAt(location2));
     }
 
+    /**
+     * Test for {@link IslandCache#getIslandAt(Location)}
+     */
+    @Test
+    public void testGetIslandAtLocationGrid() {
+        // Island is on a 400 block grid
+        when(island.getRange()).thenReturn(200);
+        when(island.inIslandSpace(Mockito.anyInt(), Mockito.anyInt())).thenReturn(true);
+        ic.addIsland(island);
+        // Neighbor island
+        Island island2 = mock(Island.class);
+        Location location2 = mock(Location.class);
+        when(location2.getWorld()).thenReturn(world);
+        when(location2.getBlockX()).thenReturn(400);
+        when(location2.getBlockZ()).thenReturn(0);
+        when(island2.getCenter()).thenReturn(location2);
+        when(island2.getUniqueId()).thenReturn(UUID.randomUUID().toString());
+        when(island2.getWorld()).thenReturn(world);
+        when(island2.getRange()).thenReturn(200);
+        when(island2.getMinX()).thenReturn(200);
+        when(island2.getMinZ()).thenReturn(-200);
+        when(island2.inIslandSpace(Mockito.anyInt(), Mockito.anyInt())).thenReturn(true);
+        assertTrue(ic.addIsland(island2));
+
+        assertEquals(island, ic.getIslandAt(location));
+        Location location3 = mock(Location.class);
+        when(location3.getWorld()).thenReturn(world);
+        when(location3.getBlockX()).thenReturn(199);
+        when(location3.getBlockZ()).thenReturn(-200);
+        assertEquals(island, ic.getIslandAt(location3));
+        when(location3.getBlockX()).thenReturn(200);
+        assertEquals(island2, ic.getIslandAt(location3));
+        when(location3.getBlockX()).thenReturn(800);
+        assertNull(ic.getIslandAt(location3));
+        // Duplicate
+        assertFalse(ic.addIsland(island2));
+        // Removal
+        ic.removeIsland(island2);
+        when(location3.getBlockX()).thenReturn(200);
+        assertNull(ic.getIslandAt(location3));
+    }
+
+    /**
+     * Test for {@link IslandCache#getIslands(World)}
+     */
+    @Test
+    public void testGetIslandsWorld() {
+        assertTrue(ic.getIslands(world).isEmpty());
+        ic.addIsland(island);
+        assertEquals(1, ic.getIslands(world).size());
+        assertTrue(ic.getIslands(world).contains(island));
+        ic.deleteIslandFromCache(island);
+        assertTrue(ic.getIslands(world).isEmpty());
+    }
+
+    /**
+     * Test for {@link IslandCache#nameExists(World, String)}
+     */
+    @Test
+    public void testNameExists() {
+        when(island.getName()).thenReturn(ChatColor.GREEN + "My Island");
+        ic.addIsland(island);
+        assertTrue(ic.nameExists(world, "My Island"));
+        assertTrue(ic.nameExists(world, ChatColor.RED + "My Island"));
+        assertFalse(ic.nameExists(world, "Other Island"));
+        // Rename
+        when(island.getName()).thenReturn("Other Island");
+        ic.updateName(island, ChatColor.GREEN + "My Island");
+        assertFalse(ic.nameExists(world, "My Island"));
+        assertTrue(ic.nameExists(world, "Other Island"));
+    }
+
+    /**
+     * Test for {@link IslandCache#updateName(Island, String)} and {@link IslandCache#updateMember(Island, UUID)}
+     */
+    @Test
+    public void testRealIslandUpdatesCache() {
+        when(location.clone()).thenReturn(location);
+        Island real = new Island();
+        real.setUniqueId(UUID.randomUUID().toString());
+        real.setCenter(location);
+        real.setRange(100);
+        real.setOwner(owner);
+        assertTrue(ic.addIsland(real));
+        // Changes made on the island are indexed by the cache that holds it
+        real.setName("My Island");
+        assertTrue(ic.nameExists(world, "My Island"));
+        UUID member = UUID.randomUUID();
+        real.setRank(member, RanksManager.MEMBER_RANK);
+        assertEquals(Collections.singletonList(real), ic.getIslands(member, RanksManager.MEMBER_RANK));
+        // Not once it has been removed
+        ic.removeIsland(real);
+        real.setName("Other Island");
+        assertFalse(ic.nameExists(world, "Other Island"));
+    }
+
+    /**
+     * Test for {@link IslandCache#getIslands(UUID, int)}
+     */
+    @Test
+    public void testGetIslandsUUIDRank() {
+        UUID coop = UUID.randomUUID();
+        Map<UUID, Integer> members = new HashMap<>();
+        members.put(owner, RanksManager.OWNER_RANK);
+        members.put(coop, RanksManager.COOP_RANK);
+        when(island.getMembers()).thenReturn(members);
+        ic.addIsland(island);
+        assertEquals(Collections.singletonList(island), ic.getIslands(coop, RanksManager.COOP_RANK));
+        assertTrue(ic.getIslands(coop, RanksManager.MEMBER_RANK).isEmpty());
+        assertTrue(ic.getIslands(UUID.randomUUID(), RanksManager.COOP_RANK).isEmpty());
+        // New trusted player
+        UUID trusted = UUID.randomUUID();
+        members.put(trusted, RanksManager.TRUSTED_RANK);
+        ic.updateMember(island, trusted);
+        assertEquals(Collections.singletonList(island), ic.getIslands(trusted, RanksManager.TRUSTED_RANK));
+        // Coop removed
+        members.remove(coop);
+        ic.updateMember(island, coop);
+        assertTrue(ic.getIslands(coop, RanksManager.COOP_RANK).isEmpty());
+    }
+
     /**
      * Test for {@link IslandCache#getMembers(World, UUID, int)}
      */
@@ -323,4 +491,38 @@ public class IslandCacheTest {
         ic.resetAllFlags(world);
         verify(island).setFlagsDefaults();
     }
+
+    /**
+     * Test for {@link IslandCache#setChanged(Island)}, {@link IslandCache#getChangedIslands()} and {@link IslandCache#setSaved(Island)}
+     */
+    @Test
+    public void testSetChangedSetSaved() {
+        // Not in the cache
+        ic.setChanged(island);
+        assertTrue(ic.getChangedIslands().isEmpty());
+        ic.addIsland(island);
+        ic.setChanged(island);
+        ic.setChanged(island);
+        assertEquals(Collections.singletonList(island), ic.getChangedIslands());
+        // Kept until it is saved
+        assertEquals(Collections.singletonList(island), ic.getChangedIslands());
+        assertTrue(ic.setSaved(island));
+        assertFalse(ic.setSaved(island));
+        assertTrue(ic.getChangedIslands().isEmpty());
+    }
+
+    /**
+     * Test for {@link IslandCache#addIsland(Island)}
+     */
+    @Test
+    public void testAddIslandChanged() {
+        when(island.isChanged()).thenReturn(true);
+        ic.addIsland(island);
+        assertEquals(Collections.singletonList(island), ic.getChangedIslands());
+        // Removed islands are not saved
+        ic.setChanged(island);
+        ic.removeIsland(island);
+        assertTrue(ic.getChangedIslands().isEmpty());
+        assertFalse(ic.setSaved(island));
+    }
 }
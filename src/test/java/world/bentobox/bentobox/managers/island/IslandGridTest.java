@@ -0,0 +1,163 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class IslandGridTest {
+
+    @Mock
+    private BentoBox plugin;
+
+    private IslandGrid ig;
+    private final UUID owner = UUID.randomUUID();
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        ig = new IslandGrid();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * @param minX - min x of the island space
+     * @param minZ - min z of the island space
+     * @param range - island range
+     * @return island
+     */
+    private Island makeIsland(int minX, int minZ, int range) {
+        Island island = mock(Island.class);
+        when(island.getUniqueId()).thenReturn(UUID.randomUUID().toString());
+        when(island.getOwner()).thenReturn(owner);
+        when(island.getMinX()).thenReturn(minX);
+        when(island.getMinZ()).thenReturn(minZ);
+        when(island.getRange()).thenReturn(range);
+        when(island.inIslandSpace(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int x = invocation.getArgument(0);
+            int z = invocation.getArgument(1);
+            return x >= minX && x < minX + range * 2 && z >= minZ && z < minZ + range * 2;
+        });
+        return island;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.IslandGrid#addToGrid(Island)}.
+     */
+    @Test
+    public void testAddToGrid() {
+        Island island = makeIsland(-50, -50, 50);
+        Island irregular = makeIsland(30, 230, 20);
+        assertTrue(ig.addToGrid(island));
+        assertTrue(ig.addToGrid(irregular));
+        assertEquals(island, ig.getIslandAt(0, 0));
+        assertEquals(irregular, ig.getIslandAt(40, 240));
+        assertNull(ig.getIslandAt(300, 300));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.IslandGrid#addToGrid(Island)}.
+     */
+    @Test
+    public void testAddToGridDuplicate() {
+        Island island = makeIsland(-50, -50, 50);
+        assertTrue(ig.addToGrid(island));
+        assertFalse(ig.addToGrid(makeIsland(-50, -50, 50)));
+        assertEquals(island, ig.getIslandAt(0, 0));
+        verify(plugin, atLeastOnce()).logError(anyString());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.IslandGrid#addToGrid(Island)}.
+     */
+    @Test
+    public void testAddToGridIrregularOnCell() {
+        Island island = makeIsland(-50, -50, 50);
+        assertTrue(ig.addToGrid(island));
+        // Same corner but a different size, so it would not go in a cell
+        assertFalse(ig.addToGrid(makeIsland(-50, -50, 40)));
+        assertEquals(island, ig.getIslandAt(60, 60));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.IslandGrid#addToGrid(Island)}.
+     */
+    @Test
+    public void testAddToGridCellOnIrregular() {
+        assertTrue(ig.addToGrid(makeIsland(-50, -50, 50)));
+        // On a cell corner but the wrong size, so it is irregular
+        Island irregular = makeIsland(50, 50, 40);
+        assertTrue(ig.addToGrid(irregular));
+        // An island that fits the cell at the same corner is a duplicate
+        assertFalse(ig.addToGrid(makeIsland(50, 50, 50)));
+        assertEquals(irregular, ig.getIslandAt(60, 60));
+        assertNull(ig.getIslandAt(140, 140));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.IslandGrid#addToGrid(Island)}.
+     */
+    @Test
+    public void testAddToGridCellOnIrregularBeforeGrid() {
+        // No range, so the grid is not set yet
+        Island irregular = makeIsland(-50, -50, 0);
+        assertTrue(ig.addToGrid(irregular));
+        assertFalse(ig.addToGrid(makeIsland(-50, -50, 50)));
+        assertNull(ig.getIslandAt(0, 0));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.IslandGrid#removeFromGrid(Island)}.
+     */
+    @Test
+    public void testRemoveFromGrid() {
+        Island island = makeIsland(-50, -50, 50);
+        Island irregular = makeIsland(50, 50, 40);
+        assertTrue(ig.addToGrid(island));
+        assertTrue(ig.addToGrid(irregular));
+        assertTrue(ig.removeFromGrid(irregular));
+        assertFalse(ig.removeFromGrid(irregular));
+        assertNull(ig.getIslandAt(60, 60));
+        // The cell can now be used
+        Island other = makeIsland(50, 50, 50);
+        assertTrue(ig.addToGrid(other));
+        assertEquals(other, ig.getIslandAt(60, 60));
+        assertTrue(ig.removeFromGrid(island));
+        assertNull(ig.getIslandAt(0, 0));
+    }
+}
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +41,7 @@ import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.localization.TextVariables;
@@ -130,6 +132,9 @@ public class UtilTest {
 
     @After
     public void tearDown() {
+        // Forget the worlds registered by the tests
+        Whitebox.setInternalState(Util.class, "overworlds", new IdentityHashMap<>());
+        Whitebox.<Set<String>>getInternalState(Util.class, "overworldNames").clear();
         Mockito.framework().clearInlineMocks();
     }
 
@@ -301,6 +306,33 @@ public class UtilTest {
         assertEquals("End", world, Util.getWorld(end));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.Util#registerOverworld(World, World)}.
+     */
+    @Test
+    public void testGetWorldRegistered() {
+        World overworld = mock(World.class);
+        when(overworld.getName()).thenReturn("registered");
+        World nether = mock(World.class);
+        when(nether.getName()).thenReturn("registered_nether");
+        World other = mock(World.class);
+        when(other.getName()).thenReturn("other_nether");
+        Util.registerOverworld(overworld, overworld);
+        Util.registerOverworld(nether, overworld);
+        Util.registerOverworld(other, world);
+        // No Bukkit lookup or environment check is needed
+        assertEquals(overworld, Util.getWorld(nether));
+        assertEquals(overworld, Util.getWorld(overworld));
+        verify(nether, never()).getEnvironment();
+        assertTrue(Util.sameWorld(overworld, nether));
+        assertFalse(Util.sameWorld(other, nether));
+        // Unload
+        Util.unregisterWorld(overworld);
+        when(nether.getEnvironment()).thenReturn(Environment.NETHER);
+        assertEquals(world, Util.getWorld(nether));
+        Util.unregisterWorld(other);
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.util.Util#blockFaceToFloat(org.bukkit.block.BlockFace)}.
      */
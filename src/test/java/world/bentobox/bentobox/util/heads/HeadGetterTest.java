@@ -0,0 +1,295 @@
+package world.bentobox.bentobox.util.heads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.panels.PanelItem;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class, BentoBox.class})
+public class HeadGetterTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private Settings settings;
+    @Mock
+    private BukkitScheduler sch;
+    @Mock
+    private HeadRequester requester;
+    private File dataFolder;
+    private HeadGetter hg;
+    private Runnable headTask;
+    /**
+     * Names and UUIDs the fetcher was asked for
+     */
+    private List<String> fetched;
+    private List<UUID> fetchedIds;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        when(plugin.getSettings()).thenReturn(settings);
+        when(settings.getPlayerHeadCacheTime()).thenReturn(60L);
+        when(settings.getHeadsPerCall()).thenReturn(9);
+        when(settings.getTicksBetweenCalls()).thenReturn(10L);
+        when(settings.isSaveHeadCache()).thenReturn(true);
+        dataFolder = Files.createTempDirectory("bentobox").toFile();
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+
+        // Bukkit
+        PowerMockito.mockStatic(Bukkit.class);
+        Server server = mock(Server.class);
+        when(Bukkit.getServer()).thenReturn(server);
+        ItemFactory itemFactory = mock(ItemFactory.class);
+        when(Bukkit.getItemFactory()).thenReturn(itemFactory);
+        SkullMeta skullMeta = mock(SkullMeta.class);
+        when(itemFactory.getItemMeta(any())).thenReturn(skullMeta);
+
+        // Tasks are run straight away
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        when(sch.runTaskAsynchronously(eq(plugin), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        });
+        when(sch.runTask(eq(plugin), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        });
+
+        // Fetcher
+        fetched = new ArrayList<>();
+        fetchedIds = new ArrayList<>();
+        HeadGetter.setFetcher((name, id) -> {
+            fetched.add(name);
+            fetchedIds.add(id);
+            return new HeadCache(name, UUID.randomUUID(), "texture");
+        });
+
+        HeadGetter.clear();
+        hg = new HeadGetter(plugin);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(sch).runTaskTimerAsynchronously(eq(plugin), task.capture(), eq(0L), eq(10L));
+        headTask = task.getValue();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        HeadGetter.clear();
+        Files.walk(dataFolder.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        Mockito.framework().clearInlineMocks();
+    }
+
+    private PanelItem head(String name) {
+        PanelItem item = mock(PanelItem.class);
+        when(item.getPlayerHeadName()).thenReturn(name);
+        return item;
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#getHead(PanelItem, HeadRequester)}.
+     */
+    @Test
+    public void testGetHeadFetchedOnce() {
+        PanelItem item1 = head("tastybento");
+        PanelItem item2 = head("tastybento");
+        HeadRequester requester2 = mock(HeadRequester.class);
+        HeadGetter.getHead(item1, requester);
+        HeadGetter.getHead(item2, requester2);
+        verify(requester, never()).setHead(any());
+        headTask.run();
+        assertEquals(1, fetched.size());
+        verify(item1).setHead(any());
+        verify(item2).setHead(any());
+        verify(requester).setHead(item1);
+        verify(requester2).setHead(item2);
+        // Now it is cached
+        PanelItem item3 = head("tastybento");
+        HeadGetter.getHead(item3, requester);
+        verify(requester).setHead(item3);
+        headTask.run();
+        assertEquals(1, fetched.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#getHead(PanelItem, HeadRequester)}.
+     */
+    @Test
+    public void testGetHeadHeadsPerCall() {
+        when(settings.getHeadsPerCall()).thenReturn(2);
+        HeadGetter.getHead(head("a"), requester);
+        HeadGetter.getHead(head("b"), requester);
+        HeadGetter.getHead(head("c"), requester);
+        headTask.run();
+        assertEquals(2, fetched.size());
+        headTask.run();
+        assertEquals(3, fetched.size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#addToCache(HeadCache)}.
+     */
+    @Test
+    public void testAddToCache() {
+        HeadGetter.addToCache(new HeadCache("BONNe", UUID.randomUUID(), "texture"));
+        PanelItem item = head("BONNe");
+        HeadGetter.getHead(item, requester);
+        verify(requester).setHead(item);
+        headTask.run();
+        assertTrue(fetched.isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#getHead(PanelItem, HeadRequester)}.
+     */
+    @Test
+    public void testGetHeadExpired() {
+        UUID uuid = UUID.randomUUID();
+        HeadGetter.addToCache(new HeadCache("BONNe", uuid, "texture", System.currentTimeMillis() - 61 * 60 * 1000L));
+        PanelItem item = head("BONNe");
+        HeadGetter.getHead(item, requester);
+        verify(requester, never()).setHead(any());
+        headTask.run();
+        assertEquals(1, fetched.size());
+        // The UUID is known already
+        assertEquals(uuid, fetchedIds.get(0));
+        verify(requester).setHead(item);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#getHead(PanelItem, HeadRequester)}.
+     */
+    @Test
+    public void testGetHeadNoTexture() {
+        HeadGetter.setFetcher((name, id) -> new HeadCache(name, id, null));
+        HeadGetter.getHead(head("tastybento"), requester);
+        headTask.run();
+        verify(requester, never()).setHead(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#addToCache(HeadCache)}.
+     */
+    @Test
+    public void testCacheIsBounded() {
+        long now = System.currentTimeMillis();
+        HeadGetter.addToCache(new HeadCache("forever", UUID.randomUUID(), "texture", 0));
+        for (int i = 0; i < 2000; i++) {
+            HeadGetter.addToCache(new HeadCache("player" + i, UUID.randomUUID(), "texture", now - 2000 + i));
+        }
+        // Oldest are removed
+        HeadGetter.getHead(head("player0"), requester);
+        verify(requester, never()).setHead(any());
+        // Newest and the one kept forever are still there
+        PanelItem newest = head("player1999");
+        HeadGetter.getHead(newest, requester);
+        verify(requester).setHead(newest);
+        PanelItem forever = head("forever");
+        HeadGetter.getHead(forever, requester);
+        verify(requester).setHead(forever);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#save()}.
+     */
+    @Test
+    public void testSaveAndLoad() {
+        HeadGetter.addToCache(new HeadCache("tastybento", UUID.randomUUID(), "texture"));
+        HeadGetter.addToCache(new HeadCache("forever", UUID.randomUUID(), "texture", 0));
+        HeadGetter.addToCache(new HeadCache("failed", UUID.randomUUID(), null));
+        hg.save();
+        assertTrue(new File(dataFolder, "heads.json").exists());
+        assertFalse(new File(dataFolder, "heads.json.tmp").exists());
+        HeadGetter.clear();
+        hg.load();
+        PanelItem item = head("tastybento");
+        HeadGetter.getHead(item, requester);
+        verify(requester).setHead(item);
+        // Only heads that were fetched and that can become too old are saved
+        HeadGetter.getHead(head("forever"), requester);
+        HeadGetter.getHead(head("failed"), requester);
+        verify(requester).setHead(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#load()}.
+     */
+    @Test
+    public void testLoadCacheTimeZero() {
+        HeadGetter.addToCache(new HeadCache("tastybento", UUID.randomUUID(), "texture"));
+        hg.save();
+        HeadGetter.clear();
+        // Heads are only kept until the server restarts
+        when(settings.getPlayerHeadCacheTime()).thenReturn(0L);
+        hg.load();
+        when(settings.getPlayerHeadCacheTime()).thenReturn(60L);
+        HeadGetter.getHead(head("tastybento"), requester);
+        verify(requester, never()).setHead(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#save()}.
+     */
+    @Test
+    public void testSaveDisabled() {
+        when(settings.isSaveHeadCache()).thenReturn(false);
+        HeadGetter.addToCache(new HeadCache("tastybento", UUID.randomUUID(), "texture"));
+        hg.save();
+        assertFalse(new File(dataFolder, "heads.json").exists());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.HeadGetter#load()}.
+     */
+    @Test
+    public void testLoadBadFile() throws IOException {
+        Files.write(new File(dataFolder, "heads.json").toPath(), "not json".getBytes());
+        hg.load();
+        verify(plugin).logError(Mockito.startsWith("Could not load saved player heads"));
+    }
+}
@@ -0,0 +1,130 @@
+package world.bentobox.bentobox.util.heads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the fetcher against a local web server that answers like the Mojang API and mc-heads.net
+ * @author tastybento
+ *
+ */
+public class WebHeadFetcherTest {
+
+    private static final UUID ID = UUID.fromString("5988eecd-1dcd-4080-a843-785b62419abb");
+    private static final String PROFILE = "{\"id\":\"5988eecd1dcd4080a843785b62419abb\",\"name\":\"tastybento\","
+            + "\"properties\":[{\"name\":\"other\",\"value\":\"x\"},{\"name\":\"textures\",\"value\":\"dGV4dHVyZQ==\"}]}";
+
+    private HttpServer server;
+    private String url;
+    /**
+     * Paths asked for
+     */
+    private List<String> requests;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        requests = new ArrayList<>();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/profiles/", e -> respond(e, "{\"id\":\"5988eecd1dcd4080a843785b62419abb\",\"name\":\"tastybento\"}"));
+        server.createContext("/sessions/", e -> respond(e, e.getRequestURI().getPath().endsWith(ID.toString()) ? PROFILE : null));
+        server.createContext("/cache/", e -> respond(e, PROFILE));
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Sends the body, or not found if it is null or the unknown player is asked for
+     */
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        requests.add(exchange.getRequestURI().getPath());
+        if (body == null || exchange.getRequestURI().getPath().endsWith("/unknown")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private WebHeadFetcher fetcher(boolean useCacheServer) {
+        return new WebHeadFetcher(() -> useCacheServer, url + "/profiles/", url + "/sessions/", url + "/cache/");
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.WebHeadFetcher#fetch(String, UUID)}.
+     */
+    @Test
+    public void testFetchMojang() {
+        HeadCache head = fetcher(false).fetch("tastybento", null);
+        assertEquals("tastybento", head.getUserName());
+        assertEquals(ID, head.getUserId());
+        assertEquals("dGV4dHVyZQ==", head.encodedTextureLink);
+        assertEquals(List.of("/profiles/tastybento", "/sessions/" + ID), requests);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.WebHeadFetcher#fetch(String, UUID)}.
+     */
+    @Test
+    public void testFetchMojangKnownUUID() {
+        HeadCache head = fetcher(false).fetch("tastybento", ID);
+        assertEquals("dGV4dHVyZQ==", head.encodedTextureLink);
+        assertEquals(List.of("/sessions/" + ID), requests);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.WebHeadFetcher#fetch(String, UUID)}.
+     */
+    @Test
+    public void testFetchCacheServer() {
+        HeadCache head = fetcher(true).fetch("tastybento", null);
+        assertEquals(ID, head.getUserId());
+        assertEquals("dGV4dHVyZQ==", head.encodedTextureLink);
+        assertEquals(List.of("/cache/tastybento"), requests);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.util.heads.WebHeadFetcher#fetch(String, UUID)}.
+     */
+    @Test
+    public void testFetchUnknown() {
+        HeadCache head = fetcher(true).fetch("unknown", null);
+        assertNull(head.getUserId());
+        assertNull(head.encodedTextureLink);
+        head = fetcher(false).fetch("unknown", null);
+        // A random UUID is used
+        assertNotEquals(ID, head.getUserId());
+        assertNull(head.encodedTextureLink);
+    }
+}